@@ -40,14 +40,14 @@ public class AddHolderCommand implements Command {
         Long holderId = Long.valueOf(request.getParameter("holderId"));
 
         if (!user.getAccounts().contains(accountId)) {
-            logger.warn("User " + user.getId() + "try to access account " + accountId + " without permissions");
+            logger.warn("User {} tries to access account {} without permissions", user.getId(), accountId);
 
             return "redirect:" + manager.getPath("path.error");
         }
 
         service.addHolder(holderId, accountId);
 
-        logger.info("User " + holderId + " was added as holder to account " + accountId);
+        logger.info("User {} was added as holder to account {}", holderId, accountId);
 
         return "redirect:" + manager.getPath("path.completed");
     }
@@ -2,13 +2,14 @@ package ua.training.controller.commands;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
+import ua.training.controller.util.managers.BundleManager;
 import ua.training.controller.util.managers.PathManager;
 
 import javax.servlet.http.HttpServletRequest;
 
 /**
  * This command used to change content language by any user. The current language of user puts in user session.
- * Required params: lang - tag of one of possible languages.
+ * Required params: lang - tag of one of possible languages, unsupported tags are replaced by default language.
  * @author Oleksii Shevchenko
  */
 @Controller("changeLanguage")
@@ -23,7 +24,7 @@ public class ChangeLanguageCommand implements Command {
 
     @Override
     public String execute(HttpServletRequest request) {
-        request.getSession().setAttribute("lang", request.getParameter("lang"));
+        request.getSession().setAttribute("lang", BundleManager.getSupportedLocale(request.getParameter("lang")).toLanguageTag());
         return "redirect:" + manager.getPath("path.index");
     }
 }
@@ -36,7 +36,7 @@ public class CloseAccountCommand implements Command {
         Long accountId = Long.valueOf(request.getParameter("accountId"));
         service.accountForceClosing(accountId);
 
-        logger.info("Admin " + request.getSession().getAttribute("id") + " close account " + accountId);
+        logger.info("Admin {} close account {}", request.getSession().getAttribute("id"), accountId);
 
         return manager.getPath("path.completed");
     }
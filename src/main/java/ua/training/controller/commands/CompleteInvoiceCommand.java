@@ -40,7 +40,7 @@ public class CompleteInvoiceCommand implements Command {
         Invoice invoice = accountService.getInvoice(invoiceId);
 
         if (!user.getAccounts().contains(accountId) || !accountId.equals(invoice.getPayer())) {
-            logger.warn("User " + user.getId() + "try to access account " + accountId + " without permissions");
+            logger.warn("User {} tries to access account {} without permissions", user.getId(), accountId);
 
             return "redirect:" + pathManager.getPath("path.error");
         }
@@ -48,7 +48,7 @@ public class CompleteInvoiceCommand implements Command {
         try {
             accountService.acceptInvoice(invoiceId);
         } catch (NotEnoughMoneyException exception) {
-            logger.warn(exception);
+            logger.warn("User {} has not enough money to accept invoice {}", user.getId(), invoiceId);
 
             contentManager.setLocalizedMessage(request, "notEnough", "content.info.invoice.not.enough");
 
@@ -58,7 +58,7 @@ public class CompleteInvoiceCommand implements Command {
             return pathManager.getPath("path.invoice");
         }
 
-        logger.info("User " + user.getId() + " accept invoice " + invoiceId);
+        logger.info("User {} accept invoice {}", user.getId(), invoiceId);
 
         return "redirect:" + pathManager.getPath("path.completed");
     }
@@ -40,7 +40,7 @@ public class CreateInvoiceCommand implements Command {
         request.setAttribute("currencies", Currency.values());
 
         if (!validationUtil.makeValidation(request, List.of("requester", "payer", "amount", "currency"))) {
-            logger.warn("User " + user.getId() + " inputs not valid data");
+            logger.warn("User {} inputs not valid data", user.getId());
 
             return pathManager.getPath("path.create-invoice");
         }
@@ -55,7 +55,7 @@ public class CreateInvoiceCommand implements Command {
                 .build();
 
         if (!user.getAccounts().contains(invoice.getRequester())) {
-            logger.warn("User " + user.getId() + "try to access account " + invoice.getRequester() + " without permissions");
+            logger.warn("User {} tries to access account {} without permissions", user.getId(), invoice.getRequester());
 
             return "redirect:" + pathManager.getPath("path.error");
         }
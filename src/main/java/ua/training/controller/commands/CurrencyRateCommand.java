@@ -1,39 +1,78 @@
 package ua.training.controller.commands;
 
+import com.google.gson.stream.JsonWriter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Controller;
+import ua.training.controller.util.JsonUtil;
 import ua.training.controller.util.managers.PathManager;
 import ua.training.model.entity.Currency;
 import ua.training.model.service.CurrencyExchangeService;
 
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 
-@Controller("currencyRare")
-public class CurrencyRateCommand implements Command {
+@Controller("currencyRate")
+public class CurrencyRateCommand implements JsonCommand, VersionedCommand {
     private CurrencyExchangeService exchangeService;
 
     private PathManager pathManager;
+    private JsonUtil jsonUtil;
 
+    /**
+     * Rates are versioned by time of the last update. Stale rates aren't versioned, so the command is executed and
+     * rates are updated.
+     */
     @Override
-    public String execute(HttpServletRequest request) {
-        Currency base;
-        if (Objects.isNull(request.getParameter("base"))) {
-            base = exchangeService.getBase();
-        } else {
-            base = Currency.valueOf(request.getParameter("base"));
+    public Optional<String> getVersion(HttpServletRequest request) {
+        if (exchangeService.isRatesStale()) {
+            return Optional.empty();
         }
+        return Optional.of(exchangeService.getLastUpdate().toString());
+    }
+
+    @Override
+    public String execute(HttpServletRequest request) {
+        Currency base = getBase(request);
 
         request.setAttribute("base", base);
         request.setAttribute("rates", generateRatesMap(base, exchangeService));
+        request.setAttribute("ratesVersion", exchangeService.getLastUpdate());
 
         return pathManager.getPath("path.rates");
     }
 
+    @Override
+    public void executeJson(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Currency base = getBase(request);
+
+        JsonWriter writer = jsonUtil.newWriter(response);
+
+        writer.beginObject();
+        writer.name("base").value(base.name());
+        writer.name("rates").beginObject();
+        for (Currency currency : Currency.values()) {
+            writer.name(currency.name()).value(exchangeService.exchangeRate(base, currency));
+        }
+        writer.endObject();
+        writer.endObject();
+        writer.flush();
+    }
+
+    private Currency getBase(HttpServletRequest request) {
+        if (Objects.isNull(request.getParameter("base"))) {
+            return exchangeService.getBase();
+        } else {
+            return Currency.valueOf(request.getParameter("base"));
+        }
+    }
+
     private Map<Currency, BigDecimal> generateRatesMap(Currency base, CurrencyExchangeService service) {
         Map<Currency, BigDecimal> rates = new HashMap<>();
 
@@ -54,4 +93,9 @@ public class CurrencyRateCommand implements Command {
     public void setPathManager(PathManager pathManager) {
         this.pathManager = pathManager;
     }
+
+    @Autowired
+    public void setJsonUtil(JsonUtil jsonUtil) {
+        this.jsonUtil = jsonUtil;
+    }
 }
@@ -36,14 +36,14 @@ public class DenyInvoiceCommand implements Command {
         Invoice invoice = accountService.getInvoice(invoiceId);
 
         if (!user.getAccounts().contains(accountId) || !accountId.equals(invoice.getPayer())) {
-            logger.warn("User " + user.getId() + "try to access account " + accountId + " without permissions");
+            logger.warn("User {} tries to access account {} without permissions", user.getId(), accountId);
 
             return "redirect:" + pathManager.getPath("path.error");
         }
 
         accountService.denyInvoice(invoiceId);
 
-        logger.info("User " + user.getId() + " denied invoice " + invoice.getId());
+        logger.info("User {} denied invoice {}", user.getId(), invoice.getId());
 
         return "redirect:" + pathManager.getPath("path.completed");
     }
@@ -0,0 +1,176 @@
+package ua.training.controller.commands;
+
+import com.google.gson.stream.JsonWriter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import ua.training.controller.util.JsonUtil;
+import ua.training.controller.util.managers.PathManager;
+import ua.training.model.entity.Transaction;
+import ua.training.model.entity.User;
+import ua.training.model.service.AccountService;
+import ua.training.model.service.UserService;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exports all transactions of account for the period as CSV or JSON Lines file. Transactions are written to response
+ * as they are read from db and compressed on the fly if client accepts gzip, so nothing is buffered except current row.
+ * As response is already sent when reading fails, such export is ended with error line instead of error status.
+ * @see AccountService#exportTransactions
+ * @author Oleksii Shevchenko
+ */
+@Controller("exportTransactions")
+public class ExportTransactionsCommand implements StreamingCommand {
+    private static Logger logger = LogManager.getLogger(ExportTransactionsCommand.class);
+
+    private static final String CSV_HEADER = "id,time,sender,receiver,type,amount,currency";
+    private static final String INCOMPLETE_EXPORT = "export is incomplete";
+
+    private UserService userService;
+    private AccountService accountService;
+    private PathManager pathManager;
+    private JsonUtil jsonUtil;
+
+    /**
+     * Export is available only as a file, plain requests are treated as wrong ones.
+     */
+    @Override
+    public String execute(HttpServletRequest request) {
+        return "redirect:" + pathManager.getPath("path.error");
+    }
+
+    @Override
+    public void stream(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Long accountId = Long.valueOf(request.getParameter("accountId"));
+
+        User user = userService.get((Long) request.getSession().getAttribute("id"));
+        if (!user.getAccounts().contains(accountId)) {
+            logger.warn("User {} tries to export transactions of account {} without permissions", user.getId(), accountId);
+
+            response.sendError(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+
+        boolean jsonLines = "jsonl".equals(request.getParameter("format"));
+        LocalDate from = isBlank(request.getParameter("from")) ? LocalDate.of(1970, 1, 1) : LocalDate.parse(request.getParameter("from"));
+        LocalDate to = isBlank(request.getParameter("to")) ? LocalDate.now() : LocalDate.parse(request.getParameter("to"));
+
+        String fileName = "transactions-" + accountId + "-" + from + "-" + to + (jsonLines ? ".jsonl" : ".csv");
+        response.setContentType(jsonLines ? "application/x-ndjson" : "text/csv");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader("Content-Disposition", "attachment; filename=\"" + fileName + "\"");
+
+        OutputStream outputStream = response.getOutputStream();
+        if (isGzipAccepted(request)) {
+            response.setHeader("Content-Encoding", "gzip");
+            response.setHeader("Vary", "Accept-Encoding");
+            outputStream = new GZIPOutputStream(outputStream, 8192);
+        }
+
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8))) {
+            export(accountId, from, to, jsonLines, writer);
+        } catch (UncheckedIOException exception) {
+            logger.warn("Export of transactions of account {} was interrupted", accountId, exception);
+        }
+    }
+
+    private void export(Long accountId, LocalDate from, LocalDate to, boolean jsonLines, Writer writer) throws IOException {
+        Consumer<Transaction> consumer = jsonLines ? jsonLinesConsumer(writer) : csvConsumer(writer);
+
+        try {
+            accountService.exportTransactions(accountId, from.atStartOfDay(), to.plusDays(1).atStartOfDay(), consumer);
+        } catch (UncheckedIOException exception) {
+            throw exception;
+        } catch (RuntimeException exception) {
+            logger.error("Export of transactions of account {} failed", accountId, exception);
+
+            if (jsonLines) {
+                new JsonWriter(writer).beginObject().name("error").value(INCOMPLETE_EXPORT).endObject();
+            } else {
+                writer.write("ERROR," + INCOMPLETE_EXPORT);
+            }
+            writer.write('\n');
+        }
+    }
+
+    private Consumer<Transaction> csvConsumer(Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+
+        return transaction -> {
+            try {
+                writer.write(String.valueOf(transaction.getId()));
+                writer.write(',');
+                writer.write(transaction.getTime().toString());
+                writer.write(',');
+                writer.write(String.valueOf(transaction.getSender()));
+                writer.write(',');
+                writer.write(String.valueOf(transaction.getReceiver()));
+                writer.write(',');
+                writer.write(transaction.getType().name());
+                writer.write(',');
+                writer.write(transaction.getAmount().toPlainString());
+                writer.write(',');
+                writer.write(transaction.getCurrency().name());
+                writer.write('\n');
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        };
+    }
+
+    private Consumer<Transaction> jsonLinesConsumer(Writer writer) {
+        return transaction -> {
+            try {
+                JsonWriter jsonWriter = new JsonWriter(writer);
+                jsonUtil.writeTransaction(jsonWriter, transaction);
+                writer.write('\n');
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        };
+    }
+
+    private boolean isGzipAccepted(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader("Accept-Encoding");
+        return Objects.nonNull(acceptEncoding) && acceptEncoding.contains("gzip");
+    }
+
+    private boolean isBlank(String value) {
+        return Objects.isNull(value) || value.isEmpty();
+    }
+
+    @Autowired
+    public void setUserService(UserService userService) {
+        this.userService = userService;
+    }
+
+    @Autowired
+    public void setAccountService(AccountService accountService) {
+        this.accountService = accountService;
+    }
+
+    @Autowired
+    public void setPathManager(PathManager pathManager) {
+        this.pathManager = pathManager;
+    }
+
+    @Autowired
+    public void setJsonUtil(JsonUtil jsonUtil) {
+        this.jsonUtil = jsonUtil;
+    }
+}
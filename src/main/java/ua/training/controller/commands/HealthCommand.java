@@ -0,0 +1,106 @@
+package ua.training.controller.commands;
+
+import com.google.gson.stream.JsonWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import ua.training.controller.util.JsonUtil;
+import ua.training.controller.util.managers.PathManager;
+import ua.training.model.dto.HealthDto;
+import ua.training.model.service.HealthService;
+import ua.training.model.service.util.JobStatistics;
+import ua.training.tag.util.FragmentCache;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Detailed health report for admins: db pool saturation, exchange rates staleness, scheduler backlog, last runs of
+ * scheduled jobs and hit ratio of cached page fragments. Report is built from the last background probe.
+ * @see HealthService
+ * @author Oleksii Shevchenko
+ */
+@Controller("health")
+public class HealthCommand implements StreamingCommand {
+    private HealthService healthService;
+    private JsonUtil jsonUtil;
+    private PathManager pathManager;
+
+    @Override
+    public String execute(HttpServletRequest request) {
+        return "redirect:" + pathManager.getPath("path.error");
+    }
+
+    @Override
+    public void stream(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        HealthDto health = healthService.getHealth();
+
+        JsonWriter writer = jsonUtil.newWriter(response);
+
+        writer.beginObject();
+        writer.name("ready").value(healthService.isReady());
+        writer.name("checkedAt").value(Objects.toString(health.getCheckedAt(), null));
+
+        writer.name("database").beginObject();
+        writer.name("up").value(health.isDatabaseUp());
+        writer.name("degraded").value(health.isDatabaseDegraded());
+        writer.name("active").value(health.getPoolActive());
+        writer.name("idle").value(health.getPoolIdle());
+        writer.name("max").value(health.getPoolMax());
+        writer.endObject();
+
+        writer.name("rates").beginObject();
+        writer.name("lastUpdate").value(Objects.toString(health.getRatesUpdate(), null));
+        writer.name("stale").value(health.isRatesStale());
+        writer.name("circuit").value(health.getRatesCircuit());
+        writer.endObject();
+
+        writer.name("scheduler").beginObject();
+        writer.name("queued").value(health.getSchedulerQueued());
+        writer.name("overdue").value(health.getSchedulerOverdue());
+        writer.name("active").value(health.getSchedulerActive());
+        writer.endObject();
+
+        writer.name("jobs").beginObject();
+        if (Objects.nonNull(health.getJobs())) {
+            for (Map.Entry<String, JobStatistics.Run> run : health.getJobs().entrySet()) {
+                writer.name(run.getKey()).beginObject();
+                writer.name("lastStart").value(run.getValue().getStart().toString());
+                writer.name("millis").value(run.getValue().getMillis());
+                writer.name("failed").value(run.getValue().isFailed());
+                writer.endObject();
+            }
+        }
+        writer.endObject();
+
+        writer.name("fragments").beginObject();
+        for (Map.Entry<String, FragmentCache.Statistics> fragment : FragmentCache.getStatistics().entrySet()) {
+            writer.name(fragment.getKey()).beginObject();
+            writer.name("hits").value(fragment.getValue().getHits());
+            writer.name("misses").value(fragment.getValue().getMisses());
+            writer.name("hitRatio").value(fragment.getValue().getHitRatio());
+            writer.endObject();
+        }
+        writer.endObject();
+
+        writer.endObject();
+        writer.flush();
+    }
+
+    @Autowired
+    public void setHealthService(HealthService healthService) {
+        this.healthService = healthService;
+    }
+
+    @Autowired
+    public void setJsonUtil(JsonUtil jsonUtil) {
+        this.jsonUtil = jsonUtil;
+    }
+
+    @Autowired
+    public void setPathManager(PathManager pathManager) {
+        this.pathManager = pathManager;
+    }
+}
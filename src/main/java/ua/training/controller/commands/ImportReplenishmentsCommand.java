@@ -0,0 +1,67 @@
+package ua.training.controller.commands;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import ua.training.controller.util.managers.PathManager;
+import ua.training.model.dto.ImportReportDto;
+import ua.training.model.service.ImportService;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpSession;
+import javax.servlet.http.Part;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Imports uploaded bank statement with external replenishments. The number of processed lines is reported by
+ * {@link ImportStatusCommand} while import is running.
+ * @see ImportService
+ * @author Oleksii Shevchenko
+ */
+@Controller("importReplenishments")
+public class ImportReplenishmentsCommand implements Command {
+    private static Logger logger = LogManager.getLogger(ImportReplenishmentsCommand.class);
+
+    private ImportService importService;
+    private PathManager pathManager;
+
+    @Override
+    public String execute(HttpServletRequest request) {
+        HttpSession session = request.getSession();
+
+        try {
+            Part part = request.getPart("statement");
+            if (Objects.isNull(part)) {
+                return "redirect:" + pathManager.getPath("path.error");
+            }
+
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(part.getInputStream(), StandardCharsets.UTF_8))) {
+                ImportReportDto report = importService.importReplenishments((Long) session.getAttribute("id"), reader);
+
+                request.setAttribute("report", report);
+            }
+        } catch (IOException | ServletException exception) {
+            logger.error("Statement import by admin {} failed", session.getAttribute("id"), exception);
+
+            return "redirect:" + pathManager.getPath("path.error");
+        }
+
+        return pathManager.getPath("path.import.report");
+    }
+
+    @Autowired
+    public void setImportService(ImportService importService) {
+        this.importService = importService;
+    }
+
+    @Autowired
+    public void setPathManager(PathManager pathManager) {
+        this.pathManager = pathManager;
+    }
+}
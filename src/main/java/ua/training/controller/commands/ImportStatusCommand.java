@@ -0,0 +1,59 @@
+package ua.training.controller.commands;
+
+import com.google.gson.stream.JsonWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import ua.training.controller.util.JsonUtil;
+import ua.training.controller.util.managers.PathManager;
+import ua.training.model.service.ImportService;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.OptionalLong;
+
+/**
+ * Reports progress of statement import started by the admin, so it can be polled while upload request is processed.
+ * @see ImportReplenishmentsCommand
+ * @see ImportService
+ * @author Oleksii Shevchenko
+ */
+@Controller("importStatus")
+public class ImportStatusCommand implements StreamingCommand {
+    private ImportService importService;
+    private JsonUtil jsonUtil;
+    private PathManager pathManager;
+
+    @Override
+    public String execute(HttpServletRequest request) {
+        return "redirect:" + pathManager.getPath("path.error");
+    }
+
+    @Override
+    public void stream(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        OptionalLong progress = importService.getImportProgress((Long) request.getSession().getAttribute("id"));
+
+        JsonWriter writer = jsonUtil.newWriter(response);
+
+        writer.beginObject();
+        writer.name("running").value(progress.isPresent());
+        writer.name("lines").value(progress.orElse(0));
+        writer.endObject();
+        writer.flush();
+    }
+
+    @Autowired
+    public void setImportService(ImportService importService) {
+        this.importService = importService;
+    }
+
+    @Autowired
+    public void setJsonUtil(JsonUtil jsonUtil) {
+        this.jsonUtil = jsonUtil;
+    }
+
+    @Autowired
+    public void setPathManager(PathManager pathManager) {
+        this.pathManager = pathManager;
+    }
+}
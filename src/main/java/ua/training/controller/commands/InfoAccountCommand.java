@@ -1,9 +1,12 @@
 package ua.training.controller.commands;
 
+import com.google.gson.stream.JsonWriter;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
+import ua.training.controller.util.CommandUtil;
+import ua.training.controller.util.JsonUtil;
 import ua.training.controller.util.managers.PathManager;
 import ua.training.model.entity.Account;
 import ua.training.model.entity.Currency;
@@ -12,15 +15,32 @@ import ua.training.model.service.AccountService;
 import ua.training.model.service.UserService;
 
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Objects;
+import java.util.Optional;
 
 @Controller("infoAccount")
-public class InfoAccountCommand implements Command {
+public class InfoAccountCommand implements JsonCommand, VersionedCommand {
     private static Logger logger = LogManager.getLogger(InfoAccountCommand.class);
 
     private AccountService accountService;
     private UserService userService;
 
     private PathManager pathManager;
+    private CommandUtil commandUtil;
+    private JsonUtil jsonUtil;
+
+    /**
+     * Only json answer is versioned by account version, html page also shows accounts of the user.
+     */
+    @Override
+    public Optional<String> getVersion(HttpServletRequest request) {
+        if (!commandUtil.isJsonAccepted(request) || Objects.isNull(request.getParameter("accountId"))) {
+            return Optional.empty();
+        }
+        return accountService.getAccountVersion(Long.valueOf(request.getParameter("accountId"))).map(String::valueOf);
+    }
 
     @Override
     public String execute(HttpServletRequest request) {
@@ -32,7 +52,7 @@ public class InfoAccountCommand implements Command {
         User user = userService.get(userId);
 
         if (!role.equals(User.Role.ADMIN) && !account.getHolders().contains(userId)) {
-            logger.warn("User " + user.getId() + "try to access account " + accountId + " without permissions");
+            logger.warn("User {} tries to access account {} without permissions", user.getId(), accountId);
 
             return "redirect:" + pathManager.getPath("path.error");
         }
@@ -45,6 +65,26 @@ public class InfoAccountCommand implements Command {
         return pathManager.getPath("path.info.account");
     }
 
+    @Override
+    public void executeJson(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Long accountId = Long.valueOf(request.getParameter("accountId"));
+        Long userId = (Long) request.getSession().getAttribute("id");
+        User.Role role = User.Role.valueOf((String) request.getSession().getAttribute("role"));
+
+        Account account = accountService.getAccount(accountId);
+
+        if (!role.equals(User.Role.ADMIN) && !account.getHolders().contains(userId)) {
+            logger.warn("User {} tries to access account {} without permissions", userId, accountId);
+
+            response.sendError(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+
+        JsonWriter writer = jsonUtil.newWriter(response);
+        jsonUtil.writeAccount(writer, account);
+        writer.flush();
+    }
+
     @Autowired
     public void setAccountService(AccountService accountService) {
         this.accountService = accountService;
@@ -59,4 +99,14 @@ public class InfoAccountCommand implements Command {
     public void setPathManager(PathManager pathManager) {
         this.pathManager = pathManager;
     }
+
+    @Autowired
+    public void setCommandUtil(CommandUtil commandUtil) {
+        this.commandUtil = commandUtil;
+    }
+
+    @Autowired
+    public void setJsonUtil(JsonUtil jsonUtil) {
+        this.jsonUtil = jsonUtil;
+    }
 }
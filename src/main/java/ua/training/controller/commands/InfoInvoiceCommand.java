@@ -30,7 +30,7 @@ public class InfoInvoiceCommand implements Command {
         Invoice invoice = accountService.getInvoice(invoiceId);
 
         if (!user.getAccounts().contains(accountId) || !(accountId.equals(invoice.getPayer()) || accountId.equals(invoice.getRequester()))) {
-            logger.warn("User " + user.getId() + "try to access account " + accountId + " without permissions");
+            logger.warn("User {} tries to access account {} without permissions", user.getId(), accountId);
 
             return "redirect:" + pathManager.getPath("path.error");
         }
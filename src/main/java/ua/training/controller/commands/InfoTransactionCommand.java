@@ -1,9 +1,11 @@
 package ua.training.controller.commands;
 
+import com.google.gson.stream.JsonWriter;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
+import ua.training.controller.util.JsonUtil;
 import ua.training.controller.util.managers.PathManager;
 import ua.training.model.entity.Transaction;
 import ua.training.model.entity.User;
@@ -11,16 +13,28 @@ import ua.training.model.service.AccountService;
 import ua.training.model.service.UserService;
 
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.util.Objects;
+import java.util.Optional;
 
 @Controller("infoTransaction")
-public class InfoTransactionCommand implements Command {
+public class InfoTransactionCommand implements JsonCommand, VersionedCommand {
     private static Logger logger = LogManager.getLogger(InfoTransactionCommand.class);
 
     private UserService userService;
     private AccountService accountService;
 
     private PathManager pathManager;
+    private JsonUtil jsonUtil;
+
+    /**
+     * Transaction is never changed after it is made, so its id is its version.
+     */
+    @Override
+    public Optional<String> getVersion(HttpServletRequest request) {
+        return Optional.ofNullable(request.getParameter("transactionId"));
+    }
 
     @Override
     public String execute(HttpServletRequest request) {
@@ -33,10 +47,8 @@ public class InfoTransactionCommand implements Command {
         User user = userService.get((Long) request.getSession().getAttribute("id"));
         Transaction transaction = accountService.getTransaction(transactionId);
 
-        if (!user.getRole().equals(User.Role.ADMIN) &&
-                !(user.getAccounts().contains(transaction.getSender()) ||
-                user.getAccounts().contains(transaction.getReceiver()))) {
-            logger.warn("User " + user.getId() + "try to see info about transaction " + transactionId + " without permissions");
+        if (!hasAccess(user, transaction)) {
+            logger.warn("User {} tries to see info about transaction {} without permissions", user.getId(), transactionId);
 
             return "redirect:" + pathManager.getPath("path.error");
         }
@@ -46,6 +58,31 @@ public class InfoTransactionCommand implements Command {
         return pathManager.getPath("path.transaction");
     }
 
+    @Override
+    public void executeJson(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Long transactionId = Long.valueOf(request.getParameter("transactionId"));
+
+        User user = userService.get((Long) request.getSession().getAttribute("id"));
+        Transaction transaction = accountService.getTransaction(transactionId);
+
+        if (!hasAccess(user, transaction)) {
+            logger.warn("User {} tries to see info about transaction {} without permissions", user.getId(), transactionId);
+
+            response.sendError(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+
+        JsonWriter writer = jsonUtil.newWriter(response);
+        jsonUtil.writeTransaction(writer, transaction);
+        writer.flush();
+    }
+
+    private boolean hasAccess(User user, Transaction transaction) {
+        return user.getRole().equals(User.Role.ADMIN) ||
+                user.getAccounts().contains(transaction.getSender()) ||
+                user.getAccounts().contains(transaction.getReceiver());
+    }
+
     @Autowired
     public void setUserService(UserService userService) {
         this.userService = userService;
@@ -60,4 +97,9 @@ public class InfoTransactionCommand implements Command {
     public void setPathManager(PathManager pathManager) {
         this.pathManager = pathManager;
     }
+
+    @Autowired
+    public void setJsonUtil(JsonUtil jsonUtil) {
+        this.jsonUtil = jsonUtil;
+    }
 }
@@ -0,0 +1,16 @@
+package ua.training.controller.commands;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Extension of {@link Command} for commands that can answer with JSON instead of JSP page. Such answer is chosen when
+ * client accepts {@code application/json}; the command writes response body by itself.
+ * @see ua.training.controller.servlet.FrontServlet
+ * @see ua.training.controller.util.JsonUtil
+ * @author Oleksii Shevchenko
+ */
+public interface JsonCommand extends Command {
+    void executeJson(HttpServletRequest request, HttpServletResponse response) throws IOException;
+}
@@ -0,0 +1,35 @@
+package ua.training.controller.commands;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import ua.training.controller.util.managers.PathManager;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Answers 200 while servlet container is able to dispatch requests, no dependencies are checked.
+ * @see ReadinessCommand
+ * @author Oleksii Shevchenko
+ */
+@Controller("liveness")
+public class LivenessCommand implements StreamingCommand {
+    private PathManager pathManager;
+
+    @Override
+    public String execute(HttpServletRequest request) {
+        return "redirect:" + pathManager.getPath("path.error");
+    }
+
+    @Override
+    public void stream(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType("text/plain");
+        response.getWriter().write("UP");
+    }
+
+    @Autowired
+    public void setPathManager(PathManager pathManager) {
+        this.pathManager = pathManager;
+    }
+}
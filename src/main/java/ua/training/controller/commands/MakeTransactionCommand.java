@@ -37,7 +37,7 @@ public class MakeTransactionCommand implements Command {
         request.setAttribute("currencies", Currency.values());
 
         if (!validationUtil.makeValidation(request, List.of("sender", "receiver", "amount", "currency"))) {
-            logger.warn("User " + user.getId() + " input not valid data");
+            logger.warn("User {} input not valid data", user.getId());
 
             return pathManager.getPath("path.make-transaction");
         }
@@ -51,7 +51,7 @@ public class MakeTransactionCommand implements Command {
                 .build();
 
         if (!user.getAccounts().contains(transaction.getSender())) {
-            logger.warn("User " + user.getId() + "try to access account " + transaction.getSender() + " without permissions");
+            logger.warn("User {} tries to access account {} without permissions", user.getId(), transaction.getSender());
 
             return "redirect:" + pathManager.getPath("path.error");
         }
@@ -59,7 +59,7 @@ public class MakeTransactionCommand implements Command {
         try {
             accountService.makeTransaction(transaction);
         } catch (NotEnoughMoneyException exception) {
-            logger.warn(exception);
+            logger.warn("User {} has not enough money on account {}", user.getId(), transaction.getSender());
 
             contentManager.setLocalizedMessage(request, "notEnough", "content.message.not.enough.money");
 
@@ -0,0 +1,100 @@
+package ua.training.controller.commands;
+
+import com.google.gson.stream.JsonWriter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import ua.training.controller.util.JsonUtil;
+import ua.training.controller.util.managers.PathManager;
+import ua.training.model.dto.TransferQuoteDto;
+import ua.training.model.entity.Account;
+import ua.training.model.entity.Currency;
+import ua.training.model.exception.NoSuchAccountException;
+import ua.training.model.service.TransferQuoteService;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * Returns quote of transfer as JSON, used by transfer form to show converted amounts and fee while user types. Account
+ * holding is checked against cached sender account, so the command does not touch db on repeated calls. Missing
+ * accounts are answered with 404, any other failure goes to the common error handling.
+ * @see TransferQuoteService
+ * @author Oleksii Shevchenko
+ */
+@Controller("quoteTransfer")
+public class QuoteTransferCommand implements JsonCommand {
+    private static Logger logger = LogManager.getLogger(QuoteTransferCommand.class);
+
+    private TransferQuoteService quoteService;
+    private PathManager pathManager;
+    private JsonUtil jsonUtil;
+
+    /**
+     * Quotes are available only as JSON, plain requests are treated as wrong ones.
+     */
+    @Override
+    public String execute(HttpServletRequest request) {
+        return "redirect:" + pathManager.getPath("path.error");
+    }
+
+    @Override
+    public void executeJson(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Long senderId;
+        Long receiverId;
+        BigDecimal amount;
+        Currency currency;
+
+        try {
+            senderId = Long.valueOf(request.getParameter("sender"));
+            receiverId = Long.valueOf(request.getParameter("receiver"));
+            amount = new BigDecimal(request.getParameter("amount"));
+            currency = Currency.valueOf(request.getParameter("currency"));
+        } catch (NullPointerException | IllegalArgumentException exception) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
+
+        Long userId = (Long) request.getSession().getAttribute("id");
+
+        TransferQuoteDto quote;
+        try {
+            Account sender = quoteService.getAccount(senderId);
+            if (!sender.getHolders().contains(userId)) {
+                logger.warn("User {} tries to quote transfer from account {} without permissions", userId, senderId);
+
+                response.sendError(HttpServletResponse.SC_FORBIDDEN);
+                return;
+            }
+
+            quote = quoteService.quoteTransfer(senderId, receiverId, amount, currency);
+        } catch (NoSuchAccountException exception) {
+            logger.warn("User {} tries to quote transfer between accounts {} and {}, one of them doesn't exist", userId, senderId, receiverId);
+
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        JsonWriter writer = jsonUtil.newWriter(response);
+        jsonUtil.writeQuote(writer, quote);
+        writer.flush();
+    }
+
+    @Autowired
+    public void setQuoteService(TransferQuoteService quoteService) {
+        this.quoteService = quoteService;
+    }
+
+    @Autowired
+    public void setPathManager(PathManager pathManager) {
+        this.pathManager = pathManager;
+    }
+
+    @Autowired
+    public void setJsonUtil(JsonUtil jsonUtil) {
+        this.jsonUtil = jsonUtil;
+    }
+}
@@ -0,0 +1,96 @@
+package ua.training.controller.commands;
+
+import com.google.gson.stream.JsonWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import ua.training.controller.di.StartupMonitor;
+import ua.training.controller.util.JsonUtil;
+import ua.training.controller.util.managers.PathManager;
+import ua.training.model.service.HealthService;
+import ua.training.model.service.WarmUpService;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Reports whether warm-up is finished and db was reachable on the last health probe, answers 503 otherwise, so load
+ * balancer doesn't route requests to the node too early. Startup phases durations are reported too.
+ * @see HealthService
+ * @see WarmUpService
+ * @author Oleksii Shevchenko
+ */
+@Controller("readiness")
+public class ReadinessCommand implements StreamingCommand {
+    private HealthService healthService;
+    private WarmUpService warmUpService;
+    private StartupMonitor startupMonitor;
+    private JsonUtil jsonUtil;
+    private PathManager pathManager;
+
+    @Override
+    public String execute(HttpServletRequest request) {
+        return "redirect:" + pathManager.getPath("path.error");
+    }
+
+    @Override
+    public void stream(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        boolean ready = healthService.isReady();
+
+        response.setStatus(ready ? HttpServletResponse.SC_OK : HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+
+        JsonWriter writer = jsonUtil.newWriter(response);
+
+        writer.beginObject();
+        writer.name("ready").value(ready);
+        writer.name("database").value(healthService.getHealth().isDatabaseUp());
+
+        writer.name("warmUp").beginObject();
+        for (Map.Entry<String, WarmUpService.State> state : warmUpService.getStates().entrySet()) {
+            writer.name(state.getKey()).beginObject();
+            writer.name("state").value(state.getValue().name());
+            writer.name("millis").value(warmUpService.getDurations().get(state.getKey()));
+            writer.endObject();
+        }
+        writer.endObject();
+
+        writer.name("startup").beginObject();
+        for (Map.Entry<String, Long> phase : startupMonitor.getPhases().entrySet()) {
+            writer.name(phase.getKey()).value(phase.getValue());
+        }
+        if (Objects.nonNull(startupMonitor.getTimeToFirstRequest())) {
+            writer.name("first request").value(startupMonitor.getTimeToFirstRequest());
+        }
+        writer.endObject();
+
+        writer.endObject();
+        writer.flush();
+    }
+
+    @Autowired
+    public void setHealthService(HealthService healthService) {
+        this.healthService = healthService;
+    }
+
+    @Autowired
+    public void setWarmUpService(WarmUpService warmUpService) {
+        this.warmUpService = warmUpService;
+    }
+
+    @Autowired
+    public void setStartupMonitor(StartupMonitor startupMonitor) {
+        this.startupMonitor = startupMonitor;
+    }
+
+    @Autowired
+    public void setJsonUtil(JsonUtil jsonUtil) {
+        this.jsonUtil = jsonUtil;
+    }
+
+    @Autowired
+    public void setPathManager(PathManager pathManager) {
+        this.pathManager = pathManager;
+    }
+}
@@ -0,0 +1,41 @@
+package ua.training.controller.commands;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import ua.training.controller.util.managers.BundleManager;
+import ua.training.controller.util.managers.PathManager;
+import ua.training.tag.util.FormatterRegistry;
+import ua.training.tag.util.FragmentCache;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * This command used by admins to reload content, patterns, formats and regex bundles without redeploy of the app.
+ * Formatters and page fragments cached for custom tags are dropped after reloading.
+ * @see BundleManager
+ * @author Oleksii Shevchenko
+ */
+@Controller("reloadBundles")
+public class ReloadBundlesCommand implements Command {
+    private static Logger logger = LogManager.getLogger(ReloadBundlesCommand.class);
+
+    private PathManager pathManager;
+
+    @Autowired
+    public void setPathManager(PathManager pathManager) {
+        this.pathManager = pathManager;
+    }
+
+    @Override
+    public String execute(HttpServletRequest request) {
+        BundleManager.reload();
+        FormatterRegistry.clear();
+        FragmentCache.clear();
+
+        logger.info("Admin {} reloaded resource bundles", request.getSession().getAttribute("id"));
+
+        return "redirect:" + pathManager.getPath("path.completed");
+    }
+}
@@ -27,13 +27,13 @@ public class RemoveHolderCommand implements Command {
         if (Objects.isNull(request.getParameter("holderId"))) {
             userService.removeHolder(userId, accountId);
 
-            logger.info("User " + userId + " remove himself from holders of account " + accountId);
+            logger.info("User {} remove himself from holders of account {}", userId, accountId);
 
             return "redirect:" + pathManager.getPath("path.completed");
         }
 
         if (userService.getPermission(userId, accountId).equals(Permission.RESTRICTED)) {
-            logger.warn("User " + userId + "try to access account " + accountId + " without permissions");
+            logger.warn("User {} tries to access account {} without permissions", userId, accountId);
 
             return "redirect:" + pathManager.getPath("path.error");
         }
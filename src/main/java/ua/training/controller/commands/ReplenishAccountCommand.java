@@ -44,7 +44,7 @@ public class ReplenishAccountCommand implements Command {
 
         accountService.makeTransaction(transaction);
 
-        logger.info("Admin " + request.getSession().getAttribute("id") + " made account " + accountId + " replenishment");
+        logger.info("Admin {} made account {} replenishment", request.getSession().getAttribute("id"), accountId);
 
         return "redirect:" + pathManager.getPath("path.completed");
     }
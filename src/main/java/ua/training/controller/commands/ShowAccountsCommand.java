@@ -1,16 +1,22 @@
 package ua.training.controller.commands;
 
+import com.google.gson.stream.JsonWriter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
+import ua.training.controller.util.JsonUtil;
 import ua.training.controller.util.managers.PathManager;
+import ua.training.model.entity.Account;
 import ua.training.model.service.AccountService;
 
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 
 @Controller("showAccounts")
-public class ShowAccountsCommand implements Command {
+public class ShowAccountsCommand implements JsonCommand {
     private AccountService accountService;
     private PathManager pathManager;
+    private JsonUtil jsonUtil;
 
     @Override
     public String execute(HttpServletRequest request) {
@@ -19,6 +25,18 @@ public class ShowAccountsCommand implements Command {
         return pathManager.getPath("path.all-accounts");
     }
 
+    @Override
+    public void executeJson(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        JsonWriter writer = jsonUtil.newWriter(response);
+
+        writer.beginArray();
+        for (Account account : accountService.getAccounts((Long) request.getSession().getAttribute("id"))) {
+            jsonUtil.writeAccount(writer, account);
+        }
+        writer.endArray();
+        writer.flush();
+    }
+
     @Autowired
     public void setAccountService(AccountService accountService) {
         this.accountService = accountService;
@@ -28,4 +46,9 @@ public class ShowAccountsCommand implements Command {
     public void setPathManager(PathManager pathManager) {
         this.pathManager = pathManager;
     }
+
+    @Autowired
+    public void setJsonUtil(JsonUtil jsonUtil) {
+        this.jsonUtil = jsonUtil;
+    }
 }
@@ -24,7 +24,7 @@ public class ShowHoldersCommand implements Command {
         User user = userService.get((Long) request.getSession().getAttribute("id"));
 
         if (!user.getAccounts().contains(accountId)) {
-            logger.warn("User " + user.getId() + "try to access account " + accountId + " without permissions");
+            logger.warn("User {} tries to access account {} without permissions", user.getId(), accountId);
 
             return "redirect:" + pathManager.getPath("path.error");
         }
@@ -1,16 +1,27 @@
 package ua.training.controller.commands;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import ua.training.controller.util.managers.PathManager;
 import ua.training.model.dto.InvoiceDto;
-import ua.training.model.service.AccountService;
+import ua.training.model.entity.Invoice;
+import ua.training.model.service.InvoiceQueryService;
 
 import javax.servlet.http.HttpServletRequest;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Controller("showInvoices")
 public class ShowInvoicesCommand implements Command {
-    private AccountService accountService;
+    private static Logger logger = LogManager.getLogger(ShowInvoicesCommand.class);
+
+    private InvoiceQueryService invoiceQueryService;
     private PathManager pathManager;
 
     @Override
@@ -18,22 +29,44 @@ public class ShowInvoicesCommand implements Command {
         Long accountId = Long.valueOf(request.getParameter("accountId"));
         Long userId = (Long) request.getSession().getAttribute("id");
 
-        if (!accountService.getAccount(accountId).getHolders().contains(userId)) {
+        Optional<InvoiceDto> invoiceDto = invoiceQueryService.getInvoices(userId, accountId, getStatuses(request),
+                getKey(request, "payerAfter"), getKey(request, "requesterAfter"));
+
+        if (!invoiceDto.isPresent()) {
+            logger.warn("User {} tries to see invoices of account {} without permissions", userId, accountId);
+
             return "redirect:" + pathManager.getPath("path.error");
         }
 
-        InvoiceDto invoiceDto = accountService.getInvoices(accountId);
-
-        request.setAttribute("payer", invoiceDto.getInvoicesAsPayer());
-        request.setAttribute("requester", invoiceDto.getInvoicesAsRequester());
+        request.setAttribute("payer", invoiceDto.get().getInvoicesAsPayer());
+        request.setAttribute("requester", invoiceDto.get().getInvoicesAsRequester());
+        request.setAttribute("payerNext", invoiceDto.get().getPayerNext());
+        request.setAttribute("requesterNext", invoiceDto.get().getRequesterNext());
         request.setAttribute("masterAccount", accountId);
 
         return pathManager.getPath("path.all-invoices");
     }
 
+    private Set<Invoice.Status> getStatuses(HttpServletRequest request) {
+        String[] statuses = request.getParameterValues("status");
+
+        if (Objects.isNull(statuses)) {
+            return EnumSet.noneOf(Invoice.Status.class);
+        }
+        return Arrays.stream(statuses)
+                .filter(status -> !status.isEmpty())
+                .map(Invoice.Status::valueOf)
+                .collect(Collectors.toCollection(() -> EnumSet.noneOf(Invoice.Status.class)));
+    }
+
+    private Long getKey(HttpServletRequest request, String name) {
+        String key = request.getParameter(name);
+        return Objects.isNull(key) || key.isEmpty() ? null : Long.valueOf(key);
+    }
+
     @Autowired
-    public void setAccountService(AccountService accountService) {
-        this.accountService = accountService;
+    public void setInvoiceQueryService(InvoiceQueryService invoiceQueryService) {
+        this.invoiceQueryService = invoiceQueryService;
     }
 
     @Autowired
@@ -1,20 +1,24 @@
 package ua.training.controller.commands;
 
+import com.google.gson.stream.JsonWriter;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Controller;
+import ua.training.controller.util.JsonUtil;
 import ua.training.controller.util.managers.PathManager;
 import ua.training.model.entity.User;
 import ua.training.model.service.AccountService;
 import ua.training.model.service.UserService;
 
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.util.Objects;
 
 @Controller("showTransactions")
-public class ShowTransactionsCommand implements Command {
+public class ShowTransactionsCommand implements JsonCommand {
     private static Logger logger = LogManager.getLogger(ShowTransactionsCommand.class);
 
     private final int itemsNumber;
@@ -22,6 +26,7 @@ public class ShowTransactionsCommand implements Command {
     private UserService userService;
     private AccountService accountService;
     private PathManager pathManager;
+    private JsonUtil jsonUtil;
 
     public ShowTransactionsCommand(@Value("5") int itemsNumber) {
         this.itemsNumber = itemsNumber;
@@ -33,7 +38,7 @@ public class ShowTransactionsCommand implements Command {
 
         User user = userService.get((Long) request.getSession().getAttribute("id"));
         if (!user.getAccounts().contains(accountId)) {
-            logger.warn("User " + user.getId() + "try to access account " + accountId + " without permissions");
+            logger.warn("User {} tries to access account {} without permissions", user.getId(), accountId);
 
             return "redirect:" + pathManager.getPath("path.error");
         }
@@ -46,6 +51,44 @@ public class ShowTransactionsCommand implements Command {
         return pathManager.getPath("path.all-transactions");
     }
 
+    /**
+     * Writes transactions page without building page dto, page is serialized after db transaction reading it is
+     * committed. Requested page is checked before anything is written, so page out of range is answered with 404
+     * instead of broken body.
+     */
+    @Override
+    public void executeJson(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Long accountId = Long.valueOf(request.getParameter("accountId"));
+
+        User user = userService.get((Long) request.getSession().getAttribute("id"));
+        if (!user.getAccounts().contains(accountId)) {
+            logger.warn("User {} tries to access account {} without permissions", user.getId(), accountId);
+
+            response.sendError(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+
+        int page = Objects.isNull(request.getParameter("page")) ? 1 : Integer.parseInt(request.getParameter("page"));
+
+        if (page < 1 || page > accountService.getTransactionsPagesNumber(accountId, itemsNumber)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        JsonWriter writer = jsonUtil.newWriter(response);
+
+        writer.beginObject();
+        writer.name("items").beginArray();
+        int pagesNumber = accountService.getTransactionsPage(accountId, itemsNumber, page,
+                transaction -> jsonUtil.writeTransactionUnchecked(writer, transaction));
+        writer.endArray();
+        writer.name("itemsNumber").value(itemsNumber);
+        writer.name("pagesNumber").value(pagesNumber);
+        writer.name("currentPage").value(Math.min(page, pagesNumber));
+        writer.endObject();
+        writer.flush();
+    }
+
     @Autowired
     public void setUserService(UserService userService) {
         this.userService = userService;
@@ -60,4 +103,9 @@ public class ShowTransactionsCommand implements Command {
     public void setAccountService(AccountService accountService) {
         this.accountService = accountService;
     }
+
+    @Autowired
+    public void setJsonUtil(JsonUtil jsonUtil) {
+        this.jsonUtil = jsonUtil;
+    }
 }
@@ -3,6 +3,7 @@ package ua.training.controller.commands;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Controller;
 import ua.training.controller.util.ValidationUtil;
 import ua.training.controller.util.managers.ContentManager;
@@ -11,11 +12,10 @@ import ua.training.model.entity.User;
 import ua.training.model.exception.NoSuchUserException;
 import ua.training.model.exception.WrongPasswordException;
 import ua.training.model.service.AuthenticationService;
+import ua.training.model.service.SessionRegistry;
 
 import javax.servlet.http.HttpServletRequest;
-import javax.servlet.http.HttpSession;
 import java.util.List;
-import java.util.Objects;
 
 @Controller("signIn")
 public class SignInCommand implements Command {
@@ -25,6 +25,7 @@ public class SignInCommand implements Command {
     private ValidationUtil validationUtil;
     private ContentManager contentManager;
     private PathManager pathManager;
+    private SessionRegistry sessionRegistry;
 
     @Override
     public String execute(HttpServletRequest request) {
@@ -38,15 +39,14 @@ public class SignInCommand implements Command {
         try {
             User user = authenticationService.authenticate(login, password);
 
-            invalidateOtherSessions(request, user);
             signInUser(request, user);
         } catch (NoSuchUserException exception) {
-            logger.warn("Tries to sign in with wrong login " + login);
+            logger.warn("Tries to sign in with wrong login {}", login);
 
             contentManager.setLocalizedMessage(request, "loginWrong", "content.message.wrong.login");
             return pathManager.getPath("path.sign.in");
         } catch (WrongPasswordException exception) {
-            logger.warn("User " + login + " tries to sign in with wrong password");
+            logger.warn("User {} tries to sign in with wrong password", login);
 
             contentManager.setLocalizedMessage(request, "passWrong", "content.message.wrong.pass");
             return pathManager.getPath("path.sign.in");
@@ -59,18 +59,9 @@ public class SignInCommand implements Command {
         request.getSession().setAttribute("login", user.getLogin());
         request.getSession().setAttribute("role", user.getRole().name());
         request.getSession().setAttribute("id", user.getId());
-        request.getServletContext().setAttribute(user.getLogin(), request.getSession());
+        sessionRegistry.register(user.getLogin(), request.getSession().getId());
 
-        logger.info("User " + user.getLogin() + " is signed in");
-    }
-
-    private void invalidateOtherSessions(HttpServletRequest request, User user) {
-        if (Objects.nonNull(request.getServletContext().getAttribute(user.getLogin()))) {
-            ((HttpSession) request.getServletContext().getAttribute(user.getLogin())).invalidate();
-            request.getServletContext().removeAttribute(user.getLogin());
-        }
-
-        logger.warn("Closed another session of user " + user.getLogin());
+        logger.info("User {} is signed in, another sessions of the user are closed", user.getLogin());
     }
 
     @Autowired
@@ -92,4 +83,10 @@ public class SignInCommand implements Command {
     public void setPathManager(PathManager pathManager) {
         this.pathManager = pathManager;
     }
+
+    @Autowired
+    @Qualifier("sessionRegistry")
+    public void setSessionRegistry(SessionRegistry sessionRegistry) {
+        this.sessionRegistry = sessionRegistry;
+    }
 }
@@ -3,8 +3,10 @@ package ua.training.controller.commands;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Controller;
 import ua.training.controller.util.managers.PathManager;
+import ua.training.model.service.SessionRegistry;
 
 import javax.servlet.http.HttpServletRequest;
 
@@ -13,12 +15,13 @@ public class SignOutCommand implements Command {
     private static Logger logger = LogManager.getLogger(SignOutCommand.class);
 
     private PathManager pathManager;
+    private SessionRegistry sessionRegistry;
 
     @Override
     public String execute(HttpServletRequest request) {
-        logger.info("User " + request.getSession().getAttribute("login") + " is sign out.");
+        logger.info("User {} is sign out.", request.getSession().getAttribute("login"));
 
-        request.getServletContext().removeAttribute((String) request.getSession().getAttribute("login"));
+        sessionRegistry.revoke((String) request.getSession().getAttribute("login"), request.getSession().getId());
         request.getSession().invalidate();
 
         return "redirect:" + pathManager.getPath("path.index");
@@ -28,4 +31,10 @@ public class SignOutCommand implements Command {
     public void setPathManager(PathManager pathManager) {
         this.pathManager = pathManager;
     }
+
+    @Autowired
+    @Qualifier("sessionRegistry")
+    public void setSessionRegistry(SessionRegistry sessionRegistry) {
+        this.sessionRegistry = sessionRegistry;
+    }
 }
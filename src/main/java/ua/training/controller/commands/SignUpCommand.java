@@ -4,6 +4,7 @@ import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Controller;
 import ua.training.controller.util.ValidationUtil;
 import ua.training.controller.util.managers.ContentManager;
@@ -12,6 +13,7 @@ import ua.training.model.entity.User;
 import ua.training.model.exception.NonUniqueEmailException;
 import ua.training.model.exception.NonUniqueLoginException;
 import ua.training.model.service.AuthenticationService;
+import ua.training.model.service.SessionRegistry;
 
 import javax.servlet.http.HttpServletRequest;
 import java.util.List;
@@ -24,6 +26,7 @@ public class SignUpCommand implements Command {
     private ValidationUtil validationUtil;
     private ContentManager contentManager;
     private PathManager pathManager;
+    private SessionRegistry sessionRegistry;
 
     @Override
     public String execute(HttpServletRequest request) {
@@ -36,12 +39,12 @@ public class SignUpCommand implements Command {
         try {
             user.setId(authenticationService.register(user));
         } catch (NonUniqueLoginException exception) {
-            logger.warn("Tries to sign up with existing login " + user.getLogin());
+            logger.warn("Tries to sign up with existing login {}", user.getLogin());
 
             contentManager.setLocalizedMessage(request, "loginWrong", "content.message.exist.login");
             return pathManager.getPath("path.sign.up");
         } catch (NonUniqueEmailException exception) {
-            logger.warn("Tries to sign in with existing email " + user.getEmail());
+            logger.warn("Tries to sign in with existing email {}", user.getEmail());
 
             contentManager.setLocalizedMessage(request, "emailWrong", "content.message.exist.email");
             return pathManager.getPath("path.sign.up");
@@ -67,9 +70,9 @@ public class SignUpCommand implements Command {
         request.getSession().setAttribute("login", user.getLogin());
         request.getSession().setAttribute("role", user.getRole().name());
         request.getSession().setAttribute("id", user.getId());
-        request.getServletContext().setAttribute(user.getLogin(), request.getSession());
+        sessionRegistry.register(user.getLogin(), request.getSession().getId());
 
-        logger.info("User " + user.getLogin() + " is signed in");
+        logger.info("User {} is signed in", user.getLogin());
     }
 
     @Autowired
@@ -91,4 +94,10 @@ public class SignUpCommand implements Command {
     public void setPathManager(PathManager pathManager) {
         this.pathManager = pathManager;
     }
+
+    @Autowired
+    @Qualifier("sessionRegistry")
+    public void setSessionRegistry(SessionRegistry sessionRegistry) {
+        this.sessionRegistry = sessionRegistry;
+    }
 }
@@ -0,0 +1,15 @@
+package ua.training.controller.commands;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Extension of {@link Command} for commands that write the whole response by themselves, such as file exports. The
+ * front servlet always calls {@link StreamingCommand#stream(HttpServletRequest, HttpServletResponse)} for them.
+ * @see ua.training.controller.servlet.FrontServlet
+ * @author Oleksii Shevchenko
+ */
+public interface StreamingCommand extends Command {
+    void stream(HttpServletRequest request, HttpServletResponse response) throws IOException;
+}
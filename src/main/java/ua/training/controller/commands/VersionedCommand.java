@@ -0,0 +1,20 @@
+package ua.training.controller.commands;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.Optional;
+
+/**
+ * Extension of {@link Command} for commands whose result is determined by cheaply read version of shown data, such as
+ * time of the last rates update or id of immutable transaction. Front servlet sends version as ETag and answers
+ * matching {@code If-None-Match} with 304 without executing the command.
+ * @see ua.training.controller.servlet.FrontServlet
+ * @author Oleksii Shevchenko
+ */
+public interface VersionedCommand extends Command {
+    /**
+     * Returns version of data the command would show for the request. It must not be more expensive than the command.
+     * @param request User request.
+     * @return Version or empty if response mustn't be revalidated by version.
+     */
+    Optional<String> getVersion(HttpServletRequest request);
+}
@@ -2,10 +2,14 @@ package ua.training.controller.di;
 
 import com.google.gson.Gson;
 import org.apache.commons.dbcp2.BasicDataSource;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.*;
+import org.springframework.context.ApplicationContext;
 import org.springframework.core.env.Environment;
 import ua.training.controller.commands.Command;
 import ua.training.model.dao.mapper.Mapper;
@@ -13,32 +17,24 @@ import ua.training.model.dao.mapper.jdbc.JdbcCreditAccountMapper;
 import ua.training.model.dao.mapper.jdbc.JdbcDepositAccountMapper;
 import ua.training.model.entity.Account;
 import ua.training.model.entity.Request;
+import ua.training.model.service.SessionRegistry;
 
 import javax.sql.DataSource;
-import java.util.Locale;
 import java.util.Map;
 import java.util.ResourceBundle;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
-@ComponentScan(basePackages = "ua.training")
-@PropertySource("database.properties")
+@ComponentScan(basePackages = {"ua.training.controller", "ua.training.model"})
+@PropertySource({"database.properties", "application.properties"})
 public class Config {
     @Bean("paths")
     public ResourceBundle paths() {
         return ResourceBundle.getBundle("path");
     }
 
-    @Bean("contentBundlesMap")
-    public Map<Locale, ResourceBundle> contentBundlesMap(@Value("content") String bundle) {
-        return Map.of(
-                Locale.forLanguageTag("uk-UA"), ResourceBundle.getBundle(bundle, Locale.forLanguageTag("uk-UA")),
-                Locale.forLanguageTag("en-US"), ResourceBundle.getBundle(bundle, Locale.forLanguageTag("en-US")));
-    }
-
     @Bean("subCommands")
     public Map<Request.Type, Command> subCommands(@Qualifier("creditAccount") Command creditAccount, @Qualifier("depositAccount") Command depositAccount) {
         return Map.of(
@@ -47,7 +43,12 @@ public class Config {
         );
     }
 
+    /**
+     * Pool of primary db connections. Read-only dao methods take connections from
+     * {@link ua.training.model.dao.jdbc.RoutingDataSource}, that routes them to replicas if there are ones.
+     */
     @Bean("dataSource")
+    @Primary
     @Lazy
     @Autowired
     public DataSource dataSource(Environment environment) {
@@ -58,6 +59,29 @@ public class Config {
         poolingSource.setPassword(environment.getProperty("db.connection.pass"));
         poolingSource.setMaxIdle(Integer.parseInt(environment.getProperty("db.connection.idle.max")));
         poolingSource.setMinIdle(Integer.parseInt(environment.getProperty("db.connection.idle.min")));
+        poolingSource.setMaxWaitMillis(Long.parseLong(environment.getProperty("db.connection.wait.max")));
+        return poolingSource;
+    }
+
+    /**
+     * Pool of connections for transaction export, it may point to replica. Rows are fetched by server-side cursor,
+     * which is enabled only for this pool, as it makes every statement of connection server-side prepared.
+     */
+    @Bean("exportDataSource")
+    @Lazy
+    @Autowired
+    public DataSource exportDataSource(Environment environment) {
+        String url = environment.getProperty("db.export.url", "");
+
+        BasicDataSource poolingSource = new BasicDataSource();
+        poolingSource.setDriverClassName(environment.getProperty("db.connection.driver"));
+        poolingSource.setUrl(url.isEmpty() ? environment.getProperty("db.connection.url") : url);
+        poolingSource.setUsername(environment.getProperty("db.connection.user"));
+        poolingSource.setPassword(environment.getProperty("db.connection.pass"));
+        poolingSource.setMaxTotal(Integer.parseInt(environment.getProperty("db.export.pool.max")));
+        poolingSource.setMaxIdle(Integer.parseInt(environment.getProperty("db.export.pool.max")));
+        poolingSource.setDefaultReadOnly(true);
+        poolingSource.addConnectionProperty("useCursorFetch", "true");
         return poolingSource;
     }
 
@@ -89,9 +113,36 @@ public class Config {
         return ResourceBundle.getBundle("fixer_io");
     }
 
-    @Bean("lock")
-    @Scope("prototype")
-    public ReadWriteLock lock() {
-        return new ReentrantReadWriteLock();
+    /**
+     * Shared http client for fixer.io with pooled persistent connections and strict timeouts, so hung upstream can't
+     * hold threads longer than configured.
+     */
+    @Bean(name = "fixerHttpClient", destroyMethod = "close")
+    public CloseableHttpClient fixerHttpClient(@Qualifier("fixerConfig") ResourceBundle fixerConfig) {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(Integer.parseInt(fixerConfig.getString("fixer.http.pool.max")));
+        connectionManager.setDefaultMaxPerRoute(Integer.parseInt(fixerConfig.getString("fixer.http.pool.max")));
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(Integer.parseInt(fixerConfig.getString("fixer.http.connect.timeout")))
+                .setSocketTimeout(Integer.parseInt(fixerConfig.getString("fixer.http.read.timeout")))
+                .setConnectionRequestTimeout(Integer.parseInt(fixerConfig.getString("fixer.http.pool.timeout")))
+                .build();
+
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .evictIdleConnections(1, TimeUnit.MINUTES)
+                .build();
+    }
+
+    /**
+     * Session registry backend chosen by {@code session.registry} property: {@code memory} for single node or
+     * {@code jdbc} for several nodes sharing db.
+     */
+    @Bean("sessionRegistry")
+    @Autowired
+    public SessionRegistry sessionRegistry(Environment environment, ApplicationContext context) {
+        return context.getBean(environment.getProperty("session.registry") + "SessionRegistry", SessionRegistry.class);
     }
 }
@@ -0,0 +1,86 @@
+package ua.training.controller.di;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.core.PriorityOrdered;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records durations of startup phases. Initialization of every bean (including its {@code @PostConstruct} method) is
+ * timed and slow ones are recorded as separate phases, time from JVM start to the first handled request is recorded
+ * as startup benchmark.
+ * @author Oleksii Shevchenko
+ */
+@Component
+public class StartupMonitor implements BeanPostProcessor, PriorityOrdered {
+    private static Logger logger = LogManager.getLogger(StartupMonitor.class);
+
+    private static final long SLOW_BEAN_MILLIS = 50;
+
+    private final Map<String, Long> initStarts = new ConcurrentHashMap<>();
+    private final Map<String, Long> phases = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    private volatile Long timeToFirstRequest;
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        initStarts.put(beanName, System.nanoTime());
+        return bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        Long start = initStarts.remove(beanName);
+
+        if (Objects.nonNull(start)) {
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            if (millis >= SLOW_BEAN_MILLIS) {
+                recordPhase("bean " + beanName, millis);
+            }
+        }
+        return bean;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    public void recordPhase(String phase, long millis) {
+        phases.put(phase, millis);
+        logger.info("Startup phase {} took {} ms", phase, millis);
+    }
+
+    /**
+     * Records time from JVM start on the first call, later calls are ignored.
+     */
+    public void recordRequest() {
+        if (Objects.isNull(timeToFirstRequest)) {
+            synchronized (this) {
+                if (Objects.isNull(timeToFirstRequest)) {
+                    timeToFirstRequest = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+                    logger.info("First request is handled in {} ms after JVM start", timeToFirstRequest);
+                }
+            }
+        }
+    }
+
+    public Map<String, Long> getPhases() {
+        synchronized (phases) {
+            return Collections.unmodifiableMap(new LinkedHashMap<>(phases));
+        }
+    }
+
+    public Long getTimeToFirstRequest() {
+        return timeToFirstRequest;
+    }
+}
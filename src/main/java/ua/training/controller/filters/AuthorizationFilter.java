@@ -3,21 +3,28 @@ package ua.training.controller.filters;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import ua.training.controller.util.CommandUtil;
+import ua.training.model.entity.User;
+import ua.training.model.service.SessionRegistry;
 
 import javax.servlet.*;
 import javax.servlet.annotation.WebFilter;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
 import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 
 
 /**
  * This filters implements authorization mechanism. If user has permissions to make such request, than the request will
  * be pass further, else the response will be sent to error page. If there is even no such commend, response will be
- * sent to error page too.
+ * sent to error page too. Session replaced by signing in of the same user in another session (possibly on another
+ * node) is closed here and request is continued as guest one. In token mode registry isn't checked on every request,
+ * tokens of replaced sessions are not refreshed by {@link GuestFilter} instead. Liveness and readiness probes are
+ * passed for everyone without touching session.
  */
 @WebFilter(filterName = "authorizationFilter", urlPatterns = {"/api/*"})
 public class AuthorizationFilter implements Filter {
@@ -43,7 +50,9 @@ public class AuthorizationFilter implements Filter {
                 "infoAccount",
                 "infoTransaction",
                 "showTransactions",
+                "exportTransactions",
                 "makeTransaction",
+                "quoteTransfer",
                 "profile",
                 "createInvoice",
                 "infoInvoice",
@@ -58,6 +67,7 @@ public class AuthorizationFilter implements Filter {
                 "workspace",
                 "changeLanguage",
                 "currencyRate",
+                "health",
                 "openAccount",
                 "closeAccount",
                 "showAccounts",
@@ -68,6 +78,9 @@ public class AuthorizationFilter implements Filter {
                 "processRequest",
                 "considerRequest",
                 "replenishAccount",
+                "reloadBundles",
+                "importReplenishments",
+                "importStatus",
                 "profile"));
     }
 
@@ -79,16 +92,56 @@ public class AuthorizationFilter implements Filter {
         HttpServletRequest request = (HttpServletRequest) servletRequest;
         HttpServletResponse response = (HttpServletResponse) servletResponse;
 
-        String command = new CommandUtil().extractCommand(request);
+        CommandUtil commandUtil = new CommandUtil();
+        String command = commandUtil.extractCommand(request);
+
+        if (commandUtil.isProbe(request)) {
+            filterChain.doFilter(servletRequest, servletResponse);
+            return;
+        }
+
+        closeReplacedSession(request);
 
         String role = (String) request.getSession().getAttribute("role");
 
         if (permissions.getOrDefault(role, List.of()).contains(command)) {
             filterChain.doFilter(servletRequest, servletResponse);
         } else {
-            logger.warn("User with role " + role + " tries to access commands " + command);
+            logger.warn("User with role {} tries to access commands {}", role, command);
+
+            if (commandUtil.isJsonAccepted(request)) {
+                response.sendError(HttpServletResponse.SC_FORBIDDEN);
+            } else {
+                response.sendRedirect(request.getContextPath() + "/error.jsp");
+            }
+        }
+    }
+
+    private void closeReplacedSession(HttpServletRequest request) {
+        HttpSession session = request.getSession();
+        String login = (String) session.getAttribute("login");
+
+        if (Objects.isNull(login)) {
+            return;
+        }
+
+        ServletContext servletContext = request.getServletContext();
+
+        if (Objects.nonNull(servletContext.getAttribute("sessionTokenCodec"))) {
+            return;
+        }
+
+        SessionRegistry sessionRegistry = (SessionRegistry) servletContext.getAttribute("sessionRegistry");
+
+        if (Objects.nonNull(sessionRegistry) && !sessionRegistry.isCurrent(login, session.getId())) {
+            Object lang = session.getAttribute("lang");
+            session.invalidate();
+
+            HttpSession guestSession = request.getSession();
+            guestSession.setAttribute("role", User.Role.GUEST.name());
+            guestSession.setAttribute("lang", lang);
 
-            response.sendRedirect(request.getContextPath() + "/error.jsp");
+            logger.warn("Closed session of user {} replaced by another session", login);
         }
     }
 }
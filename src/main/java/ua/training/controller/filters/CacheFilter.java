@@ -9,10 +9,11 @@ import java.io.IOException;
 
 /**
  * This filter set headers in response to disable caching mechanism to prevent unwanted behavior caused by 'aggressive'
- * caching mechanism of some browsers when use 'back arrow'.
+ * caching mechanism of some browsers when use 'back arrow'. Only dynamic responses are filtered, static assets are
+ * cached by {@link StaticAssetFilter}.
  * @author Oleksii Shevchenko
  */
-@WebFilter(displayName = "cacheFilter", urlPatterns = {"/*"})
+@WebFilter(displayName = "cacheFilter", urlPatterns = {"/api/*", "*.jsp"})
 public class CacheFilter implements Filter {
     @Override
     public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain) throws ServletException, IOException {
@@ -0,0 +1,72 @@
+package ua.training.controller.filters;
+
+import org.apache.http.HttpHeaders;
+import ua.training.controller.util.compression.CompressingResponseWrapper;
+import ua.training.controller.util.compression.DeflaterPool;
+
+import javax.servlet.*;
+import javax.servlet.annotation.WebFilter;
+import javax.servlet.annotation.WebInitParam;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * This filter compresses dynamic responses with gzip if client accepts it. Only responses of listed content types
+ * and not smaller than minimal size are compressed, responses already encoded by command are passed as is.
+ * @see CompressingResponseWrapper
+ * @author Oleksii Shevchenko
+ */
+@WebFilter(displayName = "compressionFilter", urlPatterns = {"/api/*"}, initParams = {
+        @WebInitParam(name = "minSize", value = "1024"),
+        @WebInitParam(name = "level", value = "6"),
+        @WebInitParam(name = "poolSize", value = "32"),
+        @WebInitParam(name = "contentTypes", value = "text/html,text/plain,text/css,text/csv,application/json,application/javascript,application/x-ndjson")
+})
+public class CompressionFilter implements Filter {
+    private int minSize = 1024;
+    private Set<String> contentTypes = Set.of("text/html", "application/json");
+    private DeflaterPool pool = new DeflaterPool(32, 6);
+
+    @Override
+    public void init(FilterConfig filterConfig) {
+        if (Objects.nonNull(filterConfig)) {
+            minSize = Integer.parseInt(filterConfig.getInitParameter("minSize"));
+            contentTypes = Arrays.stream(filterConfig.getInitParameter("contentTypes").split(","))
+                    .map(String::trim)
+                    .collect(Collectors.toSet());
+            pool = new DeflaterPool(Integer.parseInt(filterConfig.getInitParameter("poolSize")),
+                    Integer.parseInt(filterConfig.getInitParameter("level")));
+        }
+    }
+
+    @Override
+    public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain) throws IOException, ServletException {
+        HttpServletRequest request = (HttpServletRequest) servletRequest;
+        HttpServletResponse response = (HttpServletResponse) servletResponse;
+
+        if (!StaticAssetFilter.isAccepted(request.getHeader(HttpHeaders.ACCEPT_ENCODING), "gzip")
+                || "HEAD".equals(request.getMethod())) {
+            filterChain.doFilter(servletRequest, servletResponse);
+            return;
+        }
+
+        CompressingResponseWrapper wrapper = new CompressingResponseWrapper(response, pool, minSize, contentTypes);
+        try {
+            filterChain.doFilter(servletRequest, wrapper);
+        } catch (IOException | ServletException | RuntimeException exception) {
+            wrapper.abort();
+            throw exception;
+        }
+        wrapper.finish();
+    }
+
+    @Override
+    public void destroy() {
+        pool.close();
+    }
+}
@@ -5,10 +5,10 @@ import javax.servlet.annotation.WebFilter;
 import java.io.IOException;
 
 /**
- * This filter sets content encoding UTF-8 for all requests and responses.
+ * This filter sets content encoding UTF-8 for all dynamic requests and responses.
  * @author Oleksii Shevchenko
  */
-@WebFilter(displayName = "encodingFilter", urlPatterns = {"/*"})
+@WebFilter(displayName = "encodingFilter", urlPatterns = {"/api/*", "*.jsp"})
 public class EncodingFilter implements Filter {
     @Override
     public void init(FilterConfig filterConfig) {}
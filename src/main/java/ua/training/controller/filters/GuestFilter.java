@@ -2,42 +2,86 @@ package ua.training.controller.filters;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import ua.training.controller.util.CommandUtil;
+import ua.training.controller.util.session.SessionTokenCodec;
+import ua.training.controller.util.session.TokenRequestWrapper;
 import ua.training.model.entity.User;
+import ua.training.model.service.SessionRegistry;
 
 import javax.servlet.*;
 import javax.servlet.annotation.WebFilter;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.servlet.http.HttpSession;
 import java.io.IOException;
 import java.util.Objects;
 
 /**
  * Filter creates default session (role: GUEST, lang: en-US) for all guest users first time visiting the app (they have
- * no another active session).
+ * no another active session). Liveness and readiness probes are passed without session, so load balancer probes do
+ * not create sessions. In token mode session of token due to refresh is closed instead, if it is signed out or
+ * replaced, so revoked token is never reissued and expires.
  * @author Oleksii Shevchenko
  */
 @WebFilter(displayName = "guestFilter", urlPatterns = {"/*"})
 public class GuestFilter implements Filter {
     private static Logger logger = LogManager.getLogger(GuestFilter.class);
 
+    private SessionTokenCodec sessionTokenCodec;
+    private SessionRegistry sessionRegistry;
+
     @Override
     public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain) throws IOException, ServletException {
         HttpServletRequest request = (HttpServletRequest) servletRequest;
 
+        if (new CommandUtil().isProbe(request)) {
+            filterChain.doFilter(servletRequest, servletResponse);
+            return;
+        }
+
+        if (Objects.nonNull(sessionTokenCodec)) {
+            TokenRequestWrapper tokenRequest = new TokenRequestWrapper(request, sessionTokenCodec);
+            HttpServletResponse response = (HttpServletResponse) servletResponse;
+
+            if (tokenRequest.isRefreshDue()) {
+                closeRevokedSession(tokenRequest);
+            }
+
+            filterChain.doFilter(tokenRequest, tokenRequest.wrapResponse(response));
+            tokenRequest.writeToken(response);
+            return;
+        }
+
         if (Objects.isNull(request.getSession(false))) {
             HttpSession session = request.getSession();
 
             session.setAttribute("role", User.Role.GUEST.name());
             session.setAttribute("lang", "en-US");
 
-            logger.info("Create default session " + session.getId() + " for guest user");
+            logger.info("Create default session {} for guest user", session.getId());
         }
 
         filterChain.doFilter(servletRequest, servletResponse);
     }
 
     @Override
-    public void init(FilterConfig filterConfig) {}
+    public void init(FilterConfig filterConfig) {
+        if (Objects.nonNull(filterConfig)) {
+            sessionTokenCodec = (SessionTokenCodec) filterConfig.getServletContext().getAttribute("sessionTokenCodec");
+            sessionRegistry = (SessionRegistry) filterConfig.getServletContext().getAttribute("sessionRegistry");
+        }
+    }
+
+    private void closeRevokedSession(HttpServletRequest request) {
+        HttpSession session = request.getSession();
+        String login = (String) session.getAttribute("login");
+
+        if (Objects.nonNull(login) && Objects.nonNull(sessionRegistry) && !sessionRegistry.isCurrent(login, session.getId())) {
+            session.invalidate();
+
+            logger.warn("Token of signed out or replaced session of user {} is not refreshed", login);
+        }
+    }
 
     @Override
     public void destroy() {}
@@ -0,0 +1,117 @@
+package ua.training.controller.filters;
+
+import org.apache.http.HttpHeaders;
+import ua.training.controller.util.AssetManifest;
+
+import javax.servlet.*;
+import javax.servlet.annotation.WebFilter;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * This filter serves static assets from {@link AssetManifest}. Assets requested by hashed name are cached by clients
+ * forever, assets requested by plain name are revalidated by ETag. Brotli or gzip variant is sent if client accepts
+ * it. Unknown paths are passed to default servlet.
+ * @author Oleksii Shevchenko
+ */
+@WebFilter(displayName = "staticAssetFilter", urlPatterns = {"/css/*", "/js/*"})
+public class StaticAssetFilter implements Filter {
+    private static final List<String> DIRECTORIES = List.of("/css/", "/js/");
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+    private static final String REVALIDATE = "no-cache";
+
+    private AssetManifest manifest;
+
+    @Override
+    public void init(FilterConfig filterConfig) {
+        if (Objects.nonNull(filterConfig)) {
+            manifest = AssetManifest.build(filterConfig.getServletContext(), DIRECTORIES);
+            filterConfig.getServletContext().setAttribute("assetManifest", manifest);
+        }
+    }
+
+    @Override
+    public void destroy() {}
+
+    @Override
+    public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain) throws IOException, ServletException {
+        HttpServletRequest request = (HttpServletRequest) servletRequest;
+        HttpServletResponse response = (HttpServletResponse) servletResponse;
+
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+
+        Optional<AssetManifest.Asset> hashed = manifest.findByHashedPath(path);
+        Optional<AssetManifest.Asset> asset = hashed.isPresent() ? hashed : manifest.findByPath(path);
+
+        if (asset.isPresent()) {
+            serve(request, response, asset.get(), hashed.isPresent());
+        } else {
+            filterChain.doFilter(servletRequest, servletResponse);
+        }
+    }
+
+    private void serve(HttpServletRequest request, HttpServletResponse response, AssetManifest.Asset asset, boolean immutable) throws IOException {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+
+        String encoding = null;
+        byte[] body = asset.getContent();
+
+        if (asset.getBrotli().isPresent() && isAccepted(acceptEncoding, "br")) {
+            encoding = "br";
+            body = asset.getBrotli().get();
+        } else if (asset.getGzip().isPresent() && isAccepted(acceptEncoding, "gzip")) {
+            encoding = "gzip";
+            body = asset.getGzip().get();
+        }
+
+        String etag = "\"" + asset.getHash() + (Objects.isNull(encoding) ? "" : "-" + encoding) + "\"";
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, immutable ? IMMUTABLE : REVALIDATE);
+        response.setHeader(HttpHeaders.ETAG, etag);
+        if (asset.getGzip().isPresent()) {
+            response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+
+        if (isNotModified(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        response.setContentType(asset.getContentType());
+        response.setContentLength(body.length);
+        if (Objects.nonNull(encoding)) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, encoding);
+        }
+
+        if (!"HEAD".equals(request.getMethod())) {
+            response.getOutputStream().write(body);
+        }
+    }
+
+    static boolean isAccepted(String acceptEncoding, String encoding) {
+        if (Objects.isNull(acceptEncoding)) {
+            return false;
+        }
+
+        return Arrays.stream(acceptEncoding.split(","))
+                .map(token -> token.trim().split(";"))
+                .anyMatch(parts -> parts[0].trim().equalsIgnoreCase(encoding)
+                        && (parts.length == 1 || !parts[1].trim().matches("q=0(\\.0*)?")));
+    }
+
+    public static boolean isNotModified(String ifNoneMatch, String etag) {
+        if (Objects.isNull(ifNoneMatch)) {
+            return false;
+        }
+
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+                .anyMatch(tag -> tag.equals(etag) || tag.equals("*"));
+    }
+}
@@ -4,7 +4,10 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 import ua.training.controller.commands.Command;
 import ua.training.controller.di.Config;
+import ua.training.controller.di.StartupMonitor;
 import ua.training.controller.util.managers.PathManager;
+import ua.training.controller.util.session.SessionTokenCodec;
+import ua.training.model.service.SessionRegistry;
 
 import javax.servlet.ServletContextEvent;
 import javax.servlet.ServletContextListener;
@@ -19,10 +22,20 @@ import java.util.Collections;
 public class ContextListener implements ServletContextListener {
     @Override
     public void contextInitialized(ServletContextEvent sce) {
+        long start = System.nanoTime();
         ApplicationContext context = new AnnotationConfigApplicationContext(Config.class);
 
+        StartupMonitor startupMonitor = context.getBean(StartupMonitor.class);
+        startupMonitor.recordPhase("context", (System.nanoTime() - start) / 1_000_000);
+
         sce.getServletContext().setAttribute("commands", Collections.unmodifiableMap(context.getBeansOfType(Command.class)));
         sce.getServletContext().setAttribute("pathManager", context.getBean(PathManager.class));
+        sce.getServletContext().setAttribute("startupMonitor", startupMonitor);
+        sce.getServletContext().setAttribute("sessionRegistry", context.getBean("sessionRegistry", SessionRegistry.class));
+
+        if ("token".equals(context.getEnvironment().getProperty("session.mode"))) {
+            sce.getServletContext().setAttribute("sessionTokenCodec", context.getBean(SessionTokenCodec.class));
+        }
     }
 
     @Override
@@ -1,11 +1,15 @@
 package ua.training.controller.listeners;
 
+import ua.training.model.service.SessionRegistry;
+
 import javax.servlet.annotation.WebListener;
 import javax.servlet.http.HttpSessionEvent;
 import javax.servlet.http.HttpSessionListener;
+import java.util.Objects;
 
 /**
- * This web listener used for marking user as signed out when session automatically close.
+ * This web listener used for marking user as signed out when session automatically close. Session is revoked rather
+ * than removed from registry, so sessions replaced by it do not become current again.
  * @author Oleksii Shevchenko
  */
 @WebListener
@@ -15,6 +19,11 @@ public class SessionListener implements HttpSessionListener {
 
     @Override
     public void sessionDestroyed(HttpSessionEvent se) {
-        se.getSession().getServletContext().removeAttribute((String) se.getSession().getAttribute("login"));
+        String login = (String) se.getSession().getAttribute("login");
+        SessionRegistry sessionRegistry = (SessionRegistry) se.getSession().getServletContext().getAttribute("sessionRegistry");
+
+        if (Objects.nonNull(login) && Objects.nonNull(sessionRegistry)) {
+            sessionRegistry.revoke(login, se.getSession().getId());
+        }
     }
 }
@@ -1,25 +1,44 @@
 package ua.training.controller.servlet;
 
+import org.apache.http.HttpHeaders;
+import org.apache.logging.log4j.ThreadContext;
 import ua.training.controller.commands.Command;
+import ua.training.controller.commands.JsonCommand;
+import ua.training.controller.commands.StreamingCommand;
+import ua.training.controller.commands.VersionedCommand;
+import ua.training.controller.di.StartupMonitor;
+import ua.training.controller.filters.StaticAssetFilter;
 import ua.training.controller.util.CommandUtil;
 import ua.training.controller.util.managers.PathManager;
+import ua.training.model.dao.jdbc.RoutingDataSource;
 
 import javax.servlet.ServletException;
+import javax.servlet.annotation.MultipartConfig;
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
 import java.io.IOException;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
- * Implementation of Front Servlet patter. It handles request to api and manage it.
+ * Implementation of Front Servlet patter. It handles request to api and manage it. Command name, user id and account
+ * id of the request are put to logging thread context, so every log event of the request carries them. Results of
+ * {@link VersionedCommand} are revalidated by entity tag without executing the command. User of the request is bound to
+ * thread for read routing of {@link RoutingDataSource}. Liveness and readiness probes are not counted as the first
+ * request of {@link StartupMonitor}.
  * @author Oleksii Shevchenko
  */
+@MultipartConfig(maxFileSize = 64 * 1024 * 1024, fileSizeThreshold = 1024 * 1024)
 @WebServlet(name = "FrontServlet", urlPatterns = {"/api/*"})
 public class FrontServlet extends HttpServlet {
     private Map<String, Command> commands;
     private PathManager pathManager;
+    private StartupMonitor startupMonitor;
 
     @Override
     protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
@@ -36,11 +55,95 @@ public class FrontServlet extends HttpServlet {
     public void init() {
         commands = (Map<String, Command>) getServletContext().getAttribute("commands");
         pathManager = (PathManager) getServletContext().getAttribute("pathManager");
+        startupMonitor = (StartupMonitor) getServletContext().getAttribute("startupMonitor");
     }
 
     private void processRequest(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
-        String command = new CommandUtil().extractCommand(request);
-        String page = commands.getOrDefault(command, (r) -> "redirect:" + pathManager.getPath("path.error")).execute(request);
+        CommandUtil commandUtil = new CommandUtil();
+        String name = commandUtil.extractCommand(request);
+
+        if (!commandUtil.isProbe(request)) {
+            startupMonitor.recordRequest();
+        }
+
+        putLoggingContext(request, name);
+        putRoutingContext(request);
+        try {
+            processCommand(request, response, commandUtil, name);
+        } finally {
+            ThreadContext.clearMap();
+            RoutingDataSource.clearCurrentUser();
+        }
+    }
+
+    private void putLoggingContext(HttpServletRequest request, String name) {
+        HttpSession session = request.getSession(false);
+
+        ThreadContext.put("command", name);
+        if (Objects.nonNull(session) && Objects.nonNull(session.getAttribute("id"))) {
+            ThreadContext.put("user", String.valueOf(session.getAttribute("id")));
+        }
+        Stream.of("accountId", "sender", "masterAccount")
+                .map(request::getParameter)
+                .filter(Objects::nonNull)
+                .findFirst()
+                .ifPresent(account -> ThreadContext.put("account", account));
+    }
+
+    /**
+     * Binds user of the request to thread, so user reads own writes even if reads are routed to replicas.
+     */
+    private void putRoutingContext(HttpServletRequest request) {
+        HttpSession session = request.getSession(false);
+
+        if (Objects.nonNull(session) && session.getAttribute("id") instanceof Long) {
+            RoutingDataSource.setCurrentUser((Long) session.getAttribute("id"));
+        }
+    }
+
+    /**
+     * Sends entity tag of versioned command result and answers 304 if client already has the result.
+     * @return Whether response is sent.
+     */
+    private boolean isNotModified(HttpServletRequest request, HttpServletResponse response, VersionedCommand command, CommandUtil commandUtil, String name) {
+        if (!"GET".equals(request.getMethod())) {
+            return false;
+        }
+
+        Optional<String> version = command.getVersion(request);
+        if (!version.isPresent()) {
+            return false;
+        }
+
+        String entityTag = commandUtil.buildEntityTag(request, name, version.get());
+        response.setHeader(HttpHeaders.ETAG, "W/" + entityTag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+
+        if (StaticAssetFilter.isNotModified(request.getHeader(HttpHeaders.IF_NONE_MATCH), entityTag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return true;
+        }
+        return false;
+    }
+
+    private void processCommand(HttpServletRequest request, HttpServletResponse response, CommandUtil commandUtil, String name) throws ServletException, IOException {
+        Command command = commands.getOrDefault(name, (r) -> "redirect:" + pathManager.getPath("path.error"));
+
+        if (command instanceof VersionedCommand && isNotModified(request, response, (VersionedCommand) command, commandUtil, name)) {
+            return;
+        }
+
+        if (command instanceof StreamingCommand) {
+            ((StreamingCommand) command).stream(request, response);
+            return;
+        }
+
+        if (command instanceof JsonCommand && commandUtil.isJsonAccepted(request)) {
+            ((JsonCommand) command).executeJson(request, response);
+            return;
+        }
+
+        String page = command.execute(request);
 
         if (page.contains("redirect:")) {
             response.sendRedirect(request.getContextPath() + page.replace("redirect:", ""));
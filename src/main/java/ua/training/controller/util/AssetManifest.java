@@ -0,0 +1,181 @@
+package ua.training.controller.util;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.servlet.ServletContext;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Manifest of static assets built once at startup. Every asset gets name with content hash (e.g.
+ * {@code /css/custom.1a2b3c4d5e.css}), so it can be cached forever and is refetched only when its content changes.
+ * Compressible assets are kept in memory with gzip variant, which is read from precompressed {@code .gz} file or made
+ * at startup, and brotli variant if precompressed {@code .br} file is deployed near the asset.
+ * @see ua.training.controller.filters.StaticAssetFilter
+ * @author Oleksii Shevchenko
+ */
+public class AssetManifest {
+    private static Logger logger = LogManager.getLogger(AssetManifest.class);
+
+    private static final int HASH_LENGTH = 10;
+    private static final Set<String> COMPRESSIBLE = Set.of("text/css", "application/javascript", "text/javascript");
+    private static final List<String> SKIPPED = List.of(".map", ".gz", ".br");
+
+    private final Map<String, Asset> byPath = new HashMap<>();
+    private final Map<String, Asset> byHashedPath = new HashMap<>();
+
+    /**
+     * Static asset with its variants.
+     */
+    public static class Asset {
+        private final String path;
+        private final String hashedPath;
+        private final String hash;
+        private final String contentType;
+        private final byte[] content;
+        private final byte[] gzip;
+        private final byte[] brotli;
+
+        private Asset(String path, String hash, String contentType, byte[] content, byte[] gzip, byte[] brotli) {
+            this.path = path;
+            this.hash = hash;
+            this.contentType = contentType;
+            this.content = content;
+            this.gzip = gzip;
+            this.brotli = brotli;
+
+            int dot = path.lastIndexOf('.');
+            this.hashedPath = dot > path.lastIndexOf('/') ? path.substring(0, dot) + "." + hash + path.substring(dot) : path + "." + hash;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public String getHashedPath() {
+            return hashedPath;
+        }
+
+        public String getHash() {
+            return hash;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public byte[] getContent() {
+            return content;
+        }
+
+        public Optional<byte[]> getGzip() {
+            return Optional.ofNullable(gzip);
+        }
+
+        public Optional<byte[]> getBrotli() {
+            return Optional.ofNullable(brotli);
+        }
+    }
+
+    /**
+     * Builds manifest of all assets under specified web app directories.
+     * @param context Servlet context to read assets from.
+     * @param directories Directories like {@code /css/}.
+     * @return Manifest.
+     */
+    public static AssetManifest build(ServletContext context, List<String> directories) {
+        AssetManifest manifest = new AssetManifest();
+
+        for (String directory : directories) {
+            Set<String> paths = context.getResourcePaths(directory);
+            if (Objects.isNull(paths)) {
+                continue;
+            }
+
+            for (String path : paths) {
+                if (path.endsWith("/") || SKIPPED.stream().anyMatch(path::endsWith)) {
+                    continue;
+                }
+
+                try {
+                    manifest.add(load(context, path));
+                } catch (IOException exception) {
+                    logger.error("Static asset {} can't be read and is served as is", path, exception);
+                }
+            }
+        }
+
+        logger.info("Static assets manifest is built: {} assets", manifest.byPath.size());
+        return manifest;
+    }
+
+    /**
+     * Returns path with content hash for asset.
+     * @param path Asset path like {@code /css/custom.css}.
+     * @return Hashed path or the same path if there is no such asset.
+     */
+    public String resolve(String path) {
+        Asset asset = byPath.get(path);
+        return Objects.isNull(asset) ? path : asset.getHashedPath();
+    }
+
+    public Optional<Asset> findByPath(String path) {
+        return Optional.ofNullable(byPath.get(path));
+    }
+
+    public Optional<Asset> findByHashedPath(String path) {
+        return Optional.ofNullable(byHashedPath.get(path));
+    }
+
+    private void add(Asset asset) {
+        byPath.put(asset.getPath(), asset);
+        byHashedPath.put(asset.getHashedPath(), asset);
+    }
+
+    private static Asset load(ServletContext context, String path) throws IOException {
+        byte[] content = read(context, path);
+        if (Objects.isNull(content)) {
+            throw new IOException("No such resource " + path);
+        }
+
+        String contentType = Optional.ofNullable(context.getMimeType(path)).orElse("application/octet-stream");
+        byte[] gzip = null;
+        byte[] brotli = null;
+
+        if (COMPRESSIBLE.contains(contentType)) {
+            gzip = Optional.ofNullable(read(context, path + ".gz")).orElseGet(() -> gzip(content));
+            brotli = read(context, path + ".br");
+        }
+
+        return new Asset(path, DigestUtils.sha256Hex(content).substring(0, HASH_LENGTH), contentType, content, gzip, brotli);
+    }
+
+    private static byte[] read(ServletContext context, String path) throws IOException {
+        try (InputStream input = context.getResourceAsStream(path)) {
+            return Objects.isNull(input) ? null : input.readAllBytes();
+        }
+    }
+
+    private static byte[] gzip(byte[] content) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(content.length / 4);
+
+        try (GZIPOutputStream gzip = new GZIPOutputStream(output)) {
+            gzip.write(content);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+
+        return output.toByteArray();
+    }
+}
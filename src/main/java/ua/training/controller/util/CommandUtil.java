@@ -1,8 +1,14 @@
 package ua.training.controller.util;
 
+import org.apache.commons.codec.digest.DigestUtils;
 import org.springframework.stereotype.Component;
 
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpSession;
+import java.util.Objects;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.stream.Stream;
 
 /**
  * This util used for parsing command from request to app api.
@@ -10,6 +16,8 @@ import javax.servlet.http.HttpServletRequest;
  */
 @Component
 public class CommandUtil {
+    private static final Set<String> PROBES = Set.of("liveness", "readiness");
+
     /**
      * Method extracts command from request uri. Only request to api allowed in this method.
      * @param request User request.
@@ -18,4 +26,48 @@ public class CommandUtil {
     public String extractCommand(HttpServletRequest request) {
         return request.getRequestURI().replaceAll(".*/api/", "");
     }
+
+    /**
+     * Method checks whether request is liveness or readiness probe, that is served for any user without session.
+     * @param request User request.
+     * @return Is request a probe.
+     */
+    public boolean isProbe(HttpServletRequest request) {
+        return PROBES.contains(extractCommand(request));
+    }
+
+    /**
+     * Method checks whether client asks for json instead of html page.
+     * @param request User request.
+     * @return Is json accepted by client.
+     */
+    public boolean isJsonAccepted(HttpServletRequest request) {
+        String accept = request.getHeader("Accept");
+        return Objects.nonNull(accept) && accept.contains("application/json");
+    }
+
+    /**
+     * Method builds entity tag of command result with given data version. Tag also depends on user, role, language,
+     * representation and request parameters, because all of them change the result.
+     * @param request User request.
+     * @param command Command name.
+     * @param version Version of data shown by command.
+     * @return Entity tag in quotes.
+     */
+    public String buildEntityTag(HttpServletRequest request, String command, String version) {
+        HttpSession session = request.getSession(false);
+        StringJoiner key = new StringJoiner("|")
+                .add(command)
+                .add(version)
+                .add(String.valueOf(isJsonAccepted(request)))
+                .add(String.valueOf(request.getQueryString()));
+
+        if (Objects.nonNull(session)) {
+            Stream.of("id", "role", "lang")
+                    .map(session::getAttribute)
+                    .forEach(attribute -> key.add(String.valueOf(attribute)));
+        }
+
+        return "\"" + DigestUtils.sha256Hex(key.toString()).substring(0, 20) + "\"";
+    }
 }
@@ -0,0 +1,107 @@
+package ua.training.controller.util;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import ua.training.model.dto.TransferQuoteDto;
+import ua.training.model.entity.Account;
+import ua.training.model.entity.CreditAccount;
+import ua.training.model.entity.DepositAccount;
+import ua.training.model.entity.Transaction;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Util used by json commands for streaming entities straight to the response, without building intermediate trees.
+ * @see ua.training.controller.commands.JsonCommand
+ * @author Oleksii Shevchenko
+ */
+@Component
+public class JsonUtil {
+    private Gson gson;
+
+    @Autowired
+    @Qualifier("jsonMapper")
+    public void setGson(Gson gson) {
+        this.gson = gson;
+    }
+
+    /**
+     * Sets json content type and creates writer over response.
+     * @param response Http response.
+     * @return Json writer.
+     */
+    public JsonWriter newWriter(HttpServletResponse response) throws IOException {
+        response.setContentType("application/json");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        return gson.newJsonWriter(response.getWriter());
+    }
+
+    public void writeAccount(JsonWriter writer, Account account) throws IOException {
+        writer.beginObject();
+        writer.name("id").value(account.getId());
+        writer.name("type").value(account.getClass().getSimpleName());
+        writer.name("balance").value(account.getBalance());
+        writer.name("currency").value(account.getCurrency().name());
+        writer.name("expiresEnd").value(account.getExpiresEnd().toString());
+        writer.name("status").value(account.getStatus().name());
+
+        if (account instanceof CreditAccount) {
+            writer.name("creditLimit").value(((CreditAccount) account).getCreditLimit());
+            writer.name("creditRate").value(((CreditAccount) account).getCreditRate());
+        } else if (account instanceof DepositAccount) {
+            writer.name("depositRate").value(((DepositAccount) account).getDepositRate());
+            writer.name("updatePeriod").value(((DepositAccount) account).getUpdatePeriod());
+        }
+
+        if (Objects.nonNull(account.getHolders())) {
+            writer.name("holders").beginArray();
+            for (Long holder : account.getHolders()) {
+                writer.value(holder);
+            }
+            writer.endArray();
+        }
+        writer.endObject();
+    }
+
+    public void writeTransaction(JsonWriter writer, Transaction transaction) throws IOException {
+        writer.beginObject();
+        writer.name("id").value(transaction.getId());
+        writer.name("time").value(Objects.toString(transaction.getTime(), null));
+        writer.name("sender").value(transaction.getSender());
+        writer.name("receiver").value(transaction.getReceiver());
+        writer.name("type").value(transaction.getType().name());
+        writer.name("amount").value(transaction.getAmount());
+        writer.name("currency").value(transaction.getCurrency().name());
+        writer.endObject();
+    }
+
+    public void writeQuote(JsonWriter writer, TransferQuoteDto quote) throws IOException {
+        writer.beginObject();
+        writer.name("withdrawAmount").value(quote.getWithdrawAmount());
+        writer.name("fee").value(quote.getFee());
+        writer.name("resultingBalance").value(quote.getResultingBalance());
+        writer.name("senderCurrency").value(quote.getSenderCurrency().name());
+        writer.name("creditedAmount").value(quote.getCreditedAmount());
+        writer.name("receiverCurrency").value(quote.getReceiverCurrency().name());
+        writer.name("allowed").value(quote.isAllowed());
+        writer.endObject();
+    }
+
+    /**
+     * Same as {@link JsonUtil#writeTransaction(JsonWriter, Transaction)}, but suitable for use as callback of dao.
+     */
+    public void writeTransactionUnchecked(JsonWriter writer, Transaction transaction) {
+        try {
+            writeTransaction(writer, transaction);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+}
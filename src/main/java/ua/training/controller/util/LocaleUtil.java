@@ -3,7 +3,9 @@ package ua.training.controller.util;
 import org.springframework.stereotype.Component;
 
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpSession;
 import java.util.Locale;
+import java.util.Objects;
 
 /**
  * Util parse locale from tag contained in user session.
@@ -12,11 +14,13 @@ import java.util.Locale;
 @Component
 public class LocaleUtil {
     /**
-     * Method returns current user locale contained in session.
+     * Method returns current user locale contained in session. Session is not created for that, en-US is returned if
+     * there is no session.
      * @param request Http request for getting user session.
      * @return User locale.
      */
     public Locale getLocale(HttpServletRequest request) {
-        return Locale.forLanguageTag((String) request.getSession().getAttribute("lang"));
+        HttpSession session = request.getSession(false);
+        return Locale.forLanguageTag(Objects.isNull(session) ? "en-US" : (String) session.getAttribute("lang"));
     }
 }
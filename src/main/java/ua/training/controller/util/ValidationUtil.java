@@ -2,12 +2,12 @@ package ua.training.controller.util;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import ua.training.controller.util.managers.BundleManager;
 import ua.training.controller.util.managers.ContentManager;
 
 import javax.servlet.http.HttpServletRequest;
 import java.util.List;
 import java.util.Objects;
-import java.util.ResourceBundle;
 
 /**
  * Util used for validation user inputs.
@@ -45,8 +45,8 @@ public class ValidationUtil {
 
 
     private boolean isValid(HttpServletRequest request, String param) {
-        ResourceBundle bundle = ResourceBundle.getBundle("regex", localeUtil.getLocale(request));
-        if (isMatch(request.getParameter(param), bundle.getString("regex." + param))) {
+        String regex = BundleManager.getString(BundleManager.Bundle.REGEX, localeUtil.getLocale(request), "regex." + param);
+        if (isMatch(request.getParameter(param), regex)) {
             return true;
         } else {
             contentManager.setLocalizedMessage(request, param + "Wrong", "content.message.not.match." + param);
@@ -0,0 +1,279 @@
+package ua.training.controller.util.compression;
+
+import org.apache.http.HttpHeaders;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Response wrapper compressing body with gzip on the fly. First {@code minSize} bytes are buffered: if response ends
+ * before that, it is sent as is, otherwise compression is chosen by content type and the rest of body is streamed
+ * through pooled deflater without buffering.
+ * @see ua.training.controller.filters.CompressionFilter
+ * @author Oleksii Shevchenko
+ */
+public class CompressingResponseWrapper extends HttpServletResponseWrapper {
+    private final HttpServletResponse response;
+    private final DeflaterPool pool;
+    private final int minSize;
+    private final Set<String> contentTypes;
+
+    private CompressingOutputStream stream;
+    private PrintWriter writer;
+    private long contentLength = -1;
+
+    public CompressingResponseWrapper(HttpServletResponse response, DeflaterPool pool, int minSize, Set<String> contentTypes) {
+        super(response);
+        this.response = response;
+        this.pool = pool;
+        this.minSize = minSize;
+        this.contentTypes = contentTypes;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (Objects.nonNull(writer)) {
+            throw new IllegalStateException("getWriter() has already been called");
+        }
+        if (Objects.isNull(stream)) {
+            stream = new CompressingOutputStream();
+        }
+        return stream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (Objects.isNull(writer)) {
+            if (Objects.nonNull(stream)) {
+                throw new IllegalStateException("getOutputStream() has already been called");
+            }
+            stream = new CompressingOutputStream();
+            writer = new PrintWriter(new OutputStreamWriter(stream, getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void setContentLength(int length) {
+        setContentLengthLong(length);
+    }
+
+    @Override
+    public void setContentLengthLong(long length) {
+        contentLength = length;
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(Long.parseLong(value));
+        } else {
+            super.setHeader(name, value);
+        }
+    }
+
+    @Override
+    public void sendError(int status, String message) throws IOException {
+        discard();
+        super.sendError(status, message);
+    }
+
+    @Override
+    public void sendError(int status) throws IOException {
+        discard();
+        super.sendError(status);
+    }
+
+    @Override
+    public void sendRedirect(String location) throws IOException {
+        discard();
+        super.sendRedirect(location);
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (Objects.nonNull(writer)) {
+            writer.flush();
+        }
+        if (Objects.nonNull(stream)) {
+            stream.flush();
+        }
+        super.flushBuffer();
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        resetBuffer();
+    }
+
+    @Override
+    public void resetBuffer() {
+        super.resetBuffer();
+        if (Objects.nonNull(stream)) {
+            stream.resetBuffer();
+        }
+    }
+
+    /**
+     * Sends buffered data and finishes compression. Must be called after response is processed.
+     * @throws IOException Thrown if response can't be written.
+     */
+    public void finish() throws IOException {
+        if (Objects.nonNull(writer)) {
+            writer.flush();
+        }
+        if (Objects.nonNull(stream)) {
+            stream.finish();
+        } else if (contentLength >= 0) {
+            response.setContentLengthLong(contentLength);
+        }
+    }
+
+    /**
+     * Returns pooled deflater when request processing fails, buffered data is dropped so error page can be sent.
+     */
+    public void abort() {
+        if (Objects.nonNull(stream)) {
+            stream.abort();
+        }
+    }
+
+    private void discard() {
+        if (Objects.nonNull(stream)) {
+            stream.resetBuffer();
+        }
+    }
+
+    private boolean isCompressible() {
+        String contentType = getContentType();
+        int status = getStatus();
+
+        return Objects.nonNull(contentType)
+                && contentTypes.contains(contentType.split(";")[0].trim().toLowerCase())
+                && Objects.isNull(response.getHeader(HttpHeaders.CONTENT_ENCODING))
+                && status != HttpServletResponse.SC_NO_CONTENT
+                && status != HttpServletResponse.SC_NOT_MODIFIED;
+    }
+
+    private class CompressingOutputStream extends ServletOutputStream {
+        private byte[] buffer = new byte[minSize];
+        private int buffered;
+        private GzipStream gzip;
+        private boolean decided;
+        private boolean finished;
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            if (!decided && buffered + length <= buffer.length) {
+                System.arraycopy(bytes, offset, buffer, buffered, length);
+                buffered += length;
+                return;
+            }
+
+            if (!decided) {
+                decide(true);
+            }
+            target().write(bytes, offset, length);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (decided) {
+                target().flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            finish();
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            throw new UnsupportedOperationException();
+        }
+
+        void resetBuffer() {
+            if (!decided) {
+                buffered = 0;
+            }
+        }
+
+        void abort() {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            decided = true;
+
+            if (Objects.nonNull(gzip)) {
+                try {
+                    gzip.finish();
+                } catch (IOException exception) {
+                    // client has gone, deflater is returned to pool anyway
+                }
+            }
+        }
+
+        void finish() throws IOException {
+            if (finished) {
+                return;
+            }
+            finished = true;
+
+            if (!decided) {
+                decide(false);
+            }
+            if (Objects.nonNull(gzip)) {
+                gzip.finish();
+            }
+        }
+
+        /**
+         * Chooses whether to compress and writes buffered bytes.
+         * @param large Whether body is at least {@code minSize} bytes.
+         */
+        private void decide(boolean large) throws IOException {
+            decided = true;
+
+            if (isCompressible()) {
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            }
+
+            if (large && isCompressible()) {
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+                gzip = new GzipStream(response.getOutputStream(), pool);
+            } else if (contentLength >= 0) {
+                response.setContentLengthLong(contentLength);
+            } else if (!large) {
+                response.setContentLength(buffered);
+            }
+
+            target().write(buffer, 0, buffered);
+            buffer = null;
+        }
+
+        private OutputStream target() throws IOException {
+            return Objects.isNull(gzip) ? response.getOutputStream() : gzip;
+        }
+    }
+}
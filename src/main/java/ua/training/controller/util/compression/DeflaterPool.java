@@ -0,0 +1,39 @@
+package ua.training.controller.util.compression;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.Deflater;
+
+/**
+ * Bounded pool of raw {@link Deflater}s. Deflater holds native zlib memory, so reusing them saves native allocation
+ * and finalization per response. Deflaters over pool capacity are ended instead of being returned.
+ * @author Oleksii Shevchenko
+ */
+public class DeflaterPool {
+    private final BlockingQueue<Deflater> deflaters;
+    private final int level;
+
+    public DeflaterPool(int capacity, int level) {
+        this.deflaters = new ArrayBlockingQueue<>(capacity);
+        this.level = level;
+    }
+
+    public Deflater borrow() {
+        Deflater deflater = deflaters.poll();
+        return deflater == null ? new Deflater(level, true) : deflater;
+    }
+
+    public void release(Deflater deflater) {
+        deflater.reset();
+        if (!deflaters.offer(deflater)) {
+            deflater.end();
+        }
+    }
+
+    public void close() {
+        Deflater deflater;
+        while ((deflater = deflaters.poll()) != null) {
+            deflater.end();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package ua.training.controller.util.compression;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Gzip stream over pooled raw deflater. Unlike {@link java.util.zip.GZIPOutputStream} it doesn't own the deflater,
+ * which is returned to pool by {@link #finish()}.
+ * @author Oleksii Shevchenko
+ */
+class GzipStream extends OutputStream {
+    private static final byte[] HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    private final OutputStream output;
+    private final DeflaterPool pool;
+    private final Deflater deflater;
+    private final CRC32 crc = new CRC32();
+    private final byte[] buffer = new byte[8192];
+
+    private boolean finished;
+
+    GzipStream(OutputStream output, DeflaterPool pool) throws IOException {
+        this.output = output;
+        this.pool = pool;
+        this.deflater = pool.borrow();
+
+        output.write(HEADER);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        if (length == 0) {
+            return;
+        }
+
+        crc.update(bytes, offset, length);
+        deflater.setInput(bytes, offset, length);
+        while (!deflater.needsInput()) {
+            deflate(Deflater.NO_FLUSH);
+        }
+    }
+
+    /**
+     * Flushes compressed data written so far, so streamed page parts reach client without waiting for the whole page.
+     */
+    @Override
+    public void flush() throws IOException {
+        if (!finished) {
+            int length;
+            do {
+                length = deflate(Deflater.SYNC_FLUSH);
+            } while (length == buffer.length);
+        }
+        output.flush();
+    }
+
+    /**
+     * Writes the rest of compressed data with gzip trailer and returns deflater to pool.
+     */
+    void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        finished = true;
+
+        try {
+            deflater.finish();
+            while (!deflater.finished()) {
+                deflate(Deflater.NO_FLUSH);
+            }
+
+            writeInt((int) crc.getValue());
+            writeInt((int) deflater.getBytesRead());
+        } finally {
+            pool.release(deflater);
+        }
+    }
+
+    private int deflate(int flush) throws IOException {
+        int length = deflater.deflate(buffer, 0, buffer.length, flush);
+        if (length > 0) {
+            output.write(buffer, 0, length);
+        }
+        return length;
+    }
+
+    private void writeInt(int value) throws IOException {
+        output.write(value & 0xff);
+        output.write((value >> 8) & 0xff);
+        output.write((value >> 16) & 0xff);
+        output.write((value >> 24) & 0xff);
+    }
+}
@@ -0,0 +1,114 @@
+package ua.training.controller.util.managers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+
+/**
+ * Holder of the app resource bundles (content, patterns, formats, regex). All bundles are loaded once into flat
+ * immutable maps with interned keys and values, addressed by bundle and locale ordinals, so lookups on request paths
+ * take no locks. Method {@link BundleManager#reload()} rereads bundles and swaps all maps at once.
+ * @see ContentManager
+ * @see ua.training.tag.util.FormatManager
+ * @see ua.training.tag.util.PatternManager
+ * @author Oleksii Shevchenko
+ */
+public final class BundleManager {
+    private static final List<Locale> locales = List.of(Locale.forLanguageTag("en-US"), Locale.forLanguageTag("uk-UA"));
+    private static final Map<Locale, Integer> ordinals = Map.of(locales.get(0), 0, locales.get(1), 1);
+
+    private static volatile List<Map<String, String>> maps = load();
+
+    /**
+     * The bundles preloaded by manager. Not localized bundles are stored in the same way for every locale.
+     */
+    public enum Bundle {
+        CONTENT("content"), PATTERNS("patterns"), FORMATS("formats"), REGEX("regex");
+
+        private final String baseName;
+
+        Bundle(String baseName) {
+            this.baseName = baseName;
+        }
+
+        public String getBaseName() {
+            return baseName;
+        }
+    }
+
+    private BundleManager() {}
+
+    /**
+     * Returns string from preloaded bundle. Unsupported locales are served by default one (en-US).
+     * @param bundle Targeted bundle.
+     * @param locale User locale.
+     * @param key Key of the string.
+     * @return Localized string.
+     * @throws MissingResourceException Thrown if there is no such key in bundle, as {@link ResourceBundle} does.
+     */
+    public static String getString(Bundle bundle, Locale locale, String key) {
+        String value = maps.get(index(bundle, locale)).get(key);
+        if (value == null) {
+            throw new MissingResourceException("Can't find resource for key " + key, bundle.getBaseName(), key);
+        }
+        return value;
+    }
+
+    public static String getStringOrDefault(Bundle bundle, Locale locale, String key, String defaultValue) {
+        return maps.get(index(bundle, locale)).getOrDefault(key, defaultValue);
+    }
+
+    public static List<Locale> getLocales() {
+        return locales;
+    }
+
+    /**
+     * Resolves locale tag taken from request or session to one of supported locales.
+     * @param localeTag Tag of locale, may be null or unknown.
+     * @return Supported locale with such tag or default one (en-US).
+     */
+    public static Locale getSupportedLocale(String localeTag) {
+        for (Locale locale : locales) {
+            if (locale.toLanguageTag().equals(localeTag)) {
+                return locale;
+            }
+        }
+        return locales.get(0);
+    }
+
+    /**
+     * Rereads all bundles from resources and atomically replaces preloaded maps.
+     */
+    public static void reload() {
+        ResourceBundle.clearCache(BundleManager.class.getClassLoader());
+        maps = load();
+    }
+
+    private static int index(Bundle bundle, Locale locale) {
+        return bundle.ordinal() * locales.size() + ordinals.getOrDefault(locale, 0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, String>> load() {
+        List<Map<String, String>> loaded = new ArrayList<>();
+        for (Bundle bundle : Bundle.values()) {
+            for (Locale locale : locales) {
+                ResourceBundle resourceBundle = ResourceBundle.getBundle(bundle.getBaseName(), locale);
+
+                List<Map.Entry<String, String>> entries = new ArrayList<>();
+                for (Enumeration<String> keys = resourceBundle.getKeys(); keys.hasMoreElements(); ) {
+                    String key = keys.nextElement();
+                    entries.add(Map.entry(key.intern(), resourceBundle.getString(key).intern()));
+                }
+
+                loaded.add(Map.ofEntries(entries.toArray(new Map.Entry[0])));
+            }
+        }
+        return Collections.unmodifiableList(loaded);
+    }
+}
@@ -0,0 +1,127 @@
+package ua.training.controller.util.session;
+
+import org.apache.commons.codec.binary.Base64;
+import org.apache.commons.codec.digest.HmacAlgorithms;
+import org.apache.commons.codec.digest.HmacUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Codec of signed session tokens. Token is url-safe base64 of claims joined by '|' and HMAC-SHA256 signature of them,
+ * so it is verified without any server-side state.
+ * @see TokenRequestWrapper
+ * @author Oleksii Shevchenko
+ */
+@Component
+public class SessionTokenCodec {
+    private static Logger logger = LogManager.getLogger(SessionTokenCodec.class);
+
+    public static final String COOKIE_NAME = "banking_token";
+
+    static final List<String> CLAIMS = List.of("sid", "id", "login", "role", "lang");
+
+    private static final String SEPARATOR = "|";
+
+    private final HmacUtils hmac;
+    private final int timeToLive;
+
+    @Autowired
+    public SessionTokenCodec(@Value("${session.token.secret}") String secret, @Value("${session.token.ttl}") int timeToLive) {
+        byte[] key = secret.getBytes(StandardCharsets.UTF_8);
+
+        if (key.length == 0) {
+            logger.warn("Session token secret is not set, random one is used, so tokens are valid only on this node until restart");
+
+            key = new byte[32];
+            new SecureRandom().nextBytes(key);
+        }
+
+        this.hmac = new HmacUtils(HmacAlgorithms.HMAC_SHA_256, key);
+        this.timeToLive = timeToLive;
+    }
+
+    /**
+     * Signs claims, missing ones and ones containing separator are left empty.
+     * @param claims Claims with names from {@link #CLAIMS}.
+     * @return Token valid for time to live.
+     */
+    public String encode(Map<String, String> claims) {
+        StringBuilder payload = new StringBuilder();
+
+        for (String claim : CLAIMS) {
+            String value = claims.getOrDefault(claim, "");
+            payload.append(value.contains(SEPARATOR) ? "" : value).append(SEPARATOR);
+        }
+        payload.append(System.currentTimeMillis() / 1000 + timeToLive);
+
+        byte[] payloadBytes = payload.toString().getBytes(StandardCharsets.UTF_8);
+
+        return Base64.encodeBase64URLSafeString(payloadBytes) + "." + Base64.encodeBase64URLSafeString(hmac.hmac(payloadBytes));
+    }
+
+    /**
+     * Verifies token signature and expiration.
+     * @param token Token from cookie.
+     * @return Non-empty claims or empty if token is malformed, forged or expired.
+     */
+    public Optional<Map<String, String>> decode(String token) {
+        int dot = token.indexOf('.');
+        if (dot < 0) {
+            return Optional.empty();
+        }
+
+        byte[] payloadBytes = Base64.decodeBase64(token.substring(0, dot));
+        byte[] signature = Base64.decodeBase64(token.substring(dot + 1));
+
+        if (!MessageDigest.isEqual(hmac.hmac(payloadBytes), signature)) {
+            logger.warn("Session token with wrong signature is rejected");
+            return Optional.empty();
+        }
+
+        String[] values = new String(payloadBytes, StandardCharsets.UTF_8).split("\\" + SEPARATOR, -1);
+
+        try {
+            if (values.length != CLAIMS.size() + 1 || Long.parseLong(values[CLAIMS.size()]) < System.currentTimeMillis() / 1000) {
+                return Optional.empty();
+            }
+        } catch (NumberFormatException exception) {
+            return Optional.empty();
+        }
+
+        Map<String, String> claims = new LinkedHashMap<>();
+        for (int i = 0; i < CLAIMS.size(); i++) {
+            if (!values[i].isEmpty()) {
+                claims.put(CLAIMS.get(i), values[i]);
+            }
+        }
+
+        return claims.containsKey("sid") ? Optional.of(claims) : Optional.empty();
+    }
+
+    /**
+     * Checks if token is used after half of its time to live, so it should be reissued.
+     * @param token Token accepted by {@link #decode}.
+     * @return Is token to be refreshed.
+     */
+    public boolean isRefreshDue(String token) {
+        String payload = new String(Base64.decodeBase64(token.substring(0, token.indexOf('.'))), StandardCharsets.UTF_8);
+        long expiresAt = Long.parseLong(payload.substring(payload.lastIndexOf(SEPARATOR) + 1));
+
+        return expiresAt - System.currentTimeMillis() / 1000 < timeToLive / 2;
+    }
+
+    public int getTimeToLive() {
+        return timeToLive;
+    }
+}
@@ -0,0 +1,184 @@
+package ua.training.controller.util.session;
+
+import ua.training.model.entity.User;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import javax.servlet.http.HttpSession;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Request wrapper for stateless mode, that replaces container session with {@link TokenSession} restored from signed
+ * cookie. Guests without cookie get default session (role: GUEST, lang: en-US) that is never stored anywhere. Changed
+ * session and session with token due to refresh are signed back to cookie before response is committed, so it is
+ * paired with {@link #wrapResponse}.
+ * @author Oleksii Shevchenko
+ */
+public class TokenRequestWrapper extends HttpServletRequestWrapper {
+    private final SessionTokenCodec codec;
+    private final Map<String, String> claims;
+    private final boolean refreshDue;
+
+    private TokenSession session;
+    private boolean changed;
+
+    public TokenRequestWrapper(HttpServletRequest request, SessionTokenCodec codec) {
+        super(request);
+        this.codec = codec;
+
+        Optional<String> token = readToken(request);
+        this.claims = token.flatMap(codec::decode).orElse(Map.of());
+        this.refreshDue = !claims.isEmpty() && codec.isRefreshDue(token.get());
+        this.changed = refreshDue;
+    }
+
+    @Override
+    public HttpSession getSession(boolean create) {
+        if (Objects.nonNull(session) && !session.isInvalidated()) {
+            return session;
+        }
+
+        if (Objects.isNull(session) && !claims.isEmpty()) {
+            session = new TokenSession(claims.get("sid"), claims, true, getServletContext(), this::markChanged);
+        } else if (Objects.isNull(session) || create) {
+            session = new TokenSession(UUID.randomUUID().toString(),
+                    Map.of("role", User.Role.GUEST.name(), "lang", "en-US"), false, getServletContext(), this::markChanged);
+        } else {
+            return null;
+        }
+
+        return session;
+    }
+
+    @Override
+    public HttpSession getSession() {
+        return getSession(true);
+    }
+
+    @Override
+    public String getRequestedSessionId() {
+        return claims.get("sid");
+    }
+
+    @Override
+    public boolean isRequestedSessionIdValid() {
+        return !claims.isEmpty();
+    }
+
+    @Override
+    public boolean isRequestedSessionIdFromCookie() {
+        return !claims.isEmpty();
+    }
+
+    @Override
+    public boolean isRequestedSessionIdFromURL() {
+        return false;
+    }
+
+    public boolean isRefreshDue() {
+        return refreshDue;
+    }
+
+    /**
+     * Wraps response to write token before it is committed.
+     * @param response Original response.
+     * @return Wrapped response.
+     */
+    public HttpServletResponse wrapResponse(HttpServletResponse response) {
+        return new HttpServletResponseWrapper(response) {
+            @Override
+            public void sendRedirect(String location) throws IOException {
+                writeToken(response);
+                super.sendRedirect(location);
+            }
+
+            @Override
+            public void sendError(int status) throws IOException {
+                writeToken(response);
+                super.sendError(status);
+            }
+
+            @Override
+            public void sendError(int status, String message) throws IOException {
+                writeToken(response);
+                super.sendError(status, message);
+            }
+
+            @Override
+            public PrintWriter getWriter() throws IOException {
+                writeToken(response);
+                return super.getWriter();
+            }
+
+            @Override
+            public ServletOutputStream getOutputStream() throws IOException {
+                writeToken(response);
+                return super.getOutputStream();
+            }
+
+            @Override
+            public void flushBuffer() throws IOException {
+                writeToken(response);
+                super.flushBuffer();
+            }
+        };
+    }
+
+    /**
+     * Writes token of changed session to cookie. Session without user and language other than default one is not
+     * kept, so its cookie is removed.
+     * @param response Response to add cookie to.
+     */
+    public void writeToken(HttpServletResponse response) {
+        if (!changed || response.isCommitted()) {
+            return;
+        }
+        changed = false;
+
+        if (refreshDue) {
+            getSession(false);
+        }
+
+        Cookie cookie;
+        if (Objects.isNull(session) || session.isInvalidated() || isDefault(session)) {
+            cookie = new Cookie(SessionTokenCodec.COOKIE_NAME, "");
+            cookie.setMaxAge(0);
+        } else {
+            cookie = new Cookie(SessionTokenCodec.COOKIE_NAME, codec.encode(session.getClaims()));
+            cookie.setMaxAge(codec.getTimeToLive());
+        }
+
+        cookie.setPath(getContextPath().isEmpty() ? "/" : getContextPath());
+        cookie.setHttpOnly(true);
+        cookie.setSecure(isSecure());
+        response.addCookie(cookie);
+    }
+
+    private void markChanged() {
+        changed = true;
+    }
+
+    private static boolean isDefault(TokenSession session) {
+        return Objects.isNull(session.getAttribute("id"))
+                && User.Role.GUEST.name().equals(session.getAttribute("role"))
+                && "en-US".equals(session.getAttribute("lang"));
+    }
+
+    private static Optional<String> readToken(HttpServletRequest request) {
+        return Optional.ofNullable(request.getCookies())
+                .flatMap(cookies -> Arrays.stream(cookies)
+                        .filter(cookie -> SessionTokenCodec.COOKIE_NAME.equals(cookie.getName()))
+                        .findFirst())
+                .map(Cookie::getValue);
+    }
+}
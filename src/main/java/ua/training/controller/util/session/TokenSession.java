@@ -0,0 +1,160 @@
+package ua.training.controller.util.session;
+
+import javax.servlet.ServletContext;
+import javax.servlet.http.HttpSession;
+import javax.servlet.http.HttpSessionContext;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Session living only during one request. Attributes named as token claims ({@code id}, {@code login}, {@code role},
+ * {@code lang}) are restored from signed token and their changes are written back to it, other attributes are
+ * request-local.
+ * @see TokenRequestWrapper
+ * @author Oleksii Shevchenko
+ */
+public class TokenSession implements HttpSession {
+    private final String id;
+    private final boolean restored;
+    private final ServletContext servletContext;
+    private final Runnable changeListener;
+    private final long creationTime = System.currentTimeMillis();
+    private final Map<String, Object> attributes = new HashMap<>();
+
+    private boolean invalidated;
+
+    TokenSession(String id, Map<String, String> claims, boolean restored, ServletContext servletContext, Runnable changeListener) {
+        this.id = id;
+        this.restored = restored;
+        this.servletContext = servletContext;
+        this.changeListener = changeListener;
+
+        claims.forEach((claim, value) -> attributes.put(claim, "id".equals(claim) ? (Object) Long.valueOf(value) : value));
+        attributes.remove("sid");
+    }
+
+    /**
+     * Returns claims to be signed into token.
+     * @return Claims of current attributes.
+     */
+    Map<String, String> getClaims() {
+        Map<String, String> claims = new HashMap<>();
+        claims.put("sid", id);
+
+        for (String claim : SessionTokenCodec.CLAIMS) {
+            if (Objects.nonNull(attributes.get(claim))) {
+                claims.put(claim, String.valueOf(attributes.get(claim)));
+            }
+        }
+
+        return claims;
+    }
+
+    boolean isInvalidated() {
+        return invalidated;
+    }
+
+    @Override
+    public long getCreationTime() {
+        return creationTime;
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public long getLastAccessedTime() {
+        return creationTime;
+    }
+
+    @Override
+    public ServletContext getServletContext() {
+        return servletContext;
+    }
+
+    @Override
+    public void setMaxInactiveInterval(int interval) {}
+
+    @Override
+    public int getMaxInactiveInterval() {
+        return -1;
+    }
+
+    @Override
+    @Deprecated
+    public HttpSessionContext getSessionContext() {
+        return null;
+    }
+
+    @Override
+    public Object getAttribute(String name) {
+        return attributes.get(name);
+    }
+
+    @Override
+    @Deprecated
+    public Object getValue(String name) {
+        return getAttribute(name);
+    }
+
+    @Override
+    public Enumeration<String> getAttributeNames() {
+        return Collections.enumeration(attributes.keySet());
+    }
+
+    @Override
+    @Deprecated
+    public String[] getValueNames() {
+        return attributes.keySet().toArray(new String[0]);
+    }
+
+    @Override
+    public void setAttribute(String name, Object value) {
+        if (Objects.isNull(value)) {
+            removeAttribute(name);
+            return;
+        }
+
+        Object previous = attributes.put(name, value);
+
+        if (SessionTokenCodec.CLAIMS.contains(name) && !value.equals(previous)) {
+            changeListener.run();
+        }
+    }
+
+    @Override
+    @Deprecated
+    public void putValue(String name, Object value) {
+        setAttribute(name, value);
+    }
+
+    @Override
+    public void removeAttribute(String name) {
+        if (Objects.nonNull(attributes.remove(name)) && SessionTokenCodec.CLAIMS.contains(name)) {
+            changeListener.run();
+        }
+    }
+
+    @Override
+    @Deprecated
+    public void removeValue(String name) {
+        removeAttribute(name);
+    }
+
+    @Override
+    public void invalidate() {
+        attributes.clear();
+        invalidated = true;
+        changeListener.run();
+    }
+
+    @Override
+    public boolean isNew() {
+        return !restored;
+    }
+}
@@ -3,6 +3,7 @@ package ua.training.model.dao;
 import ua.training.model.entity.Account;
 
 import java.util.List;
+import java.util.Optional;
 
 
 /**
@@ -23,4 +24,6 @@ public interface AccountDao extends Dao<Long, Account> {
     long completeOpeningRequest(Long requestId, Account account);
 
     void accountForceClosing(Long accountId);
+
+    Optional<Long> getVersion(Long accountId);
 }
@@ -1,8 +1,14 @@
 package ua.training.model.dao;
 
+import ua.training.model.dto.InvoiceAcceptanceDto;
+import ua.training.model.dto.InvoiceDto;
 import ua.training.model.entity.Invoice;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 
 /**
@@ -14,7 +20,14 @@ import java.util.List;
 public interface InvoiceDao extends Dao<Long, Invoice> {
     List<Invoice> getInvoicesByRequester(Long accountId);
     List<Invoice> getInvoicesByPayer(Long accountId);
+    Optional<InvoiceDto> getInvoicesPage(Long holderId, Long accountId, Set<Invoice.Status> statuses,
+                                         long payerAfter, long requesterAfter, int limit);
 
     void acceptInvoice(Long invoiceId);
+    InvoiceAcceptanceDto acceptInvoices(List<Long> invoiceIds, Collection<Long> payerAccounts, boolean atomicPerPayer);
     void denyInvoice(Long invoiceId);
+
+    long getMinInvoiceId();
+    long getMaxInvoiceId();
+    int expireInvoices(long fromId, long toId, LocalDateTime createdBefore);
 }
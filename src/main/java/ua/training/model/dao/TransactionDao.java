@@ -1,11 +1,16 @@
 package ua.training.model.dao;
 
 import ua.training.model.dto.PageDto;
+import ua.training.model.dto.ImportReportDto;
 import ua.training.model.entity.Transaction;
 import ua.training.model.exception.CancelingTaskException;
 import ua.training.model.service.producers.TransactionProducer;
 
+import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * This is extension of template dao for {@link Transaction} entity.
@@ -15,9 +20,17 @@ import java.util.List;
  */
 public interface TransactionDao extends Dao<Long, Transaction> {
     List<Transaction> getAccountTransactions(Long accountId);
+    void getAccountTransactions(Long accountId, LocalDateTime from, LocalDateTime to, Consumer<Transaction> consumer);
 
     long makeTransaction(Transaction transaction);
     long makeTransaction(Long accountId, TransactionProducer producer) throws CancelingTaskException;
+    List<ImportReportDto.Outcome> importTransactions(List<String> keys, List<Transaction> transactions);
 
+    int getTransactionsNumber(Long accountId);
     PageDto<Transaction> getPage(Long accountId, int itemsNumber, int page);
+    int getPage(Long accountId, int itemsNumber, int page, Consumer<Transaction> consumer);
+
+    Optional<LocalDateTime> getOldestTransactionTime();
+    int archiveTransactions(YearMonth month, int limit);
+    void completeArchive(YearMonth month);
 }
@@ -0,0 +1,47 @@
+package ua.training.model.dao.factory;
+
+import org.springframework.beans.factory.annotation.Lookup;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import ua.training.model.dao.*;
+
+/**
+ * Implementation of abstract dao factory for in-memory dao implementations. Services work without db, so their own
+ * throughput can be measured. Used if {@code memory} profile is active, e.g. {@code -Dspring.profiles.active=memory}.
+ * @see DaoFactory
+ * @see ua.training.model.dao.memory.InMemoryAccountDao
+ * @author Oleksii Shevchenko
+ */
+@Component("daoFactory")
+@Profile("memory")
+public class InMemoryDaoFactory implements DaoFactory{
+    @Override
+    @Lookup("inMemoryAccountDao")
+    public AccountDao getAccountDao() {
+        return null;
+    }
+
+    @Override
+    @Lookup("inMemoryInvoiceDao")
+    public InvoiceDao getInvoiceDao() {
+        return null;
+    }
+
+    @Override
+    @Lookup("inMemoryRequestDao")
+    public RequestDao getRequestDao() {
+        return null;
+    }
+
+    @Override
+    @Lookup("inMemoryTransactionDao")
+    public TransactionDao getTransactionDao() {
+        return null;
+    }
+
+    @Override
+    @Lookup("inMemoryUserDao")
+    public UserDao getUserDao() {
+        return null;
+    }
+}
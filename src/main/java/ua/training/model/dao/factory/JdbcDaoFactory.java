@@ -1,17 +1,19 @@
 package ua.training.model.dao.factory;
 
 import org.springframework.beans.factory.annotation.Lookup;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 import ua.training.model.dao.*;
 
 /**
  * Implementation of abstract dao factory for jdbc dao implementations. After version 1.1 (Spring DI implementing), such
- * injection approach used only for legacy purpose.
+ * injection approach used only for legacy purpose. Used unless {@code memory} profile is active.
  * @see DaoFactory
  * @author Oleksii Shevchenko
  * @version 1.1
  */
-@Component
+@Component("daoFactory")
+@Profile("!memory")
 public class JdbcDaoFactory implements DaoFactory{
     @Override
     @Lookup("jdbcAccountDao")
@@ -44,7 +44,7 @@ public final class ConnectionsPool {
         try {
             return dataSource.getConnection();
         } catch (SQLException exception) {
-            logger.error(exception);
+            logger.error("Failed to get connection", exception);
             throw new RuntimeException(exception);
         }
     }
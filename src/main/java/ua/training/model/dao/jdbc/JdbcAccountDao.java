@@ -13,6 +13,7 @@ import ua.training.model.entity.Account;
 import ua.training.model.entity.Permission;
 import ua.training.model.entity.Request;
 import ua.training.model.exception.ActiveAccountException;
+import ua.training.model.exception.NoSuchAccountException;
 
 import javax.sql.DataSource;
 import java.math.BigDecimal;
@@ -20,6 +21,7 @@ import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Realization of {@link AccountDao} for database source using jdbc library.
@@ -80,7 +82,7 @@ public class JdbcAccountDao implements AccountDao {
 
             return accounts;
         } catch (SQLException exception) {
-            logger.error(exception);
+            logger.error("Failed to get active accounts", exception);
             throw new RuntimeException(exception);
         }
     }
@@ -106,7 +108,7 @@ public class JdbcAccountDao implements AccountDao {
 
             return accounts;
         } catch (SQLException exception) {
-            logger.error(exception);
+            logger.error("Failed to get user accounts", exception);
             throw new RuntimeException(exception);
         }
     }
@@ -170,11 +172,11 @@ public class JdbcAccountDao implements AccountDao {
             } catch (SQLException exception) {
                 connection.rollback();
 
-                logger.error(exception);
+                logger.error("Failed to complete opening request", exception);
                 throw new RuntimeException(exception);
             }
         } catch (SQLException exception) {
-            logger.error(exception);
+            logger.error("Failed to complete opening request", exception);
             throw new RuntimeException(exception);
         }
     }
@@ -217,11 +219,11 @@ public class JdbcAccountDao implements AccountDao {
             } catch (SQLException exception) {
                 connection.rollback();
 
-                logger.error(exception);
+                logger.error("Failed to open account", exception);
                 throw new RuntimeException(exception);
             }
         } catch (SQLException exception) {
-            logger.error(exception);
+            logger.error("Failed to open account", exception);
             throw new RuntimeException(exception);
         }
     }
@@ -256,7 +258,7 @@ public class JdbcAccountDao implements AccountDao {
             updateStatusStatement.setLong(2, accountId);
             updateStatusStatement.executeUpdate();
         } catch (SQLException exception) {
-            logger.error(exception);
+            logger.error("Failed to block account", exception);
             throw new RuntimeException(exception);
         }
     }
@@ -300,11 +302,11 @@ public class JdbcAccountDao implements AccountDao {
             } catch (SQLException | ActiveAccountException exception) {
                 connection.rollback();
 
-                logger.error(exception);
+                logger.error("Failed to close account", exception);
                 throw new RuntimeException(exception);
             }
         } catch (SQLException exception) {
-            logger.error(exception);
+            logger.error("Failed to close account", exception);
             throw new RuntimeException();
         }
     }
@@ -337,16 +339,36 @@ public class JdbcAccountDao implements AccountDao {
             } catch (SQLException exception) {
                 connection.rollback();
 
-                logger.error(exception);
+                logger.error("Failed to force closing of account {}", accountId, exception);
                 throw new RuntimeException(exception);
             }
         } catch (SQLException exception) {
-            logger.error(exception);
+            logger.error("Failed to force closing of account {}", accountId, exception);
             throw new RuntimeException();
         }
 
     }
 
+    /**
+     * Method returns version of account, it is increased by db triggers on every change of account or its holders.
+     * @param accountId Targeted account.
+     * @return Version or empty if there is no such account.
+     */
+    @Override
+    public Optional<Long> getVersion(Long accountId) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(queriesManager.getQuery("sql.accounts.get.version"))) {
+            preparedStatement.setLong(1, accountId);
+
+            ResultSet resultSet = preparedStatement.executeQuery();
+
+            return resultSet.next() ? Optional.of(resultSet.getLong("version")) : Optional.empty();
+        } catch (SQLException exception) {
+            logger.error("Failed to get version of account {}", accountId, exception);
+            throw new RuntimeException(exception);
+        }
+    }
+
     @Override
     public Account get(Long key) {
         try (Connection connection = dataSource.getConnection();
@@ -366,10 +388,10 @@ public class JdbcAccountDao implements AccountDao {
 
                 return account;
             } else {
-                throw new SQLException();
+                throw new NoSuchAccountException();
             }
         } catch (SQLException exception) {
-            logger.error(exception);
+            logger.error("Failed to get account {}", key, exception);
             throw new RuntimeException(exception);
         }
     }
@@ -9,6 +9,9 @@ import ua.training.model.dao.InvoiceDao;
 import ua.training.model.dao.mapper.Mapper;
 import ua.training.model.dao.mapper.factory.JdbcMapperFactory;
 import ua.training.model.dao.mapper.factory.MapperFactory;
+import ua.training.model.dao.util.InvoiceSettlement;
+import ua.training.model.dto.InvoiceAcceptanceDto;
+import ua.training.model.dto.InvoiceDto;
 import ua.training.model.entity.Account;
 import ua.training.model.entity.Invoice;
 import ua.training.model.entity.Transaction;
@@ -18,8 +21,17 @@ import ua.training.model.exception.UnsupportedOperationException;
 
 import javax.sql.DataSource;
 import java.sql.*;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
 
 /**
  * Realization of {@link InvoiceDao} for database source using jdbc library.
@@ -33,6 +45,7 @@ public class JdbcInvoiceDao implements InvoiceDao {
     private static Logger logger = LogManager.getLogger(JdbcInvoiceDao.class);
 
     private DataSource dataSource;
+    private RoutingDataSource readDataSource;
     private MapperFactory mapperFactory;
     private QueriesManager queriesManager;
 
@@ -41,6 +54,11 @@ public class JdbcInvoiceDao implements InvoiceDao {
         this.dataSource = dataSource;
     }
 
+    @Autowired
+    public void setReadDataSource(RoutingDataSource readDataSource) {
+        this.readDataSource = readDataSource;
+    }
+
     @Autowired
     public void setQueriesManager(QueriesManager queriesManager) {
         this.queriesManager = queriesManager;
@@ -59,7 +77,7 @@ public class JdbcInvoiceDao implements InvoiceDao {
      */
     @Override
     public List<Invoice> getInvoicesByRequester(Long accountId) {
-        try (Connection connection = dataSource.getConnection();
+        try (Connection connection = readDataSource.getConnection();
              PreparedStatement preparedStatement = connection.prepareStatement(queriesManager.getQuery("sql.invoices.get.by.requester"))) {
             preparedStatement.setLong(1, accountId);
 
@@ -73,7 +91,7 @@ public class JdbcInvoiceDao implements InvoiceDao {
 
             return invoices;
         } catch (SQLException exception) {
-            logger.error(exception);
+            logger.error("Failed to get invoices by requester", exception);
             throw new RuntimeException(exception);
         }
     }
@@ -85,7 +103,7 @@ public class JdbcInvoiceDao implements InvoiceDao {
      */
     @Override
     public List<Invoice> getInvoicesByPayer(Long accountId) {
-        try (Connection connection = dataSource.getConnection();
+        try (Connection connection = readDataSource.getConnection();
              PreparedStatement preparedStatement = connection.prepareStatement(queriesManager.getQuery("sql.invoices.get.by.payer"))) {
             preparedStatement.setLong(1, accountId);
 
@@ -99,7 +117,71 @@ public class JdbcInvoiceDao implements InvoiceDao {
 
             return invoices;
         } catch (SQLException exception) {
-            logger.error(exception);
+            logger.error("Failed to get invoices by payer", exception);
+            throw new RuntimeException(exception);
+        }
+    }
+
+    /**
+     * Method returns page of invoices of both directions in one query. Pages are keyed by invoice id, newest invoices
+     * go first, so every page is read by index range whatever number of invoices account has.
+     * @param holderId User that must be holder of the account.
+     * @param accountId Targeted account.
+     * @param statuses Statuses of returned invoices.
+     * @param payerAfter Invoices as payer with less id are returned.
+     * @param requesterAfter Invoices as requester with less id are returned.
+     * @param limit Max number of invoices of every direction.
+     * @return Invoices or empty if the user isn't holder of the account.
+     */
+    @Override
+    public Optional<InvoiceDto> getInvoicesPage(Long holderId, Long accountId, Set<Invoice.Status> statuses,
+                                                long payerAfter, long requesterAfter, int limit) {
+        String placeholders = placeholders(statuses.size());
+        String query = String.format(queriesManager.getQuery("sql.invoices.get.page"), placeholders, placeholders);
+
+        try (Connection connection = readDataSource.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            int index = 1;
+            preparedStatement.setLong(index++, holderId);
+            preparedStatement.setLong(index++, accountId);
+            for (long after : new long[]{payerAfter, requesterAfter}) {
+                preparedStatement.setLong(index++, accountId);
+                preparedStatement.setLong(index++, after);
+                for (Invoice.Status status : statuses) {
+                    preparedStatement.setString(index++, status.name());
+                }
+                preparedStatement.setInt(index++, limit + 1);
+            }
+
+            ResultSet resultSet = preparedStatement.executeQuery();
+            Mapper<Invoice> mapper = mapperFactory.getInvoiceMapper();
+
+            boolean holder = false;
+            List<Invoice> asPayer = new ArrayList<>();
+            List<Invoice> asRequester = new ArrayList<>();
+            while (resultSet.next()) {
+                String direction = resultSet.getString("direction");
+
+                if ("HOLDER".equals(direction)) {
+                    holder = true;
+                } else {
+                    ("PAYER".equals(direction) ? asPayer : asRequester).add(mapper.map(resultSet));
+                }
+            }
+
+            if (!holder) {
+                return Optional.empty();
+            }
+
+            InvoiceDto invoiceDto = new InvoiceDto();
+            invoiceDto.setInvoicesAsPayer(asPayer.subList(0, Math.min(limit, asPayer.size())));
+            invoiceDto.setInvoicesAsRequester(asRequester.subList(0, Math.min(limit, asRequester.size())));
+            invoiceDto.setPayerNext(asPayer.size() > limit ? asPayer.get(limit - 1).getId() : null);
+            invoiceDto.setRequesterNext(asRequester.size() > limit ? asRequester.get(limit - 1).getId() : null);
+
+            return Optional.of(invoiceDto);
+        } catch (SQLException exception) {
+            logger.error("Failed to get invoices page of account {}", accountId, exception);
             throw new RuntimeException(exception);
         }
     }
@@ -163,26 +245,165 @@ public class JdbcInvoiceDao implements InvoiceDao {
                 updateInvoiceStatement.setString(1, Invoice.Status.ACCEPTED.name());
                 updateInvoiceStatement.setLong(2, transactionId);
                 updateInvoiceStatement.setLong(3, invoiceId);
-                updateInvoiceStatement.executeUpdate();
+                if (updateInvoiceStatement.executeUpdate() != 1) {
+                    throw new SQLException("Invoice " + invoiceId + " is not processing anymore");
+                }
 
                 connection.commit();
+                readDataSource.markWritten();
             } catch (SQLException | NonActiveAccountException exception) {
                 connection.rollback();
 
-                logger.error(exception);
+                logger.error("Failed to accept invoice", exception);
                 throw new RuntimeException(exception);
             } catch (NotEnoughMoneyException exception) {
                 connection.rollback();
 
-                logger.error(exception);
+                logger.error("Failed to accept invoice", exception);
                 throw exception;
             }
         } catch (SQLException exception) {
-            logger.error(exception);
+            logger.error("Failed to accept invoice", exception);
             throw new RuntimeException();
         }
     }
 
+    /**
+     * Method accepts several invoices in one db transaction. Invoices and then all involved accounts are locked in
+     * order of their ids, so concurrent batches can't deadlock. Invoices are settled in memory by
+     * {@link InvoiceSettlement}, then balances, transactions and invoices are written by jdbc batches.
+     * @param invoiceIds Targeted invoices.
+     * @param payerAccounts Accounts allowed to pay, invoices of other payers are reported as missing.
+     * @param atomicPerPayer If true, invoices of payer are accepted only if all of them can be paid.
+     * @return Outcome of every invoice.
+     */
+    @Override
+    public InvoiceAcceptanceDto acceptInvoices(List<Long> invoiceIds, Collection<Long> payerAccounts, boolean atomicPerPayer) {
+        if (invoiceIds.isEmpty()) {
+            return new InvoiceAcceptanceDto();
+        }
+
+        Set<Long> sortedIds = new TreeSet<>(invoiceIds);
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            connection.setAutoCommit(false);
+            try (PreparedStatement getInvoicesStatement = connection.prepareStatement(String.format(queriesManager.getQuery("sql.invoices.get.by.ids.for.update"), placeholders(sortedIds.size())));
+                 PreparedStatement updateInvoiceStatement = connection.prepareStatement(queriesManager.getQuery("sql.invoices.update.transaction"));
+                 PreparedStatement insertTransactionStatement = connection.prepareStatement(queriesManager.getQuery("sql.transactions.insert"), Statement.RETURN_GENERATED_KEYS);
+                 PreparedStatement updateBalanceStatement = connection.prepareStatement(queriesManager.getQuery("sql.accounts.update.balance"))) {
+
+                Map<Long, Invoice> invoices = getInvoicesByIds(sortedIds, getInvoicesStatement);
+                Map<Long, Account> accounts = getAccountsByIds(invoices.values().stream()
+                        .filter(invoice -> payerAccounts.contains(invoice.getPayer()))
+                        .collect(Collectors.toList()), connection);
+
+                InvoiceSettlement settlement = new InvoiceSettlement()
+                        .settle(invoiceIds, invoices, payerAccounts, accounts, atomicPerPayer);
+                List<Invoice> accepted = settlement.getAccepted();
+
+                for (Long accountId : settlement.getChangedAccounts()) {
+                    updateBalanceStatement.setBigDecimal(1, accounts.get(accountId).getBalance());
+                    updateBalanceStatement.setLong(2, accountId);
+                    updateBalanceStatement.addBatch();
+                }
+                updateBalanceStatement.executeBatch();
+
+                for (Invoice invoice : accepted) {
+                    insertTransactionStatement.setLong(1, invoice.getPayer());
+                    insertTransactionStatement.setLong(2, invoice.getRequester());
+                    insertTransactionStatement.setString(3, Transaction.Type.MANUAL.name());
+                    insertTransactionStatement.setBigDecimal(4, invoice.getAmount());
+                    insertTransactionStatement.setString(5, invoice.getCurrency().name());
+                    insertTransactionStatement.addBatch();
+                }
+                insertTransactionStatement.executeBatch();
+
+                ResultSet resultSet = insertTransactionStatement.getGeneratedKeys();
+                for (Invoice invoice : accepted) {
+                    if (!resultSet.next()) {
+                        throw new SQLException("Generated keys of transactions are missing");
+                    }
+
+                    updateInvoiceStatement.setString(1, Invoice.Status.ACCEPTED.name());
+                    updateInvoiceStatement.setLong(2, resultSet.getLong(1));
+                    updateInvoiceStatement.setLong(3, invoice.getId());
+                    updateInvoiceStatement.addBatch();
+                }
+                for (int updated : updateInvoiceStatement.executeBatch()) {
+                    if (updated == 0) {
+                        throw new SQLException("Invoice is not processing anymore");
+                    }
+                }
+
+                connection.commit();
+                readDataSource.markWritten();
+
+                return settlement.getAcceptance();
+            } catch (SQLException exception) {
+                connection.rollback();
+
+                logger.error("Failed to accept invoices {}", invoiceIds, exception);
+                throw new RuntimeException(exception);
+            }
+        } catch (SQLException exception) {
+            logger.error("Failed to accept invoices {}", invoiceIds, exception);
+            throw new RuntimeException(exception);
+        }
+    }
+
+    private Map<Long, Invoice> getInvoicesByIds(Set<Long> invoiceIds, PreparedStatement getInvoicesStatement) throws SQLException {
+        int index = 1;
+        for (Long invoiceId : invoiceIds) {
+            getInvoicesStatement.setLong(index++, invoiceId);
+        }
+
+        ResultSet resultSet = getInvoicesStatement.executeQuery();
+        Mapper<Invoice> mapper = mapperFactory.getInvoiceMapper();
+        Map<Long, Invoice> invoices = new HashMap<>();
+
+        while (resultSet.next()) {
+            Invoice invoice = mapper.map(resultSet);
+            invoices.put(invoice.getId(), invoice);
+        }
+
+        return invoices;
+    }
+
+    private Map<Long, Account> getAccountsByIds(Collection<Invoice> invoices, Connection connection) throws SQLException {
+        Set<Long> accountIds = new TreeSet<>();
+        invoices.forEach(invoice -> {
+            accountIds.add(invoice.getPayer());
+            accountIds.add(invoice.getRequester());
+        });
+
+        Map<Long, Account> accounts = new HashMap<>();
+        if (accountIds.isEmpty()) {
+            return accounts;
+        }
+
+        try (PreparedStatement getAccountsStatement = connection.prepareStatement(String.format(queriesManager.getQuery("sql.accounts.get.by.ids.for.update"), placeholders(accountIds.size())))) {
+            int index = 1;
+            for (Long accountId : accountIds) {
+                getAccountsStatement.setLong(index++, accountId);
+            }
+
+            ResultSet resultSet = getAccountsStatement.executeQuery();
+            Mapper<Account> mapper = mapperFactory.getAccountMapper();
+
+            while (resultSet.next()) {
+                Account account = mapper.map(resultSet);
+                accounts.put(account.getId(), account);
+            }
+        }
+
+        return accounts;
+    }
+
+    private String placeholders(int number) {
+        return String.join(", ", Collections.nCopies(number, "?"));
+    }
+
     /**
      * Performs account getting using open prepared statement.
      * @param accountId Targeted account
@@ -233,25 +454,99 @@ public class JdbcInvoiceDao implements InvoiceDao {
                 updateInvoiceStatement.executeUpdate();
 
                 connection.commit();
+                readDataSource.markWritten();
             } catch (SQLException exception) {
                 connection.rollback();
 
-                logger.error(exception);
+                logger.error("Failed to deny invoice", exception);
                 throw new RuntimeException(exception);
             }
         } catch (SQLException exception) {
-            logger.error(exception);
+            logger.error("Failed to deny invoice", exception);
             throw new RuntimeException();
         }
     }
 
+    @Override
+    public long getMinInvoiceId() {
+        return getInvoiceId("sql.invoices.get.min.id");
+    }
+
+    @Override
+    public long getMaxInvoiceId() {
+        return getInvoiceId("sql.invoices.get.max.id");
+    }
+
+    private long getInvoiceId(String queryKey) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(queriesManager.getQuery(queryKey))) {
+            ResultSet resultSet = preparedStatement.executeQuery();
+
+            return resultSet.next() ? resultSet.getLong(1) : 0;
+        } catch (SQLException exception) {
+            logger.error("Failed to get bound of invoice ids", exception);
+            throw new RuntimeException(exception);
+        }
+    }
+
+    /**
+     * Method moves processing invoices created before specified time from range of ids to archive table. Rows are
+     * locked before copying, so they can't be accepted or denied between copying and removing.
+     * @param fromId The first id of the range.
+     * @param toId The last id of the range.
+     * @param createdBefore Invoices created before this time are expired.
+     * @return Number of expired invoices.
+     */
+    @Override
+    public int expireInvoices(long fromId, long toId, LocalDateTime createdBefore) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            connection.setAutoCommit(false);
+            try (PreparedStatement lockStatement = connection.prepareStatement(queriesManager.getQuery("sql.invoices.lock.expired"));
+                 PreparedStatement archiveStatement = connection.prepareStatement(queriesManager.getQuery("sql.invoices.archive.expired"));
+                 PreparedStatement removeStatement = connection.prepareStatement(queriesManager.getQuery("sql.invoices.remove.expired"))) {
+                Timestamp before = Timestamp.valueOf(createdBefore);
+
+                for (PreparedStatement statement : new PreparedStatement[]{lockStatement, archiveStatement, removeStatement}) {
+                    statement.setLong(1, fromId);
+                    statement.setLong(2, toId);
+                    statement.setTimestamp(3, before);
+                }
+
+                ResultSet resultSet = lockStatement.executeQuery();
+                if (!resultSet.next()) {
+                    connection.rollback();
+                    return 0;
+                }
+
+                int archived = archiveStatement.executeUpdate();
+                int removed = removeStatement.executeUpdate();
+
+                if (archived != removed) {
+                    throw new SQLException("Archived " + archived + " invoices, but removed " + removed);
+                }
+
+                connection.commit();
+                return removed;
+            } catch (SQLException exception) {
+                connection.rollback();
+
+                logger.error("Failed to expire invoices from {} to {}", fromId, toId, exception);
+                throw new RuntimeException(exception);
+            }
+        } catch (SQLException exception) {
+            logger.error("Failed to expire invoices from {} to {}", fromId, toId, exception);
+            throw new RuntimeException(exception);
+        }
+    }
+
     @Override
     public Invoice get(Long key) {
         try (Connection connection = dataSource.getConnection();
              PreparedStatement preparedStatement = connection.prepareStatement(queriesManager.getQuery("sql.invoices.get.by.id"))) {
             return getInvoiceById(key, preparedStatement);
         } catch (SQLException exception) {
-            logger.error(exception);
+            logger.error("Failed to get invoice {}", key, exception);
             throw new RuntimeException(exception);
         }
     }
@@ -279,6 +574,7 @@ public class JdbcInvoiceDao implements InvoiceDao {
             preparedStatement.setString(5, entity.getStatus().name());
             preparedStatement.setString(6, entity.getDescription());
             preparedStatement.executeUpdate();
+            readDataSource.markWritten();
 
             ResultSet resultSet = preparedStatement.getGeneratedKeys();
             if (resultSet.next()) {
@@ -287,7 +583,7 @@ public class JdbcInvoiceDao implements InvoiceDao {
                 throw new SQLException();
             }
         } catch (SQLException exception) {
-            logger.error(exception);
+            logger.error("Failed to insert invoice", exception);
             throw new RuntimeException(exception);
         }
     }
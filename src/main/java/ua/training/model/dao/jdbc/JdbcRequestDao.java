@@ -29,6 +29,7 @@ public class JdbcRequestDao implements RequestDao {
     private static Logger logger = LogManager.getLogger(JdbcRequestDao.class);
 
     private DataSource dataSource;
+    private RoutingDataSource readDataSource;
     private MapperFactory mapperFactory;
     private QueriesManager queriesManager;
 
@@ -36,6 +37,11 @@ public class JdbcRequestDao implements RequestDao {
         this.dataSource = dataSource;
     }
 
+    @Autowired
+    public void setReadDataSource(RoutingDataSource readDataSource) {
+        this.readDataSource = readDataSource;
+    }
+
     @Autowired
     @Qualifier("jdbcMapperFactory")
     public void setMapperFactory(MapperFactory mapperFactory) {
@@ -58,8 +64,9 @@ public class JdbcRequestDao implements RequestDao {
                 setCompletedStatement.setBoolean(1, true);
                 setCompletedStatement.setLong(2, requestId);
                 setCompletedStatement.executeUpdate();
+                readDataSource.markWritten();
         } catch (SQLException exception) {
-            logger.error(exception);
+            logger.error("Failed to consider request", exception);
             throw new RuntimeException();
         }
     }
@@ -72,7 +79,7 @@ public class JdbcRequestDao implements RequestDao {
      */
     @Override
     public PageDto<Request> getPage(int itemsNumber, int page) {
-        try (Connection connection = dataSource.getConnection()) {
+        try (Connection connection = readDataSource.getConnection()) {
             connection.setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
             connection.setAutoCommit(false);
             try (PreparedStatement countRequests = connection.prepareStatement(queriesManager.getQuery("sql.requests.count"));
@@ -117,11 +124,11 @@ public class JdbcRequestDao implements RequestDao {
             } catch (SQLException exception) {
                 connection.rollback();
 
-                logger.error(exception);
+                logger.error("Failed to get page {} of requests", page, exception);
                 throw new RuntimeException(exception);
             }
         } catch (SQLException exception) {
-            logger.error(exception);
+            logger.error("Failed to get page {} of requests", page, exception);
             throw new RuntimeException(exception);
         }
     }
@@ -147,7 +154,7 @@ public class JdbcRequestDao implements RequestDao {
 
             return requests;
         } catch (SQLException exception) {
-            logger.error(exception);
+            logger.error("Failed to get requests by consideration {}", consideration, exception);
             throw new RuntimeException(exception);
         }
     }
@@ -166,7 +173,7 @@ public class JdbcRequestDao implements RequestDao {
                 throw new SQLException();
             }
         } catch (SQLException exception) {
-            logger.error(exception);
+            logger.error("Failed to get request {}", key, exception);
             throw new RuntimeException(exception);
         }
     }
@@ -180,6 +187,7 @@ public class JdbcRequestDao implements RequestDao {
             preparedStatement.setString(3, entity.getCurrency().name());
             preparedStatement.setBoolean(4, entity.isConsidered());
             preparedStatement.executeUpdate();
+            readDataSource.markWritten();
 
             ResultSet resultSet = preparedStatement.getGeneratedKeys();
             if (resultSet.next()) {
@@ -188,7 +196,7 @@ public class JdbcRequestDao implements RequestDao {
                 throw new SQLException();
             }
         } catch (SQLException exception) {
-            logger.error(exception);
+            logger.error("Failed to insert request", exception);
             throw new RuntimeException(exception);
         }
     }
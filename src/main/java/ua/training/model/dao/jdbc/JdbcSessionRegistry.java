@@ -0,0 +1,105 @@
+package ua.training.model.dao.jdbc;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import ua.training.model.service.SessionRegistry;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Implementation of {@link SessionRegistry} for several nodes, sessions are kept in db table shared by all nodes.
+ * @author Oleksii Shevchenko
+ */
+@Lazy
+@Component("jdbcSessionRegistry")
+public class JdbcSessionRegistry implements SessionRegistry {
+    private static Logger logger = LogManager.getLogger(JdbcSessionRegistry.class);
+
+    private final DataSource dataSource;
+    private final long timeToLive;
+
+    private QueriesManager queriesManager;
+
+    @Autowired
+    public JdbcSessionRegistry(DataSource dataSource, @Value("${session.registry.ttl}") long timeToLive) {
+        this.dataSource = dataSource;
+        this.timeToLive = timeToLive;
+    }
+
+    @Autowired
+    public void setQueriesManager(QueriesManager queriesManager) {
+        this.queriesManager = queriesManager;
+    }
+
+    /**
+     * Replaces session of login and evicts entries older than time to live in the same db transaction.
+     */
+    @Override
+    public void register(String login, String sessionId) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement upsertStatement = connection.prepareStatement(queriesManager.getQuery("sql.sessions.upsert"));
+                 PreparedStatement evictStatement = connection.prepareStatement(queriesManager.getQuery("sql.sessions.evict"))) {
+                LocalDateTime now = LocalDateTime.now();
+
+                upsertStatement.setString(1, login);
+                upsertStatement.setString(2, sessionId);
+                upsertStatement.setTimestamp(3, Timestamp.valueOf(now));
+                upsertStatement.executeUpdate();
+
+                evictStatement.setTimestamp(1, Timestamp.valueOf(now.minusSeconds(timeToLive)));
+                evictStatement.executeUpdate();
+
+                connection.commit();
+            } catch (SQLException exception) {
+                connection.rollback();
+
+                logger.error("Failed to register session of user {}", login, exception);
+                throw new RuntimeException(exception);
+            }
+        } catch (SQLException exception) {
+            logger.error("Failed to register session of user {}", login, exception);
+            throw new RuntimeException(exception);
+        }
+    }
+
+    @Override
+    public boolean isCurrent(String login, String sessionId) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(queriesManager.getQuery("sql.sessions.get"))) {
+            preparedStatement.setString(1, login);
+
+            ResultSet resultSet = preparedStatement.executeQuery();
+
+            return !resultSet.next() || resultSet.getString("session_id").equals(sessionId);
+        } catch (SQLException exception) {
+            logger.error("Failed to check session of user {}", login, exception);
+            throw new RuntimeException(exception);
+        }
+    }
+
+    @Override
+    public void revoke(String login, String sessionId) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(queriesManager.getQuery("sql.sessions.revoke"))) {
+            preparedStatement.setString(1, REVOKED);
+            preparedStatement.setTimestamp(2, Timestamp.valueOf(LocalDateTime.now()));
+            preparedStatement.setString(3, login);
+            preparedStatement.setString(4, sessionId);
+            preparedStatement.executeUpdate();
+        } catch (SQLException exception) {
+            logger.error("Failed to revoke session of user {}", login, exception);
+            throw new RuntimeException(exception);
+        }
+    }
+}
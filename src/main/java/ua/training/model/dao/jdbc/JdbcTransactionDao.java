@@ -4,10 +4,12 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import ua.training.model.dao.TransactionDao;
 import ua.training.model.dao.mapper.Mapper;
 import ua.training.model.dao.mapper.factory.MapperFactory;
+import ua.training.model.dto.ImportReportDto;
 import ua.training.model.dto.PageDto;
 import ua.training.model.entity.Account;
 import ua.training.model.entity.Transaction;
@@ -20,12 +22,27 @@ import ua.training.model.service.producers.TransactionProducer;
 import javax.sql.DataSource;
 import java.math.BigDecimal;
 import java.sql.Connection;
+import java.sql.Date;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Consumer;
 
 /**
  * Realization of {@link TransactionDao} for database source using jdbc library.
@@ -39,13 +56,22 @@ public class JdbcTransactionDao implements TransactionDao {
     private static Logger logger = LogManager.getLogger(JdbcTransactionDao.class);
 
     private DataSource dataSource;
+    private RoutingDataSource readDataSource;
     private MapperFactory mapperFactory;
     private QueriesManager queriesManager;
 
+    private DataSource exportDataSource;
+    private int exportFetchSize;
+
     public JdbcTransactionDao(DataSource dataSource) {
         this.dataSource = dataSource;
     }
 
+    @Autowired
+    public void setReadDataSource(RoutingDataSource readDataSource) {
+        this.readDataSource = readDataSource;
+    }
+
     @Autowired
     @Qualifier("jdbcMapperFactory")
     public void setMapperFactory(MapperFactory mapperFactory) {
@@ -57,6 +83,46 @@ public class JdbcTransactionDao implements TransactionDao {
         this.queriesManager = queriesManager;
     }
 
+    @Autowired
+    @Qualifier("exportDataSource")
+    public void setExportDataSource(DataSource exportDataSource) {
+        this.exportDataSource = exportDataSource;
+    }
+
+    @Autowired
+    public void setExportFetchSize(@Value("${db.export.fetch.size}") int exportFetchSize) {
+        this.exportFetchSize = exportFetchSize;
+    }
+
+    /**
+     * Counts all transactions where account is sender or receiver, including archived ones. Hot table and archives
+     * are counted in one consistent snapshot, without locking reads.
+     * @param accountId Targeted account.
+     * @return The number of transactions.
+     */
+    @Override
+    public int getTransactionsNumber(Long accountId) {
+        try (Connection connection = readDataSource.getConnection()) {
+            startSnapshot(connection);
+            try {
+                int transactionsNumber = countHotTransactions(accountId, connection)
+                        + countArchivedTransactions(accountId, getArchives(connection), connection);
+
+                connection.commit();
+
+                return transactionsNumber;
+            } catch (SQLException exception) {
+                connection.rollback();
+
+                logger.error("Failed to count account {} transactions", accountId, exception);
+                throw new RuntimeException(exception);
+            }
+        } catch (SQLException exception) {
+            logger.error("Failed to count account {} transactions", accountId, exception);
+            throw new RuntimeException(exception);
+        }
+    }
+
     /**
      * This method used in pagination mechanism to minimize data transfers from db.
      * @param itemsNumber The number of items on page.
@@ -65,34 +131,48 @@ public class JdbcTransactionDao implements TransactionDao {
      */
     @Override
     public PageDto<Transaction> getPage(Long accountId, int itemsNumber, int page) {
-        try (Connection connection = dataSource.getConnection()) {
-            connection.setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
-            connection.setAutoCommit(false);
-            try (PreparedStatement countTransactions = connection.prepareStatement(queriesManager.getQuery("sql.transactions.count"));
-                 PreparedStatement getTransactionsPage = connection.prepareStatement(queriesManager.getQuery("sql.transactions.get.page"))) {
-                countTransactions.setLong(1, accountId);
-                countTransactions.setLong(2, accountId);
-
-                int transactionsNumber;
-                ResultSet resultSet = countTransactions.executeQuery();
-                if (resultSet.next()) {
-                    transactionsNumber = resultSet.getInt("transactions_number");
-                } else {
-                    throw new SQLException();
-                }
+        List<Transaction> transactions = new ArrayList<>();
+        int pagesNumber = getPage(accountId, itemsNumber, page, transactions::add);
 
-                int pagesNumber = transactionsNumber % itemsNumber == 0 ? transactionsNumber / itemsNumber : (transactionsNumber / itemsNumber) + 1;
+        PageDto<Transaction> pageDto = new PageDto<>();
+        pageDto.setPagesNumber(pagesNumber);
+        pageDto.setCurrentPage(transactions.isEmpty() ? 1 : page);
+        pageDto.setItemsNumber(itemsNumber);
+        pageDto.setItems(transactions);
 
-                if (pagesNumber == 0) {
-                    PageDto<Transaction> pageDto = new PageDto<>();
-                    pageDto.setPagesNumber(1);
-                    pageDto.setCurrentPage(1);
-                    pageDto.setItemsNumber(itemsNumber);
-                    pageDto.setItems(List.of());
+        return pageDto;
+    }
+
+    /**
+     * This method used in pagination mechanism when page items are consumed one by one, without collecting them into
+     * page dto. Archived transactions are counted by summary table, and archives are read only when requested page goes
+     * beyond transactions that are still in hot table. Page is read in one consistent snapshot without locking reads,
+     * and it is passed to consumer only after db transaction is committed, so slow consumer (e.g. client reading
+     * response) doesn't keep transaction open. At most {@code itemsNumber} items are kept meanwhile.
+     * @param itemsNumber The number of items on page.
+     * @param page The number of requested page.
+     * @param consumer Consumer of the page items.
+     * @return The number of pages.
+     */
+    @Override
+    public int getPage(Long accountId, int itemsNumber, int page, Consumer<Transaction> consumer) {
+        List<Transaction> transactions = new ArrayList<>(itemsNumber);
+        int pagesNumber;
+
+        try (Connection connection = readDataSource.getConnection()) {
+            startSnapshot(connection);
+            try {
+                int hotTransactionsNumber = countHotTransactions(accountId, connection);
 
+                List<Archive> archives = getArchives(connection);
+                int transactionsNumber = hotTransactionsNumber + countArchivedTransactions(accountId, archives, connection);
+
+                pagesNumber = transactionsNumber % itemsNumber == 0 ? transactionsNumber / itemsNumber : (transactionsNumber / itemsNumber) + 1;
+
+                if (pagesNumber == 0) {
                     connection.commit();
 
-                    return pageDto;
+                    return 1;
                 }
 
                 if (page > pagesNumber) {
@@ -101,64 +181,384 @@ public class JdbcTransactionDao implements TransactionDao {
 
                 int offset = itemsNumber * (page - 1);
 
-                getTransactionsPage.setLong(1, accountId);
-                getTransactionsPage.setLong(2, accountId);
-                getTransactionsPage.setInt(3, itemsNumber);
-                getTransactionsPage.setInt(4, offset);
+                if (archives.isEmpty() || offset + itemsNumber <= hotTransactionsNumber) {
+                    archives = Collections.emptyList();
+                }
+
+                try (PreparedStatement getTransactionsPage = connection.prepareStatement(getPageQuery(archives))) {
+                    int index = 1;
+                    for (int i = 0; i <= archives.size(); i++) {
+                        getTransactionsPage.setLong(index++, accountId);
+                        getTransactionsPage.setLong(index++, accountId);
+                    }
+                    getTransactionsPage.setInt(index++, itemsNumber);
+                    getTransactionsPage.setInt(index, offset);
+
+                    Mapper<Transaction> mapper = mapperFactory.getTransactionMapper();
+                    ResultSet resultSet = getTransactionsPage.executeQuery();
+
+                    while (resultSet.next()) {
+                        transactions.add(mapper.map(resultSet));
+                    }
+                }
+
+                connection.commit();
+            } catch (SQLException exception) {
+                connection.rollback();
+
+                logger.error("Failed to get page {} of account {} transactions", page, accountId, exception);
+                throw new RuntimeException(exception);
+            }
+        } catch (SQLException exception) {
+            logger.error("Failed to get page {} of account {} transactions", page, accountId, exception);
+            throw new RuntimeException(exception);
+        }
+
+        transactions.forEach(consumer);
 
-                Mapper<Transaction> mapper = mapperFactory.getTransactionMapper();
-                resultSet = getTransactionsPage.executeQuery();
+        return pagesNumber;
+    }
 
+    /**
+     * Returns all transactions where account is sender or receiver, including archived ones. Archives and hot table
+     * are read in one consistent snapshot.
+     * @param accountId Targeted account.
+     * @return List of account transactions.
+     */
+    @Override
+    public List<Transaction> getAccountTransactions(Long accountId) {
+        try (Connection connection = readDataSource.getConnection()) {
+            startSnapshot(connection);
+            try {
                 List<Transaction> transactions = new ArrayList<>();
-                while (resultSet.next()) {
-                    transactions.add(mapper.map(resultSet));
-                }
+                List<Archive> archives = getArchives(connection);
 
-                PageDto<Transaction> pageDto = new PageDto<>();
-                pageDto.setPagesNumber(pagesNumber);
-                pageDto.setCurrentPage(page);
-                pageDto.setItemsNumber(itemsNumber);
-                pageDto.setItems(transactions);
+                for (int i = archives.size() - 1; i >= 0; i--) {
+                    getAccountTransactions(accountId, String.format(queriesManager.getQuery("sql.transactions.archive.get.by.account"),
+                            archives.get(i).getTable()), connection, transactions);
+                }
+                getAccountTransactions(accountId, queriesManager.getQuery("sql.transactions.get.by.account"), connection, transactions);
 
                 connection.commit();
 
-                return pageDto;
+                return transactions;
             } catch (SQLException exception) {
                 connection.rollback();
 
-                logger.error(exception);
+                logger.error("Failed to get account transactions", exception);
                 throw new RuntimeException(exception);
             }
         } catch (SQLException exception) {
-            logger.error(exception);
+            logger.error("Failed to get account transactions", exception);
             throw new RuntimeException(exception);
         }
     }
 
     /**
-     * Returns all transactions where account is sender or receiver.
+     * Passes to consumer all transactions of account made in specified period, one by one as they are read from db.
+     * Connections are taken from export pool, and rows are fetched through forward-only server-side cursor in chunks
+     * of {@code db.export.fetch.size}, so memory used does not depend on the number of transactions. Only archives of
+     * months overlapping the period are read, and hot table is skipped when all these months are completely archived.
+     * Archives registry, archives and hot table are read in one consistent snapshot, so transactions archived during
+     * export are exported exactly once.
      * @param accountId Targeted account.
-     * @return List of account transactions.
+     * @param from Start of period, inclusive.
+     * @param to End of period, exclusive.
+     * @param consumer Consumer of transactions.
      */
     @Override
-    public List<Transaction> getAccountTransactions(Long accountId) {
+    public void getAccountTransactions(Long accountId, LocalDateTime from, LocalDateTime to, Consumer<Transaction> consumer) {
+        try (Connection connection = exportDataSource.getConnection()) {
+            startSnapshot(connection);
+            try {
+                List<Archive> archives = getArchives(connection);
+                boolean archived = !archives.isEmpty();
+
+                for (YearMonth month = YearMonth.from(from); month.atDay(1).atStartOfDay().isBefore(to); month = month.plusMonths(1)) {
+                    archived &= findArchive(archives, month).map(Archive::isCompleted).orElse(false);
+                }
+
+                for (int i = archives.size() - 1; i >= 0; i--) {
+                    Archive archive = archives.get(i);
+                    if (archive.overlaps(from, to)) {
+                        getAccountTransactions(accountId, from, to, String.format(queriesManager.getQuery("sql.transactions.archive.get.by.account.period"),
+                                archive.getTable()), connection, consumer);
+                    }
+                }
+
+                if (!archived) {
+                    getAccountTransactions(accountId, from, to, queriesManager.getQuery("sql.transactions.get.by.account.period"), connection, consumer);
+                }
+
+                connection.commit();
+            } catch (SQLException exception) {
+                connection.rollback();
+
+                logger.error("Failed to get account transactions", exception);
+                throw new RuntimeException(exception);
+            } catch (RuntimeException exception) {
+                connection.rollback();
+                throw exception;
+            }
+        } catch (SQLException exception) {
+            logger.error("Failed to get account transactions", exception);
+            throw new RuntimeException(exception);
+        }
+    }
+
+    /**
+     * Returns time of the oldest transaction that isn't archived yet.
+     * @return Time of transaction or empty if there are no transactions in hot table.
+     */
+    @Override
+    public Optional<LocalDateTime> getOldestTransactionTime() {
         try (Connection connection = dataSource.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(queriesManager.getQuery("sql.transactions.get.by.account"))) {
+             PreparedStatement preparedStatement = connection.prepareStatement(queriesManager.getQuery("sql.transactions.get.oldest.time"))) {
+            ResultSet resultSet = preparedStatement.executeQuery();
+
+            if (resultSet.next() && resultSet.getTimestamp("transaction_time") != null) {
+                return Optional.of(resultSet.getTimestamp("transaction_time").toLocalDateTime());
+            }
+
+            return Optional.empty();
+        } catch (SQLException exception) {
+            logger.error("Failed to get oldest transaction time", exception);
+            throw new RuntimeException(exception);
+        }
+    }
+
+    /**
+     * Moves the oldest transactions of month from hot table to its monthly archive table, which is created and
+     * registered on the first call. Transactions are copied and removed in one db transaction, so every transaction
+     * is found either in hot table or in archive by readers that read registry, archives and hot table in one
+     * consistent snapshot (see {@link #startSnapshot}).
+     * @param month Targeted month.
+     * @param limit Maximum number of transactions moved.
+     * @return The number of moved transactions, 0 means that all transactions of month are archived.
+     */
+    @Override
+    public int archiveTransactions(YearMonth month, int limit) {
+        String table = Archive.getTable(month);
+
+        try (Connection connection = dataSource.getConnection()) {
+            try (PreparedStatement createArchive = connection.prepareStatement(String.format(queriesManager.getQuery("sql.transactions.archives.create"), table));
+                 PreparedStatement registerArchive = connection.prepareStatement(queriesManager.getQuery("sql.transactions.archives.register"))) {
+                createArchive.executeUpdate();
+
+                registerArchive.setDate(1, Date.valueOf(month.atDay(1)));
+                registerArchive.executeUpdate();
+            }
+
+            connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            connection.setAutoCommit(false);
+            try (PreparedStatement lockTransactions = connection.prepareStatement(queriesManager.getQuery("sql.transactions.lock.period"))) {
+                lockTransactions.setTimestamp(1, Timestamp.valueOf(month.atDay(1).atStartOfDay()));
+                lockTransactions.setTimestamp(2, Timestamp.valueOf(month.plusMonths(1).atDay(1).atStartOfDay()));
+                lockTransactions.setInt(3, limit);
+
+                List<Long> transactionIds = new ArrayList<>();
+                ResultSet resultSet = lockTransactions.executeQuery();
+                while (resultSet.next()) {
+                    transactionIds.add(resultSet.getLong("transaction_id"));
+                }
+
+                if (transactionIds.isEmpty()) {
+                    connection.commit();
+
+                    return 0;
+                }
+
+                String placeholders = placeholders(transactionIds.size());
+                try (PreparedStatement insertArchived = connection.prepareStatement(String.format(queriesManager.getQuery("sql.transactions.archive.insert"), table, placeholders));
+                     PreparedStatement removeArchived = connection.prepareStatement(String.format(queriesManager.getQuery("sql.transactions.remove.by.ids"), placeholders))) {
+                    for (int i = 0; i < transactionIds.size(); i++) {
+                        insertArchived.setLong(i + 1, transactionIds.get(i));
+                        removeArchived.setLong(i + 1, transactionIds.get(i));
+                    }
+
+                    if (insertArchived.executeUpdate() != transactionIds.size() || removeArchived.executeUpdate() != transactionIds.size()) {
+                        throw new SQLException("Archived and removed transactions mismatch");
+                    }
+                }
+
+                connection.commit();
+
+                return transactionIds.size();
+            } catch (SQLException exception) {
+                connection.rollback();
+
+                logger.error("Failed to archive transactions of {}", month, exception);
+                throw new RuntimeException(exception);
+            }
+        } catch (SQLException exception) {
+            logger.error("Failed to archive transactions of {}", month, exception);
+            throw new RuntimeException(exception);
+        }
+    }
+
+    /**
+     * Marks archive of month as completed and counts its transactions per account.
+     * @param month Targeted month.
+     */
+    @Override
+    public void completeArchive(YearMonth month) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement removeCounts = connection.prepareStatement(queriesManager.getQuery("sql.transactions.archives.counts.remove"));
+                 PreparedStatement insertCounts = connection.prepareStatement(String.format(queriesManager.getQuery("sql.transactions.archives.counts.insert"), Archive.getTable(month)));
+                 PreparedStatement completeArchive = connection.prepareStatement(queriesManager.getQuery("sql.transactions.archives.complete"))) {
+                Date archiveMonth = Date.valueOf(month.atDay(1));
+
+                removeCounts.setDate(1, archiveMonth);
+                removeCounts.executeUpdate();
+
+                insertCounts.setDate(1, archiveMonth);
+                insertCounts.executeUpdate();
+
+                completeArchive.setDate(1, archiveMonth);
+                completeArchive.executeUpdate();
+
+                connection.commit();
+            } catch (SQLException exception) {
+                connection.rollback();
+
+                logger.error("Failed to complete archive of {}", month, exception);
+                throw new RuntimeException(exception);
+            }
+        } catch (SQLException exception) {
+            logger.error("Failed to complete archive of {}", month, exception);
+            throw new RuntimeException(exception);
+        }
+    }
+
+    /**
+     * Starts db transaction with consistent snapshot taken at once, without locking reads. Archives registry, archives
+     * and hot table read in it are seen as of the same moment, so archival committed meanwhile neither hides nor
+     * duplicates transactions.
+     */
+    private void startSnapshot(Connection connection) throws SQLException {
+        connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+        connection.setAutoCommit(false);
+
+        try (Statement startSnapshot = connection.createStatement()) {
+            startSnapshot.execute(queriesManager.getQuery("sql.transactions.snapshot"));
+        }
+    }
+
+    /**
+     * Reads registry of archives.
+     * @return Archives ordered from the newest month.
+     */
+    private List<Archive> getArchives(Connection connection) throws SQLException {
+        try (PreparedStatement getArchives = connection.prepareStatement(queriesManager.getQuery("sql.transactions.archives.get"))) {
+            ResultSet resultSet = getArchives.executeQuery();
+
+            List<Archive> archives = new ArrayList<>();
+            while (resultSet.next()) {
+                archives.add(new Archive(YearMonth.from(resultSet.getDate("archive_month").toLocalDate()),
+                        resultSet.getBoolean("archive_completed")));
+            }
+
+            return archives;
+        }
+    }
+
+    private Optional<Archive> findArchive(List<Archive> archives, YearMonth month) {
+        return archives.stream().filter(archive -> archive.getMonth().equals(month)).findFirst();
+    }
+
+    /**
+     * Counts archived transactions of account. Completed archives are counted by summary table, archives that are
+     * being filled are counted directly.
+     */
+    private int countArchivedTransactions(Long accountId, List<Archive> archives, Connection connection) throws SQLException {
+        int transactionsNumber = 0;
+
+        if (archives.stream().anyMatch(Archive::isCompleted)) {
+            try (PreparedStatement countArchived = connection.prepareStatement(queriesManager.getQuery("sql.transactions.archives.counts.sum"))) {
+                countArchived.setLong(1, accountId);
+                transactionsNumber += countTransactions(countArchived);
+            }
+        }
+
+        for (Archive archive : archives) {
+            if (!archive.isCompleted()) {
+                try (PreparedStatement countArchived = connection.prepareStatement(String.format(queriesManager.getQuery("sql.transactions.archive.count"), archive.getTable()))) {
+                    countArchived.setLong(1, accountId);
+                    countArchived.setLong(2, accountId);
+                    transactionsNumber += countTransactions(countArchived);
+                }
+            }
+        }
+
+        return transactionsNumber;
+    }
+
+    private int countHotTransactions(Long accountId, Connection connection) throws SQLException {
+        try (PreparedStatement countTransactions = connection.prepareStatement(queriesManager.getQuery("sql.transactions.count"))) {
+            countTransactions.setLong(1, accountId);
+            countTransactions.setLong(2, accountId);
+
+            return countTransactions(countTransactions);
+        }
+    }
+
+    private int countTransactions(PreparedStatement countStatement) throws SQLException {
+        ResultSet resultSet = countStatement.executeQuery();
+
+        if (resultSet.next()) {
+            return resultSet.getInt("transactions_number");
+        } else {
+            throw new SQLException();
+        }
+    }
+
+    /**
+     * Builds page query, hot table only or union of hot table with archives.
+     */
+    private String getPageQuery(List<Archive> archives) {
+        if (archives.isEmpty()) {
+            return queriesManager.getQuery("sql.transactions.get.page");
+        }
+
+        StringJoiner union = new StringJoiner(" union all ");
+        union.add(queriesManager.getQuery("sql.transactions.get.by.account"));
+        for (Archive archive : archives) {
+            union.add(String.format(queriesManager.getQuery("sql.transactions.archive.get.by.account"), archive.getTable()));
+        }
+
+        return String.format(queriesManager.getQuery("sql.transactions.archive.get.page"), union);
+    }
+
+    private void getAccountTransactions(Long accountId, String query, Connection connection, List<Transaction> transactions) throws SQLException {
+        try (PreparedStatement preparedStatement = connection.prepareStatement(query)) {
             preparedStatement.setLong(1, accountId);
             preparedStatement.setLong(2, accountId);
 
             ResultSet resultSet = preparedStatement.executeQuery();
             Mapper<Transaction> mapper = mapperFactory.getTransactionMapper();
 
-            List<Transaction> transactions = new ArrayList<>();
             while (resultSet.next()) {
                 transactions.add(mapper.map(resultSet));
             }
+        }
+    }
 
-            return transactions;
-        } catch (SQLException exception) {
-            logger.error(exception);
-            throw new RuntimeException(exception);
+    private void getAccountTransactions(Long accountId, LocalDateTime from, LocalDateTime to, String query,
+                                        Connection connection, Consumer<Transaction> consumer) throws SQLException {
+        try (PreparedStatement preparedStatement = connection.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            preparedStatement.setFetchSize(exportFetchSize);
+            preparedStatement.setLong(1, accountId);
+            preparedStatement.setLong(2, accountId);
+            preparedStatement.setTimestamp(3, Timestamp.valueOf(from));
+            preparedStatement.setTimestamp(4, Timestamp.valueOf(to));
+
+            ResultSet resultSet = preparedStatement.executeQuery();
+            Mapper<Transaction> mapper = mapperFactory.getTransactionMapper();
+
+            while (resultSet.next()) {
+                consumer.accept(mapper.map(resultSet));
+            }
         }
     }
 
@@ -193,21 +593,22 @@ public class JdbcTransactionDao implements TransactionDao {
                 long transactionId = extractGeneratedKey(insertTransactionStatement.getGeneratedKeys());
 
                 connection.commit();
+                readDataSource.markWritten();
 
                 return transactionId;
             } catch (SQLException | NonActiveAccountException exception) {
                 connection.rollback();
 
-                logger.error(exception);
+                logger.error("Failed to make transaction", exception);
                 throw new RuntimeException(exception);
             } catch (NotEnoughMoneyException exception) {
                 connection.rollback();
 
-                logger.error(exception);
+                logger.error("Failed to make transaction", exception);
                 throw exception;
             }
         } catch (SQLException exception) {
-            logger.error(exception);
+            logger.error("Failed to make transaction", exception);
             throw new RuntimeException(exception);
         }
     }
@@ -248,25 +649,149 @@ public class JdbcTransactionDao implements TransactionDao {
                 long transactionId = extractGeneratedKey(insertTransactionStatement.getGeneratedKeys());
 
                 connection.commit();
+                readDataSource.markWritten();
 
                 return transactionId;
             } catch (SQLException exception) {
                 connection.rollback();
 
-                logger.error(exception);
+                logger.error("Failed to make transaction", exception);
                 throw new RuntimeException(exception);
             } catch (CancelingTaskException exception) {
                 connection.rollback();
 
-                logger.error(exception);
+                logger.error("Failed to make transaction", exception);
                 throw new CancelingTaskException();
             }
         } catch (SQLException exception) {
-            logger.error(exception);
+            logger.error("Failed to make transaction", exception);
             throw new RuntimeException(exception);
         }
     }
 
+    /**
+     * Applies chunk of external replenishments in one db transaction. Accounts of chunk are locked at once in ascending
+     * id order, and only then keys already imported are read by locking read, so concurrent import of the same lines
+     * waits for the first one and sees its keys as duplicates. Balances are updated once per account with net amount,
+     * and transactions with their keys are inserted by batches.
+     * @param keys Idempotency keys of transactions, in the same order.
+     * @param transactions External transactions, receiver is replenished account.
+     * @return Outcome of every transaction, in the same order.
+     */
+    @Override
+    public List<ImportReportDto.Outcome> importTransactions(List<String> keys, List<Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Set<Long> accountIds = new TreeSet<>();
+        transactions.forEach(transaction -> accountIds.add(transaction.getReceiver()));
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            connection.setAutoCommit(false);
+            try (PreparedStatement getKeysStatement = connection.prepareStatement(String.format(queriesManager.getQuery("sql.imports.get.by.keys"), placeholders(keys.size())));
+                 PreparedStatement getAccountsStatement = connection.prepareStatement(String.format(queriesManager.getQuery("sql.accounts.get.by.ids.for.update"), placeholders(accountIds.size())));
+                 PreparedStatement updateBalanceStatement = connection.prepareStatement(queriesManager.getQuery("sql.accounts.update.balance"));
+                 PreparedStatement insertTransactionStatement = connection.prepareStatement(queriesManager.getQuery("sql.transactions.insert"));
+                 PreparedStatement insertKeyStatement = connection.prepareStatement(queriesManager.getQuery("sql.imports.insert"))) {
+
+                Map<Long, Account> accounts = getAccountsByIds(accountIds, getAccountsStatement);
+                Set<String> importedKeys = getImportedKeys(keys, getKeysStatement);
+                Map<Long, BigDecimal> balances = new TreeMap<>();
+
+                List<ImportReportDto.Outcome> outcomes = new ArrayList<>(transactions.size());
+
+                for (int i = 0; i < transactions.size(); i++) {
+                    Transaction transaction = transactions.get(i);
+                    Account account = accounts.get(transaction.getReceiver());
+
+                    if (importedKeys.contains(keys.get(i))) {
+                        outcomes.add(ImportReportDto.Outcome.DUPLICATE);
+                    } else if (account == null) {
+                        outcomes.add(ImportReportDto.Outcome.NO_SUCH_ACCOUNT);
+                    } else if (account.isNonActive()) {
+                        outcomes.add(ImportReportDto.Outcome.NON_ACTIVE_ACCOUNT);
+                    } else if (!account.getCurrency().equals(transaction.getCurrency())) {
+                        outcomes.add(ImportReportDto.Outcome.CURRENCY_MISMATCH);
+                    } else {
+                        balances.merge(account.getId(), account.getBalance().add(transaction.getAmount()),
+                                (balance, ignored) -> balance.add(transaction.getAmount()));
+
+                        setStatementParameters(transaction, insertTransactionStatement);
+                        insertTransactionStatement.addBatch();
+
+                        insertKeyStatement.setString(1, keys.get(i));
+                        insertKeyStatement.addBatch();
+                        importedKeys.add(keys.get(i));
+
+                        outcomes.add(ImportReportDto.Outcome.APPLIED);
+                    }
+                }
+
+                for (Map.Entry<Long, BigDecimal> balance : balances.entrySet()) {
+                    updateBalanceStatement.setBigDecimal(1, balance.getValue());
+                    updateBalanceStatement.setLong(2, balance.getKey());
+                    updateBalanceStatement.addBatch();
+                }
+
+                updateBalanceStatement.executeBatch();
+                insertTransactionStatement.executeBatch();
+                insertKeyStatement.executeBatch();
+
+                connection.commit();
+                readDataSource.markWritten();
+
+                return outcomes;
+            } catch (SQLException exception) {
+                connection.rollback();
+
+                logger.error("Failed to import transactions", exception);
+                throw new RuntimeException(exception);
+            }
+        } catch (SQLException exception) {
+            logger.error("Failed to import transactions", exception);
+            throw new RuntimeException(exception);
+        }
+    }
+
+    private Set<String> getImportedKeys(List<String> keys, PreparedStatement getKeysStatement) throws SQLException {
+        for (int i = 0; i < keys.size(); i++) {
+            getKeysStatement.setString(i + 1, keys.get(i));
+        }
+
+        ResultSet resultSet = getKeysStatement.executeQuery();
+        Set<String> importedKeys = new HashSet<>();
+
+        while (resultSet.next()) {
+            importedKeys.add(resultSet.getString("import_key"));
+        }
+
+        return importedKeys;
+    }
+
+    private Map<Long, Account> getAccountsByIds(Set<Long> accountIds, PreparedStatement getAccountsStatement) throws SQLException {
+        int index = 1;
+        for (Long accountId : accountIds) {
+            getAccountsStatement.setLong(index++, accountId);
+        }
+
+        ResultSet resultSet = getAccountsStatement.executeQuery();
+        Mapper<Account> mapper = mapperFactory.getAccountMapper();
+        Map<Long, Account> accounts = new HashMap<>();
+
+        while (resultSet.next()) {
+            Account account = mapper.map(resultSet);
+            accounts.put(account.getId(), account);
+        }
+
+        return accounts;
+    }
+
+    private String placeholders(int number) {
+        return String.join(", ", Collections.nCopies(number, "?"));
+    }
+
     private Account getAccountById(Long accountId, PreparedStatement getAccountStatement) throws SQLException {
         getAccountStatement.setLong(1, accountId);
 
@@ -301,22 +826,40 @@ public class JdbcTransactionDao implements TransactionDao {
         }
     }
 
+    /**
+     * Returns transaction by id, archives are searched from the newest one only if transaction isn't in hot table.
+     */
     @Override
     public Transaction get(Long key) {
-        try (Connection connection = dataSource.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(queriesManager.getQuery("sql.transactions.get.by.id"))) {
+        try (Connection connection = dataSource.getConnection()) {
+            Optional<Transaction> transaction = getTransaction(key, queriesManager.getQuery("sql.transactions.get.by.id"), connection);
+
+            if (!transaction.isPresent()) {
+                for (Archive archive : getArchives(connection)) {
+                    transaction = getTransaction(key, String.format(queriesManager.getQuery("sql.transactions.archive.get.by.id"), archive.getTable()), connection);
+                    if (transaction.isPresent()) {
+                        break;
+                    }
+                }
+            }
+
+            return transaction.orElseThrow(SQLException::new);
+        } catch (SQLException exception) {
+            logger.error("Failed to get transaction {}", key, exception);
+            throw new RuntimeException(exception);
+        }
+    }
+
+    private Optional<Transaction> getTransaction(Long key, String query, Connection connection) throws SQLException {
+        try (PreparedStatement preparedStatement = connection.prepareStatement(query)) {
             preparedStatement.setLong(1, key);
 
             ResultSet resultSet = preparedStatement.executeQuery();
 
             if (resultSet.next()) {
-                return mapperFactory.getTransactionMapper().map(resultSet);
-            } else {
-                throw new SQLException();
+                return Optional.of(mapperFactory.getTransactionMapper().map(resultSet));
             }
-        } catch (SQLException exception) {
-            logger.error(exception);
-            throw new RuntimeException(exception);
+            return Optional.empty();
         }
     }
 
@@ -343,4 +886,39 @@ public class JdbcTransactionDao implements TransactionDao {
     public int remove(Transaction entity) {
         throw new UnsupportedOperationException();
     }
+
+    /**
+     * Monthly archive of transactions, archive is completed when all transactions of its month are moved.
+     */
+    private static class Archive {
+        private static final DateTimeFormatter TABLE_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+        private final YearMonth month;
+        private final boolean completed;
+
+        private Archive(YearMonth month, boolean completed) {
+            this.month = month;
+            this.completed = completed;
+        }
+
+        private static String getTable(YearMonth month) {
+            return "transactions_archive_" + month.format(TABLE_SUFFIX);
+        }
+
+        private String getTable() {
+            return getTable(month);
+        }
+
+        private YearMonth getMonth() {
+            return month;
+        }
+
+        private boolean isCompleted() {
+            return completed;
+        }
+
+        private boolean overlaps(LocalDateTime from, LocalDateTime to) {
+            return month.atDay(1).atStartOfDay().isBefore(to) && month.plusMonths(1).atDay(1).atStartOfDay().isAfter(from);
+        }
+    }
 }
@@ -33,6 +33,7 @@ public class JdbcUserDao implements UserDao {
     private static Logger logger = LogManager.getLogger(JdbcUserDao.class);
 
     private DataSource dataSource;
+    private RoutingDataSource readDataSource;
     private MapperFactory mapperFactory;
     private QueriesManager queriesManager;
 
@@ -40,6 +41,11 @@ public class JdbcUserDao implements UserDao {
         this.dataSource = dataSource;
     }
 
+    @Autowired
+    public void setReadDataSource(RoutingDataSource readDataSource) {
+        this.readDataSource = readDataSource;
+    }
+
     @Autowired
     @Qualifier("jdbcMapperFactory")
     public void setMapperFactory(MapperFactory mapperFactory) {
@@ -72,7 +78,7 @@ public class JdbcUserDao implements UserDao {
                 throw new NoSuchUserException();
             }
         } catch (SQLException exception) {
-            logger.error(exception);
+            logger.error("Failed to get user by login", exception);
             throw new RuntimeException(exception);
         }
     }
@@ -84,7 +90,7 @@ public class JdbcUserDao implements UserDao {
      */
     @Override
     public List<User> getAccountHolders(Long accountId) {
-        try (Connection connection = dataSource.getConnection();
+        try (Connection connection = readDataSource.getConnection();
              PreparedStatement preparedStatement = connection.prepareStatement(queriesManager.getQuery("sql.holders.get.user.by.account"))) {
             preparedStatement.setLong(1, accountId);
 
@@ -98,7 +104,7 @@ public class JdbcUserDao implements UserDao {
 
             return holders;
         } catch (SQLException exception) {
-            logger.error(exception);
+            logger.error("Failed to get account holders", exception);
             throw new RuntimeException(exception);
         }
     }
@@ -110,7 +116,7 @@ public class JdbcUserDao implements UserDao {
      */
     @Override
     public Map<User, Permission> getAccountHoldersWithPermission(Long accountId) {
-        try (Connection connection = dataSource.getConnection();
+        try (Connection connection = readDataSource.getConnection();
              PreparedStatement preparedStatement = connection.prepareStatement(queriesManager.getQuery("sql.holders.get.user.by.account"))) {
             preparedStatement.setLong(1, accountId);
 
@@ -124,7 +130,7 @@ public class JdbcUserDao implements UserDao {
 
             return holders;
         } catch (SQLException exception) {
-            logger.error(exception);
+            logger.error("Failed to get account holders with permission", exception);
             throw new RuntimeException(exception);
         }
     }
@@ -149,7 +155,7 @@ public class JdbcUserDao implements UserDao {
                 throw new SQLException();
             }
         } catch (SQLException exception) {
-            logger.error(exception);
+            logger.error("Failed to get permissions", exception);
             throw new RuntimeException(exception);
         }
 
@@ -182,9 +188,12 @@ public class JdbcUserDao implements UserDao {
             removeHolderStatement.setLong(1, holderId);
             removeHolderStatement.setLong(2, accountId);
 
-            return removeHolderStatement.executeUpdate();
+            int removed = removeHolderStatement.executeUpdate();
+            readDataSource.markWritten();
+
+            return removed;
         } catch (SQLException exception) {
-            logger.error(exception);
+            logger.error("Failed to remove account holder", exception);
             throw new RuntimeException();
         }
     }
@@ -202,9 +211,12 @@ public class JdbcUserDao implements UserDao {
             preparedStatement.setLong(2, accountId);
             preparedStatement.setString(3, Permission.RESTRICTED.name());
 
-            return preparedStatement.executeUpdate();
+            int added = preparedStatement.executeUpdate();
+            readDataSource.markWritten();
+
+            return added;
         } catch (SQLException exception) {
-            logger.error(exception);
+            logger.error("Failed to add account holder", exception);
             throw new RuntimeException();
         }
     }
@@ -239,7 +251,7 @@ public class JdbcUserDao implements UserDao {
                 throw new SQLException();
             }
         } catch (SQLException exception) {
-            logger.error(exception);
+            logger.error("Failed to get user {}", key, exception);
             throw new RuntimeException(exception);
         }
     }
@@ -266,7 +278,7 @@ public class JdbcUserDao implements UserDao {
                 throw new SQLException();
             }
         } catch (SQLException exception) {
-            logger.error(exception);
+            logger.error("Failed to insert user {}", entity.getLogin(), exception);
             switch (exception.getSQLState()) {
                 case "45001":
                     throw new NonUniqueLoginException();
@@ -294,7 +306,7 @@ public class JdbcUserDao implements UserDao {
 
             return preparedStatement.executeUpdate();
         } catch (SQLException exception) {
-            logger.error(exception);
+            logger.error("Failed to update user {}", entity.getId(), exception);
             switch (exception.getSQLState()) {
                 case "45001":
                     throw new NonUniqueLoginException();
@@ -342,11 +354,11 @@ public class JdbcUserDao implements UserDao {
             } catch (SQLException exception) {
                 connection.rollback();
 
-                logger.error(exception);
+                logger.error("Failed to remove user {}", entity.getId(), exception);
                 throw new RuntimeException(exception);
             }
         } catch (SQLException exception) {
-            logger.error(exception);
+            logger.error("Failed to remove user {}", entity.getId(), exception);
             throw new RuntimeException(exception);
         }
     }
@@ -0,0 +1,291 @@
+package ua.training.model.dao.jdbc;
+
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Data source for read-only dao methods, that routes connections to replicas of primary db. Replication lag of every
+ * replica is probed periodically, and replica lagging more than {@code db.replica.lag.max} seconds or failed to answer
+ * isn't used. User that made writes reads from primary until every used replica surely has these writes, so user
+ * always sees own transfers. Without configured replicas all connections are taken from primary.
+ * @see ua.training.controller.di.Config#dataSource
+ * @author Oleksii Shevchenko
+ */
+@Component("readDataSource")
+public class RoutingDataSource implements DataSource {
+    private static Logger logger = LogManager.getLogger(RoutingDataSource.class);
+
+    private static final ThreadLocal<Long> currentUser = new ThreadLocal<>();
+
+    private DataSource primary;
+    private ScheduledExecutorService executorService;
+    private Environment environment;
+
+    private String replicaUrls;
+    private long maxLag;
+    private long probeInterval;
+    private String lagQuery;
+    private String lagColumn;
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final Map<Long, Long> writes = new ConcurrentHashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * Replica data source with last probed lag, negative lag means that replica is unavailable.
+     */
+    private static class Replica {
+        private final String url;
+        private final DataSource dataSource;
+        private volatile long lag = -1;
+
+        private Replica(String url, DataSource dataSource) {
+            this.url = url;
+            this.dataSource = dataSource;
+        }
+    }
+
+    @Autowired
+    public void setPrimary(DataSource primary) {
+        this.primary = primary;
+    }
+
+    @Autowired
+    public void setExecutorService(ScheduledExecutorService executorService) {
+        this.executorService = executorService;
+    }
+
+    @Autowired
+    public void setEnvironment(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Value("${db.replica.urls}")
+    public void setReplicaUrls(String replicaUrls) {
+        this.replicaUrls = replicaUrls;
+    }
+
+    @Value("${db.replica.lag.max}")
+    public void setMaxLag(long maxLag) {
+        this.maxLag = TimeUnit.SECONDS.toMillis(maxLag);
+    }
+
+    @Value("${db.replica.probe.interval}")
+    public void setProbeInterval(long probeInterval) {
+        this.probeInterval = TimeUnit.SECONDS.toMillis(probeInterval);
+    }
+
+    @Value("${db.replica.lag.query}")
+    public void setLagQuery(String lagQuery) {
+        this.lagQuery = lagQuery;
+    }
+
+    @Value("${db.replica.lag.column}")
+    public void setLagColumn(String lagColumn) {
+        this.lagColumn = lagColumn;
+    }
+
+    /**
+     * Creates pools of configured replicas with credentials of primary and starts lag probing.
+     */
+    @PostConstruct
+    public void init() {
+        List<String> urls = Arrays.stream(replicaUrls.split(","))
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .collect(Collectors.toList());
+
+        if (urls.isEmpty()) {
+            return;
+        }
+
+        for (String url : urls) {
+            BasicDataSource poolingSource = new BasicDataSource();
+            poolingSource.setDriverClassName(environment.getProperty("db.connection.driver"));
+            poolingSource.setUrl(url);
+            poolingSource.setUsername(environment.getProperty("db.connection.user"));
+            poolingSource.setPassword(environment.getProperty("db.connection.pass"));
+            poolingSource.setMaxIdle(Integer.parseInt(environment.getProperty("db.connection.idle.max")));
+            poolingSource.setMinIdle(Integer.parseInt(environment.getProperty("db.connection.idle.min")));
+            poolingSource.setMaxWaitMillis(Long.parseLong(environment.getProperty("db.connection.wait.max")));
+            poolingSource.setDefaultReadOnly(true);
+            addReplica(url, poolingSource);
+        }
+
+        executorService.scheduleWithFixedDelay(this::probe, 0, probeInterval, TimeUnit.MILLISECONDS);
+        logger.info("Reads are routed to {} replicas", replicas.size());
+    }
+
+    @PreDestroy
+    public void close() {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof BasicDataSource) {
+                try {
+                    ((BasicDataSource) replica.dataSource).close();
+                } catch (SQLException exception) {
+                    logger.error("Failed to close replica {}", replica.url, exception);
+                }
+            }
+        }
+    }
+
+    /**
+     * Binds user of current request to thread, so its writes and reads are routed consistently.
+     * @param userId Id of user or null for guest.
+     */
+    public static void setCurrentUser(Long userId) {
+        currentUser.set(userId);
+    }
+
+    public static void clearCurrentUser() {
+        currentUser.remove();
+    }
+
+    /**
+     * Records that current user has committed writes, so the next reads of this user go to primary until replicas
+     * catch up.
+     */
+    public void markWritten() {
+        Long userId = currentUser.get();
+
+        if (userId != null && !replicas.isEmpty()) {
+            writes.put(userId, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Returns connection of replica usable for current user, replicas are taken in turn. Connection of primary is
+     * returned if there is no such replica or replica fails to give connection.
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (replicas.isEmpty()) {
+            return primary.getConnection();
+        }
+
+        Long userId = currentUser.get();
+        Long written = userId == null ? null : writes.get(userId);
+        long sinceWrite = written == null ? Long.MAX_VALUE : System.currentTimeMillis() - written;
+
+        int start = next.getAndIncrement();
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(Math.floorMod(start + i, replicas.size()));
+            long lag = replica.lag;
+
+            if (lag >= 0 && lag <= maxLag && lag + probeInterval < sinceWrite) {
+                try {
+                    return replica.dataSource.getConnection();
+                } catch (SQLException exception) {
+                    replica.lag = -1;
+                    logger.warn("Replica {} fails to give connection, reads are routed to primary", replica.url, exception);
+                }
+            }
+        }
+
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    void addReplica(String url, DataSource dataSource) {
+        replicas.add(new Replica(url, dataSource));
+    }
+
+    /**
+     * Measures lag of every replica and forgets writes that all usable replicas already have.
+     */
+    void probe() {
+        for (Replica replica : replicas) {
+            long lag = measureLag(replica);
+
+            if ((lag < 0 || lag > maxLag) && replica.lag >= 0 && replica.lag <= maxLag) {
+                logger.warn("Replica {} is not used, lag is {} ms", replica.url, lag);
+            }
+            replica.lag = lag;
+        }
+
+        long forgetBefore = System.currentTimeMillis() - maxLag - probeInterval;
+        writes.values().removeIf(written -> written < forgetBefore);
+    }
+
+    private long measureLag(Replica replica) {
+        try (Connection connection = replica.dataSource.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(lagQuery)) {
+            ResultSet resultSet = preparedStatement.executeQuery();
+
+            if (resultSet.next()) {
+                Object lag = resultSet.getObject(lagColumn);
+                return lag == null ? -1 : TimeUnit.SECONDS.toMillis(((Number) lag).longValue());
+            }
+            return -1;
+        } catch (SQLException | ClassCastException exception) {
+            logger.debug("Failed to probe replica {}", replica.url, exception);
+            return -1;
+        }
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return primary.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        primary.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        primary.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return primary.getLoginTimeout();
+    }
+
+    @Override
+    public java.util.logging.Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return primary.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        return primary.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || primary.isWrapperFor(iface);
+    }
+}
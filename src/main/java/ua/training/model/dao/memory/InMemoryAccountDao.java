@@ -0,0 +1,176 @@
+package ua.training.model.dao.memory;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import ua.training.model.dao.AccountDao;
+import ua.training.model.entity.Account;
+import ua.training.model.entity.Permission;
+import ua.training.model.entity.Request;
+import ua.training.model.exception.ActiveAccountException;
+import ua.training.model.exception.NoSuchAccountException;
+import ua.training.model.exception.UnsupportedOperationException;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Realization of {@link AccountDao} for in-memory storage.
+ * @see AccountDao
+ * @see InMemoryStore
+ * @author Oleksii Shevchenko
+ */
+@Component
+@Profile("memory")
+public class InMemoryAccountDao implements AccountDao {
+    private static Logger logger = LogManager.getLogger(InMemoryAccountDao.class);
+
+    private final InMemoryStore store;
+
+    @Autowired
+    InMemoryAccountDao(InMemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public List<Account> getActiveAccounts() {
+        return store.accounts.keySet().stream()
+                .map(store::getAccount)
+                .filter(account -> account != null && !account.isNonActive())
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Account> getUserAccounts(Long userId) {
+        return store.userAccounts.getOrDefault(userId, Set.of()).stream()
+                .map(store::getAccount)
+                .filter(account -> account != null)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public long openAccount(Long userId, Account account) {
+        Account opened = InMemoryStore.copy(account);
+        opened.setId(store.accountSequence.incrementAndGet());
+
+        try (InMemoryStore.Locks locks = store.lock(opened.getId())) {
+            store.putAccount(opened);
+            store.putHolder(userId, opened.getId(), Permission.ALL);
+        }
+
+        return opened.getId();
+    }
+
+    /**
+     * Opens account and marks request as considered, request can't be completed twice.
+     */
+    @Override
+    public long completeOpeningRequest(Long requestId, Account account) {
+        boolean[] considered = new boolean[1];
+        Request request = store.requests.computeIfPresent(requestId, (id, stored) -> {
+            considered[0] = stored.isConsidered();
+            Request copy = InMemoryStore.copy(stored);
+            copy.setConsidered(true);
+            return copy;
+        });
+
+        if (request == null || considered[0]) {
+            logger.error("Failed to complete opening request {}", requestId);
+            throw new RuntimeException("Request " + requestId + " can't be completed");
+        }
+
+        return openAccount(request.getRequesterId(), account);
+    }
+
+    @Override
+    public void blockAccount(Long accountId) {
+        try (InMemoryStore.Locks locks = store.lock(accountId)) {
+            Account account = getLocked(accountId);
+
+            if (account.getStatus().equals(Account.Status.CLOSED)) {
+                logger.error("Failed to block closed account {}", accountId);
+                throw new RuntimeException("Account " + accountId + " is closed");
+            }
+
+            store.putAccount(account.setStatus(Account.Status.BLOCKED));
+        }
+    }
+
+    /**
+     * If the balance of account zero, set to account status closed and remove all account holders.
+     * @param accountId Targeted account.
+     */
+    @Override
+    public void closeAccount(Long accountId) {
+        try (InMemoryStore.Locks locks = store.lock(accountId)) {
+            Account account = getLocked(accountId);
+
+            if (account.getBalance().compareTo(BigDecimal.ZERO) != 0) {
+                logger.error("Failed to close account {}", accountId);
+                throw new RuntimeException(new ActiveAccountException());
+            }
+
+            store.putAccount(account.setStatus(Account.Status.CLOSED));
+            store.removeHolders(accountId);
+        }
+    }
+
+    @Override
+    public void accountForceClosing(Long accountId) {
+        try (InMemoryStore.Locks locks = store.lock(accountId)) {
+            Account account = getLocked(accountId);
+            account.setBalance(BigDecimal.ZERO);
+
+            store.putAccount(account.setStatus(Account.Status.CLOSED));
+            store.removeHolders(accountId);
+        }
+    }
+
+    @Override
+    public Optional<Long> getVersion(Long accountId) {
+        return Optional.ofNullable(store.accountVersions.get(accountId));
+    }
+
+    @Override
+    public Account get(Long key) {
+        Account account = store.getAccount(key);
+
+        if (account == null) {
+            logger.error("Failed to get account {}", key);
+            throw new NoSuchAccountException();
+        }
+
+        return account;
+    }
+
+    @Override
+    public Long insert(Account entity) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int update(Account entity) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int remove(Account entity) {
+        throw new UnsupportedOperationException();
+    }
+
+    private Account getLocked(Long accountId) {
+        Account account = store.getAccount(accountId);
+
+        if (account == null) {
+            logger.error("There is no account {}", accountId);
+            throw new RuntimeException("No account " + accountId);
+        }
+
+        return account;
+    }
+}
@@ -0,0 +1,310 @@
+package ua.training.model.dao.memory;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import ua.training.model.dao.InvoiceDao;
+import ua.training.model.dao.util.InvoiceSettlement;
+import ua.training.model.dto.InvoiceAcceptanceDto;
+import ua.training.model.dto.InvoiceDto;
+import ua.training.model.entity.Account;
+import ua.training.model.entity.Invoice;
+import ua.training.model.entity.Transaction;
+import ua.training.model.exception.NonActiveAccountException;
+import ua.training.model.exception.NotEnoughMoneyException;
+import ua.training.model.exception.UnsupportedOperationException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Collectors;
+
+/**
+ * Realization of {@link InvoiceDao} for in-memory storage. Status of invoice is changed only under locks of its payer
+ * and requester accounts, and is checked again after locks are taken.
+ * @see InvoiceDao
+ * @see InMemoryStore
+ * @author Oleksii Shevchenko
+ */
+@Component
+@Profile("memory")
+public class InMemoryInvoiceDao implements InvoiceDao {
+    private static Logger logger = LogManager.getLogger(InMemoryInvoiceDao.class);
+
+    private final InMemoryStore store;
+
+    @Autowired
+    InMemoryInvoiceDao(InMemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public List<Invoice> getInvoicesByRequester(Long accountId) {
+        return getInvoices(store.requesterInvoices.get(accountId));
+    }
+
+    @Override
+    public List<Invoice> getInvoicesByPayer(Long accountId) {
+        return getInvoices(store.payerInvoices.get(accountId));
+    }
+
+    /**
+     * Returns page of invoices of both directions, newest invoices go first.
+     * @param holderId User that must be holder of the account.
+     * @param accountId Targeted account.
+     * @param statuses Statuses of returned invoices.
+     * @param payerAfter Invoices as payer with less id are returned.
+     * @param requesterAfter Invoices as requester with less id are returned.
+     * @param limit Max number of invoices of every direction.
+     * @return Invoices or empty if the user isn't holder of the account.
+     */
+    @Override
+    public Optional<InvoiceDto> getInvoicesPage(Long holderId, Long accountId, Set<Invoice.Status> statuses,
+                                                long payerAfter, long requesterAfter, int limit) {
+        if (!store.holders.getOrDefault(accountId, Map.of()).containsKey(holderId)) {
+            return Optional.empty();
+        }
+
+        List<Invoice> asPayer = getPage(store.payerInvoices.get(accountId), statuses, payerAfter, limit + 1);
+        List<Invoice> asRequester = getPage(store.requesterInvoices.get(accountId), statuses, requesterAfter, limit + 1);
+
+        InvoiceDto invoiceDto = new InvoiceDto();
+        invoiceDto.setInvoicesAsPayer(asPayer.subList(0, Math.min(limit, asPayer.size())));
+        invoiceDto.setInvoicesAsRequester(asRequester.subList(0, Math.min(limit, asRequester.size())));
+        invoiceDto.setPayerNext(asPayer.size() > limit ? asPayer.get(limit - 1).getId() : null);
+        invoiceDto.setRequesterNext(asRequester.size() > limit ? asRequester.get(limit - 1).getId() : null);
+
+        return Optional.of(invoiceDto);
+    }
+
+    /**
+     * Accepts invoice and makes payment under locks of payer and requester.
+     * @param invoiceId Targeted invoice.
+     */
+    @Override
+    public void acceptInvoice(Long invoiceId) {
+        Invoice invoice = getInvoice(invoiceId, "accept");
+
+        try (InMemoryStore.Locks locks = store.lock(invoice.getPayer(), invoice.getRequester())) {
+            invoice = getProcessingInvoice(invoiceId, "accept");
+
+            Account requester = getAccount(invoice.getRequester());
+            Account payer = requester.getId() == invoice.getPayer() ? requester : getAccount(invoice.getPayer());
+
+            Transaction transaction = InvoiceSettlement.toTransaction(invoice);
+            requester.replenishAccount(transaction);
+            payer.withdrawFromAccount(transaction);
+
+            store.putAccount(requester);
+            if (payer != requester) {
+                store.putAccount(payer);
+            }
+
+            invoice.setStatus(Invoice.Status.ACCEPTED);
+            invoice.setTransaction(store.putTransaction(transaction));
+            store.putInvoice(invoice);
+        } catch (NonActiveAccountException exception) {
+            logger.error("Failed to accept invoice", exception);
+            throw new RuntimeException(exception);
+        } catch (NotEnoughMoneyException exception) {
+            logger.error("Failed to accept invoice", exception);
+            throw exception;
+        }
+    }
+
+    /**
+     * Accepts several invoices under locks of all involved accounts, taken at once. Invoices are settled by
+     * {@link InvoiceSettlement} on copies of accounts, which are written only for accepted invoices.
+     * @param invoiceIds Targeted invoices.
+     * @param payerAccounts Accounts allowed to pay, invoices of other payers are reported as missing.
+     * @param atomicPerPayer If true, invoices of payer are accepted only if all of them can be paid.
+     * @return Outcome of every invoice.
+     */
+    @Override
+    public InvoiceAcceptanceDto acceptInvoices(List<Long> invoiceIds, Collection<Long> payerAccounts, boolean atomicPerPayer) {
+        InvoiceSettlement settlement = new InvoiceSettlement();
+        if (invoiceIds.isEmpty()) {
+            return settlement.getAcceptance();
+        }
+
+        Set<Long> accountIds = new TreeSet<>();
+        for (Long invoiceId : invoiceIds) {
+            Invoice invoice = store.invoices.get(invoiceId);
+
+            if (invoice != null && payerAccounts.contains(invoice.getPayer())) {
+                accountIds.add(invoice.getPayer());
+                accountIds.add(invoice.getRequester());
+            }
+        }
+
+        try (InMemoryStore.Locks locks = store.lock(accountIds)) {
+            Map<Long, Account> accounts = new HashMap<>();
+            for (Long accountId : accountIds) {
+                Optional.ofNullable(store.getAccount(accountId)).ifPresent(account -> accounts.put(accountId, account));
+            }
+
+            Map<Long, Invoice> invoices = new HashMap<>();
+            for (Long invoiceId : invoiceIds) {
+                Optional.ofNullable(store.invoices.get(invoiceId)).ifPresent(invoice -> invoices.put(invoiceId, InMemoryStore.copy(invoice)));
+            }
+
+            settlement.settle(invoiceIds, invoices, payerAccounts, accounts, atomicPerPayer);
+
+            settlement.getChangedAccounts().forEach(accountId -> store.putAccount(accounts.get(accountId)));
+
+            for (Invoice invoice : settlement.getAccepted()) {
+                invoice.setStatus(Invoice.Status.ACCEPTED);
+                invoice.setTransaction(store.putTransaction(InvoiceSettlement.toTransaction(invoice)));
+                store.putInvoice(invoice);
+            }
+        }
+
+        return settlement.getAcceptance();
+    }
+
+    @Override
+    public void denyInvoice(Long invoiceId) {
+        Invoice invoice = getInvoice(invoiceId, "deny");
+
+        try (InMemoryStore.Locks locks = store.lock(invoice.getPayer(), invoice.getRequester())) {
+            invoice = getProcessingInvoice(invoiceId, "deny");
+            invoice.setStatus(Invoice.Status.DENIED);
+            store.putInvoice(invoice);
+        }
+    }
+
+    @Override
+    public long getMinInvoiceId() {
+        return store.invoices.isEmpty() ? 0 : store.invoices.firstKey();
+    }
+
+    @Override
+    public long getMaxInvoiceId() {
+        return store.invoices.isEmpty() ? 0 : store.invoices.lastKey();
+    }
+
+    /**
+     * Moves processing invoices created before specified time from range of ids to expired ones. Every invoice is
+     * checked again under locks of its accounts, so it can't be accepted or denied at the same time.
+     * @param fromId The first id of the range.
+     * @param toId The last id of the range.
+     * @param createdBefore Invoices created before this time are expired.
+     * @return Number of expired invoices.
+     */
+    @Override
+    public int expireInvoices(long fromId, long toId, LocalDateTime createdBefore) {
+        int expired = 0;
+
+        for (Invoice invoice : new ArrayList<>(store.invoices.subMap(fromId, true, toId, true).values())) {
+            if (!isExpired(invoice, createdBefore)) {
+                continue;
+            }
+
+            try (InMemoryStore.Locks locks = store.lock(invoice.getPayer(), invoice.getRequester())) {
+                Invoice current = store.invoices.get(invoice.getId());
+
+                if (current != null && isExpired(current, createdBefore)) {
+                    store.expiredInvoices.put(current.getId(), current);
+                    store.removeInvoice(current);
+                    expired++;
+                }
+            }
+        }
+
+        return expired;
+    }
+
+    @Override
+    public Invoice get(Long key) {
+        return getInvoice(key, "get");
+    }
+
+    @Override
+    public Long insert(Invoice entity) {
+        Invoice invoice = InMemoryStore.copy(entity);
+        invoice.setId(store.invoiceSequence.incrementAndGet());
+        store.putInvoice(invoice);
+
+        return invoice.getId();
+    }
+
+    @Override
+    public int update(Invoice entity) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int remove(Invoice entity) {
+        throw new UnsupportedOperationException();
+    }
+
+    private boolean isExpired(Invoice invoice, LocalDateTime createdBefore) {
+        LocalDateTime created = store.invoicesCreated.get(invoice.getId());
+        return invoice.getStatus().equals(Invoice.Status.PROCESSING) && created != null && created.isBefore(createdBefore);
+    }
+
+    private List<Invoice> getInvoices(NavigableSet<Long> invoiceIds) {
+        if (invoiceIds == null) {
+            return new ArrayList<>();
+        }
+
+        return invoiceIds.stream()
+                .map(store.invoices::get)
+                .filter(invoice -> invoice != null)
+                .map(InMemoryStore::copy)
+                .collect(Collectors.toList());
+    }
+
+    private List<Invoice> getPage(NavigableSet<Long> invoiceIds, Set<Invoice.Status> statuses, long after, int limit) {
+        return Optional.ofNullable(invoiceIds).orElseGet(ConcurrentSkipListSet::new)
+                .headSet(after, false).descendingSet().stream()
+                .map(store.invoices::get)
+                .filter(invoice -> invoice != null && statuses.contains(invoice.getStatus()))
+                .limit(limit)
+                .map(InMemoryStore::copy)
+                .collect(Collectors.toList());
+    }
+
+    private Invoice getInvoice(Long invoiceId, String action) {
+        Invoice invoice = store.invoices.get(invoiceId);
+
+        if (invoice == null) {
+            logger.error("Failed to {} invoice {}, there is no such invoice", action, invoiceId);
+            throw new RuntimeException("No invoice " + invoiceId);
+        }
+
+        return InMemoryStore.copy(invoice);
+    }
+
+    private Invoice getProcessingInvoice(Long invoiceId, String action) {
+        Invoice invoice = getInvoice(invoiceId, action);
+
+        if (!invoice.getStatus().equals(Invoice.Status.PROCESSING)) {
+            logger.error("Failed to {} invoice {}, it is not processing", action, invoiceId);
+            throw new RuntimeException("Invoice " + invoiceId + " is not processing");
+        }
+
+        return invoice;
+    }
+
+    private Account getAccount(Long accountId) {
+        Account account = store.getAccount(accountId);
+
+        if (account == null) {
+            logger.error("Failed to accept invoice, there is no account {}", accountId);
+            throw new RuntimeException("No account " + accountId);
+        }
+
+        return account;
+    }
+}
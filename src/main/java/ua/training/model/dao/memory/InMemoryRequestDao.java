@@ -0,0 +1,109 @@
+package ua.training.model.dao.memory;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import ua.training.model.dao.RequestDao;
+import ua.training.model.dto.PageDto;
+import ua.training.model.entity.Request;
+import ua.training.model.exception.UnsupportedOperationException;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Realization of {@link RequestDao} for in-memory storage.
+ * @see RequestDao
+ * @see InMemoryStore
+ * @author Oleksii Shevchenko
+ */
+@Component
+@Profile("memory")
+public class InMemoryRequestDao implements RequestDao {
+    private static Logger logger = LogManager.getLogger(InMemoryRequestDao.class);
+
+    private final InMemoryStore store;
+
+    @Autowired
+    InMemoryRequestDao(InMemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public void considerRequest(Long requestId) {
+        if (store.requests.computeIfPresent(requestId, (id, request) -> {
+            Request copy = InMemoryStore.copy(request);
+            copy.setConsidered(true);
+            return copy;
+        }) == null) {
+            logger.error("Failed to consider request {}", requestId);
+            throw new RuntimeException("No request " + requestId);
+        }
+    }
+
+    @Override
+    public PageDto<Request> getPage(int itemsNumber, int page) {
+        int requestsNumber = store.requests.size();
+        int pagesNumber = requestsNumber % itemsNumber == 0 ? requestsNumber / itemsNumber : (requestsNumber / itemsNumber) + 1;
+
+        if (page > pagesNumber) {
+            logger.error("Failed to get page {} of requests", page);
+            throw new RuntimeException("No page " + page);
+        }
+
+        List<Request> requests = store.requests.descendingMap().values().stream()
+                .skip((long) itemsNumber * (page - 1))
+                .limit(itemsNumber)
+                .map(InMemoryStore::copy)
+                .collect(Collectors.toList());
+
+        PageDto<Request> pageDto = new PageDto<>();
+        pageDto.setPagesNumber(pagesNumber);
+        pageDto.setCurrentPage(page);
+        pageDto.setItemsNumber(itemsNumber);
+        pageDto.setItems(requests);
+
+        return pageDto;
+    }
+
+    @Override
+    public List<Request> getByConsideration(boolean consideration) {
+        return store.requests.values().stream()
+                .filter(request -> request.isConsidered() == consideration)
+                .map(InMemoryStore::copy)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Request get(Long key) {
+        Request request = store.requests.get(key);
+
+        if (request == null) {
+            logger.error("Failed to get request {}", key);
+            throw new RuntimeException("No request " + key);
+        }
+
+        return InMemoryStore.copy(request);
+    }
+
+    @Override
+    public Long insert(Request entity) {
+        Request request = InMemoryStore.copy(entity);
+        request.setId(store.requestSequence.incrementAndGet());
+        store.requests.put(request.getId(), request);
+
+        return request.getId();
+    }
+
+    @Override
+    public int update(Request entity) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int remove(Request entity) {
+        throw new UnsupportedOperationException();
+    }
+}
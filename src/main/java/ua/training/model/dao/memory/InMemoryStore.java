@@ -0,0 +1,300 @@
+package ua.training.model.dao.memory;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import ua.training.model.entity.Account;
+import ua.training.model.entity.CreditAccount;
+import ua.training.model.entity.DepositAccount;
+import ua.training.model.entity.Invoice;
+import ua.training.model.entity.Permission;
+import ua.training.model.entity.Request;
+import ua.training.model.entity.Transaction;
+import ua.training.model.entity.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Tables of in-memory storage shared by in-memory dao. Entities are kept as private copies, so changes made by callers
+ * are not visible until they are written by dao. Every change of account balance, status or holders, and of invoice
+ * status is made under striped locks of involved accounts, taken in ascending stripe order, so operation on several
+ * accounts is atomic like db transaction and can't deadlock with other ones.
+ * @author Oleksii Shevchenko
+ */
+@Component
+@Profile("memory")
+class InMemoryStore {
+    private static final int STRIPES = 64;
+
+    final Map<Long, Account> accounts = new ConcurrentHashMap<>();
+    final Map<Long, Long> accountVersions = new ConcurrentHashMap<>();
+    final Map<Long, Map<Long, Permission>> holders = new ConcurrentHashMap<>();
+    final Map<Long, Set<Long>> userAccounts = new ConcurrentHashMap<>();
+
+    final NavigableMap<Long, Transaction> transactions = new ConcurrentSkipListMap<>();
+    final Map<Long, NavigableSet<Long>> accountTransactions = new ConcurrentHashMap<>();
+    final Map<Long, AtomicInteger> accountTransactionsNumbers = new ConcurrentHashMap<>();
+    final Set<String> importKeys = ConcurrentHashMap.newKeySet();
+
+    final NavigableMap<Long, Invoice> invoices = new ConcurrentSkipListMap<>();
+    final Map<Long, LocalDateTime> invoicesCreated = new ConcurrentHashMap<>();
+    final Map<Long, NavigableSet<Long>> payerInvoices = new ConcurrentHashMap<>();
+    final Map<Long, NavigableSet<Long>> requesterInvoices = new ConcurrentHashMap<>();
+    final Map<Long, Invoice> expiredInvoices = new ConcurrentHashMap<>();
+
+    final NavigableMap<Long, Request> requests = new ConcurrentSkipListMap<>();
+
+    final Map<Long, User> users = new ConcurrentHashMap<>();
+    final Map<String, Long> logins = new ConcurrentHashMap<>();
+    final Map<String, Long> emails = new ConcurrentHashMap<>();
+
+    final AtomicLong accountSequence = new AtomicLong();
+    final AtomicLong transactionSequence = new AtomicLong();
+    final AtomicLong invoiceSequence = new AtomicLong();
+    final AtomicLong requestSequence = new AtomicLong();
+    final AtomicLong userSequence = new AtomicLong();
+
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+
+    /**
+     * Held locks of account stripes, released by try-with-resources.
+     */
+    interface Locks extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    InMemoryStore() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Locks stripes of accounts in ascending order.
+     * @param accountIds Targeted accounts.
+     * @return Held locks.
+     */
+    Locks lock(Collection<Long> accountIds) {
+        Set<Integer> indexes = new TreeSet<>();
+        accountIds.forEach(accountId -> indexes.add(Math.floorMod(Long.hashCode(accountId), STRIPES)));
+
+        List<ReentrantLock> locked = new ArrayList<>(indexes.size());
+        for (Integer index : indexes) {
+            stripes[index].lock();
+            locked.add(stripes[index]);
+        }
+
+        return () -> {
+            for (int i = locked.size() - 1; i >= 0; i--) {
+                locked.get(i).unlock();
+            }
+        };
+    }
+
+    Locks lock(Long... accountIds) {
+        return lock(List.of(accountIds));
+    }
+
+    /**
+     * Writes account and increases its version, the caller must hold lock of the account.
+     */
+    void putAccount(Account account) {
+        accounts.put(account.getId(), copy(account));
+        accountVersions.merge(account.getId(), 1L, Long::sum);
+    }
+
+    /**
+     * Adds holder of account, the caller must hold lock of the account.
+     */
+    void putHolder(Long holderId, Long accountId, Permission permission) {
+        holders.computeIfAbsent(accountId, id -> new ConcurrentHashMap<>()).put(holderId, permission);
+        userAccounts.computeIfAbsent(holderId, id -> ConcurrentHashMap.newKeySet()).add(accountId);
+        accountVersions.merge(accountId, 1L, Long::sum);
+    }
+
+    /**
+     * Removes holder of account, the caller must hold lock of the account.
+     */
+    void removeHolder(Long holderId, Long accountId) {
+        holders.computeIfPresent(accountId, (id, accountHolders) -> {
+            accountHolders.remove(holderId);
+            return accountHolders;
+        });
+        userAccounts.computeIfPresent(holderId, (id, accountIds) -> {
+            accountIds.remove(accountId);
+            return accountIds;
+        });
+        accountVersions.merge(accountId, 1L, Long::sum);
+    }
+
+    /**
+     * Removes all holders of account, the caller must hold lock of the account.
+     */
+    void removeHolders(Long accountId) {
+        for (Long holderId : new ArrayList<>(holders.getOrDefault(accountId, Map.of()).keySet())) {
+            removeHolder(holderId, accountId);
+        }
+    }
+
+    /**
+     * Adds transaction and gives it id and time.
+     * @return Id of transaction.
+     */
+    long putTransaction(Transaction transaction) {
+        Transaction stored = copy(transaction);
+        stored.setId(transactionSequence.incrementAndGet());
+        stored.setTime(LocalDateTime.now());
+
+        transactions.put(stored.getId(), stored);
+        indexTransaction(stored.getSender(), stored.getId());
+        if (stored.getReceiver() != stored.getSender()) {
+            indexTransaction(stored.getReceiver(), stored.getId());
+        }
+
+        return stored.getId();
+    }
+
+    private void indexTransaction(Long accountId, Long transactionId) {
+        accountTransactions.computeIfAbsent(accountId, id -> new ConcurrentSkipListSet<>()).add(transactionId);
+        accountTransactionsNumbers.computeIfAbsent(accountId, id -> new AtomicInteger()).incrementAndGet();
+    }
+
+    /**
+     * Writes invoice, new invoice is added to indexes of its accounts.
+     */
+    void putInvoice(Invoice invoice) {
+        if (invoices.put(invoice.getId(), copy(invoice)) == null) {
+            invoicesCreated.put(invoice.getId(), LocalDateTime.now());
+            payerInvoices.computeIfAbsent(invoice.getPayer(), id -> new ConcurrentSkipListSet<>()).add(invoice.getId());
+            requesterInvoices.computeIfAbsent(invoice.getRequester(), id -> new ConcurrentSkipListSet<>()).add(invoice.getId());
+        }
+    }
+
+    void removeInvoice(Invoice invoice) {
+        invoices.remove(invoice.getId());
+        invoicesCreated.remove(invoice.getId());
+        Optional.ofNullable(payerInvoices.get(invoice.getPayer())).ifPresent(ids -> ids.remove(invoice.getId()));
+        Optional.ofNullable(requesterInvoices.get(invoice.getRequester())).ifPresent(ids -> ids.remove(invoice.getId()));
+    }
+
+    /**
+     * Returns copy of account with list of its holders.
+     */
+    Account getAccount(Long accountId) {
+        Account account = accounts.get(accountId);
+
+        if (account == null) {
+            return null;
+        }
+
+        Account copy = copy(account);
+        copy.setHolders(new ArrayList<>(holders.getOrDefault(accountId, Map.of()).keySet()));
+        return copy;
+    }
+
+    /**
+     * Returns copy of user with list of its accounts.
+     */
+    User getUser(Long userId) {
+        User user = users.get(userId);
+
+        if (user == null) {
+            return null;
+        }
+
+        User copy = copy(user);
+        copy.setAccounts(new ArrayList<>(userAccounts.getOrDefault(userId, Set.of())));
+        return copy;
+    }
+
+    static Account copy(Account account) {
+        if (account instanceof CreditAccount) {
+            CreditAccount creditAccount = (CreditAccount) account;
+            return CreditAccount.getBuilder()
+                    .setId(creditAccount.getId())
+                    .setBalance(creditAccount.getBalance())
+                    .setCurrency(creditAccount.getCurrency())
+                    .setExpiresEnd(creditAccount.getExpiresEnd())
+                    .setStatus(creditAccount.getStatus())
+                    .setHolders(creditAccount.getHolders())
+                    .setCreditLimit(creditAccount.getCreditLimit())
+                    .setCreditRate(creditAccount.getCreditRate())
+                    .build();
+        }
+
+        DepositAccount depositAccount = (DepositAccount) account;
+        return DepositAccount.getBuilder()
+                .setId(depositAccount.getId())
+                .setBalance(depositAccount.getBalance())
+                .setCurrency(depositAccount.getCurrency())
+                .setExpiresEnd(depositAccount.getExpiresEnd())
+                .setStatus(depositAccount.getStatus())
+                .setHolders(depositAccount.getHolders())
+                .setDepositRate(depositAccount.getDepositRate())
+                .setUpdatePeriod(depositAccount.getUpdatePeriod())
+                .build();
+    }
+
+    static Transaction copy(Transaction transaction) {
+        return Transaction.getBuilder()
+                .setId(transaction.getId())
+                .setTime(transaction.getTime())
+                .setSender(transaction.getSender())
+                .setReceiver(transaction.getReceiver())
+                .setType(transaction.getType())
+                .setAmount(transaction.getAmount())
+                .setCurrency(transaction.getCurrency())
+                .build();
+    }
+
+    static Invoice copy(Invoice invoice) {
+        return Invoice.getBuilder()
+                .setId(invoice.getId())
+                .setRequester(invoice.getRequester())
+                .setPayer(invoice.getPayer())
+                .setAmount(invoice.getAmount())
+                .setCurrency(invoice.getCurrency())
+                .setStatus(invoice.getStatus())
+                .setDescription(invoice.getDescription())
+                .setTransaction(invoice.getTransaction())
+                .build();
+    }
+
+    static Request copy(Request request) {
+        return Request.getBuilder()
+                .setId(request.getId())
+                .setRequesterId(request.getRequesterId())
+                .setType(request.getType())
+                .setCurrency(request.getCurrency())
+                .setConsidered(request.isConsidered())
+                .build();
+    }
+
+    static User copy(User user) {
+        return User.getBuilder()
+                .setId(user.getId())
+                .setLogin(user.getLogin())
+                .setPasswordHash(user.getPasswordHash())
+                .setEmail(user.getEmail())
+                .setRole(user.getRole())
+                .setFirstName(user.getFirstName())
+                .setSecondName(user.getSecondName())
+                .setAccounts(user.getAccounts())
+                .build();
+    }
+}
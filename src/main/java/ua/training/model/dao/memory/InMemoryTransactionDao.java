@@ -0,0 +1,270 @@
+package ua.training.model.dao.memory;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import ua.training.model.dao.TransactionDao;
+import ua.training.model.dto.ImportReportDto;
+import ua.training.model.dto.PageDto;
+import ua.training.model.entity.Account;
+import ua.training.model.entity.Transaction;
+import ua.training.model.exception.CancelingTaskException;
+import ua.training.model.exception.NonActiveAccountException;
+import ua.training.model.exception.NotEnoughMoneyException;
+import ua.training.model.exception.UnsupportedOperationException;
+import ua.training.model.service.producers.TransactionProducer;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Realization of {@link TransactionDao} for in-memory storage. Transactions are never archived, so archival methods
+ * do nothing.
+ * @see TransactionDao
+ * @see InMemoryStore
+ * @author Oleksii Shevchenko
+ */
+@Component
+@Profile("memory")
+public class InMemoryTransactionDao implements TransactionDao {
+    private static Logger logger = LogManager.getLogger(InMemoryTransactionDao.class);
+
+    private final InMemoryStore store;
+
+    @Autowired
+    InMemoryTransactionDao(InMemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public PageDto<Transaction> getPage(Long accountId, int itemsNumber, int page) {
+        List<Transaction> transactions = new ArrayList<>();
+        int pagesNumber = getPage(accountId, itemsNumber, page, transactions::add);
+
+        PageDto<Transaction> pageDto = new PageDto<>();
+        pageDto.setPagesNumber(pagesNumber);
+        pageDto.setCurrentPage(transactions.isEmpty() ? 1 : page);
+        pageDto.setItemsNumber(itemsNumber);
+        pageDto.setItems(transactions);
+
+        return pageDto;
+    }
+
+    @Override
+    public int getTransactionsNumber(Long accountId) {
+        return store.accountTransactionsNumbers.getOrDefault(accountId, new AtomicInteger()).get();
+    }
+
+    @Override
+    public int getPage(Long accountId, int itemsNumber, int page, Consumer<Transaction> consumer) {
+        int transactionsNumber = getTransactionsNumber(accountId);
+        int pagesNumber = transactionsNumber % itemsNumber == 0 ? transactionsNumber / itemsNumber : (transactionsNumber / itemsNumber) + 1;
+
+        if (pagesNumber == 0) {
+            return 1;
+        }
+
+        if (page > pagesNumber) {
+            logger.error("Failed to get page {} of account {} transactions", page, accountId);
+            throw new RuntimeException("No page " + page);
+        }
+
+        getAccountTransactionIds(accountId).descendingSet().stream()
+                .skip((long) itemsNumber * (page - 1))
+                .limit(itemsNumber)
+                .map(store.transactions::get)
+                .forEach(transaction -> consumer.accept(InMemoryStore.copy(transaction)));
+
+        return pagesNumber;
+    }
+
+    @Override
+    public List<Transaction> getAccountTransactions(Long accountId) {
+        List<Transaction> transactions = new ArrayList<>();
+        getAccountTransactionIds(accountId).forEach(id -> transactions.add(InMemoryStore.copy(store.transactions.get(id))));
+        return transactions;
+    }
+
+    @Override
+    public void getAccountTransactions(Long accountId, LocalDateTime from, LocalDateTime to, Consumer<Transaction> consumer) {
+        for (Long id : getAccountTransactionIds(accountId)) {
+            Transaction transaction = store.transactions.get(id);
+
+            if (!transaction.getTime().isBefore(from) && transaction.getTime().isBefore(to)) {
+                consumer.accept(InMemoryStore.copy(transaction));
+            }
+        }
+    }
+
+    @Override
+    public Optional<LocalDateTime> getOldestTransactionTime() {
+        return Optional.ofNullable(store.transactions.firstEntry()).map(entry -> entry.getValue().getTime());
+    }
+
+    @Override
+    public int archiveTransactions(YearMonth month, int limit) {
+        return 0;
+    }
+
+    @Override
+    public void completeArchive(YearMonth month) {
+    }
+
+    /**
+     * Makes transaction under locks of sender and receiver, so balances and transaction are changed at once.
+     * @param transaction Transaction that must be completed
+     * @return Id of completed transaction.
+     */
+    @Override
+    public long makeTransaction(Transaction transaction) {
+        try (InMemoryStore.Locks locks = store.lock(transaction.getSender(), transaction.getReceiver())) {
+            Account sender = null;
+
+            if (transaction.getType().equals(Transaction.Type.MANUAL)) {
+                sender = getAccount(transaction.getSender());
+                sender.setBalance(sender.withdrawFromAccount(transaction));
+            }
+
+            Account receiver = sender != null && sender.getId() == transaction.getReceiver()
+                    ? sender : getAccount(transaction.getReceiver());
+            receiver.setBalance(receiver.replenishAccount(transaction));
+
+            if (sender != null && sender != receiver) {
+                store.putAccount(sender);
+            }
+            store.putAccount(receiver);
+
+            return store.putTransaction(transaction);
+        } catch (NonActiveAccountException exception) {
+            logger.error("Failed to make transaction", exception);
+            throw new RuntimeException(exception);
+        } catch (NotEnoughMoneyException exception) {
+            logger.error("Failed to make transaction", exception);
+            throw exception;
+        }
+    }
+
+    /**
+     * Produces transaction from account state and makes it under lock of account.
+     * @param accountId Targeted account
+     * @param producer The transaction producer
+     * @return Id of completed transaction
+     * @throws CancelingTaskException Thrown by transaction producer
+     */
+    @Override
+    public long makeTransaction(Long accountId, TransactionProducer producer) throws CancelingTaskException {
+        try (InMemoryStore.Locks locks = store.lock(accountId)) {
+            Account account = getAccount(accountId);
+
+            Optional<Transaction> transaction = producer.produce(account);
+
+            if (!transaction.isPresent()) {
+                logger.error("Failed to make transaction, nothing is produced for account {}", accountId);
+                throw new RuntimeException("No transaction for account " + accountId);
+            }
+
+            store.putAccount(account);
+
+            return store.putTransaction(transaction.get());
+        } catch (CancelingTaskException exception) {
+            logger.error("Failed to make transaction", exception);
+            throw new CancelingTaskException();
+        }
+    }
+
+    /**
+     * Applies chunk of external replenishments under locks of all receivers. Keys already imported are skipped.
+     * @param keys Idempotency keys of transactions, in the same order.
+     * @param transactions External transactions, receiver is replenished account.
+     * @return Outcome of every transaction, in the same order.
+     */
+    @Override
+    public List<ImportReportDto.Outcome> importTransactions(List<String> keys, List<Transaction> transactions) {
+        List<ImportReportDto.Outcome> outcomes = new ArrayList<>(transactions.size());
+
+        if (transactions.isEmpty()) {
+            return outcomes;
+        }
+
+        TreeSet<Long> accountIds = new TreeSet<>();
+        transactions.forEach(transaction -> accountIds.add(transaction.getReceiver()));
+
+        try (InMemoryStore.Locks locks = store.lock(accountIds)) {
+            for (int i = 0; i < transactions.size(); i++) {
+                Transaction transaction = transactions.get(i);
+                Account account = store.getAccount(transaction.getReceiver());
+
+                if (store.importKeys.contains(keys.get(i))) {
+                    outcomes.add(ImportReportDto.Outcome.DUPLICATE);
+                } else if (account == null) {
+                    outcomes.add(ImportReportDto.Outcome.NO_SUCH_ACCOUNT);
+                } else if (account.isNonActive()) {
+                    outcomes.add(ImportReportDto.Outcome.NON_ACTIVE_ACCOUNT);
+                } else if (!account.getCurrency().equals(transaction.getCurrency())) {
+                    outcomes.add(ImportReportDto.Outcome.CURRENCY_MISMATCH);
+                } else {
+                    account.setBalance(account.getBalance().add(transaction.getAmount()));
+                    store.putAccount(account);
+                    store.putTransaction(transaction);
+                    store.importKeys.add(keys.get(i));
+
+                    outcomes.add(ImportReportDto.Outcome.APPLIED);
+                }
+            }
+        }
+
+        return outcomes;
+    }
+
+    @Override
+    public Transaction get(Long key) {
+        Transaction transaction = store.transactions.get(key);
+
+        if (transaction == null) {
+            logger.error("Failed to get transaction {}", key);
+            throw new RuntimeException("No transaction " + key);
+        }
+
+        return InMemoryStore.copy(transaction);
+    }
+
+    @Override
+    public Long insert(Transaction entity) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int update(Transaction entity) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int remove(Transaction entity) {
+        throw new UnsupportedOperationException();
+    }
+
+    private NavigableSet<Long> getAccountTransactionIds(Long accountId) {
+        return store.accountTransactions.getOrDefault(accountId, new ConcurrentSkipListSet<>());
+    }
+
+    private Account getAccount(Long accountId) {
+        Account account = store.getAccount(accountId);
+
+        if (account == null) {
+            logger.error("Failed to make transaction, there is no account {}", accountId);
+            throw new RuntimeException("No account " + accountId);
+        }
+
+        return account;
+    }
+}
@@ -0,0 +1,235 @@
+package ua.training.model.dao.memory;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import ua.training.model.dao.UserDao;
+import ua.training.model.entity.Account;
+import ua.training.model.entity.Permission;
+import ua.training.model.entity.User;
+import ua.training.model.exception.ActiveAccountException;
+import ua.training.model.exception.NoSuchUserException;
+import ua.training.model.exception.NonUniqueEmailException;
+import ua.training.model.exception.NonUniqueLoginException;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Realization of {@link UserDao} for in-memory storage. Logins and emails are kept unique by changing users under one
+ * lock, holders of account are changed under lock of the account.
+ * @see UserDao
+ * @see InMemoryStore
+ * @author Oleksii Shevchenko
+ */
+@Component
+@Profile("memory")
+public class InMemoryUserDao implements UserDao {
+    private static Logger logger = LogManager.getLogger(InMemoryUserDao.class);
+
+    private final InMemoryStore store;
+
+    @Autowired
+    InMemoryUserDao(InMemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public User getUserByLogin(String login) throws NoSuchUserException {
+        Long userId = store.logins.get(login);
+        User user = userId == null ? null : store.getUser(userId);
+
+        if (user == null) {
+            throw new NoSuchUserException();
+        }
+
+        return user;
+    }
+
+    @Override
+    public List<User> getAccountHolders(Long accountId) {
+        return store.holders.getOrDefault(accountId, Map.of()).keySet().stream()
+                .map(store::getUser)
+                .filter(user -> user != null)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Map<User, Permission> getAccountHoldersWithPermission(Long accountId) {
+        Map<User, Permission> holders = new HashMap<>();
+
+        store.holders.getOrDefault(accountId, Map.of()).forEach((holderId, permission) -> {
+            User user = store.getUser(holderId);
+            if (user != null) {
+                holders.put(user, permission);
+            }
+        });
+
+        return holders;
+    }
+
+    @Override
+    public Permission getPermissions(Long holderId, Long accountId) {
+        Permission permission = store.holders.getOrDefault(accountId, Map.of()).get(holderId);
+
+        if (permission == null) {
+            logger.error("Failed to get permissions of user {} for account {}", holderId, accountId);
+            throw new RuntimeException("User " + holderId + " isn't holder of account " + accountId);
+        }
+
+        return permission;
+    }
+
+    /**
+     * Removes account holder, if it is not owner (permission - ALL).
+     * @param holderId Targeted holder
+     * @param accountId Targeted account
+     */
+    @Override
+    public int removeAccountHolder(Long holderId, Long accountId) {
+        try (InMemoryStore.Locks locks = store.lock(accountId)) {
+            Permission permission = store.holders.getOrDefault(accountId, Map.of()).get(holderId);
+
+            if (permission == null || permission.equals(Permission.ALL)) {
+                logger.error("Failed to remove holder {} of account {}", holderId, accountId);
+                throw new RuntimeException("User " + holderId + " can't be removed from holders of account " + accountId);
+            }
+
+            store.removeHolder(holderId, accountId);
+
+            return 1;
+        }
+    }
+
+    /**
+     * Adds holder to account with restricted permission. Account must be active.
+     * @param holderId Targeted user.
+     * @param accountId Targeted account.
+     */
+    @Override
+    public int addAccountHolder(Long holderId, Long accountId) {
+        try (InMemoryStore.Locks locks = store.lock(accountId)) {
+            Account account = store.getAccount(accountId);
+
+            if (account == null || account.isNonActive() || !store.users.containsKey(holderId)
+                    || account.getHolders().contains(holderId)) {
+                logger.error("Failed to add holder {} of account {}", holderId, accountId);
+                throw new RuntimeException("User " + holderId + " can't be added to holders of account " + accountId);
+            }
+
+            store.putHolder(holderId, accountId, Permission.RESTRICTED);
+
+            return 1;
+        }
+    }
+
+    @Override
+    public User get(Long key) {
+        User user = store.getUser(key);
+
+        if (user == null) {
+            logger.error("Failed to get user {}", key);
+            throw new RuntimeException("No user " + key);
+        }
+
+        return user;
+    }
+
+    /**
+     * Adds user and returns generated id.
+     * @param entity User entity that must be inserted.
+     * @return Id of inserted user.
+     * @throws NonUniqueLoginException Is thrown if there is user with the same login.
+     * @throws NonUniqueEmailException Is thrown if there is user with the same email.
+     */
+    @Override
+    public Long insert(User entity) throws NonUniqueLoginException, NonUniqueEmailException {
+        synchronized (store.users) {
+            checkUnique(entity);
+
+            User user = InMemoryStore.copy(entity);
+            user.setId(store.userSequence.incrementAndGet());
+            user.setAccounts(null);
+
+            store.users.put(user.getId(), user);
+            store.logins.put(user.getLogin(), user.getId());
+            store.emails.put(user.getEmail(), user.getId());
+
+            return user.getId();
+        }
+    }
+
+    /**
+     * Updates user, accounts of user aren't changed.
+     * @param entity User entity that must be updated
+     * @throws NonUniqueLoginException Is thrown if there is user with the same login.
+     * @throws NonUniqueEmailException Is thrown if there is user with the same email.
+     */
+    @Override
+    public int update(User entity) throws NonUniqueEmailException, NonUniqueLoginException {
+        synchronized (store.users) {
+            User stored = store.users.get(entity.getId());
+
+            if (stored == null) {
+                return 0;
+            }
+
+            checkUnique(entity);
+
+            User user = InMemoryStore.copy(entity);
+            user.setAccounts(null);
+
+            store.logins.remove(stored.getLogin());
+            store.emails.remove(stored.getEmail());
+            store.users.put(user.getId(), user);
+            store.logins.put(user.getLogin(), user.getId());
+            store.emails.put(user.getEmail(), user.getId());
+
+            return 1;
+        }
+    }
+
+    /**
+     * Removes user if and only if user has no accounts.
+     * @param entity User that must be removed.
+     */
+    @Override
+    public int remove(User entity) {
+        synchronized (store.users) {
+            if (!store.userAccounts.getOrDefault(entity.getId(), Set.of()).isEmpty()) {
+                logger.error("Failed to remove user {}", entity.getId());
+                throw new RuntimeException(new ActiveAccountException());
+            }
+
+            User user = store.users.remove(entity.getId());
+
+            if (user == null) {
+                return 0;
+            }
+
+            store.logins.remove(user.getLogin());
+            store.emails.remove(user.getEmail());
+
+            return 1;
+        }
+    }
+
+    private void checkUnique(User entity) {
+        Long loginOwner = store.logins.get(entity.getLogin());
+        if (loginOwner != null && loginOwner != entity.getId()) {
+            logger.error("Failed to save user {}, login isn't unique", entity.getLogin());
+            throw new NonUniqueLoginException();
+        }
+
+        Long emailOwner = store.emails.get(entity.getEmail());
+        if (emailOwner != null && emailOwner != entity.getId()) {
+            logger.error("Failed to save user {}, email isn't unique", entity.getLogin());
+            throw new NonUniqueEmailException();
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package ua.training.model.dao.util;
+
+import ua.training.model.dto.InvoiceAcceptanceDto;
+import ua.training.model.entity.Account;
+import ua.training.model.entity.Invoice;
+import ua.training.model.entity.Transaction;
+import ua.training.model.exception.NonActiveAccountException;
+import ua.training.model.exception.NotEnoughMoneyException;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Settlement of invoices accepted by one batch, shared by all {@link ua.training.model.dao.InvoiceDao} backends. It
+ * works on invoices and accounts already locked by the backend and only changes them in memory, the backend then
+ * writes balances of changed accounts, transactions and statuses of accepted invoices.
+ * @see ua.training.model.dao.InvoiceDao#acceptInvoices
+ * @author Oleksii Shevchenko
+ */
+public class InvoiceSettlement {
+    private final InvoiceAcceptanceDto acceptance = new InvoiceAcceptanceDto();
+    private final List<Invoice> accepted = new ArrayList<>();
+    private final Set<Long> changedAccounts = new TreeSet<>();
+
+    /**
+     * Pays invoices in order of their payers ids, so payments received by payer before its own invoices are netted.
+     * @param invoiceIds Targeted invoices in order of acceptance request.
+     * @param invoices Locked invoices by ids, missing ones are reported as such.
+     * @param payerAccounts Accounts allowed to pay, invoices of other payers are reported as missing.
+     * @param accounts Locked active accounts by ids.
+     * @param atomicPerPayer If true, invoices of payer are accepted only if all of them can be paid.
+     * @return This settlement.
+     */
+    public InvoiceSettlement settle(List<Long> invoiceIds, Map<Long, Invoice> invoices, Collection<Long> payerAccounts,
+                                    Map<Long, Account> accounts, boolean atomicPerPayer) {
+        Map<Long, List<Invoice>> invoicesByPayer = new TreeMap<>();
+        for (Long invoiceId : invoiceIds) {
+            Invoice invoice = invoices.get(invoiceId);
+
+            if (acceptance.getOutcome(invoiceId) != null) {
+                continue;
+            }
+
+            if (invoice == null || !payerAccounts.contains(invoice.getPayer())) {
+                acceptance.addOutcome(invoiceId, InvoiceAcceptanceDto.Outcome.NO_SUCH_INVOICE);
+            } else if (!invoice.getStatus().equals(Invoice.Status.PROCESSING)) {
+                acceptance.addOutcome(invoiceId, InvoiceAcceptanceDto.Outcome.NOT_PROCESSING);
+            } else {
+                acceptance.addOutcome(invoiceId, InvoiceAcceptanceDto.Outcome.ACCEPTED);
+                invoicesByPayer.computeIfAbsent(invoice.getPayer(), payer -> new ArrayList<>()).add(invoice);
+            }
+        }
+
+        for (List<Invoice> payerInvoices : invoicesByPayer.values()) {
+            payInvoices(payerInvoices, accounts, atomicPerPayer);
+        }
+
+        return this;
+    }
+
+    public InvoiceAcceptanceDto getAcceptance() {
+        return acceptance;
+    }
+
+    /**
+     * Returns invoices to be marked as accepted, in order of their payers ids.
+     */
+    public List<Invoice> getAccepted() {
+        return accepted;
+    }
+
+    /**
+     * Returns ids of accounts which balances are to be written, in ascending order.
+     */
+    public Set<Long> getChangedAccounts() {
+        return changedAccounts;
+    }
+
+    public static Transaction toTransaction(Invoice invoice) {
+        return Transaction.getBuilder()
+                .setSender(invoice.getPayer())
+                .setReceiver(invoice.getRequester())
+                .setType(Transaction.Type.MANUAL)
+                .setAmount(invoice.getAmount())
+                .setCurrency(invoice.getCurrency())
+                .build();
+    }
+
+    /**
+     * Pays invoices of one payer. Balances are restored for every failed invoice, or for all invoices of the payer if
+     * acceptance is atomic per payer.
+     */
+    private void payInvoices(List<Invoice> payerInvoices, Map<Long, Account> accounts, boolean atomicPerPayer) {
+        Map<Long, BigDecimal> payerSnapshot = new HashMap<>();
+        List<Invoice> payerAccepted = new ArrayList<>();
+        boolean failed = false;
+
+        for (Invoice invoice : payerInvoices) {
+            Account payer = accounts.get(invoice.getPayer());
+            Account requester = accounts.get(invoice.getRequester());
+
+            if (payer == null || requester == null) {
+                acceptance.addOutcome(invoice.getId(), InvoiceAcceptanceDto.Outcome.NON_ACTIVE_ACCOUNT);
+                failed = true;
+                continue;
+            }
+
+            payerSnapshot.putIfAbsent(payer.getId(), payer.getBalance());
+            payerSnapshot.putIfAbsent(requester.getId(), requester.getBalance());
+
+            BigDecimal payerBalance = payer.getBalance();
+            BigDecimal requesterBalance = requester.getBalance();
+
+            Transaction transaction = toTransaction(invoice);
+
+            try {
+                payer.withdrawFromAccount(transaction);
+                requester.replenishAccount(transaction);
+
+                payerAccepted.add(invoice);
+                continue;
+            } catch (NotEnoughMoneyException exception) {
+                acceptance.addOutcome(invoice.getId(), InvoiceAcceptanceDto.Outcome.NOT_ENOUGH_MONEY);
+            } catch (NonActiveAccountException exception) {
+                acceptance.addOutcome(invoice.getId(), InvoiceAcceptanceDto.Outcome.NON_ACTIVE_ACCOUNT);
+            }
+
+            failed = true;
+            payer.setBalance(payerBalance);
+            requester.setBalance(requesterBalance);
+        }
+
+        if (failed && atomicPerPayer) {
+            payerSnapshot.forEach((accountId, balance) -> accounts.get(accountId).setBalance(balance));
+            payerAccepted.forEach(invoice -> acceptance.addOutcome(invoice.getId(), InvoiceAcceptanceDto.Outcome.PAYER_ROLLED_BACK));
+            return;
+        }
+
+        accepted.addAll(payerAccepted);
+        payerAccepted.forEach(invoice -> {
+            changedAccounts.add(invoice.getPayer());
+            changedAccounts.add(invoice.getRequester());
+        });
+    }
+}
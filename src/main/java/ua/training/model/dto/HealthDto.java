@@ -0,0 +1,132 @@
+package ua.training.model.dto;
+
+import ua.training.model.service.util.JobStatistics;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * This DTO contains state of node dependencies collected by the last background probe: db availability and pool
+ * saturation, exchange rates staleness, scheduler backlog and last runs of scheduled jobs.
+ * @see ua.training.model.service.HealthService
+ * @author Oleksii Shevchenko
+ */
+public class HealthDto {
+    private LocalDateTime checkedAt;
+    private boolean databaseUp;
+    private boolean databaseDegraded;
+    private int poolActive;
+    private int poolIdle;
+    private int poolMax;
+    private LocalDateTime ratesUpdate;
+    private boolean ratesStale;
+    private String ratesCircuit;
+    private int schedulerQueued;
+    private int schedulerOverdue;
+    private int schedulerActive;
+    private Map<String, JobStatistics.Run> jobs;
+
+    public LocalDateTime getCheckedAt() {
+        return checkedAt;
+    }
+
+    public void setCheckedAt(LocalDateTime checkedAt) {
+        this.checkedAt = checkedAt;
+    }
+
+    public boolean isDatabaseUp() {
+        return databaseUp;
+    }
+
+    public void setDatabaseUp(boolean databaseUp) {
+        this.databaseUp = databaseUp;
+    }
+
+    public boolean isDatabaseDegraded() {
+        return databaseDegraded;
+    }
+
+    public void setDatabaseDegraded(boolean databaseDegraded) {
+        this.databaseDegraded = databaseDegraded;
+    }
+
+    public int getPoolActive() {
+        return poolActive;
+    }
+
+    public void setPoolActive(int poolActive) {
+        this.poolActive = poolActive;
+    }
+
+    public int getPoolIdle() {
+        return poolIdle;
+    }
+
+    public void setPoolIdle(int poolIdle) {
+        this.poolIdle = poolIdle;
+    }
+
+    public int getPoolMax() {
+        return poolMax;
+    }
+
+    public void setPoolMax(int poolMax) {
+        this.poolMax = poolMax;
+    }
+
+    public LocalDateTime getRatesUpdate() {
+        return ratesUpdate;
+    }
+
+    public void setRatesUpdate(LocalDateTime ratesUpdate) {
+        this.ratesUpdate = ratesUpdate;
+    }
+
+    public boolean isRatesStale() {
+        return ratesStale;
+    }
+
+    public void setRatesStale(boolean ratesStale) {
+        this.ratesStale = ratesStale;
+    }
+
+    public String getRatesCircuit() {
+        return ratesCircuit;
+    }
+
+    public void setRatesCircuit(String ratesCircuit) {
+        this.ratesCircuit = ratesCircuit;
+    }
+
+    public int getSchedulerQueued() {
+        return schedulerQueued;
+    }
+
+    public void setSchedulerQueued(int schedulerQueued) {
+        this.schedulerQueued = schedulerQueued;
+    }
+
+    public int getSchedulerOverdue() {
+        return schedulerOverdue;
+    }
+
+    public void setSchedulerOverdue(int schedulerOverdue) {
+        this.schedulerOverdue = schedulerOverdue;
+    }
+
+    public int getSchedulerActive() {
+        return schedulerActive;
+    }
+
+    public void setSchedulerActive(int schedulerActive) {
+        this.schedulerActive = schedulerActive;
+    }
+
+    public Map<String, JobStatistics.Run> getJobs() {
+        return jobs;
+    }
+
+    public void setJobs(Map<String, JobStatistics.Run> jobs) {
+        this.jobs = jobs;
+    }
+}
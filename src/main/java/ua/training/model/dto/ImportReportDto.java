@@ -0,0 +1,63 @@
+package ua.training.model.dto;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * This DTO contains result of statement import: counters of processed lines and outcomes of failed ones. Only first
+ * {@code MAX_FAILURES} failed lines are kept, the rest are only counted.
+ * @see ua.training.model.service.ImportService
+ * @author Oleksii Shevchenko
+ */
+public class ImportReportDto {
+    public static final int MAX_FAILURES = 1000;
+
+    private long linesNumber;
+    private long appliedNumber;
+    private long duplicatesNumber;
+    private long failuresNumber;
+    private final Map<Long, Outcome> failures = new TreeMap<>();
+
+    /**
+     * Outcome of single statement line.
+     */
+    public enum Outcome {
+        APPLIED, DUPLICATE, MALFORMED_LINE, NO_SUCH_ACCOUNT, NON_ACTIVE_ACCOUNT, CURRENCY_MISMATCH, NOT_APPLIED
+    }
+
+    public void addOutcome(long lineNumber, Outcome outcome) {
+        linesNumber++;
+
+        if (outcome == Outcome.APPLIED) {
+            appliedNumber++;
+        } else if (outcome == Outcome.DUPLICATE) {
+            duplicatesNumber++;
+        } else {
+            failuresNumber++;
+            if (failures.size() < MAX_FAILURES) {
+                failures.put(lineNumber, outcome);
+            }
+        }
+    }
+
+    public long getLinesNumber() {
+        return linesNumber;
+    }
+
+    public long getAppliedNumber() {
+        return appliedNumber;
+    }
+
+    public long getDuplicatesNumber() {
+        return duplicatesNumber;
+    }
+
+    public long getFailuresNumber() {
+        return failuresNumber;
+    }
+
+    public Map<Long, Outcome> getFailures() {
+        return Collections.unmodifiableMap(failures);
+    }
+}
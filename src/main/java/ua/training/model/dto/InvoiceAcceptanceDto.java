@@ -0,0 +1,46 @@
+package ua.training.model.dto;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This DTO contains outcome of every invoice accepted by one batch, in order of acceptance request.
+ * @see ua.training.model.dao.InvoiceDao#acceptInvoices
+ * @author Oleksii Shevchenko
+ */
+public class InvoiceAcceptanceDto {
+    private final Map<Long, Outcome> outcomes = new LinkedHashMap<>();
+    private long acceptedNumber;
+
+    /**
+     * Outcome of single invoice. PAYER_ROLLED_BACK means invoice could be paid, but other invoice of the same payer
+     * failed and all-or-nothing acceptance per payer is configured.
+     */
+    public enum Outcome {
+        ACCEPTED, NO_SUCH_INVOICE, NOT_PROCESSING, NOT_ENOUGH_MONEY, NON_ACTIVE_ACCOUNT, PAYER_ROLLED_BACK
+    }
+
+    public void addOutcome(Long invoiceId, Outcome outcome) {
+        Outcome previous = outcomes.put(invoiceId, outcome);
+
+        if (previous == Outcome.ACCEPTED) {
+            acceptedNumber--;
+        }
+        if (outcome == Outcome.ACCEPTED) {
+            acceptedNumber++;
+        }
+    }
+
+    public Outcome getOutcome(Long invoiceId) {
+        return outcomes.get(invoiceId);
+    }
+
+    public Map<Long, Outcome> getOutcomes() {
+        return Collections.unmodifiableMap(outcomes);
+    }
+
+    public long getAcceptedNumber() {
+        return acceptedNumber;
+    }
+}
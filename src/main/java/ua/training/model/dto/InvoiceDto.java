@@ -12,6 +12,8 @@ import java.util.List;
 public class InvoiceDto {
     private List<Invoice> invoicesAsPayer;
     private List<Invoice> invoicesAsRequester;
+    private Long payerNext;
+    private Long requesterNext;
 
     public List<Invoice> getInvoicesAsPayer() {
         return invoicesAsPayer;
@@ -28,4 +30,26 @@ public class InvoiceDto {
     public void setInvoicesAsRequester(List<Invoice> invoicesAsRequester) {
         this.invoicesAsRequester = invoicesAsRequester;
     }
+
+    /**
+     * @return Key of the next page of invoices as payer or null if this page is the last one.
+     */
+    public Long getPayerNext() {
+        return payerNext;
+    }
+
+    public void setPayerNext(Long payerNext) {
+        this.payerNext = payerNext;
+    }
+
+    /**
+     * @return Key of the next page of invoices as requester or null if this page is the last one.
+     */
+    public Long getRequesterNext() {
+        return requesterNext;
+    }
+
+    public void setRequesterNext(Long requesterNext) {
+        this.requesterNext = requesterNext;
+    }
 }
@@ -0,0 +1,77 @@
+package ua.training.model.dto;
+
+import ua.training.model.entity.Currency;
+
+import java.math.BigDecimal;
+
+/**
+ * This DTO contains preview of transfer: amount withdrawn from sender with fee and remaining balance, amount credited
+ * to receiver, and whether sender account policy allows the transfer.
+ * @see ua.training.model.service.TransferQuoteService
+ * @author Oleksii Shevchenko
+ */
+public class TransferQuoteDto {
+    private BigDecimal withdrawAmount;
+    private BigDecimal fee;
+    private BigDecimal resultingBalance;
+    private Currency senderCurrency;
+    private BigDecimal creditedAmount;
+    private Currency receiverCurrency;
+    private boolean allowed;
+
+    public BigDecimal getWithdrawAmount() {
+        return withdrawAmount;
+    }
+
+    public void setWithdrawAmount(BigDecimal withdrawAmount) {
+        this.withdrawAmount = withdrawAmount;
+    }
+
+    public BigDecimal getFee() {
+        return fee;
+    }
+
+    public void setFee(BigDecimal fee) {
+        this.fee = fee;
+    }
+
+    public BigDecimal getResultingBalance() {
+        return resultingBalance;
+    }
+
+    public void setResultingBalance(BigDecimal resultingBalance) {
+        this.resultingBalance = resultingBalance;
+    }
+
+    public Currency getSenderCurrency() {
+        return senderCurrency;
+    }
+
+    public void setSenderCurrency(Currency senderCurrency) {
+        this.senderCurrency = senderCurrency;
+    }
+
+    public BigDecimal getCreditedAmount() {
+        return creditedAmount;
+    }
+
+    public void setCreditedAmount(BigDecimal creditedAmount) {
+        this.creditedAmount = creditedAmount;
+    }
+
+    public Currency getReceiverCurrency() {
+        return receiverCurrency;
+    }
+
+    public void setReceiverCurrency(Currency receiverCurrency) {
+        this.receiverCurrency = receiverCurrency;
+    }
+
+    public boolean isAllowed() {
+        return allowed;
+    }
+
+    public void setAllowed(boolean allowed) {
+        this.allowed = allowed;
+    }
+}
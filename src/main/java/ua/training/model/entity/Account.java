@@ -110,4 +110,18 @@ public abstract class Account {
     }
 
     public abstract BigDecimal withdrawFromAccount(Transaction transaction) throws NonActiveAccountException, NotEnoughMoneyException;
+
+    /**
+     * Checks if account policy allows balance that remains after withdraw.
+     * @param balance Balance after withdraw.
+     * @return Is balance allowed.
+     */
+    public abstract boolean isAllowedBalance(BigDecimal balance);
+
+    /**
+     * Computes fee charged by account policy for withdraw that leaves specified balance.
+     * @param balance Balance after withdraw.
+     * @return Fee in account currency.
+     */
+    public abstract BigDecimal computeWithdrawFee(BigDecimal balance);
 }
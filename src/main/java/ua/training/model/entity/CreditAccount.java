@@ -129,12 +129,22 @@ public class CreditAccount extends Account {
         BigDecimal exchangeRate = new FixerExchangeService().exchangeRate(transaction.getCurrency(), getCurrency());
         BigDecimal balance = getBalance().subtract(transaction.getAmount().multiply(exchangeRate));
 
-        if (balance.abs().compareTo(getCreditLimit()) >= 0) {
+        if (!isAllowedBalance(balance)) {
             throw new NotEnoughMoneyException();
         } else {
-            setBalance(balance.subtract(balance.abs().multiply(getCreditRate())));
+            setBalance(balance.subtract(computeWithdrawFee(balance)));
         }
 
         return getBalance();
     }
+
+    @Override
+    public boolean isAllowedBalance(BigDecimal balance) {
+        return balance.abs().compareTo(getCreditLimit()) < 0;
+    }
+
+    @Override
+    public BigDecimal computeWithdrawFee(BigDecimal balance) {
+        return balance.abs().multiply(getCreditRate());
+    }
 }
@@ -129,7 +129,7 @@ public class DepositAccount extends Account {
         BigDecimal exchangeRate = new FixerExchangeService().exchangeRate(transaction.getCurrency(), getCurrency());
         BigDecimal balance = getBalance().subtract(transaction.getAmount().multiply(exchangeRate));
 
-        if (balance.compareTo(BigDecimal.ZERO) < 0) {
+        if (!isAllowedBalance(balance)) {
             throw new NotEnoughMoneyException();
         } else {
             setBalance(balance);
@@ -137,4 +137,14 @@ public class DepositAccount extends Account {
 
         return getBalance();
     }
+
+    @Override
+    public boolean isAllowedBalance(BigDecimal balance) {
+        return balance.compareTo(BigDecimal.ZERO) >= 0;
+    }
+
+    @Override
+    public BigDecimal computeWithdrawFee(BigDecimal balance) {
+        return BigDecimal.ZERO;
+    }
 }
@@ -0,0 +1,10 @@
+package ua.training.model.exception;
+
+/**
+ * This exception is thrown when there is no account in storage with specified id. It is unchecked, as it is thrown by
+ * generic {@code get} of account dao.
+ * @author Oleksii Shevchenko
+ * @see ua.training.model.dao.AccountDao
+ */
+public class NoSuchAccountException extends RuntimeException {
+}
@@ -2,16 +2,20 @@ package ua.training.model.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import ua.training.model.dao.factory.DaoFactory;
-import ua.training.model.dto.InvoiceDto;
+import ua.training.model.dto.InvoiceAcceptanceDto;
 import ua.training.model.dto.PageDto;
 import ua.training.model.entity.Account;
 import ua.training.model.entity.Invoice;
 import ua.training.model.entity.Request;
 import ua.training.model.entity.Transaction;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * This service designed to compose functions to work with account instance.
@@ -20,12 +24,21 @@ import java.util.List;
 @Service
 public class AccountService {
     private DaoFactory factory;
+    private boolean atomicAcceptance;
 
     @Autowired
-    public AccountService(@Qualifier("jdbcDaoFactory") DaoFactory factory) {
+    public AccountService(@Qualifier("daoFactory") DaoFactory factory) {
         this.factory = factory;
     }
 
+    /**
+     * @param atomicAcceptance If true, batch accepts invoices of payer only if all of them can be paid.
+     */
+    @Value("${invoices.accept.atomic.per.payer}")
+    public void setAtomicAcceptance(boolean atomicAcceptance) {
+        this.atomicAcceptance = atomicAcceptance;
+    }
+
     public List<Account> getAccounts(Long userId) {
         return factory.getAccountDao().getUserAccounts(userId);
     }
@@ -34,11 +47,13 @@ public class AccountService {
         return factory.getAccountDao().get(accountId);
     }
 
-    public InvoiceDto getInvoices(Long accountId) {
-        InvoiceDto invoiceDto = new InvoiceDto();
-        invoiceDto.setInvoicesAsPayer(factory.getInvoiceDao().getInvoicesByPayer(accountId));
-        invoiceDto.setInvoicesAsRequester(factory.getInvoiceDao().getInvoicesByRequester(accountId));
-        return invoiceDto;
+    /**
+     * Returns version of account, that is changed by every change of its balance, status or holders.
+     * @param accountId Targeted account.
+     * @return Version or empty if there is no such account.
+     */
+    public Optional<Long> getAccountVersion(Long accountId) {
+        return factory.getAccountDao().getVersion(accountId);
     }
 
     public void makeTransaction(Transaction transaction) {
@@ -61,10 +76,38 @@ public class AccountService {
         factory.getInvoiceDao().acceptInvoice(invoiceId);
     }
 
+    /**
+     * Accepts invoices in one db transaction. Only invoices paid from accounts held by the user are accepted, others
+     * are reported as missing, so they are neither paid nor disclosed.
+     * @param userId User accepting invoices.
+     * @param invoiceIds Targeted invoices.
+     * @return Outcome of every invoice.
+     */
+    public InvoiceAcceptanceDto acceptInvoices(Long userId, List<Long> invoiceIds) {
+        List<Long> payerAccounts = factory.getUserDao().get(userId).getAccounts();
+        return factory.getInvoiceDao().acceptInvoices(invoiceIds, payerAccounts, atomicAcceptance);
+    }
+
     public PageDto<Transaction> getTransactionsPage(Long accountId, int itemsNumber, int page) {
         return factory.getTransactionDao().getPage(accountId, itemsNumber, page);
     }
 
+    /**
+     * Returns the number of transactions pages of account, there is always at least one page.
+     */
+    public int getTransactionsPagesNumber(Long accountId, int itemsNumber) {
+        int transactionsNumber = factory.getTransactionDao().getTransactionsNumber(accountId);
+        return Math.max(1, transactionsNumber % itemsNumber == 0 ? transactionsNumber / itemsNumber : (transactionsNumber / itemsNumber) + 1);
+    }
+
+    public int getTransactionsPage(Long accountId, int itemsNumber, int page, Consumer<Transaction> consumer) {
+        return factory.getTransactionDao().getPage(accountId, itemsNumber, page, consumer);
+    }
+
+    public void exportTransactions(Long accountId, LocalDateTime from, LocalDateTime to, Consumer<Transaction> consumer) {
+        factory.getTransactionDao().getAccountTransactions(accountId, from, to, consumer);
+    }
+
     public PageDto<Request> getRequestsPage(int itemsNumber, int page) {
         return factory.getRequestDao().getPage(itemsNumber, page);
     }
@@ -3,8 +3,15 @@ package ua.training.model.service;
 import ua.training.model.entity.Currency;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Optional;
 
 public interface CurrencyExchangeService {
     Currency getBase();
     BigDecimal exchangeRate(Currency from, Currency to);
+    Optional<BigDecimal> exchangeRate(Currency from, Currency to, Instant time);
+
+    LocalDateTime getLastUpdate();
+    boolean isRatesStale();
 }
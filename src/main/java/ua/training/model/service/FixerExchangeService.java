@@ -6,33 +6,51 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import ua.training.model.entity.Currency;
+import ua.training.model.service.util.CircuitBreaker;
 import ua.training.model.service.util.FixerUtil;
+import ua.training.model.service.util.RateHistory;
+import ua.training.model.service.util.RatesStore;
 
 import javax.annotation.PostConstruct;
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.MathContext;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.ResourceBundle;
-import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
- * This service provides currency exchange rates.
+ * This service provides currency exchange rates. Rates are kept as immutable snapshot read without locks. When
+ * snapshot gets outdated, single asynchronous refresh is started and new rates are swapped in from its completion
+ * callback, meanwhile (and while fixer.io is unhealthy) last known rates are served. Failed refresh postpones the next
+ * one by cooldown, so stale rates don't start request on every call.
  * @author Oleksii Shevchenko
  */
 @Service
-public class FixerExchangeService implements CurrencyExchangeService {
+public class FixerExchangeService implements CurrencyExchangeService, WarmUpTask {
     private static Logger logger = LogManager.getLogger(FixerExchangeService.class);
 
     private FixerUtil fixerUtil;
+    private RatesStore ratesStore;
+    private RateHistory rateHistory;
     private ResourceBundle bundle;
 
-    private ReadWriteLock lock;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private final AtomicBoolean breakerOpenReported = new AtomicBoolean();
 
     private long validationTime;
-    private LocalDateTime lastUpdate;
+    private long refreshCooldown;
+    private volatile long retryAfter;
+    private volatile LocalDateTime lastUpdate;
 
-    private Map<Currency, BigDecimal> exchangeRates;
+    private volatile Map<Currency, BigDecimal> exchangeRates;
     private Currency base;
 
     @Autowired
@@ -41,9 +59,13 @@ public class FixerExchangeService implements CurrencyExchangeService {
     }
 
     @Autowired
-    @Qualifier("lock")
-    public void setLock(ReadWriteLock lock) {
-        this.lock = lock;
+    public void setRatesStore(RatesStore ratesStore) {
+        this.ratesStore = ratesStore;
+    }
+
+    @Autowired
+    public void setRateHistory(RateHistory rateHistory) {
+        this.rateHistory = rateHistory;
     }
 
     @Autowired
@@ -52,13 +74,37 @@ public class FixerExchangeService implements CurrencyExchangeService {
         this.bundle = bundle;
     }
 
+    /**
+     * Starts with rates saved by last successful update (or default ones if there are no such), they are refreshed
+     * during warm-up, so startup never waits for fixer.io.
+     */
     @PostConstruct
     public void init() {
-        lastUpdate = LocalDateTime.now();
         base = Currency.valueOf(bundle.getString("fixer.api.base"));
         validationTime = Long.valueOf(bundle.getString("fixer.api.valid"));
+        refreshCooldown = Long.valueOf(bundle.getString("fixer.refresh.cooldown"));
+
+        Optional<RatesStore.Snapshot> snapshot = ratesStore.load();
+        if (snapshot.isPresent()) {
+            exchangeRates = Collections.unmodifiableMap(new HashMap<>(snapshot.get().getRates()));
+            lastUpdate = snapshot.get().getTime();
+        } else {
+            exchangeRates = Collections.unmodifiableMap(new HashMap<>(fixerUtil.getDefaultRates(base)));
+            lastUpdate = LocalDateTime.MIN;
+        }
+    }
+
+    @Override
+    public String getWarmUpName() {
+        return "exchangeRates";
+    }
 
-        exchangeRates = fixerUtil.getRatesOrDefault(base);
+    /**
+     * Waits for the first refresh. Its failure doesn't fail warm-up, as last known rates are served meanwhile.
+     */
+    @Override
+    public void warmUp() {
+        refreshRates().join();
     }
 
     @Override
@@ -66,47 +112,117 @@ public class FixerExchangeService implements CurrencyExchangeService {
         return base;
     }
 
+    @Override
+    public LocalDateTime getLastUpdate() {
+        return lastUpdate;
+    }
+
     /**
-     * Return exchange rate from one currency to another.
+     * Checks if served rates are older than validation time, that is fixer.io is unavailable for a while.
+     * @return Are rates stale.
+     */
+    @Override
+    public boolean isRatesStale() {
+        return fixerUtil.isRatesNotValid(lastUpdate, validationTime);
+    }
+
+    /**
+     * Return exchange rate from one currency to another. Refresh of stale rates is started unless previous one failed
+     * less than cooldown ago.
      * @param from Currency from witch exchanging.
      * @param to Currency to witch exchanging.
      * @return Exchange rate.
      */
     @Override
     public BigDecimal exchangeRate(Currency from, Currency to) {
-        try {
-            lock.readLock().lock();
-            updateRates();
-            return competeRate(from, to);
-        } finally {
-            lock.readLock().unlock();
+        if (fixerUtil.isRatesNotValid(lastUpdate, validationTime) && System.currentTimeMillis() >= retryAfter) {
+            refreshRates();
         }
+        return competeRate(exchangeRates, from, to);
     }
 
-    private BigDecimal competeRate(Currency from, Currency to) {
+    /**
+     * Return exchange rate that was in effect at specified moment. Rates aren't known for moments before the first
+     * recorded update, current rates are never substituted for them.
+     * @param from Currency from witch exchanging.
+     * @param to Currency to witch exchanging.
+     * @param time Targeted moment.
+     * @return Exchange rate or empty if moment is outside of recorded history.
+     */
+    @Override
+    public Optional<BigDecimal> exchangeRate(Currency from, Currency to, Instant time) {
+        return rateHistory.exchangeRate(from, to, time);
+    }
+
+    private BigDecimal competeRate(Map<Currency, BigDecimal> rates, Currency from, Currency to) {
         if (from.equals(base)) {
-            return exchangeRates.get(to);
+            return rates.get(to);
         } else {
-            return exchangeRates.get(to).divide(exchangeRates.get(from), MathContext.DECIMAL128);
+            return rates.get(to).divide(rates.get(from), MathContext.DECIMAL128);
         }
     }
 
-    private void updateRates() {
-        if (fixerUtil.isRatesNotValid(lastUpdate, validationTime)) {
-            lock.readLock().unlock();
+    /**
+     * Starts refresh unless one is running. Flag of running refresh is reset whatever happens, as refresh left marked
+     * as running would freeze rates for good.
+     */
+    private CompletableFuture<Void> refreshRates() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CompletableFuture<Map<Currency, BigDecimal>> request;
+        try {
+            request = fixerUtil.requestRatesAsync();
+        } catch (RuntimeException exception) {
+            refreshing.set(false);
+            refreshFailed("Rates update can't be started. Last known rates are served", exception);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return request.handle((rates, exception) -> {
             try {
-                lock.writeLock().lock();
-                if (fixerUtil.isRatesNotValid(lastUpdate, validationTime)) {
-                    exchangeRates = fixerUtil.makeRequest(fixerUtil.getRequestUri());
+                if (exception == null) {
+                    exchangeRates = Collections.unmodifiableMap(new HashMap<>(rates));
                     lastUpdate = LocalDateTime.now();
+                    saveRates(exchangeRates, lastUpdate);
+                    breakerOpenReported.set(false);
+                    rateHistory.append(exchangeRates, Instant.now());
+                } else {
+                    refreshFailed("Error while updating rates. Last known rates are served", exception);
                 }
-            } catch (Exception exception) {
-                lastUpdate = LocalDateTime.now();
-                logger.error("Error while updating rates. Validation time of old rates is extended");
+            } catch (RuntimeException recordingException) {
+                logger.error("Updated rates can't be recorded", recordingException);
             } finally {
-                lock.writeLock().unlock();
+                refreshing.set(false);
             }
-            lock.readLock().lock();
+            return null;
+        });
+    }
+
+    /**
+     * Postpones next refresh by cooldown. Rejections by open circuit breaker are expected while fixer.io is down, so
+     * they are reported once per opening of breaker, without stack trace.
+     */
+    private void refreshFailed(String message, Throwable exception) {
+        retryAfter = System.currentTimeMillis() + refreshCooldown;
+
+        Throwable cause = exception instanceof CompletionException && exception.getCause() != null
+                ? exception.getCause() : exception;
+
+        if (!(cause instanceof CircuitBreaker.OpenException)) {
+            breakerOpenReported.set(false);
+            logger.error(message, exception);
+        } else if (breakerOpenReported.compareAndSet(false, true)) {
+            logger.warn("Fixer circuit breaker is open. Last known rates are served until it lets requests through");
+        }
+    }
+
+    private void saveRates(Map<Currency, BigDecimal> rates, LocalDateTime time) {
+        try {
+            ratesStore.save(new RatesStore.Snapshot(rates, time));
+        } catch (IOException exception) {
+            logger.error("Rates can't be saved to local store", exception);
         }
     }
 }
@@ -0,0 +1,167 @@
+package ua.training.model.service;
+
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import ua.training.model.dao.factory.DaoFactory;
+import ua.training.model.dao.factory.InMemoryDaoFactory;
+import ua.training.model.dto.HealthDto;
+import ua.training.model.service.util.FixerUtil;
+import ua.training.model.service.util.JobStatistics;
+
+import javax.annotation.PostConstruct;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This service probes node dependencies periodically in background and keeps the result as immutable snapshot, so
+ * health checks are answered without touching db or network. Db isn't probed when daos are in-memory ones, as node
+ * doesn't depend on it then. Probe never waits for connection of exhausted pool, such pool is reported as degraded,
+ * and pool wait is bounded anyway, so probes keep running on shared scheduler.
+ * @author Oleksii Shevchenko
+ */
+@Service
+public class HealthService {
+    private static Logger logger = LogManager.getLogger(HealthService.class);
+
+    private static final int VALIDATION_TIMEOUT = 1;
+
+    private final DataSource dataSource;
+    private final ScheduledExecutorService executorService;
+    private final long probeInterval;
+
+    private DaoFactory daoFactory;
+    private FixerExchangeService exchangeService;
+    private FixerUtil fixerUtil;
+    private JobStatistics jobStatistics;
+    private WarmUpService warmUpService;
+
+    private volatile HealthDto health = new HealthDto();
+
+    @Autowired
+    public HealthService(DataSource dataSource, @Qualifier("standardScheduledExecutor") ScheduledExecutorService executorService,
+                         @Value("${health.probe.interval}") long probeInterval) {
+        this.dataSource = dataSource;
+        this.executorService = executorService;
+        this.probeInterval = probeInterval;
+    }
+
+    @Autowired
+    @Qualifier("daoFactory")
+    public void setDaoFactory(DaoFactory daoFactory) {
+        this.daoFactory = daoFactory;
+    }
+
+    @Autowired
+    public void setExchangeService(FixerExchangeService exchangeService) {
+        this.exchangeService = exchangeService;
+    }
+
+    @Autowired
+    public void setFixerUtil(FixerUtil fixerUtil) {
+        this.fixerUtil = fixerUtil;
+    }
+
+    @Autowired
+    public void setJobStatistics(JobStatistics jobStatistics) {
+        this.jobStatistics = jobStatistics;
+    }
+
+    @Autowired
+    public void setWarmUpService(WarmUpService warmUpService) {
+        this.warmUpService = warmUpService;
+    }
+
+    @PostConstruct
+    public void init() {
+        executorService.scheduleWithFixedDelay(this::probe, 0, probeInterval, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Returns result of the last probe.
+     * @return Health snapshot.
+     */
+    public HealthDto getHealth() {
+        return health;
+    }
+
+    /**
+     * Checks if node can serve requests: warm-up is done and db was reachable on the last probe.
+     * @return Is node ready.
+     */
+    public boolean isReady() {
+        return warmUpService.isReady() && health.isDatabaseUp();
+    }
+
+    void probe() {
+        try {
+            HealthDto probed = new HealthDto();
+            probed.setCheckedAt(LocalDateTime.now());
+
+            probeDatabase(probed);
+            probeRates(probed);
+            probeScheduler(probed);
+            probed.setJobs(jobStatistics.getRuns());
+
+            health = probed;
+        } catch (RuntimeException exception) {
+            logger.error("Health probe failed", exception);
+        }
+    }
+
+    private void probeDatabase(HealthDto probed) {
+        if (daoFactory instanceof InMemoryDaoFactory) {
+            probed.setDatabaseUp(true);
+            return;
+        }
+
+        if (dataSource instanceof BasicDataSource) {
+            BasicDataSource pool = (BasicDataSource) dataSource;
+            probed.setPoolActive(pool.getNumActive());
+            probed.setPoolIdle(pool.getNumIdle());
+            probed.setPoolMax(pool.getMaxTotal());
+
+            if (pool.getMaxTotal() > 0 && pool.getNumActive() >= pool.getMaxTotal()) {
+                logger.warn("Database pool is exhausted: {} active connections", pool.getNumActive());
+                probed.setDatabaseUp(true);
+                probed.setDatabaseDegraded(true);
+                return;
+            }
+        }
+
+        try (Connection connection = dataSource.getConnection()) {
+            probed.setDatabaseUp(connection.isValid(VALIDATION_TIMEOUT));
+        } catch (SQLException exception) {
+            logger.warn("Database is unreachable: {}", exception.getMessage());
+            probed.setDatabaseUp(false);
+        }
+    }
+
+    private void probeRates(HealthDto probed) {
+        probed.setRatesUpdate(exchangeService.getLastUpdate());
+        probed.setRatesStale(exchangeService.isRatesStale());
+        probed.setRatesCircuit(fixerUtil.getCircuitState().name());
+    }
+
+    private void probeScheduler(HealthDto probed) {
+        if (executorService instanceof ScheduledThreadPoolExecutor) {
+            ScheduledThreadPoolExecutor executor = (ScheduledThreadPoolExecutor) executorService;
+
+            probed.setSchedulerQueued(executor.getQueue().size());
+            probed.setSchedulerActive(executor.getActiveCount());
+            probed.setSchedulerOverdue((int) executor.getQueue().stream()
+                    .filter(task -> task instanceof Delayed && ((Delayed) task).getDelay(TimeUnit.MILLISECONDS) < 0)
+                    .count());
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package ua.training.model.service;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import ua.training.model.dao.factory.DaoFactory;
+import ua.training.model.dto.ImportReportDto;
+import ua.training.model.entity.Currency;
+import ua.training.model.entity.Transaction;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+/**
+ * This service imports bank statements with external replenishments. Statement is read line by line and applied by
+ * chunks, so memory used depends only on the chunk size. Every line has format {@code key,accountId,amount,currency},
+ * where key is unique reference of the line used to skip lines imported before. Progress of running imports is kept
+ * by admin id, so it can be polled while import request is still processed.
+ * @see ua.training.model.dao.TransactionDao#importTransactions(List, List)
+ * @author Oleksii Shevchenko
+ */
+@Service
+public class ImportService {
+    private static Logger logger = LogManager.getLogger(ImportService.class);
+
+    private static final String HEADER_PREFIX = "key,";
+    private static final int MAX_KEY_LENGTH = 64;
+    private static final int CHUNK_ATTEMPTS = 2;
+
+    private final DaoFactory factory;
+    private final int chunkSize;
+    private final ConcurrentMap<Long, AtomicLong> progresses = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ImportService(@Qualifier("daoFactory") DaoFactory factory, @Value("${db.import.chunk.size}") int chunkSize) {
+        this.factory = factory;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Imports statement on behalf of admin, the number of processed lines is available by
+     * {@link #getImportProgress(Long)} until import ends.
+     * @param adminId Id of admin importing statement.
+     * @param reader Reader of statement, it is not closed by method.
+     * @return Report of import.
+     * @throws IOException Thrown if statement can't be read.
+     */
+    public ImportReportDto importReplenishments(Long adminId, BufferedReader reader) throws IOException {
+        AtomicLong progress = new AtomicLong();
+        progresses.put(adminId, progress);
+
+        try {
+            return importReplenishments(reader, linesNumber -> {
+                progress.set(linesNumber);
+                logger.info("Admin {} import progress: {} lines", adminId, linesNumber);
+            });
+        } finally {
+            progresses.remove(adminId, progress);
+        }
+    }
+
+    /**
+     * Returns the number of lines processed by running import of admin, the last started one if there are several.
+     * @param adminId Id of admin importing statement.
+     * @return The number of processed lines or empty if admin has no running import.
+     */
+    public OptionalLong getImportProgress(Long adminId) {
+        AtomicLong progress = progresses.get(adminId);
+        return progress == null ? OptionalLong.empty() : OptionalLong.of(progress.get());
+    }
+
+    /**
+     * Imports statement from reader.
+     * @param reader Reader of statement, it is not closed by method.
+     * @param progress Consumer of the number of lines processed, called after every chunk.
+     * @return Report of import.
+     * @throws IOException Thrown if statement can't be read.
+     */
+    public ImportReportDto importReplenishments(BufferedReader reader, LongConsumer progress) throws IOException {
+        ImportReportDto report = new ImportReportDto();
+
+        List<Long> lineNumbers = new ArrayList<>(chunkSize);
+        List<String> keys = new ArrayList<>(chunkSize);
+        List<Transaction> transactions = new ArrayList<>(chunkSize);
+
+        long lineNumber = 0;
+        String line;
+
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+
+            if (line.isEmpty() || (lineNumber == 1 && line.startsWith(HEADER_PREFIX))) {
+                continue;
+            }
+
+            String[] fields = line.split(",", -1);
+            Transaction transaction = fields.length == 4 ? parseTransaction(fields) : null;
+
+            if (transaction == null || fields[0].isEmpty() || fields[0].length() > MAX_KEY_LENGTH) {
+                report.addOutcome(lineNumber, ImportReportDto.Outcome.MALFORMED_LINE);
+                continue;
+            }
+
+            lineNumbers.add(lineNumber);
+            keys.add(fields[0]);
+            transactions.add(transaction);
+
+            if (transactions.size() == chunkSize) {
+                applyChunk(lineNumbers, keys, transactions, report);
+                progress.accept(lineNumber);
+            }
+        }
+
+        applyChunk(lineNumbers, keys, transactions, report);
+        progress.accept(lineNumber);
+
+        logger.info("Statement imported: {} applied, {} duplicates, {} failed", report.getAppliedNumber(), report.getDuplicatesNumber(), report.getFailuresNumber());
+
+        return report;
+    }
+
+    private void applyChunk(List<Long> lineNumbers, List<String> keys, List<Transaction> transactions, ImportReportDto report) {
+        if (transactions.isEmpty()) {
+            return;
+        }
+
+        List<ImportReportDto.Outcome> outcomes = importChunk(keys, transactions);
+
+        for (int i = 0; i < lineNumbers.size(); i++) {
+            report.addOutcome(lineNumbers.get(i), outcomes == null ? ImportReportDto.Outcome.NOT_APPLIED : outcomes.get(i));
+        }
+
+        lineNumbers.clear();
+        keys.clear();
+        transactions.clear();
+    }
+
+    /**
+     * Applies chunk, failed chunk is tried once again, as it may conflict with concurrent import of the same lines.
+     * @return Outcomes of chunk lines or null if chunk isn't applied, so its lines are reported instead of failing
+     * the whole import.
+     */
+    private List<ImportReportDto.Outcome> importChunk(List<String> keys, List<Transaction> transactions) {
+        for (int attempt = 1; attempt <= CHUNK_ATTEMPTS; attempt++) {
+            try {
+                return factory.getTransactionDao().importTransactions(keys, transactions);
+            } catch (RuntimeException exception) {
+                logger.error("Chunk of {} lines is not applied, attempt {}", transactions.size(), attempt, exception);
+            }
+        }
+
+        return null;
+    }
+
+    private Transaction parseTransaction(String[] fields) {
+        try {
+            long accountId = Long.parseLong(fields[1].trim());
+            BigDecimal amount = new BigDecimal(fields[2].trim());
+            Currency currency = Currency.valueOf(fields[3].trim());
+
+            if (amount.signum() <= 0) {
+                return null;
+            }
+
+            return Transaction.getBuilder()
+                    .setSender(accountId)
+                    .setReceiver(accountId)
+                    .setType(Transaction.Type.EXTERNAL)
+                    .setAmount(amount)
+                    .setCurrency(currency)
+                    .build();
+        } catch (IllegalArgumentException exception) {
+            return null;
+        }
+    }
+}
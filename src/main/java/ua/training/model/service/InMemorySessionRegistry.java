@@ -0,0 +1,65 @@
+package ua.training.model.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementation of {@link SessionRegistry} for single node, sessions are kept in concurrent map. Entries older than
+ * time to live are evicted while registering new ones, so the map is bounded by the number of recently signed in users.
+ * @author Oleksii Shevchenko
+ */
+@Lazy
+@Service("memorySessionRegistry")
+public class InMemorySessionRegistry implements SessionRegistry {
+    private final ConcurrentMap<String, Entry> sessions = new ConcurrentHashMap<>();
+    private final long timeToLive;
+
+    private volatile long nextEviction;
+
+    private static class Entry {
+        private final String sessionId;
+        private final long registeredAt;
+
+        private Entry(String sessionId, long registeredAt) {
+            this.sessionId = sessionId;
+            this.registeredAt = registeredAt;
+        }
+    }
+
+    @Autowired
+    public InMemorySessionRegistry(@Value("${session.registry.ttl}") long timeToLive) {
+        this.timeToLive = TimeUnit.SECONDS.toMillis(timeToLive);
+    }
+
+    @Override
+    public void register(String login, String sessionId) {
+        long now = System.currentTimeMillis();
+
+        sessions.put(login, new Entry(sessionId, now));
+
+        if (now >= nextEviction) {
+            nextEviction = now + timeToLive;
+            sessions.values().removeIf(entry -> entry.registeredAt + timeToLive < now);
+        }
+    }
+
+    @Override
+    public boolean isCurrent(String login, String sessionId) {
+        Entry entry = sessions.get(login);
+        return Objects.isNull(entry) || entry.sessionId.equals(sessionId);
+    }
+
+    @Override
+    public void revoke(String login, String sessionId) {
+        long now = System.currentTimeMillis();
+
+        sessions.computeIfPresent(login, (key, entry) -> entry.sessionId.equals(sessionId) ? new Entry(REVOKED, now) : entry);
+    }
+}
@@ -0,0 +1,49 @@
+package ua.training.model.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import ua.training.model.dao.factory.DaoFactory;
+import ua.training.model.dto.InvoiceDto;
+import ua.training.model.entity.Invoice;
+
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * This service reads invoices of account page by page. Invoices of both directions and holder check are read in one
+ * query, next page starts after the last shown invoice id.
+ * @see ua.training.model.dao.InvoiceDao#getInvoicesPage
+ * @author Oleksii Shevchenko
+ */
+@Service
+public class InvoiceQueryService {
+    private final DaoFactory factory;
+    private final int pageSize;
+
+    @Autowired
+    public InvoiceQueryService(@Qualifier("daoFactory") DaoFactory factory, @Value("${invoices.page.size}") int pageSize) {
+        this.factory = factory;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Returns page of account invoices.
+     * @param holderId User that must be holder of the account.
+     * @param accountId Targeted account.
+     * @param statuses Statuses of returned invoices, empty means all statuses.
+     * @param payerAfter Key of the page of invoices as payer, null means the first page.
+     * @param requesterAfter Key of the page of invoices as requester, null means the first page.
+     * @return Invoices or empty if the user isn't holder of the account.
+     */
+    public Optional<InvoiceDto> getInvoices(Long holderId, Long accountId, Set<Invoice.Status> statuses,
+                                            Long payerAfter, Long requesterAfter) {
+        return factory.getInvoiceDao().getInvoicesPage(holderId, accountId,
+                statuses.isEmpty() ? EnumSet.allOf(Invoice.Status.class) : statuses,
+                payerAfter == null ? Long.MAX_VALUE : payerAfter,
+                requesterAfter == null ? Long.MAX_VALUE : requesterAfter,
+                pageSize);
+    }
+}
@@ -1,39 +1,123 @@
 package ua.training.model.service;
 
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Lookup;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import ua.training.model.dao.InvoiceDao;
+import ua.training.model.dao.TransactionDao;
 import ua.training.model.dao.factory.DaoFactory;
 import ua.training.model.entity.Account;
 import ua.training.model.entity.DepositAccount;
 import ua.training.model.service.producers.DepositUpdater;
+import ua.training.model.service.util.JobStatistics;
 
-import javax.annotation.PostConstruct;
+import javax.sql.DataSource;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
- * This service performs periodic or scheduled tasks in system.
+ * This service performs periodic or scheduled tasks in system. Tasks of existing accounts are registered during
+ * warm-up, so startup doesn't wait for loading all active accounts. Stale invoices are periodically expired to archive,
+ * and transactions older than archive horizon are moved to monthly archive tables.
  * @author Oleksii Shevchenko
  */
 @Service
-public class ScheduledTaskService {
+public class ScheduledTaskService implements WarmUpTask {
+    private static Logger logger = LogManager.getLogger(ScheduledTaskService.class);
+
     private final ScheduledExecutorService executorService;
     private final DaoFactory daoFactory;
 
+    private JobStatistics jobStatistics;
+    private DataSource dataSource;
+
+    private int expiryDays;
+    private long sweepPeriod;
+    private int sweepChunk;
+    private long sweepPause;
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+
+    private int archiveHorizon;
+    private long archivePeriod;
+    private int archiveChunk;
+    private long archivePause;
+    private final AtomicBoolean archiving = new AtomicBoolean();
+
     @Autowired
-    public ScheduledTaskService(ScheduledExecutorService executorService, @Qualifier("jdbcDaoFactory") DaoFactory daoFactory) {
+    public ScheduledTaskService(ScheduledExecutorService executorService, @Qualifier("daoFactory") DaoFactory daoFactory) {
         this.executorService = executorService;
         this.daoFactory = daoFactory;
     }
 
-    @PostConstruct
-    public void init() {
-        System.err.println(daoFactory);
+    @Autowired
+    public void setJobStatistics(JobStatistics jobStatistics) {
+        this.jobStatistics = jobStatistics;
+    }
+
+    @Autowired
+    public void setDataSource(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Value("${invoices.expiry.days}")
+    public void setExpiryDays(int expiryDays) {
+        this.expiryDays = expiryDays;
+    }
+
+    @Value("${invoices.sweep.period}")
+    public void setSweepPeriod(long sweepPeriod) {
+        this.sweepPeriod = sweepPeriod;
+    }
+
+    @Value("${invoices.sweep.chunk}")
+    public void setSweepChunk(int sweepChunk) {
+        this.sweepChunk = sweepChunk;
+    }
+
+    @Value("${invoices.sweep.pause}")
+    public void setSweepPause(long sweepPause) {
+        this.sweepPause = sweepPause;
+    }
+
+    @Value("${transactions.archive.horizon.months}")
+    public void setArchiveHorizon(int archiveHorizon) {
+        this.archiveHorizon = archiveHorizon;
+    }
+
+    @Value("${transactions.archive.period}")
+    public void setArchivePeriod(long archivePeriod) {
+        this.archivePeriod = archivePeriod;
+    }
+
+    @Value("${transactions.archive.chunk}")
+    public void setArchiveChunk(int archiveChunk) {
+        this.archiveChunk = archiveChunk;
+    }
+
+    @Value("${transactions.archive.pause}")
+    public void setArchivePause(long archivePause) {
+        this.archivePause = archivePause;
+    }
+
+    @Override
+    public String getWarmUpName() {
+        return "scheduledTasks";
+    }
+
+    @Override
+    public void warmUp() {
         List<Account> accounts = daoFactory.getAccountDao().getActiveAccounts();
 
         for (Account account : accounts) {
@@ -44,6 +128,133 @@ public class ScheduledTaskService {
                 registerDeposit(account);
             }
         }
+
+        executorService.scheduleWithFixedDelay(this::sweepInvoices, sweepPeriod, sweepPeriod, TimeUnit.HOURS);
+
+        if (archiveHorizon > 0) {
+            executorService.scheduleWithFixedDelay(this::archiveTransactions, archivePeriod, archivePeriod, TimeUnit.HOURS);
+        }
+    }
+
+    /**
+     * Starts expiry of invoices that are processing longer than {@code expiryDays}. Invoices are expired by chunks of
+     * id range, every chunk is short db transaction scheduled after pause, so sweep holds neither pool connection nor
+     * scheduler thread between chunks. The next sweep isn't started until the previous one is finished.
+     */
+    void sweepInvoices() {
+        if (!sweeping.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            InvoiceDao invoiceDao = daoFactory.getInvoiceDao();
+            long maxId = invoiceDao.getMaxInvoiceId();
+            LocalDateTime createdBefore = LocalDateTime.now().minusDays(expiryDays);
+
+            logger.info("Invoice sweep is started for ids up to {}", maxId);
+            sweepInvoices(invoiceDao, invoiceDao.getMinInvoiceId(), maxId, createdBefore, 0);
+        } catch (RuntimeException exception) {
+            sweeping.set(false);
+            logger.error("Failed to start invoice sweep", exception);
+        }
+    }
+
+    private void sweepInvoices(InvoiceDao invoiceDao, long fromId, long maxId, LocalDateTime createdBefore, long expired) {
+        if (maxId == 0 || fromId > maxId) {
+            sweeping.set(false);
+            logger.info("Invoice sweep is finished, {} invoices are expired", expired);
+            return;
+        }
+
+        if (isPoolBusy()) {
+            executorService.schedule(() -> sweepInvoices(invoiceDao, fromId, maxId, createdBefore, expired),
+                    sweepPause * 10, TimeUnit.MILLISECONDS);
+            return;
+        }
+
+        long toId = Math.min(fromId + sweepChunk - 1, maxId);
+        int[] chunkExpired = new int[1];
+        try {
+            jobStatistics.record("invoiceExpiry", () -> chunkExpired[0] = invoiceDao.expireInvoices(fromId, toId, createdBefore));
+        } catch (RuntimeException exception) {
+            sweeping.set(false);
+            logger.error("Invoice sweep is stopped at id {}", fromId, exception);
+            return;
+        }
+
+        executorService.schedule(() -> sweepInvoices(invoiceDao, toId + 1, maxId, createdBefore, expired + chunkExpired[0]),
+                sweepPause, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Starts archival of whole months older than {@code archiveHorizon} months, from the oldest transaction. Like
+     * invoice sweep, transactions are moved by short chunks scheduled after pause, month archive is completed when
+     * it has nothing left to move.
+     */
+    void archiveTransactions() {
+        if (archiveHorizon <= 0 || !archiving.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            TransactionDao transactionDao = daoFactory.getTransactionDao();
+            YearMonth horizon = YearMonth.now().minusMonths(archiveHorizon);
+            Optional<YearMonth> oldest = transactionDao.getOldestTransactionTime().map(YearMonth::from);
+
+            if (!oldest.isPresent() || !oldest.get().isBefore(horizon)) {
+                archiving.set(false);
+                return;
+            }
+
+            logger.info("Transaction archival is started for months from {} to {}", oldest.get(), horizon.minusMonths(1));
+            archiveTransactions(transactionDao, oldest.get(), horizon, 0);
+        } catch (RuntimeException exception) {
+            archiving.set(false);
+            logger.error("Failed to start transaction archival", exception);
+        }
+    }
+
+    private void archiveTransactions(TransactionDao transactionDao, YearMonth month, YearMonth horizon, long archived) {
+        if (!month.isBefore(horizon)) {
+            archiving.set(false);
+            logger.info("Transaction archival is finished, {} transactions are archived", archived);
+            return;
+        }
+
+        if (isPoolBusy()) {
+            executorService.schedule(() -> archiveTransactions(transactionDao, month, horizon, archived),
+                    archivePause * 10, TimeUnit.MILLISECONDS);
+            return;
+        }
+
+        int[] chunkArchived = new int[1];
+        try {
+            jobStatistics.record("transactionArchival", () -> {
+                chunkArchived[0] = transactionDao.archiveTransactions(month, archiveChunk);
+                if (chunkArchived[0] == 0) {
+                    transactionDao.completeArchive(month);
+                }
+            });
+        } catch (RuntimeException exception) {
+            archiving.set(false);
+            logger.error("Transaction archival is stopped at {}", month, exception);
+            return;
+        }
+
+        YearMonth next = chunkArchived[0] == 0 ? month.plusMonths(1) : month;
+        executorService.schedule(() -> archiveTransactions(transactionDao, next, horizon, archived + chunkArchived[0]),
+                archivePause, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Checks if at least half of pool connections are in use by online requests.
+     */
+    private boolean isPoolBusy() {
+        if (dataSource instanceof BasicDataSource) {
+            BasicDataSource pool = (BasicDataSource) dataSource;
+            return pool.getNumActive() * 2 >= pool.getMaxTotal();
+        }
+        return false;
     }
 
     /**
@@ -66,11 +277,11 @@ public class ScheduledTaskService {
     }
 
     private void registerAccountBlocking(Account account, DaoFactory factory) {
-        executorService.schedule(() -> factory.getAccountDao().blockAccount(account.getId()), computeDelay(account.getExpiresEnd()), TimeUnit.DAYS);
+        executorService.schedule(() -> jobStatistics.record("accountBlocking", () -> factory.getAccountDao().blockAccount(account.getId())), computeDelay(account.getExpiresEnd()), TimeUnit.DAYS);
     }
 
     private void registerAccountClosing(Account account, DaoFactory factory) {
-        executorService.schedule(() -> factory.getAccountDao().closeAccount(account.getId()), computeDelay(account.getExpiresEnd()) + 1, TimeUnit.DAYS);
+        executorService.schedule(() -> jobStatistics.record("accountClosing", () -> factory.getAccountDao().closeAccount(account.getId())), computeDelay(account.getExpiresEnd()) + 1, TimeUnit.DAYS);
     }
 
     private long computeDelay(LocalDate endDate) {
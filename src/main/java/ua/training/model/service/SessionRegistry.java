@@ -0,0 +1,41 @@
+package ua.training.model.service;
+
+/**
+ * Registry of signed in users sessions that keeps single session per login. Signing in replaces previous session of
+ * the login, and replaced sessions are closed when they are used next time, so the registry works the same way when
+ * sessions are spread over several nodes.
+ * @see InMemorySessionRegistry
+ * @see ua.training.model.dao.jdbc.JdbcSessionRegistry
+ * @author Oleksii Shevchenko
+ */
+public interface SessionRegistry {
+    /**
+     * Session id kept for login signed out by {@link #revoke}, it never matches id of real session.
+     */
+    String REVOKED = "revoked";
+
+    /**
+     * Makes session the current one for login.
+     * @param login User login.
+     * @param sessionId Id of new session.
+     */
+    void register(String login, String sessionId);
+
+    /**
+     * Checks if session is not replaced by another one. Sessions of logins evicted from registry are treated as
+     * current.
+     * @param login User login.
+     * @param sessionId Id of checked session.
+     * @return Is session current.
+     */
+    boolean isCurrent(String login, String sessionId);
+
+    /**
+     * Replaces session in registry with {@link #REVOKED} tombstone, if it is still the current one for login. Entry
+     * is never deleted before eviction, so neither signed out session (signed token can be replayed) nor sessions it
+     * replaced become current again.
+     * @param login User login.
+     * @param sessionId Id of signed out or destroyed session.
+     */
+    void revoke(String login, String sessionId);
+}
@@ -0,0 +1,115 @@
+package ua.training.model.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import ua.training.model.dao.factory.DaoFactory;
+import ua.training.model.dto.TransferQuoteDto;
+import ua.training.model.entity.Account;
+import ua.training.model.entity.Currency;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * This service previews transfers before they are made. Quotes are computed from current exchange rates and account
+ * snapshots cached for short time, so quoting makes no db writes and in most cases no db reads at all. Quote may
+ * differ from the result of transfer by changes made during cache time to live.
+ * @see TransferQuoteDto
+ * @author Oleksii Shevchenko
+ */
+@Service
+public class TransferQuoteService {
+    private static final int MAX_CACHED_ACCOUNTS = 10_000;
+
+    private final DaoFactory factory;
+    private final long timeToLive;
+
+    private CurrencyExchangeService exchangeService;
+
+    private final ConcurrentMap<Long, CachedAccount> accounts = new ConcurrentHashMap<>();
+
+    private static class CachedAccount {
+        private final Account account;
+        private final long expiresAt;
+
+        private CachedAccount(Account account, long expiresAt) {
+            this.account = account;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    @Autowired
+    public TransferQuoteService(@Qualifier("daoFactory") DaoFactory factory, @Value("2000") long timeToLive) {
+        this.factory = factory;
+        this.timeToLive = timeToLive;
+    }
+
+    @Autowired
+    public void setExchangeService(CurrencyExchangeService exchangeService) {
+        this.exchangeService = exchangeService;
+    }
+
+    /**
+     * Computes quote of transfer according to sender account policy.
+     * @param senderId Sender account.
+     * @param receiverId Receiver account.
+     * @param amount Amount of transfer.
+     * @param currency Currency of transfer.
+     * @return Quote of transfer.
+     */
+    public TransferQuoteDto quoteTransfer(Long senderId, Long receiverId, BigDecimal amount, Currency currency) {
+        Account sender = getAccount(senderId);
+        Account receiver = getAccount(receiverId);
+
+        BigDecimal withdrawAmount = amount.multiply(exchangeService.exchangeRate(currency, sender.getCurrency()));
+        BigDecimal balance = sender.getBalance().subtract(withdrawAmount);
+        BigDecimal fee = sender.computeWithdrawFee(balance);
+
+        TransferQuoteDto quote = new TransferQuoteDto();
+        quote.setSenderCurrency(sender.getCurrency());
+        quote.setWithdrawAmount(withdrawAmount.setScale(2, RoundingMode.CEILING));
+        quote.setFee(fee.setScale(2, RoundingMode.CEILING));
+        quote.setResultingBalance(balance.subtract(fee).setScale(2, RoundingMode.FLOOR));
+        quote.setReceiverCurrency(receiver.getCurrency());
+        quote.setCreditedAmount(amount.multiply(exchangeService.exchangeRate(currency, receiver.getCurrency()))
+                .setScale(2, RoundingMode.FLOOR));
+        quote.setAllowed(!sender.isNonActive() && !receiver.isNonActive() && sender.isAllowedBalance(balance));
+
+        return quote;
+    }
+
+    /**
+     * Returns account snapshot from cache, loading it if it is missing or expired. When cache is full of live entries,
+     * new account is loaded without caching, so cache never grows beyond {@code MAX_CACHED_ACCOUNTS}.
+     * @param accountId Targeted account.
+     * @return Account snapshot, must not be modified.
+     */
+    public Account getAccount(Long accountId) {
+        long now = System.currentTimeMillis();
+
+        CachedAccount cached = accounts.get(accountId);
+        if (cached == null || cached.expiresAt < now) {
+            if (cached == null && accounts.size() >= MAX_CACHED_ACCOUNTS) {
+                accounts.values().removeIf(entry -> entry.expiresAt < now);
+            }
+
+            Account account = factory.getAccountDao().get(accountId);
+            if (cached == null && accounts.size() >= MAX_CACHED_ACCOUNTS) {
+                return account;
+            }
+
+            cached = new CachedAccount(account, now + timeToLive);
+            accounts.put(accountId, cached);
+        }
+
+        return cached.account;
+    }
+
+    int getCachedAccountsNumber() {
+        return accounts.size();
+    }
+}
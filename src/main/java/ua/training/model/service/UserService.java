@@ -20,7 +20,7 @@ public class UserService {
     private DaoFactory factory;
 
     @Autowired
-    public UserService(@Qualifier("jdbcDaoFactory") DaoFactory factory) {
+    public UserService(@Qualifier("daoFactory") DaoFactory factory) {
         this.factory = factory;
     }
 
@@ -0,0 +1,113 @@
+package ua.training.model.service;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This service runs {@link WarmUpTask}s in parallel on background executor once context is refreshed and keeps their
+ * states and durations for readiness checks. Failed task is retried with doubling delay until it is done, so node
+ * started while db is unreachable gets ready once db is back. Task is marked as failed only when executor rejects
+ * its retry (it is shut down).
+ * @author Oleksii Shevchenko
+ */
+@Service
+public class WarmUpService {
+    private static Logger logger = LogManager.getLogger(WarmUpService.class);
+
+    private ScheduledExecutorService executorService;
+    private List<WarmUpTask> tasks = List.of();
+    private long retryDelay = 1000;
+    private long maxRetryDelay = 60_000;
+
+    private final Map<String, State> states = new ConcurrentHashMap<>();
+    private final Map<String, Long> durations = new ConcurrentHashMap<>();
+
+    public enum State {
+        PENDING, RUNNING, RETRYING, DONE, FAILED
+    }
+
+    @Autowired
+    @Qualifier("standardScheduledExecutor")
+    public void setExecutorService(ScheduledExecutorService executorService) {
+        this.executorService = executorService;
+    }
+
+    @Autowired(required = false)
+    public void setTasks(List<WarmUpTask> tasks) {
+        this.tasks = tasks;
+    }
+
+    @Value("${warmup.retry.delay}")
+    public void setRetryDelay(long retryDelay) {
+        this.retryDelay = retryDelay;
+    }
+
+    @Value("${warmup.retry.max.delay}")
+    public void setMaxRetryDelay(long maxRetryDelay) {
+        this.maxRetryDelay = maxRetryDelay;
+    }
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void start() {
+        tasks.forEach(task -> states.put(task.getWarmUpName(), State.PENDING));
+        tasks.forEach(task -> executorService.execute(() -> run(task, System.nanoTime(), 1)));
+    }
+
+    /**
+     * Checks if all warm-up tasks are done.
+     * @return Is application ready.
+     */
+    public boolean isReady() {
+        return states.values().stream().allMatch(State.DONE::equals);
+    }
+
+    public Map<String, State> getStates() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(states));
+    }
+
+    public Map<String, Long> getDurations() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(durations));
+    }
+
+    private void run(WarmUpTask task, long start, int attempt) {
+        String name = task.getWarmUpName();
+
+        states.put(name, State.RUNNING);
+
+        try {
+            task.warmUp();
+            states.put(name, State.DONE);
+        } catch (Exception exception) {
+            long delay = Math.min(retryDelay << Math.min(attempt - 1, 30), maxRetryDelay);
+            logger.error("Warm-up task {} failed on attempt {}, it is retried in {} ms", name, attempt, delay, exception);
+
+            try {
+                states.put(name, State.RETRYING);
+                executorService.schedule(() -> run(task, start, attempt + 1), delay, TimeUnit.MILLISECONDS);
+                return;
+            } catch (RejectedExecutionException rejected) {
+                states.put(name, State.FAILED);
+                logger.error("Warm-up task {} is not retried, executor is shut down", name);
+            }
+        }
+
+        durations.put(name, (System.nanoTime() - start) / 1_000_000);
+        logger.info("Warm-up task {} is finished with state {} in {} ms after {} attempts", name, states.get(name),
+                durations.get(name), attempt);
+    }
+}
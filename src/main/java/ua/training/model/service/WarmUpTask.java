@@ -0,0 +1,13 @@
+package ua.training.model.service;
+
+/**
+ * Heavy initialization performed in background after application context is started, so startup doesn't wait for
+ * it. Application is reported ready when all tasks are done.
+ * @see WarmUpService
+ * @author Oleksii Shevchenko
+ */
+public interface WarmUpTask {
+    String getWarmUpName();
+
+    void warmUp() throws Exception;
+}
@@ -11,6 +11,7 @@ import ua.training.model.entity.Account;
 import ua.training.model.entity.DepositAccount;
 import ua.training.model.entity.Transaction;
 import ua.training.model.exception.CancelingTaskException;
+import ua.training.model.service.util.JobStatistics;
 
 import java.math.BigDecimal;
 import java.util.Optional;
@@ -28,13 +29,19 @@ public class DepositUpdater implements TransactionProducer, Runnable{
     private static Logger logger = LogManager.getLogger(DepositUpdater.class);
 
     private DaoFactory factory;
+    private JobStatistics jobStatistics;
     private Long accountId;
 
     @Autowired
-    public DepositUpdater(@Qualifier("jdbcDaoFactory") DaoFactory factory) {
+    public DepositUpdater(@Qualifier("daoFactory") DaoFactory factory) {
         this.factory = factory;
     }
 
+    @Autowired
+    public void setJobStatistics(JobStatistics jobStatistics) {
+        this.jobStatistics = jobStatistics;
+    }
+
     public DepositUpdater setAccountId(Long accountId) {
         this.accountId = accountId;
         return this;
@@ -80,12 +87,12 @@ public class DepositUpdater implements TransactionProducer, Runnable{
     @Override
     public void run() {
         try {
-            factory.getTransactionDao().makeTransaction(accountId, this::produce);
+            jobStatistics.record("depositUpdate", () -> factory.getTransactionDao().makeTransaction(accountId, this::produce));
         } catch (CancelingTaskException exception) {
-            logger.error(exception);
+            logger.error("Failed to update deposit account {}", accountId, exception);
             throw new RuntimeException(exception);
         } catch (RuntimeException exception) {
-            logger.error(exception);
+            logger.error("Failed to update deposit account {}", accountId, exception);
         }
     }
 }
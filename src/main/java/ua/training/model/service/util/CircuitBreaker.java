@@ -0,0 +1,72 @@
+package ua.training.model.service.util;
+
+import java.time.Clock;
+
+/**
+ * Simple circuit breaker guarding calls to unhealthy remote service. After {@code failureThreshold} failures in a row
+ * breaker opens and rejects calls for {@code openMillis}, then lets one trial call through: its success closes
+ * breaker, its failure opens it again.
+ * @see FixerUtil
+ * @author Oleksii Shevchenko
+ */
+public class CircuitBreaker {
+    private final int failureThreshold;
+    private final long openMillis;
+    private final Clock clock;
+
+    private State state = State.CLOSED;
+    private int failures;
+    private long openedAt;
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    /**
+     * Failure of call rejected by open breaker, no request is made for it.
+     */
+    public static class OpenException extends RuntimeException {
+        public OpenException(String message) {
+            super(message);
+        }
+    }
+
+    public CircuitBreaker(int failureThreshold, long openMillis) {
+        this(failureThreshold, openMillis, Clock.systemUTC());
+    }
+
+    CircuitBreaker(int failureThreshold, long openMillis, Clock clock) {
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * Checks if call is allowed. Only one trial call is allowed when open period is over.
+     * @return Is call allowed.
+     */
+    public synchronized boolean allowRequest() {
+        if (state == State.OPEN && clock.millis() - openedAt >= openMillis) {
+            state = State.HALF_OPEN;
+            return true;
+        }
+        return state == State.CLOSED;
+    }
+
+    public synchronized void recordSuccess() {
+        state = State.CLOSED;
+        failures = 0;
+    }
+
+    public synchronized void recordFailure() {
+        failures++;
+        if (state == State.HALF_OPEN || failures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = clock.millis();
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+}
@@ -0,0 +1,169 @@
+package ua.training.model.service.util;
+
+import com.google.gson.stream.JsonWriter;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import ua.training.model.entity.Currency;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local stand-in for fixer.io latest rates api, used in offline mode, tests and benchmarks. Server answers
+ * {@code GET /api/latest} with the same JSON contract as fixer.io (see {@link ua.training.model.dto.FixerDto}) and
+ * lets caller program rates, response latency and failures.
+ * @see FixerUtil
+ * @author Oleksii Shevchenko
+ */
+public class FixerStubServer {
+    private static Logger logger = LogManager.getLogger(FixerStubServer.class);
+
+    public static final String PATH = "/api/latest";
+
+    private final Currency base;
+
+    private volatile Map<Currency, BigDecimal> rates;
+    private volatile long latency;
+    private final AtomicInteger failures = new AtomicInteger();
+    private final AtomicInteger requestsNumber = new AtomicInteger();
+
+    private HttpServer server;
+    private ExecutorService executorService;
+
+    /**
+     * How programmed failure is answered.
+     */
+    public enum Failure {
+        ERROR_STATUS, UNSUCCESSFUL_RESPONSE
+    }
+
+    private volatile Failure failure = Failure.ERROR_STATUS;
+
+    public FixerStubServer(Currency base, Map<Currency, BigDecimal> rates) {
+        this.base = base;
+        this.rates = new EnumMap<>(rates);
+    }
+
+    /**
+     * Starts server on loopback interface.
+     * @param port Port to listen, 0 means any free port.
+     * @throws IOException Thrown if server can't be bound.
+     */
+    public void start(int port) throws IOException {
+        executorService = Executors.newFixedThreadPool(4, runnable -> {
+            Thread thread = new Thread(runnable, "fixer-stub");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext(PATH, this::handle);
+        server.setExecutor(executorService);
+        server.start();
+
+        logger.info("Fixer stub server is started at {}", getEndPoint());
+    }
+
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+            executorService.shutdownNow();
+        }
+    }
+
+    public String getEndPoint() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + PATH;
+    }
+
+    public void setRates(Map<Currency, BigDecimal> rates) {
+        this.rates = new EnumMap<>(rates);
+    }
+
+    /**
+     * Sets delay before every response, used to emulate slow or hung upstream.
+     * @param latency Delay in milliseconds.
+     */
+    public void setLatency(long latency) {
+        this.latency = latency;
+    }
+
+    /**
+     * Makes next requests fail.
+     * @param requests The number of requests to fail.
+     * @param failure How failure is answered.
+     */
+    public void failNext(int requests, Failure failure) {
+        this.failure = failure;
+        this.failures.set(requests);
+    }
+
+    public int getRequestsNumber() {
+        return requestsNumber.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requestsNumber.incrementAndGet();
+
+        try {
+            if (latency > 0) {
+                Thread.sleep(latency);
+            }
+
+            boolean failed = failures.getAndUpdate(left -> Math.max(left - 1, 0)) > 0;
+
+            if (failed && failure == Failure.ERROR_STATUS) {
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+
+            byte[] body = failed ? errorBody() : ratesBody();
+
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private byte[] ratesBody() throws IOException {
+        Writer body = new StringWriter();
+        JsonWriter writer = new JsonWriter(body);
+
+        writer.beginObject();
+        writer.name("success").value(true);
+        writer.name("timestamp").value(Instant.now().getEpochSecond());
+        writer.name("base").value(base.name());
+        writer.name("date").value(LocalDate.now(ZoneOffset.UTC).toString());
+        writer.name("rates").beginObject();
+        for (Map.Entry<Currency, BigDecimal> rate : rates.entrySet()) {
+            writer.name(rate.getKey().name()).value(rate.getValue());
+        }
+        writer.endObject();
+        writer.endObject();
+        writer.flush();
+
+        return body.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private byte[] errorBody() {
+        return "{\"success\":false,\"error\":{\"code\":104,\"type\":\"usage_limit_reached\"}}".getBytes(StandardCharsets.UTF_8);
+    }
+}
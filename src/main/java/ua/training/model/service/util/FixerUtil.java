@@ -1,11 +1,11 @@
 package ua.training.model.service.util;
 
 import com.google.gson.Gson;
+import org.apache.http.HttpStatus;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.utils.URIBuilder;
 import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,6 +15,9 @@ import ua.training.model.dto.FixerDto;
 import ua.training.model.entity.Currency;
 import ua.training.model.service.FixerExchangeService;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.math.BigDecimal;
@@ -27,6 +30,10 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.ResourceBundle;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -40,6 +47,16 @@ public class FixerUtil {
 
     private Gson gson;
     private ResourceBundle config;
+    private CloseableHttpClient httpClient;
+    private ScheduledExecutorService executorService;
+
+    private FixerStubServer stubServer;
+    private String endPoint;
+
+    private CircuitBreaker circuitBreaker;
+    private int retryAttempts;
+    private long retryDelay;
+    private long retryMaxDelay;
 
     @Autowired
     public void setGson(Gson gson) {
@@ -52,13 +69,60 @@ public class FixerUtil {
         this.config = config;
     }
 
+    @Autowired
+    @Qualifier("fixerHttpClient")
+    public void setHttpClient(CloseableHttpClient httpClient) {
+        this.httpClient = httpClient;
+    }
+
+    @Autowired
+    public void setExecutorService(ScheduledExecutorService executorService) {
+        this.executorService = executorService;
+    }
+
+    /**
+     * Reads retry and breaker settings. In {@code stub} mode (set in config or by {@code fixer.mode} system property)
+     * local stand-in server is started with default rates and all requests are sent to it instead of fixer.io.
+     */
+    @PostConstruct
+    public void init() throws IOException {
+        endPoint = config.getString("fixer.api.end_point");
+        if ("stub".equals(System.getProperty("fixer.mode", config.getString("fixer.mode")))) {
+            Currency base = Currency.valueOf(config.getString("fixer.api.base"));
+            stubServer = new FixerStubServer(base, getDefaultRates(base));
+            stubServer.start(Integer.parseInt(config.getString("fixer.stub.port")));
+            endPoint = stubServer.getEndPoint();
+        }
+
+        retryAttempts = Integer.parseInt(config.getString("fixer.retry.attempts"));
+        retryDelay = Long.parseLong(config.getString("fixer.retry.delay"));
+        retryMaxDelay = Long.parseLong(config.getString("fixer.retry.delay.max"));
+        circuitBreaker = new CircuitBreaker(
+                Integer.parseInt(config.getString("fixer.breaker.failures")),
+                Long.parseLong(config.getString("fixer.breaker.open")));
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (stubServer != null) {
+            stubServer.stop();
+        }
+    }
+
+    /**
+     * Returns local stand-in server, so rates, latency and failures can be programmed in tests and benchmarks.
+     * @return Stub server or null if it is not used.
+     */
+    public FixerStubServer getStubServer() {
+        return stubServer;
+    }
+
     /**
      * This method create uri for making request to fixer service.
      * @return Request URI
      */
     public URI getRequestUri() throws URISyntaxException {
-        return new URIBuilder(config.getString("fixer.api.end_point"))
-                .setPath(config.getString("fixer.api.end_point"))
+        return new URIBuilder(endPoint)
                 .setParameter("access_key", config.getString("fixer.api.key"))
                 .setParameter("symbols", buildSymbols())
                 .setCharset(StandardCharsets.UTF_8)
@@ -72,10 +136,12 @@ public class FixerUtil {
      * @throws Exception Thrown if the request is no success.
      */
     public Map<Currency, BigDecimal> makeRequest(URI uri) throws Exception {
-        try (CloseableHttpClient httpClient = HttpClients.createDefault();
-             CloseableHttpResponse response = httpClient.execute(new HttpGet(uri));
-             Reader reader = new InputStreamReader(response.getEntity().getContent(), StandardCharsets.UTF_8)) {
+        try (CloseableHttpResponse response = httpClient.execute(new HttpGet(uri))) {
+            if (response.getStatusLine().getStatusCode() != HttpStatus.SC_OK || response.getEntity() == null) {
+                throw new Exception("Fixer responded with status " + response.getStatusLine().getStatusCode());
+            }
 
+            Reader reader = new InputStreamReader(response.getEntity().getContent(), StandardCharsets.UTF_8);
             FixerDto fixerDto = gson.fromJson(reader, FixerDto.class);
 
             if (fixerDto.isSuccess()) {
@@ -84,11 +150,58 @@ public class FixerUtil {
                 throw new Exception();
             }
         } catch (Exception exception) {
-            logger.error(exception);
+            logger.error("Failed to make request", exception);
             throw new Exception(exception);
         }
     }
 
+    /**
+     * Requests rates without blocking caller. The request is executed by scheduled executor and retried with jittered
+     * exponential backoff. While circuit breaker is open no requests are made and returned future fails at once, so
+     * callers keep serving last known rates.
+     * @return Future of currencies rates.
+     */
+    public CompletableFuture<Map<Currency, BigDecimal>> requestRatesAsync() {
+        CompletableFuture<Map<Currency, BigDecimal>> future = new CompletableFuture<>();
+
+        if (!circuitBreaker.allowRequest()) {
+            future.completeExceptionally(new CircuitBreaker.OpenException("Fixer circuit breaker is open"));
+            return future;
+        }
+
+        executorService.execute(() -> attemptRequest(future, 1));
+        return future;
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    private void attemptRequest(CompletableFuture<Map<Currency, BigDecimal>> future, int attempt) {
+        try {
+            Map<Currency, BigDecimal> rates = makeRequest(getRequestUri());
+            circuitBreaker.recordSuccess();
+            future.complete(rates);
+        } catch (Exception exception) {
+            if (attempt < retryAttempts) {
+                long delay = computeBackoff(attempt);
+                logger.warn("Fixer request attempt {} failed, retry in {} ms", attempt, delay);
+                executorService.schedule(() -> attemptRequest(future, attempt + 1), delay, TimeUnit.MILLISECONDS);
+            } else {
+                circuitBreaker.recordFailure();
+                future.completeExceptionally(exception);
+            }
+        }
+    }
+
+    /**
+     * Computes delay before next attempt with full jitter: random value up to exponentially growing limit.
+     */
+    private long computeBackoff(int attempt) {
+        long limit = Math.min(retryMaxDelay, retryDelay << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(limit / 2, limit + 1);
+    }
+
     /**
      * Checks is the data is still valid for last update.
      * @param lastUpdate Time of last update.
@@ -100,20 +213,11 @@ public class FixerUtil {
     }
 
     /**
-     * Method used for getting default currencies rates in case the first update request is not success.
+     * Method used for getting default currencies rates in case there are no rates received before.
      * @param base The base currency when exchanging.
      * @return Default currencies rates.
      */
-    public Map<Currency, BigDecimal> getRatesOrDefault(Currency base) {
-        try {
-            return makeRequest(getRequestUri());
-        } catch (Exception exception) {
-            logger.error(exception);
-            return getDefaultRates(base);
-        }
-    }
-
-    private Map<Currency, BigDecimal> getDefaultRates(Currency base) {
+    public Map<Currency, BigDecimal> getDefaultRates(Currency base) {
         Map<Currency, BigDecimal> rates = new HashMap<>();
         for (Currency target : Currency.values()) {
             rates.put(target, getDefaultRate(base, target));
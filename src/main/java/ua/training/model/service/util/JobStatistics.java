@@ -0,0 +1,79 @@
+package ua.training.model.service.util;
+
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps last run of every kind of scheduled job, recorded by jobs themselves and read by health checks.
+ * @see ua.training.model.service.HealthService
+ * @author Oleksii Shevchenko
+ */
+@Component
+public class JobStatistics {
+    private final Map<String, Run> runs = new ConcurrentHashMap<>();
+
+    /**
+     * Body of job.
+     * @param <E> Type of exception thrown by job.
+     */
+    @FunctionalInterface
+    public interface Job<E extends Exception> {
+        void run() throws E;
+    }
+
+    /**
+     * Last run of the job.
+     */
+    public static class Run {
+        private final LocalDateTime start;
+        private final long millis;
+        private final boolean failed;
+
+        public Run(LocalDateTime start, long millis, boolean failed) {
+            this.start = start;
+            this.millis = millis;
+            this.failed = failed;
+        }
+
+        public LocalDateTime getStart() {
+            return start;
+        }
+
+        public long getMillis() {
+            return millis;
+        }
+
+        public boolean isFailed() {
+            return failed;
+        }
+    }
+
+    /**
+     * Runs job and records its duration and result.
+     * @param job Kind of job.
+     * @param task Job body, its exception is rethrown after recording.
+     * @param <E> Type of exception thrown by job.
+     * @throws E Exception thrown by job.
+     */
+    public <E extends Exception> void record(String job, Job<E> task) throws E {
+        LocalDateTime start = LocalDateTime.now();
+        long nanos = System.nanoTime();
+        boolean failed = true;
+
+        try {
+            task.run();
+            failed = false;
+        } finally {
+            runs.put(job, new Run(start, (System.nanoTime() - nanos) / 1_000_000, failed));
+        }
+    }
+
+    public Map<String, Run> getRuns() {
+        return Collections.unmodifiableMap(new TreeMap<>(runs));
+    }
+}
@@ -0,0 +1,243 @@
+package ua.training.model.service.util;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import ua.training.model.entity.Currency;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.ResourceBundle;
+
+/**
+ * Time series of all received exchange rates. Rates of every update are kept in memory as scaled longs in per-currency
+ * arrays along with array of update times, so point-in-time rate is found by binary search without db or network
+ * calls. Updates are appended to segment file of fixed size records, which is memory-mapped and read at startup.
+ * @see ua.training.model.service.FixerExchangeService#exchangeRate(Currency, Currency, Instant)
+ * @author Oleksii Shevchenko
+ */
+@Component
+public class RateHistory {
+    private static Logger logger = LogManager.getLogger(RateHistory.class);
+
+    private static final int MAGIC = 0x52485354;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 3 * Integer.BYTES;
+    private static final int SCALE = 8;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private static final Currency[] currencies = Currency.values();
+    private static final int RECORD_SIZE = Long.BYTES * (1 + currencies.length);
+
+    private ResourceBundle config;
+    private Path path;
+    private FileChannel channel;
+
+    private volatile Series series = new Series(new long[INITIAL_CAPACITY], new long[currencies.length][INITIAL_CAPACITY], 0);
+
+    /**
+     * Immutable view of history arrays, values with index less than size are never changed.
+     */
+    private static class Series {
+        private final long[] times;
+        private final long[][] values;
+        private final int size;
+
+        private Series(long[] times, long[][] values, int size) {
+            this.times = times;
+            this.values = values;
+            this.size = size;
+        }
+    }
+
+    @Autowired
+    @Qualifier("fixerConfig")
+    public void setConfig(ResourceBundle config) {
+        this.config = config;
+    }
+
+    @PostConstruct
+    public void init() {
+        open(Paths.get(System.getProperty("user.home")).resolve(config.getString("fixer.history.path")));
+    }
+
+    @PreDestroy
+    public void close() {
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (IOException exception) {
+            logger.error("Failed to close rate history {}", path, exception);
+        }
+    }
+
+    /**
+     * Returns exchange rate in effect at specified moment, that is rate of the last update made not after it.
+     * @param from Currency from witch exchanging.
+     * @param to Currency to witch exchanging.
+     * @param time Targeted moment.
+     * @return Exchange rate or empty if there are no updates before that moment.
+     */
+    public Optional<BigDecimal> exchangeRate(Currency from, Currency to, Instant time) {
+        Series current = series;
+
+        int index = Arrays.binarySearch(current.times, 0, current.size, time.toEpochMilli());
+        if (index < 0) {
+            index = -index - 2;
+        }
+        if (index < 0) {
+            return Optional.empty();
+        }
+
+        long fromValue = current.values[from.ordinal()][index];
+        long toValue = current.values[to.ordinal()][index];
+
+        if (fromValue == 0 || toValue == 0) {
+            return Optional.empty();
+        }
+
+        return Optional.of(BigDecimal.valueOf(toValue).divide(BigDecimal.valueOf(fromValue), MathContext.DECIMAL128));
+    }
+
+    /**
+     * Appends rates to history. Updates older than the last one are ignored, so times stay ordered.
+     * @param rates Rates relative to base currency.
+     * @param time Time of update.
+     */
+    public synchronized void append(Map<Currency, BigDecimal> rates, Instant time) {
+        Series current = series;
+        long millis = time.toEpochMilli();
+
+        if (current.size > 0 && current.times[current.size - 1] >= millis) {
+            return;
+        }
+
+        long[] record = new long[1 + currencies.length];
+        record[0] = millis;
+        for (Currency currency : currencies) {
+            BigDecimal rate = rates.get(currency);
+            record[1 + currency.ordinal()] = rate == null ? 0 : rate.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValue();
+        }
+
+        write(record);
+        series = add(current, record);
+    }
+
+    public int size() {
+        return series.size;
+    }
+
+    void open(Path path) {
+        this.path = path;
+
+        try {
+            Files.createDirectories(path.getParent());
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+            if (channel.size() >= HEADER_SIZE && !read()) {
+                channel.close();
+                Files.move(path, path.resolveSibling(path.getFileName() + ".old"), StandardCopyOption.REPLACE_EXISTING);
+                channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            }
+
+            if (channel.size() < HEADER_SIZE) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).putInt(currencies.length);
+                header.flip();
+                channel.truncate(0);
+                channel.write(header, 0);
+            }
+
+            channel.position(HEADER_SIZE + (long) series.size * RECORD_SIZE);
+        } catch (IOException exception) {
+            logger.error("Rate history {} can't be opened, history is kept only in memory", path, exception);
+            channel = null;
+        }
+    }
+
+    /**
+     * Maps segment and loads all complete records, incomplete tail left by crash is cut off.
+     * @return False if the segment has other format.
+     */
+    private boolean read() throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+        if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION || buffer.getInt() != currencies.length) {
+            logger.warn("Rate history {} has other format and is moved aside", path);
+            return false;
+        }
+
+        int recordsNumber = (int) ((channel.size() - HEADER_SIZE) / RECORD_SIZE);
+        LongBuffer records = buffer.asLongBuffer();
+        Series loaded = new Series(new long[Math.max(INITIAL_CAPACITY, recordsNumber)],
+                new long[currencies.length][Math.max(INITIAL_CAPACITY, recordsNumber)], 0);
+
+        long[] record = new long[1 + currencies.length];
+        for (int i = 0; i < recordsNumber; i++) {
+            records.get(record);
+            loaded = add(loaded, record);
+        }
+
+        series = loaded;
+        if (channel.size() > HEADER_SIZE + (long) recordsNumber * RECORD_SIZE) {
+            channel.truncate(HEADER_SIZE + (long) recordsNumber * RECORD_SIZE);
+        }
+        return true;
+    }
+
+    private void write(long[] record) {
+        if (channel == null) {
+            return;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE);
+        buffer.asLongBuffer().put(record);
+
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException exception) {
+            logger.error("Rates can't be appended to history {}", path, exception);
+        }
+    }
+
+    private static Series add(Series series, long[] record) {
+        long[] times = series.times;
+        long[][] values = series.values;
+
+        if (series.size == times.length) {
+            times = Arrays.copyOf(times, times.length * 2);
+            values = new long[currencies.length][];
+            for (int i = 0; i < currencies.length; i++) {
+                values[i] = Arrays.copyOf(series.values[i], times.length);
+            }
+        }
+
+        times[series.size] = record[0];
+        for (int i = 0; i < currencies.length; i++) {
+            values[i][series.size] = record[1 + i];
+        }
+
+        return new Series(times, values, series.size + 1);
+    }
+}
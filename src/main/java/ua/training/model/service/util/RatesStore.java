@@ -0,0 +1,149 @@
+package ua.training.model.service.util;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import ua.training.model.entity.Currency;
+
+import javax.annotation.PostConstruct;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.ResourceBundle;
+
+/**
+ * Local store of last known good exchange rates. Rates are kept in small binary file, that is replaced by atomic rename
+ * after every successful update, so the file is always either old or new one, never partially written.
+ * @see ua.training.model.service.FixerExchangeService
+ * @author Oleksii Shevchenko
+ */
+@Component
+public class RatesStore {
+    private static Logger logger = LogManager.getLogger(RatesStore.class);
+
+    private static final int MAGIC = 0x52415445;
+    private static final int VERSION = 1;
+
+    private ResourceBundle config;
+    private Path path;
+
+    /**
+     * Snapshot of rates with time they were received at.
+     */
+    public static class Snapshot {
+        private final Map<Currency, BigDecimal> rates;
+        private final LocalDateTime time;
+
+        public Snapshot(Map<Currency, BigDecimal> rates, LocalDateTime time) {
+            this.rates = rates;
+            this.time = time;
+        }
+
+        public Map<Currency, BigDecimal> getRates() {
+            return rates;
+        }
+
+        public LocalDateTime getTime() {
+            return time;
+        }
+    }
+
+    @Autowired
+    @Qualifier("fixerConfig")
+    public void setConfig(ResourceBundle config) {
+        this.config = config;
+    }
+
+    /**
+     * Resolves store path, relative paths are resolved against user home directory.
+     */
+    @PostConstruct
+    public void init() {
+        path = Paths.get(System.getProperty("user.home")).resolve(config.getString("fixer.store.path"));
+    }
+
+    /**
+     * Reads last saved rates.
+     * @return Saved rates or empty if there is no store yet or it can't be read.
+     */
+    public Optional<Snapshot> load() {
+        if (!Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+                logger.warn("Rates store {} has unknown format and is ignored", path);
+                return Optional.empty();
+            }
+
+            LocalDateTime time = LocalDateTime.ofInstant(Instant.ofEpochMilli(input.readLong()), ZoneOffset.UTC);
+            int size = input.readInt();
+            Map<Currency, BigDecimal> rates = new EnumMap<>(Currency.class);
+
+            for (int i = 0; i < size; i++) {
+                Currency currency = Currency.valueOf(input.readUTF());
+                int scale = input.readInt();
+                byte[] unscaled = new byte[input.readUnsignedByte()];
+                input.readFully(unscaled);
+                rates.put(currency, new BigDecimal(new BigInteger(unscaled), scale));
+            }
+
+            return Optional.of(new Snapshot(rates, time));
+        } catch (IOException | IllegalArgumentException exception) {
+            logger.error("Rates store {} can't be read", path, exception);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Writes rates to temporary file near the store and atomically renames it to the store.
+     * @param snapshot Rates to save.
+     * @throws IOException Thrown if rates can't be written.
+     */
+    public void save(Snapshot snapshot) throws IOException {
+        Files.createDirectories(path.getParent());
+        Path temp = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+
+        try {
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                output.writeInt(MAGIC);
+                output.writeInt(VERSION);
+                output.writeLong(snapshot.getTime().toInstant(ZoneOffset.UTC).toEpochMilli());
+                output.writeInt(snapshot.getRates().size());
+
+                for (Map.Entry<Currency, BigDecimal> rate : snapshot.getRates().entrySet()) {
+                    byte[] unscaled = rate.getValue().unscaledValue().toByteArray();
+                    output.writeUTF(rate.getKey().name());
+                    output.writeInt(rate.getValue().scale());
+                    output.writeByte(unscaled.length);
+                    output.write(unscaled);
+                }
+            }
+
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    void setPath(Path path) {
+        this.path = path;
+    }
+}
@@ -0,0 +1,31 @@
+package ua.training.tag;
+
+import ua.training.controller.util.AssetManifest;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.jsp.PageContext;
+import javax.servlet.jsp.tagext.SimpleTagSupport;
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * Writes url of static asset with content hash in its name, so the asset can be cached forever.
+ * @see AssetManifest
+ * @author Oleksii Shevchenko
+ */
+public class AssetTag extends SimpleTagSupport {
+    private String path;
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    @Override
+    public void doTag() throws IOException {
+        PageContext pageContext = (PageContext) getJspContext();
+        AssetManifest manifest = (AssetManifest) pageContext.getServletContext().getAttribute("assetManifest");
+        String contextPath = ((HttpServletRequest) pageContext.getRequest()).getContextPath();
+
+        getJspContext().getOut().write(contextPath + (Objects.isNull(manifest) ? path : manifest.resolve(path)));
+    }
+}
@@ -1,8 +1,7 @@
 package ua.training.tag;
 
 import ua.training.model.entity.Currency;
-import ua.training.tag.util.AccountUtil;
-import ua.training.tag.util.FormatManager;
+import ua.training.tag.util.FormatterRegistry;
 
 import javax.servlet.jsp.tagext.SimpleTagSupport;
 import java.io.IOException;
@@ -22,10 +21,6 @@ public class BalanceFormatTag extends SimpleTagSupport {
 
     @Override
     public void doTag() throws IOException {
-        AccountUtil util = new AccountUtil();
-        getJspContext().getOut().write(FormatManager.mapFormat("content.tag.balance.format",
-                util.getFormattedBalance(balance),
-                util.getCurrencySign(currency))
-        );
+        getJspContext().getOut().write(FormatterRegistry.formatBalance(balance, currency));
     }
 }
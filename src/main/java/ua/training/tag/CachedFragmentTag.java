@@ -0,0 +1,80 @@
+package ua.training.tag;
+
+import ua.training.controller.util.managers.BundleManager;
+import ua.training.tag.util.FragmentCache;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpSession;
+import javax.servlet.jsp.JspException;
+import javax.servlet.jsp.tagext.BodyTagSupport;
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * Renders body once per fragment name, locale, role and data version and then writes cached result. Fragments are keyed
+ * by supported locale the body is rendered in, not by raw session language. Body mustn't show anything else that
+ * differs between users, e.g. their names or accounts.
+ * @see FragmentCache
+ * @author Oleksii Shevchenko
+ */
+public class CachedFragmentTag extends BodyTagSupport {
+    private String name;
+    private String version = "";
+
+    private String key;
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public void setVersion(String version) {
+        this.version = Objects.toString(version, "");
+    }
+
+    @Override
+    public int doStartTag() throws JspException {
+        bodyContent = null;
+
+        HttpServletRequest request = (HttpServletRequest) pageContext.getRequest();
+        HttpSession session = request.getSession(false);
+
+        String lang = Objects.isNull(session) ? null : (String) session.getAttribute("lang");
+
+        key = request.getContextPath() + '|'
+                + BundleManager.getSupportedLocale(lang).toLanguageTag() + '|'
+                + (Objects.isNull(session) ? null : session.getAttribute("role"));
+
+        String content = FragmentCache.get(name, key, version);
+        if (Objects.nonNull(content)) {
+            write(content);
+            return SKIP_BODY;
+        }
+        return EVAL_BODY_BUFFERED;
+    }
+
+    @Override
+    public int doEndTag() throws JspException {
+        if (Objects.nonNull(bodyContent)) {
+            String content = bodyContent.getString();
+            FragmentCache.put(name, key, version, content);
+            write(content);
+        }
+        return EVAL_PAGE;
+    }
+
+    @Override
+    public void release() {
+        super.release();
+        name = null;
+        version = "";
+        key = null;
+    }
+
+    private void write(String content) throws JspException {
+        try {
+            pageContext.getOut().write(content);
+        } catch (IOException exception) {
+            throw new JspException(exception);
+        }
+    }
+}
@@ -1,11 +1,10 @@
 package ua.training.tag;
 
-import ua.training.tag.util.PatternManager;
+import ua.training.tag.util.FormatterRegistry;
 
 import javax.servlet.jsp.tagext.SimpleTagSupport;
 import java.io.IOException;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.Locale;
 
 public class DateFormatTag extends SimpleTagSupport {
@@ -22,8 +21,7 @@ public class DateFormatTag extends SimpleTagSupport {
 
     @Override
     public void doTag() throws IOException {
-        Locale locale = Locale.forLanguageTag(localeTag);
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(PatternManager.getPattern("pattern.day", locale), locale);
-        getJspContext().getOut().write(date.format(formatter));
+        Locale locale = FormatterRegistry.getLocale(localeTag);
+        getJspContext().getOut().write(date.format(FormatterRegistry.getFormatter("pattern.day", locale)));
     }
 }
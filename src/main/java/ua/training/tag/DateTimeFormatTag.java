@@ -1,11 +1,10 @@
 package ua.training.tag;
 
-import ua.training.tag.util.PatternManager;
+import ua.training.tag.util.FormatterRegistry;
 
 import javax.servlet.jsp.tagext.SimpleTagSupport;
 import java.io.IOException;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.Locale;
 
 public class DateTimeFormatTag extends SimpleTagSupport {
@@ -22,8 +21,7 @@ public class DateTimeFormatTag extends SimpleTagSupport {
 
     @Override
     public void doTag() throws IOException {
-        Locale locale = Locale.forLanguageTag(localeTag);
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(PatternManager.getPattern("pattern.time", locale), locale);
-        getJspContext().getOut().write(time.format(formatter));
+        Locale locale = FormatterRegistry.getLocale(localeTag);
+        getJspContext().getOut().write(time.format(FormatterRegistry.getFormatter("pattern.time", locale)));
     }
 }
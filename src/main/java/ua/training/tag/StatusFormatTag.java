@@ -2,10 +2,10 @@ package ua.training.tag;
 
 import ua.training.model.entity.Account;
 import ua.training.tag.util.FormatManager;
+import ua.training.tag.util.FormatterRegistry;
 
 import javax.servlet.jsp.tagext.SimpleTagSupport;
 import java.io.IOException;
-import java.util.Locale;
 
 public class StatusFormatTag extends SimpleTagSupport {
     private Account account;
@@ -22,7 +22,7 @@ public class StatusFormatTag extends SimpleTagSupport {
     @Override
     public void doTag() throws IOException {
         String status = account.getStatus().name().toLowerCase();
-        getJspContext().getOut().write(FormatManager.mapFormat("content.tag.status." + status,
-                        FormatManager.getLocalizedMessage("content.accounts.status." + status, Locale.forLanguageTag(localeTag))));
+        getJspContext().getOut().write(FormatterRegistry.getTemplate("content.tag.status." + status).apply(
+                FormatManager.getLocalizedMessage("content.accounts.status." + status, FormatterRegistry.getLocale(localeTag))));
     }
 }
@@ -7,7 +7,7 @@ import java.math.RoundingMode;
 
 public class AccountUtil {
     public String getCurrencySign(Currency currency) {
-        return FormatManager.getFormat("content.tag.currency." + currency.name().toLowerCase());
+        return FormatterRegistry.getCurrencySign(currency);
     }
 
     public String getFormattedBalance(BigDecimal balance) {
@@ -1,20 +1,19 @@
 package ua.training.tag.util;
 
+import ua.training.controller.util.managers.BundleManager;
+
 import java.util.Locale;
-import java.util.ResourceBundle;
 
 public class FormatManager {
-    private static ResourceBundle bundle = ResourceBundle.getBundle("formats");
-
     public static String getFormat(String key) {
-        return bundle.getString(key);
+        return BundleManager.getString(BundleManager.Bundle.FORMATS, Locale.ROOT, key);
     }
 
     public static String getLocalizedMessage(String key, Locale locale) {
-        return ResourceBundle.getBundle("content", locale).getString(key);
+        return BundleManager.getString(BundleManager.Bundle.CONTENT, locale, key);
     }
 
     public static String mapFormat(String key, Object... values) {
-        return String.format(getFormat(key), values);
+        return FormatterRegistry.getTemplate(key).apply(values);
     }
 }
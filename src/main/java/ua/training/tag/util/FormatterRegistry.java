@@ -0,0 +1,144 @@
+package ua.training.tag.util;
+
+import ua.training.controller.util.managers.BundleManager;
+import ua.training.model.entity.Currency;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Registry of immutable formatters used by custom tags. Formatters are built once per (pattern key, supported locale)
+ * and templates once per format key, then shared between all tag invocations. Locales are resolved to supported ones
+ * before caching, so the registry is bounded by the number of supported locales and keys.
+ * @see ua.training.tag.DateFormatTag
+ * @see ua.training.tag.DateTimeFormatTag
+ * @see ua.training.tag.BalanceFormatTag
+ * @see ua.training.tag.StatusFormatTag
+ * @author Oleksii Shevchenko
+ */
+public final class FormatterRegistry {
+    private static final ConcurrentMap<Locale, ConcurrentMap<String, DateTimeFormatter>> formatters = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, Template> templates = new ConcurrentHashMap<>();
+    private static volatile Map<Currency, String> currencySigns = loadCurrencySigns();
+
+    private FormatterRegistry() {}
+
+    /**
+     * Drops all cached formatters and templates, used after reloading of resource bundles.
+     * @see ua.training.controller.util.managers.BundleManager#reload()
+     */
+    public static void clear() {
+        formatters.clear();
+        templates.clear();
+        currencySigns = loadCurrencySigns();
+    }
+
+    /**
+     * Returns supported locale with given tag, unknown tags are resolved to default locale.
+     * @see BundleManager#getSupportedLocale(String)
+     */
+    public static Locale getLocale(String localeTag) {
+        return BundleManager.getSupportedLocale(localeTag);
+    }
+
+    /**
+     * Returns cached formatter built from localized pattern.
+     * @param key Key of the pattern in resource bundle.
+     * @param locale Targeted locale, unsupported ones are served by default locale.
+     * @return Thread-safe date time formatter.
+     */
+    public static DateTimeFormatter getFormatter(String key, Locale locale) {
+        Locale supportedLocale = BundleManager.getSupportedLocale(locale.toLanguageTag());
+
+        return formatters.computeIfAbsent(supportedLocale, l -> new ConcurrentHashMap<>())
+                .computeIfAbsent(key, k -> DateTimeFormatter.ofPattern(PatternManager.getPattern(k, supportedLocale), supportedLocale));
+    }
+
+    /**
+     * Returns cached template compiled from format.
+     * @param key Key of the format in resource bundle.
+     * @return Compiled template.
+     */
+    public static Template getTemplate(String key) {
+        return templates.computeIfAbsent(key, k -> Template.compile(FormatManager.getFormat(k)));
+    }
+
+    public static String getCurrencySign(Currency currency) {
+        return currencySigns.get(currency);
+    }
+
+    public static String formatBalance(BigDecimal balance, Currency currency) {
+        return getTemplate("content.tag.balance.format").apply(
+                balance.setScale(2, RoundingMode.FLOOR).toString(),
+                getCurrencySign(currency));
+    }
+
+    private static Map<Currency, String> loadCurrencySigns() {
+        Map<Currency, String> signs = new EnumMap<>(Currency.class);
+        for (Currency currency : Currency.values()) {
+            signs.put(currency, FormatManager.getFormat("content.tag.currency." + currency.name().toLowerCase()));
+        }
+        return signs;
+    }
+
+    /**
+     * Format split into literal parts once, so applying it only concatenates values. Supports {@code %s} and
+     * {@code %%} conversions, formats with any other conversions are delegated to {@link String#format}.
+     */
+    public static final class Template {
+        private final String format;
+        private final String[] literals;
+        private final boolean compiled;
+
+        private Template(String format, String[] literals, boolean compiled) {
+            this.format = format;
+            this.literals = literals;
+            this.compiled = compiled;
+        }
+
+        static Template compile(String format) {
+            List<String> literals = new ArrayList<>();
+            StringBuilder literal = new StringBuilder();
+
+            for (int i = 0; i < format.length(); i++) {
+                char c = format.charAt(i);
+                if (c != '%') {
+                    literal.append(c);
+                } else if (i + 1 < format.length() && format.charAt(i + 1) == 's') {
+                    literals.add(literal.toString());
+                    literal.setLength(0);
+                    i++;
+                } else if (i + 1 < format.length() && format.charAt(i + 1) == '%') {
+                    literal.append('%');
+                    i++;
+                } else {
+                    return new Template(format, null, false);
+                }
+            }
+            literals.add(literal.toString());
+
+            return new Template(format, literals.toArray(new String[0]), true);
+        }
+
+        public String apply(Object... values) {
+            if (!compiled) {
+                return String.format(format, values);
+            }
+
+            StringBuilder builder = new StringBuilder(format.length() + 16 * values.length);
+            builder.append(literals[0]);
+            for (int i = 1; i < literals.length; i++) {
+                builder.append(i - 1 < values.length ? values[i - 1] : null).append(literals[i]);
+            }
+            return builder.toString();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package ua.training.tag.util;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache of rendered page fragments that are the same for all users of one role and locale. Only the last version of
+ * every (fragment, locale, role) is kept, so fragment rendered from newer data replaces older one. Cache holds at most
+ * {@code MAX_FRAGMENTS} entries, fragments with new keys are not cached once it is full.
+ * @see ua.training.tag.CachedFragmentTag
+ * @author Oleksii Shevchenko
+ */
+public final class FragmentCache {
+    private static final int MAX_FRAGMENTS = 1_000;
+
+    private static final ConcurrentMap<String, Fragment> fragments = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, Statistics> statistics = new ConcurrentHashMap<>();
+
+    private FragmentCache() {}
+
+    private static class Fragment {
+        private final String version;
+        private final String content;
+
+        private Fragment(String version, String content) {
+            this.version = version;
+            this.content = content;
+        }
+    }
+
+    /**
+     * Hits and misses of one fragment.
+     */
+    public static class Statistics {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+
+        public long getHits() {
+            return hits.sum();
+        }
+
+        public long getMisses() {
+            return misses.sum();
+        }
+
+        public double getHitRatio() {
+            long hitsNumber = getHits();
+            long total = hitsNumber + getMisses();
+            return total == 0 ? 0 : (double) hitsNumber / total;
+        }
+    }
+
+    /**
+     * Returns rendered fragment of given version.
+     * @param name Fragment name.
+     * @param key Locale, role and other parts that fragment depends on.
+     * @param version Version of data shown by fragment.
+     * @return Rendered fragment or null if it isn't cached.
+     */
+    public static String get(String name, String key, String version) {
+        Fragment fragment = fragments.get(name + '|' + key);
+        Statistics fragmentStatistics = statistics.computeIfAbsent(name, n -> new Statistics());
+
+        if (Objects.nonNull(fragment) && fragment.version.equals(version)) {
+            fragmentStatistics.hits.increment();
+            return fragment.content;
+        }
+
+        fragmentStatistics.misses.increment();
+        return null;
+    }
+
+    public static void put(String name, String key, String version, String content) {
+        String fragmentKey = name + '|' + key;
+
+        if (fragments.size() >= MAX_FRAGMENTS && !fragments.containsKey(fragmentKey)) {
+            return;
+        }
+        fragments.put(fragmentKey, new Fragment(version, content));
+    }
+
+    static int getFragmentsNumber() {
+        return fragments.size();
+    }
+
+    /**
+     * Drops all rendered fragments, used after reloading of resource bundles.
+     * @see ua.training.controller.util.managers.BundleManager#reload()
+     */
+    public static void clear() {
+        fragments.clear();
+    }
+
+    public static Map<String, Statistics> getStatistics() {
+        return new TreeMap<>(statistics);
+    }
+}
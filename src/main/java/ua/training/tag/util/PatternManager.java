@@ -1,10 +1,11 @@
 package ua.training.tag.util;
 
+import ua.training.controller.util.managers.BundleManager;
+
 import java.util.Locale;
-import java.util.ResourceBundle;
 
 public class PatternManager {
     public static String getPattern(String key, Locale locale) {
-        return ResourceBundle.getBundle("patterns", locale).getString(key);
+        return BundleManager.getString(BundleManager.Bundle.PATTERNS, locale, key);
     }
 }
@@ -0,0 +1,7 @@
+-- Idempotency keys of statement lines imported by ImportService. A line whose key is already present is reported as
+-- duplicate and not applied again.
+create table if not exists transaction_imports (
+    import_key varchar(64) not null,
+    imported_at timestamp not null default current_timestamp,
+    primary key (import_key)
+) engine = InnoDB;
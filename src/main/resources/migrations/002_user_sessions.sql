@@ -0,0 +1,8 @@
+-- Current session of every signed in login, used by JdbcSessionRegistry when several nodes serve the app.
+create table if not exists user_sessions (
+    user_login varchar(64) not null,
+    session_id varchar(128) not null,
+    updated_at timestamp not null,
+    primary key (user_login),
+    key user_sessions_updated_at (updated_at)
+) engine = InnoDB;
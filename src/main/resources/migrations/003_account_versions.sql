@@ -0,0 +1,12 @@
+-- Version of account, used by InfoAccountCommand as entity tag. It's increased by triggers on every change of account
+-- row or its holders, so no dao has to maintain it.
+alter table accounts add column version bigint not null default 0;
+
+create trigger accounts_version_update before update on accounts
+    for each row set new.version = old.version + 1;
+
+create trigger holders_version_insert after insert on holders
+    for each row update accounts set version = version + 1 where account_id = new.account_id;
+
+create trigger holders_version_delete after delete on holders
+    for each row update accounts set version = version + 1 where account_id = old.account_id;
@@ -0,0 +1,4 @@
+-- Indexes for InvoiceQueryService, every page of invoices is read by range of one index whatever number of invoices
+-- account has.
+create index invoices_payer_invoice on invoices (payer_id, invoice_id);
+create index invoices_requester_invoice on invoices (requester_id, invoice_id);
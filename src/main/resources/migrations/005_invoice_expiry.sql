@@ -0,0 +1,7 @@
+-- Creation time of invoice, invoices processing longer than invoices.expiry.days are expired by ScheduledTaskService.
+alter table invoices add column invoice_created timestamp not null default current_timestamp;
+
+-- Expired invoices are moved here, so invoices table keeps only live ones.
+create table if not exists invoices_archive like invoices;
+alter table invoices_archive modify invoice_status varchar(16) not null;
+alter table invoices_archive add column invoice_archived timestamp not null default current_timestamp;
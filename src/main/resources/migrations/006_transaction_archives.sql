@@ -0,0 +1,18 @@
+-- Transactions older than transactions.archive.horizon.months are moved by ScheduledTaskService into monthly
+-- tables transactions_archive_YYYYMM created like transactions, so transactions table keeps only recent history.
+create index transactions_time on transactions (transaction_time);
+
+-- Registry of monthly archives, month is not completed while its transactions are being moved.
+create table if not exists transaction_archives (
+    archive_month date not null primary key,
+    archive_completed boolean not null default false,
+    archive_time timestamp null
+);
+
+-- The number of transactions of every account in completed archive, so pages count doesn't scan archives.
+create table if not exists transaction_archive_counts (
+    archive_month date not null,
+    account_id bigint not null,
+    transactions_number bigint not null,
+    primary key (account_id, archive_month)
+);
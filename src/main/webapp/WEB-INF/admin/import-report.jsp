@@ -0,0 +1,78 @@
+<%@ page contentType="text/html;charset=UTF-8" language="java" isELIgnored="false" %>
+<%@ taglib uri="http://java.sun.com/jsp/jstl/core" prefix="c" %>
+<%@ taglib uri="http://java.sun.com/jsp/jstl/fmt" prefix="fmt" %>
+<%@ taglib prefix="ctg" uri="custom" %>
+
+<html>
+
+<head>
+    <meta charset="utf-8" />
+    <meta name="viewport" content="width=device-width, initial-scale=1.0, shrink-to-fit=no" />
+    <title>Import</title>
+
+    <link rel="stylesheet" href="<ctg:asset path="/css/bootstrap.css" />">
+    <link rel="stylesheet" href="<ctg:asset path="/css/bootstrap-grid.css" />">
+    <link rel="stylesheet" href="<ctg:asset path="/css/bootstrap-reboot.css" />">
+    <link rel="stylesheet" href="<ctg:asset path="/css/custom.css" />">
+
+    <script src="<ctg:asset path="/js/jquery-3.2.1.slim.min.js" />"></script>
+    <script src="<ctg:asset path="/js/popper.min.js" />"></script>
+    <script src="<ctg:asset path="/js/bootstrap.js" />"></script>
+    <script src="<ctg:asset path="/js/bootstrap.bundle.js" />"></script>
+</head>
+
+<body>
+<fmt:setLocale value="${sessionScope.lang}" scope="session" />
+<fmt:setBundle basename="content" />
+
+<jsp:include page="../components/navbar.jsp" />
+
+<div class="container my-lg-4">
+    <div class="row justify-content-start">
+        <div class="col-6">
+            <p class="h2"><fmt:message key="content.import.report.welcome" /></p>
+        </div>
+    </div>
+    <div class="row justify-content-center">
+        <div class="col-3">
+            <p class="font-weight-bold"><fmt:message key="content.import.report.lines" /></p>
+            <p>${requestScope.report.linesNumber}</p>
+        </div>
+        <div class="col-3">
+            <p class="font-weight-bold"><fmt:message key="content.import.report.applied" /></p>
+            <p class="text-info">${requestScope.report.appliedNumber}</p>
+        </div>
+        <div class="col-3">
+            <p class="font-weight-bold"><fmt:message key="content.import.report.duplicates" /></p>
+            <p>${requestScope.report.duplicatesNumber}</p>
+        </div>
+        <div class="col-3">
+            <p class="font-weight-bold"><fmt:message key="content.import.report.failed" /></p>
+            <p class="text-danger">${requestScope.report.failuresNumber}</p>
+        </div>
+    </div>
+    <c:if test="${not empty requestScope.report.failures}">
+        <div class="row justify-content-center">
+            <div class="col-3">
+                <p class="font-weight-bold"><fmt:message key="content.import.report.line" /></p>
+            </div>
+            <div class="col-9">
+                <p class="font-weight-bold"><fmt:message key="content.import.report.outcome" /></p>
+            </div>
+        </div>
+        <c:forEach items="${requestScope.report.failures}" var="failure">
+            <div class="row justify-content-center">
+                <div class="col-3">
+                    <p>${failure.key}</p>
+                </div>
+                <div class="col-9">
+                    <p><fmt:message key="content.import.report.outcome.${failure.value}" /></p>
+                </div>
+            </div>
+        </c:forEach>
+    </c:if>
+</div>
+
+<jsp:include page="../components/footer.jsp" />
+</body>
+</html>
@@ -11,15 +11,15 @@
     <meta name="viewport" content="width=device-width, initial-scale=1.0, shrink-to-fit=no" />
     <title>Process request</title>
 
-    <link rel="stylesheet" href="<c:url value="/css/bootstrap.css" />">
-    <link rel="stylesheet" href="<c:url value="/css/bootstrap-grid.css" />">
-    <link rel="stylesheet" href="<c:url value="/css/bootstrap-reboot.css" />">
-    <link rel="stylesheet" href="<c:url value="/css/custom.css" />">
+    <link rel="stylesheet" href="<ctg:asset path="/css/bootstrap.css" />">
+    <link rel="stylesheet" href="<ctg:asset path="/css/bootstrap-grid.css" />">
+    <link rel="stylesheet" href="<ctg:asset path="/css/bootstrap-reboot.css" />">
+    <link rel="stylesheet" href="<ctg:asset path="/css/custom.css" />">
 
-    <script src="<c:url value="/js/jquery-3.2.1.slim.min.js" />"></script>
-    <script src="<c:url value="/js/popper.min.js" />"></script>
-    <script src="<c:url value="/js/bootstrap.js" />"></script>
-    <script src="<c:url value="/js/bootstrap.bundle.js" />"></script>
+    <script src="<ctg:asset path="/js/jquery-3.2.1.slim.min.js" />"></script>
+    <script src="<ctg:asset path="/js/popper.min.js" />"></script>
+    <script src="<ctg:asset path="/js/bootstrap.js" />"></script>
+    <script src="<ctg:asset path="/js/bootstrap.bundle.js" />"></script>
 </head>
 
 
@@ -1,12 +1,14 @@
 <%@ page contentType="text/html;charset=UTF-8" language="java" isELIgnored="false" %>
 <%@ taglib uri="http://java.sun.com/jsp/jstl/core" prefix="c" %>
 <%@ taglib uri="http://java.sun.com/jsp/jstl/fmt" prefix="fmt" %>
+<%@ taglib prefix="ctg" uri="custom" %>
 
 <html>
 <body>
 <fmt:setLocale value="${sessionScope.lang}" scope="session" />
 <fmt:setBundle basename="content"/>
 
+<ctg:cached name="adminMenu">
 <div class="container my-2">
     <div class="row justify-content-center my-3">
         <div class="col-7">
@@ -22,6 +24,21 @@
             </form>
         </div>
     </div>
+    <div class="row justify-content-center my-3">
+        <div class="col-7">
+            <form method="post" action="${pageContext.request.contextPath}/api/reloadBundles">
+                <button class="btn btn-lg btn-primary btn-block" type="submit"><fmt:message key="content.menu.admin.reload.bundles" /></button>
+            </form>
+        </div>
+    </div>
+    <form method="post" enctype="multipart/form-data" class="form-row justify-content-center my-3" action="${pageContext.request.contextPath}/api/importReplenishments">
+        <div class="col-3 input-group-lg">
+            <input type="file" class="form-control-file" name="statement" accept=".csv,text/csv" required>
+        </div>
+        <div class="col-4">
+            <button class="btn btn-lg btn-primary btn-block" type="submit"><fmt:message key="content.menu.admin.import.statement" /></button>
+        </div>
+    </form>
     <form method="post" class="form-row justify-content-center my-3" action="${pageContext.request.contextPath}/api/infoUser">
         <div class="col-3 input-group-lg">
             <input type="number" class="form-control" name="userId" placeholder="<fmt:message key="content.menu.admin.placeholder.user" />" required>
@@ -47,5 +64,6 @@
         </div>
     </form>
 </div>
+</ctg:cached>
 </body>
 </html>
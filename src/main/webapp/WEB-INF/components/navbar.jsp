@@ -1,12 +1,14 @@
 <%@ page contentType="text/html;charset=UTF-8" language="java" isELIgnored="false" %>
 <%@ taglib uri="http://java.sun.com/jsp/jstl/core" prefix="c" %>
 <%@ taglib uri="http://java.sun.com/jsp/jstl/fmt" prefix="fmt" %>
+<%@ taglib prefix="ctg" uri="custom" %>
 
 <html>
 <body>
     <fmt:setLocale value="${sessionScope.lang}" scope="session" />
     <fmt:setBundle basename="content"/>
 
+    <ctg:cached name="navbar">
     <nav class="navbar navbar-expand-lg navbar-dark bg-dark">
         <a class="navbar-brand" href="#"><fmt:message key="content.navbar.logo" /></a>
         <div class="collapse navbar-collapse">
@@ -50,5 +52,6 @@
             </ul>
         </div>
     </nav>
+    </ctg:cached>
 </body>
 </html>
@@ -1,12 +1,14 @@
 <%@ page contentType="text/html;charset=UTF-8" language="java" isELIgnored="false" %>
 <%@ taglib uri="http://java.sun.com/jsp/jstl/core" prefix="c" %>
 <%@ taglib uri="http://java.sun.com/jsp/jstl/fmt" prefix="fmt" %>
+<%@ taglib prefix="ctg" uri="custom" %>
 
 <html>
 <body>
 <fmt:setLocale value="${sessionScope.lang}" scope="session" />
 <fmt:setBundle basename="content"/>
 
+<ctg:cached name="userMenu">
 <div class="container my-2">
     <div class="row justify-content-center my-3">
         <div class="col-5">
@@ -44,5 +46,6 @@
         </div>
     </div>
 </div>
+</ctg:cached>
 </body>
 </html>
\ No newline at end of file
@@ -1,6 +1,7 @@
 <%@ page contentType="text/html;charset=UTF-8" language="java" isELIgnored="false" %>
 <%@ taglib uri="http://java.sun.com/jsp/jstl/core" prefix="c" %>
 <%@ taglib uri="http://java.sun.com/jsp/jstl/fmt" prefix="fmt" %>
+<%@ taglib prefix="ctg" uri="custom" %>
 
 <html>
 
@@ -9,15 +10,15 @@
     <meta name="viewport" content="width=device-width, initial-scale=1.0, shrink-to-fit=no" />
     <title>Currencies rates</title>
 
-    <link rel="stylesheet" href="<c:url value="/css/bootstrap.css" />">
-    <link rel="stylesheet" href="<c:url value="/css/bootstrap-grid.css" />">
-    <link rel="stylesheet" href="<c:url value="/css/bootstrap-reboot.css" />">
-    <link rel="stylesheet" href="<c:url value="/css/custom.css" />">
+    <link rel="stylesheet" href="<ctg:asset path="/css/bootstrap.css" />">
+    <link rel="stylesheet" href="<ctg:asset path="/css/bootstrap-grid.css" />">
+    <link rel="stylesheet" href="<ctg:asset path="/css/bootstrap-reboot.css" />">
+    <link rel="stylesheet" href="<ctg:asset path="/css/custom.css" />">
 
-    <script src="<c:url value="/js/jquery-3.2.1.slim.min.js" />"></script>
-    <script src="<c:url value="/js/popper.min.js" />"></script>
-    <script src="<c:url value="/js/bootstrap.js" />"></script>
-    <script src="<c:url value="/js/bootstrap.bundle.js" />"></script>
+    <script src="<ctg:asset path="/js/jquery-3.2.1.slim.min.js" />"></script>
+    <script src="<ctg:asset path="/js/popper.min.js" />"></script>
+    <script src="<ctg:asset path="/js/bootstrap.js" />"></script>
+    <script src="<ctg:asset path="/js/bootstrap.bundle.js" />"></script>
 </head>
 
 <body>
@@ -26,6 +27,7 @@
 
 <jsp:include page="../components/navbar.jsp" />
 
+<ctg:cached name="rates-${requestScope.base}" version="${requestScope.ratesVersion}">
 <div class="container">
     <div class="row justify-content-center my-5">
         <div class="col-2">
@@ -58,6 +60,7 @@
         </div>
     </div>
 </div>
+</ctg:cached>
 
 <jsp:include page="../components/footer.jsp" />
 </body>
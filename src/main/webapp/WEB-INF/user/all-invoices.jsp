@@ -10,15 +10,15 @@
     <meta name="viewport" content="width=device-width, initial-scale=1.0, shrink-to-fit=no" />
     <title>Invoices</title>
 
-    <link rel="stylesheet" href="<c:url value="/css/bootstrap.css" />">
-    <link rel="stylesheet" href="<c:url value="/css/bootstrap-grid.css" />">
-    <link rel="stylesheet" href="<c:url value="/css/bootstrap-reboot.css" />">
-    <link rel="stylesheet" href="<c:url value="/css/custom.css" />">
+    <link rel="stylesheet" href="<ctg:asset path="/css/bootstrap.css" />">
+    <link rel="stylesheet" href="<ctg:asset path="/css/bootstrap-grid.css" />">
+    <link rel="stylesheet" href="<ctg:asset path="/css/bootstrap-reboot.css" />">
+    <link rel="stylesheet" href="<ctg:asset path="/css/custom.css" />">
 
-    <script src="<c:url value="/js/jquery-3.2.1.slim.min.js" />"></script>
-    <script src="<c:url value="/js/popper.min.js" />"></script>
-    <script src="<c:url value="/js/bootstrap.js" />"></script>
-    <script src="<c:url value="/js/bootstrap.bundle.js" />"></script>
+    <script src="<ctg:asset path="/js/jquery-3.2.1.slim.min.js" />"></script>
+    <script src="<ctg:asset path="/js/popper.min.js" />"></script>
+    <script src="<ctg:asset path="/js/bootstrap.js" />"></script>
+    <script src="<ctg:asset path="/js/bootstrap.bundle.js" />"></script>
 </head>
 
 <body>
@@ -34,6 +34,17 @@
             <button class="btn btn-lg btn-primary btn-block" type="submit"><fmt:message key="content.info.invoice.account" /></button>
         </form>
     </div>
+    <form class="form-row align-items-end my-3" method="post" action="${pageContext.request.contextPath}/api/showInvoices">
+        <input type="hidden" name="accountId" value="${requestScope.masterAccount}">
+        <div class="col-3">
+            <select class="form-control" name="status" onchange="submit()">
+                <option value="" ${empty param.status ? 'selected' : ''}><fmt:message key="content.all.invoices.filter.all" /></option>
+                <option value="PROCESSING" ${param.status eq 'PROCESSING' ? 'selected' : ''}><fmt:message key="content.all.invoices.processing" /></option>
+                <option value="ACCEPTED" ${param.status eq 'ACCEPTED' ? 'selected' : ''}><fmt:message key="content.all.invoices.accepted" /></option>
+                <option value="DENIED" ${param.status eq 'DENIED' ? 'selected' : ''}><fmt:message key="content.all.invoices.denied" /></option>
+            </select>
+        </div>
+    </form>
     <div class="row justify-content-start my-2">
         <p class="h2"><fmt:message key="content.all.invoices.welcome.payer" /></p>
     </div>
@@ -89,6 +100,15 @@
                     </div>
                 </div>
             </c:forEach>
+            <c:if test="${not empty requestScope.payerNext}">
+                <form class="row justify-content-end" method="post" action="${pageContext.request.contextPath}/api/showInvoices">
+                    <input type="hidden" name="accountId" value="${requestScope.masterAccount}">
+                    <input type="hidden" name="status" value="${param.status}">
+                    <input type="hidden" name="payerAfter" value="${requestScope.payerNext}">
+                    <input type="hidden" name="requesterAfter" value="${param.requesterAfter}">
+                    <button class="btn btn-outline-primary" type="submit"><span>&raquo;</span></button>
+                </form>
+            </c:if>
         </c:when>
         <c:otherwise>
             <div class="row justify-content-center my-2">
@@ -151,6 +171,15 @@
                     </div>
                 </div>
             </c:forEach>
+            <c:if test="${not empty requestScope.requesterNext}">
+                <form class="row justify-content-end" method="post" action="${pageContext.request.contextPath}/api/showInvoices">
+                    <input type="hidden" name="accountId" value="${requestScope.masterAccount}">
+                    <input type="hidden" name="status" value="${param.status}">
+                    <input type="hidden" name="requesterAfter" value="${requestScope.requesterNext}">
+                    <input type="hidden" name="payerAfter" value="${param.payerAfter}">
+                    <button class="btn btn-outline-primary" type="submit"><span>&raquo;</span></button>
+                </form>
+            </c:if>
         </c:when>
         <c:otherwise>
             <div class="row justify-content-center my-2">
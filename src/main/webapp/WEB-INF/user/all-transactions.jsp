@@ -10,15 +10,15 @@
     <meta name="viewport" content="width=device-width, initial-scale=1.0, shrink-to-fit=no" />
     <title>Transactions</title>
 
-    <link rel="stylesheet" href="<c:url value="/css/bootstrap.css" />">
-    <link rel="stylesheet" href="<c:url value="/css/bootstrap-grid.css" />">
-    <link rel="stylesheet" href="<c:url value="/css/bootstrap-reboot.css" />">
-    <link rel="stylesheet" href="<c:url value="/css/custom.css" />">
+    <link rel="stylesheet" href="<ctg:asset path="/css/bootstrap.css" />">
+    <link rel="stylesheet" href="<ctg:asset path="/css/bootstrap-grid.css" />">
+    <link rel="stylesheet" href="<ctg:asset path="/css/bootstrap-reboot.css" />">
+    <link rel="stylesheet" href="<ctg:asset path="/css/custom.css" />">
 
-    <script src="<c:url value="/js/jquery-3.2.1.slim.min.js" />"></script>
-    <script src="<c:url value="/js/popper.min.js" />"></script>
-    <script src="<c:url value="/js/bootstrap.js" />"></script>
-    <script src="<c:url value="/js/bootstrap.bundle.js" />"></script>
+    <script src="<ctg:asset path="/js/jquery-3.2.1.slim.min.js" />"></script>
+    <script src="<ctg:asset path="/js/popper.min.js" />"></script>
+    <script src="<ctg:asset path="/js/bootstrap.js" />"></script>
+    <script src="<ctg:asset path="/js/bootstrap.bundle.js" />"></script>
 </head>
 
 <body>
@@ -39,6 +39,26 @@
             </form>
         </div>
     </div>
+    <form class="form-row align-items-end my-3" method="get" action="${pageContext.request.contextPath}/api/exportTransactions">
+        <input type="hidden" name="accountId" value="${requestScope.masterAccount}">
+        <div class="col-3">
+            <label for="from"><fmt:message key="content.all.transactions.export.from" /></label>
+            <input type="date" id="from" name="from" class="form-control">
+        </div>
+        <div class="col-3">
+            <label for="to"><fmt:message key="content.all.transactions.export.to" /></label>
+            <input type="date" id="to" name="to" class="form-control">
+        </div>
+        <div class="col-2">
+            <select name="format" class="form-control">
+                <option value="csv">CSV</option>
+                <option value="jsonl">JSON Lines</option>
+            </select>
+        </div>
+        <div class="col-2">
+            <button class="btn btn-primary btn-block" type="submit"><fmt:message key="content.all.transactions.export" /></button>
+        </div>
+    </form>
     <div class="row justify-content-center">
         <div class="col-3">
             <p class="font-weight-bold"><fmt:message key="content.all.transactions.id" /></p>
@@ -11,15 +11,15 @@
     <meta name="viewport" content="width=device-width, initial-scale=1.0, shrink-to-fit=no" />
     <title>Make transaction</title>
 
-    <link rel="stylesheet" href="<c:url value="/css/bootstrap.css" />">
-    <link rel="stylesheet" href="<c:url value="/css/bootstrap-grid.css" />">
-    <link rel="stylesheet" href="<c:url value="/css/bootstrap-reboot.css" />">
-    <link rel="stylesheet" href="<c:url value="/css/custom.css" />">
-
-    <script src="<c:url value="/js/jquery-3.2.1.slim.min.js" />"></script>
-    <script src="<c:url value="/js/popper.min.js" />"></script>
-    <script src="<c:url value="/js/bootstrap.js" />"></script>
-    <script src="<c:url value="/js/bootstrap.bundle.js" />"></script>
+    <link rel="stylesheet" href="<ctg:asset path="/css/bootstrap.css" />">
+    <link rel="stylesheet" href="<ctg:asset path="/css/bootstrap-grid.css" />">
+    <link rel="stylesheet" href="<ctg:asset path="/css/bootstrap-reboot.css" />">
+    <link rel="stylesheet" href="<ctg:asset path="/css/custom.css" />">
+
+    <script src="<ctg:asset path="/js/jquery-3.2.1.slim.min.js" />"></script>
+    <script src="<ctg:asset path="/js/popper.min.js" />"></script>
+    <script src="<ctg:asset path="/js/bootstrap.js" />"></script>
+    <script src="<ctg:asset path="/js/bootstrap.bundle.js" />"></script>
 </head>
 
 
@@ -34,7 +34,7 @@
 <div class="container my-lg-4">
     <div class="row justify-content-center">
         <div class="col-4">
-            <form action="${pageContext.request.contextPath}/api/makeTransaction" method="post">
+            <form id="transaction" action="${pageContext.request.contextPath}/api/makeTransaction" method="post">
                 <h1 class="h3 mb-3 font-weight-normal"><fmt:message key="content.make.transaction.welcome" /></h1>
                 <div class="form-group my-2">
                     <p class="font-weight-bold"><fmt:message key="content.make.transaction.sender" /></p>
@@ -62,6 +62,7 @@
                         </c:forEach>
                     </select>
                 </div>
+                <p id="quote" class="text-info"></p>
                 <button class="btn btn-lg btn-primary btn-block my-2" type="submit" ><fmt:message key="content.make.transaction.make" /></button>
             </form>
         </div>
@@ -70,5 +71,28 @@
 
 <jsp:include page="../components/footer.jsp" />
 
+<script>
+    (function () {
+        var form = document.getElementById('transaction');
+        var quote = document.getElementById('quote');
+
+        function update() {
+            var query = new URLSearchParams(new FormData(form)).toString();
+            fetch('${pageContext.request.contextPath}/api/quoteTransfer?' + query, {headers: {'Accept': 'application/json'}, credentials: 'same-origin'})
+                .then(function (response) { return response.ok ? response.json() : null; })
+                .then(function (q) {
+                    quote.className = q && q.allowed ? 'text-info' : 'text-danger';
+                    quote.textContent = q ? '<fmt:message key="content.make.transaction.quote.withdraw" /> ' + q.withdrawAmount + ' ' + q.senderCurrency
+                        + ', <fmt:message key="content.make.transaction.quote.fee" /> ' + q.fee + ' ' + q.senderCurrency
+                        + ', <fmt:message key="content.make.transaction.quote.balance" /> ' + q.resultingBalance + ' ' + q.senderCurrency
+                        + ', <fmt:message key="content.make.transaction.quote.credited" /> ' + q.creditedAmount + ' ' + q.receiverCurrency : '';
+                });
+        }
+
+        form.addEventListener('input', update);
+        form.addEventListener('change', update);
+    })();
+</script>
+
 </body>
 </html>
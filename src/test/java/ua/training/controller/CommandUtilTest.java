@@ -9,6 +9,7 @@ import org.mockito.junit.MockitoJUnitRunner;
 import ua.training.controller.util.CommandUtil;
 
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpSession;
 
 @RunWith(MockitoJUnitRunner.class)
 public class CommandUtilTest {
@@ -21,4 +22,33 @@ public class CommandUtilTest {
 
         Assert.assertEquals("command", new CommandUtil().extractCommand(request));
     }
+
+    @Test
+    public void givenJsonAcceptHeaderWhenCheckingThenJsonAccepted() {
+        Mockito.when(request.getHeader("Accept")).thenReturn("application/json, text/plain;q=0.5");
+
+        Assert.assertTrue(new CommandUtil().isJsonAccepted(request));
+    }
+
+    @Test
+    public void givenBrowserAcceptHeaderWhenCheckingThenJsonNotAccepted() {
+        Mockito.when(request.getHeader("Accept")).thenReturn("text/html,application/xhtml+xml,*/*;q=0.8");
+
+        Assert.assertFalse(new CommandUtil().isJsonAccepted(request));
+    }
+
+    @Test
+    public void givenOtherUserWhenBuildingEntityTagThenTagDiffers() {
+        HttpSession session = Mockito.mock(HttpSession.class);
+        Mockito.when(request.getSession(false)).thenReturn(session);
+        Mockito.when(request.getQueryString()).thenReturn("transactionId=7");
+        Mockito.when(session.getAttribute("id")).thenReturn(1L);
+
+        String first = new CommandUtil().buildEntityTag(request, "infoTransaction", "7");
+        Assert.assertEquals(first, new CommandUtil().buildEntityTag(request, "infoTransaction", "7"));
+        Assert.assertNotEquals(first, new CommandUtil().buildEntityTag(request, "infoTransaction", "8"));
+
+        Mockito.when(session.getAttribute("id")).thenReturn(2L);
+        Assert.assertNotEquals(first, new CommandUtil().buildEntityTag(request, "infoTransaction", "7"));
+    }
 }
@@ -0,0 +1,120 @@
+package ua.training.controller.commands;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import ua.training.model.entity.Currency;
+import ua.training.model.entity.Transaction;
+import ua.training.model.entity.User;
+import ua.training.model.service.AccountService;
+import ua.training.model.service.UserService;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+public class ExportTransactionsCommandTest {
+    private HttpServletRequest request;
+    private AccountService accountService;
+    private ByteArrayOutputStream body;
+    private ExportTransactionsCommand command;
+    private HttpServletResponse response;
+
+    @Before
+    public void init() throws IOException {
+        request = Mockito.mock(HttpServletRequest.class);
+        response = Mockito.mock(HttpServletResponse.class);
+        HttpSession session = Mockito.mock(HttpSession.class);
+        UserService userService = Mockito.mock(UserService.class);
+        accountService = Mockito.mock(AccountService.class);
+        body = new ByteArrayOutputStream();
+
+        when(request.getSession()).thenReturn(session);
+        when(session.getAttribute("id")).thenReturn(1L);
+        when(request.getParameter("accountId")).thenReturn("7");
+        when(request.getParameter("from")).thenReturn("2026-01-01");
+        when(request.getParameter("to")).thenReturn("2026-01-31");
+        when(userService.get(1L)).thenReturn(User.getBuilder().setId(1L).setAccounts(List.of(7L)).build());
+        when(response.getOutputStream()).thenReturn(new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+
+            @Override
+            public void write(int b) {
+                body.write(b);
+            }
+        });
+
+        command = new ExportTransactionsCommand();
+        command.setUserService(userService);
+        command.setAccountService(accountService);
+    }
+
+    @Test
+    public void givenTransactionsWhenExportCsvThenRowPerTransaction() throws IOException {
+        exportAndFail(false);
+
+        command.stream(request, response);
+
+        assertArrayEquals(new String[]{
+                "id,time,sender,receiver,type,amount,currency",
+                "5,2026-01-02T10:00,3,7,MANUAL,10.50,UAH"
+        }, lines());
+    }
+
+    @Test
+    public void givenReadingFailsWhenExportThenErrorLineEndsExport() throws IOException {
+        exportAndFail(true);
+
+        command.stream(request, response);
+
+        assertArrayEquals(new String[]{
+                "id,time,sender,receiver,type,amount,currency",
+                "5,2026-01-02T10:00,3,7,MANUAL,10.50,UAH",
+                "ERROR,export is incomplete"
+        }, lines());
+    }
+
+    private void exportAndFail(boolean fail) {
+        doAnswer(invocation -> {
+            invocation.<Consumer<Transaction>>getArgument(3).accept(Transaction.getBuilder()
+                    .setId(5)
+                    .setTime(LocalDateTime.of(2026, 1, 2, 10, 0))
+                    .setSender(3)
+                    .setReceiver(7)
+                    .setType(Transaction.Type.MANUAL)
+                    .setAmount(new BigDecimal("10.50"))
+                    .setCurrency(Currency.UAH)
+                    .build());
+            if (fail) {
+                throw new RuntimeException("Connection is lost");
+            }
+            return null;
+        }).when(accountService).exportTransactions(eq(7L), any(), any(), any());
+    }
+
+    private String[] lines() {
+        return new String(body.toByteArray(), StandardCharsets.UTF_8).split("\n");
+    }
+}
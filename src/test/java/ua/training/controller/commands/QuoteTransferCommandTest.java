@@ -0,0 +1,68 @@
+package ua.training.controller.commands;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import ua.training.controller.util.JsonUtil;
+import ua.training.model.entity.Currency;
+import ua.training.model.exception.NoSuchAccountException;
+import ua.training.model.service.TransferQuoteService;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+import java.io.IOException;
+import java.math.BigDecimal;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class QuoteTransferCommandTest {
+    private HttpServletResponse response;
+    private HttpServletRequest request;
+    private TransferQuoteService quoteService;
+    private JsonUtil jsonUtil;
+    private QuoteTransferCommand command;
+
+    @Before
+    public void init() {
+        request = Mockito.mock(HttpServletRequest.class);
+        response = Mockito.mock(HttpServletResponse.class);
+        HttpSession session = Mockito.mock(HttpSession.class);
+        quoteService = Mockito.mock(TransferQuoteService.class);
+        jsonUtil = Mockito.mock(JsonUtil.class);
+
+        when(request.getSession()).thenReturn(session);
+        when(session.getAttribute("id")).thenReturn(1L);
+        when(request.getParameter("sender")).thenReturn("7");
+        when(request.getParameter("receiver")).thenReturn("8");
+        when(request.getParameter("amount")).thenReturn("10");
+        when(request.getParameter("currency")).thenReturn(Currency.UAH.name());
+
+        command = new QuoteTransferCommand();
+        command.setQuoteService(quoteService);
+        command.setJsonUtil(jsonUtil);
+    }
+
+    @Test
+    public void givenMissingAccountWhenExecuteJsonThenNotFound() throws IOException {
+        when(quoteService.getAccount(7L)).thenThrow(new NoSuchAccountException());
+
+        command.executeJson(request, response);
+
+        verify(response).sendError(HttpServletResponse.SC_NOT_FOUND);
+        verify(jsonUtil, never()).newWriter(any());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void givenFailingServiceWhenExecuteJsonThenFailureIsNotMasked() throws IOException {
+        when(quoteService.getAccount(7L)).thenThrow(new IllegalStateException());
+
+        try {
+            command.executeJson(request, response);
+        } finally {
+            verify(response, never()).sendError(HttpServletResponse.SC_NOT_FOUND);
+            verify(quoteService, never()).quoteTransfer(any(), any(), any(BigDecimal.class), any());
+        }
+    }
+}
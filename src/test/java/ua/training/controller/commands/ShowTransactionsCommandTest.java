@@ -0,0 +1,62 @@
+package ua.training.controller.commands;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import ua.training.controller.util.JsonUtil;
+import ua.training.model.entity.User;
+import ua.training.model.service.AccountService;
+import ua.training.model.service.UserService;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+import java.io.IOException;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+public class ShowTransactionsCommandTest {
+    private HttpServletRequest request;
+    private HttpServletResponse response;
+    private AccountService accountService;
+    private JsonUtil jsonUtil;
+    private ShowTransactionsCommand command;
+
+    @Before
+    public void init() {
+        request = Mockito.mock(HttpServletRequest.class);
+        response = Mockito.mock(HttpServletResponse.class);
+        HttpSession session = Mockito.mock(HttpSession.class);
+        UserService userService = Mockito.mock(UserService.class);
+        accountService = Mockito.mock(AccountService.class);
+        jsonUtil = Mockito.mock(JsonUtil.class);
+
+        when(request.getSession()).thenReturn(session);
+        when(session.getAttribute("id")).thenReturn(1L);
+        when(request.getParameter("accountId")).thenReturn("7");
+        when(userService.get(1L)).thenReturn(User.getBuilder().setId(1L).setAccounts(List.of(7L)).build());
+        when(accountService.getTransactionsPagesNumber(7L, 5)).thenReturn(2);
+
+        command = new ShowTransactionsCommand(5);
+        command.setUserService(userService);
+        command.setAccountService(accountService);
+        command.setJsonUtil(jsonUtil);
+    }
+
+    @Test
+    public void givenPageOutOfRangeWhenExecuteJsonThenNotFoundAndNothingWritten() throws IOException {
+        for (String page : new String[]{"3", "0"}) {
+            when(request.getParameter("page")).thenReturn(page);
+
+            command.executeJson(request, response);
+        }
+
+        verify(response, times(2)).sendError(HttpServletResponse.SC_NOT_FOUND);
+        verify(jsonUtil, never()).newWriter(any());
+        verify(accountService, never()).getTransactionsPage(anyLong(), anyInt(), anyInt(), any());
+    }
+}
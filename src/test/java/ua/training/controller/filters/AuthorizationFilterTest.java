@@ -9,6 +9,7 @@ import org.powermock.core.classloader.annotations.PrepareForTest;
 import ua.training.controller.util.CommandUtil;
 
 import javax.servlet.FilterChain;
+import javax.servlet.ServletContext;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.servlet.http.HttpSession;
@@ -27,6 +28,9 @@ public class AuthorizationFilterTest {
     @Mock
     private HttpServletResponse response;
 
+    @Mock
+    private ServletContext servletContext;
+
     @Mock
     private FilterChain filterChain;
 
@@ -34,15 +38,13 @@ public class AuthorizationFilterTest {
 
     @Before
     public void initRequest() {
-        when(request.getSession()).thenReturn(session);
-        when(session.getAttribute(eq("role"))).thenReturn("USER");
-
         filter = new AuthorizationFilter();
         filter.init(null);
     }
 
     @Test
     public void givenAuthorizedAccessWhenFilteringThenCallDoFilter() throws Exception {
+        signIn();
         when(request.getRequestURI()).thenReturn("/banking/api/workspace");
 
         filter.doFilter(request, response, filterChain);
@@ -52,6 +54,7 @@ public class AuthorizationFilterTest {
 
     @Test
     public void givenWrongCommandWhenFilteringThenSentRedirect() throws Exception {
+        signIn();
         when(request.getRequestURI()).thenReturn("/banking/api/wrong");
 
         filter.doFilter(request, response, filterChain);
@@ -61,10 +64,40 @@ public class AuthorizationFilterTest {
 
     @Test
     public void givenNonAuthorizedAccessWhenFilteringThenSentRedirect() throws Exception {
+        signIn();
         when(request.getRequestURI()).thenReturn("/banking/api/openAccount");
 
         filter.doFilter(request, response, filterChain);
 
         verify(response).sendRedirect(anyString());
     }
+
+    @Test
+    public void givenProbeWhenFilteringThenCallDoFilterWithoutSession() throws Exception {
+        when(request.getRequestURI()).thenReturn("/banking/api/readiness");
+
+        filter.doFilter(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+        verify(request, never()).getSession();
+    }
+
+    @Test
+    public void givenTokenModeWhenFilteringThenRegistryIsNotChecked() throws Exception {
+        signIn();
+        when(request.getRequestURI()).thenReturn("/banking/api/workspace");
+        when(session.getAttribute(eq("login"))).thenReturn("user");
+        when(request.getServletContext()).thenReturn(servletContext);
+        when(servletContext.getAttribute("sessionTokenCodec")).thenReturn(new Object());
+
+        filter.doFilter(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+        verify(servletContext, never()).getAttribute("sessionRegistry");
+    }
+
+    private void signIn() {
+        when(request.getSession()).thenReturn(session);
+        when(session.getAttribute(eq("role"))).thenReturn("USER");
+    }
 }
@@ -0,0 +1,120 @@
+package ua.training.controller.filters;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class CompressionFilterTest {
+    @Mock
+    private HttpServletRequest request;
+
+    @Mock
+    private HttpServletResponse response;
+
+    @Mock
+    private FilterChain filterChain;
+
+    private ByteArrayOutputStream body = new ByteArrayOutputStream();
+    private CompressionFilter filter = new CompressionFilter();
+
+    @Before
+    public void init() throws Exception {
+        when(request.getHeader("Accept-Encoding")).thenReturn("gzip, deflate");
+        when(request.getMethod()).thenReturn("GET");
+        when(response.getContentType()).thenReturn("application/json;charset=UTF-8");
+        when(response.getCharacterEncoding()).thenReturn("UTF-8");
+        when(response.getStatus()).thenReturn(HttpServletResponse.SC_OK);
+        when(response.getOutputStream()).thenReturn(new ServletOutputStream() {
+            @Override
+            public void write(int b) {
+                body.write(b);
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {}
+        });
+
+        filter.init(null);
+    }
+
+    @Test
+    public void givenLargeJsonWhenFilterThenCompress() throws Exception {
+        String json = "{\"rates\":[" + String.join("", Collections.nCopies(1000, "1.2345,")) + "1]}";
+        doAnswer(invocation -> {
+            HttpServletResponse wrapper = invocation.getArgument(1);
+            wrapper.getWriter().write(json);
+            return null;
+        }).when(filterChain).doFilter(any(), any());
+
+        filter.doFilter(request, response, filterChain);
+
+        verify(response).setHeader("Content-Encoding", "gzip");
+        assertEquals(json, new String(new GZIPInputStream(new ByteArrayInputStream(body.toByteArray())).readAllBytes(),
+                StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void givenSmallJsonWhenFilterThenSendAsIs() throws Exception {
+        doAnswer(invocation -> {
+            HttpServletResponse wrapper = invocation.getArgument(1);
+            wrapper.getWriter().write("{}");
+            return null;
+        }).when(filterChain).doFilter(any(), any());
+
+        filter.doFilter(request, response, filterChain);
+
+        verify(response, never()).setHeader(eq("Content-Encoding"), anyString());
+        verify(response).setContentLength(2);
+        assertEquals("{}", body.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void givenEncodedResponseWhenFilterThenSendAsIs() throws Exception {
+        byte[] encoded = new byte[4096];
+        when(response.getHeader("Content-Encoding")).thenReturn("gzip");
+        doAnswer(invocation -> {
+            HttpServletResponse wrapper = invocation.getArgument(1);
+            wrapper.getOutputStream().write(encoded);
+            return null;
+        }).when(filterChain).doFilter(any(), any());
+
+        filter.doFilter(request, response, filterChain);
+
+        verify(response, never()).setHeader(eq("Content-Encoding"), anyString());
+        assertEquals(encoded.length, body.size());
+    }
+
+    @Test
+    public void givenGzipNotAcceptedWhenFilterThenPassResponse() throws Exception {
+        when(request.getHeader("Accept-Encoding")).thenReturn(null);
+
+        filter.doFilter(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+    }
+}
@@ -0,0 +1,104 @@
+package ua.training.controller.filters;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import ua.training.controller.util.session.SessionTokenCodec;
+import ua.training.model.service.SessionRegistry;
+
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletContext;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class GuestFilterTest {
+    @Mock
+    private HttpServletRequest request;
+
+    @Mock
+    private HttpServletResponse response;
+
+    @Mock
+    private FilterChain filterChain;
+
+    @Mock
+    private SessionRegistry sessionRegistry;
+
+    private SessionTokenCodec codec;
+    private GuestFilter filter;
+
+    @Before
+    public void init() {
+        FilterConfig filterConfig = mock(FilterConfig.class);
+        ServletContext servletContext = mock(ServletContext.class);
+        codec = new SessionTokenCodec("secret", 60);
+
+        when(filterConfig.getServletContext()).thenReturn(servletContext);
+        when(servletContext.getAttribute("sessionTokenCodec")).thenReturn(codec);
+        when(servletContext.getAttribute("sessionRegistry")).thenReturn(sessionRegistry);
+
+        filter = new GuestFilter();
+        filter.init(filterConfig);
+    }
+
+    @Test
+    public void givenProbeWhenFilteringThenNoSessionIsCreated() throws Exception {
+        when(request.getRequestURI()).thenReturn("/banking/api/liveness");
+
+        filter.doFilter(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+        verify(request, never()).getSession();
+        verify(response, never()).addCookie(any());
+    }
+
+    @Test
+    public void givenCurrentSessionTokenDueToRefreshWhenFilteringThenTokenReissued() throws Exception {
+        sendTokenDueToRefresh();
+        when(sessionRegistry.isCurrent("user", "s1")).thenReturn(true);
+
+        filter.doFilter(request, response, filterChain);
+
+        Cookie cookie = writtenCookie();
+        assertEquals(60, cookie.getMaxAge());
+        assertEquals("user", codec.decode(cookie.getValue()).orElseThrow().get("login"));
+    }
+
+    @Test
+    public void givenSignedOutSessionTokenDueToRefreshWhenFilteringThenTokenRemoved() throws Exception {
+        sendTokenDueToRefresh();
+        when(sessionRegistry.isCurrent("user", "s1")).thenReturn(false);
+
+        filter.doFilter(request, response, filterChain);
+
+        Cookie cookie = writtenCookie();
+        assertEquals(0, cookie.getMaxAge());
+        assertTrue(cookie.getValue().isEmpty());
+    }
+
+    private void sendTokenDueToRefresh() {
+        String token = new SessionTokenCodec("secret", 20)
+                .encode(Map.of("sid", "s1", "id", "7", "login", "user", "role", "USER", "lang", "en-US"));
+
+        when(request.getRequestURI()).thenReturn("/banking/api/workspace");
+        when(request.getContextPath()).thenReturn("");
+        when(request.getCookies()).thenReturn(new Cookie[]{new Cookie(SessionTokenCodec.COOKIE_NAME, token)});
+    }
+
+    private Cookie writtenCookie() {
+        ArgumentCaptor<Cookie> cookie = ArgumentCaptor.forClass(Cookie.class);
+        verify(response).addCookie(cookie.capture());
+        return cookie.getValue();
+    }
+}
@@ -0,0 +1,122 @@
+package ua.training.controller.filters;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import ua.training.controller.util.AssetManifest;
+
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletContext;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class StaticAssetFilterTest {
+    @Mock
+    private FilterConfig filterConfig;
+
+    @Mock
+    private ServletContext servletContext;
+
+    @Mock
+    private HttpServletRequest request;
+
+    @Mock
+    private HttpServletResponse response;
+
+    @Mock
+    private ServletOutputStream outputStream;
+
+    @Mock
+    private FilterChain filterChain;
+
+    private StaticAssetFilter filter;
+
+    @Before
+    public void init() throws Exception {
+        byte[] css = "body { margin: 0; }".getBytes(StandardCharsets.UTF_8);
+
+        when(filterConfig.getServletContext()).thenReturn(servletContext);
+        when(servletContext.getResourcePaths("/css/")).thenReturn(Set.of("/css/custom.css", "/css/custom.css.map"));
+        when(servletContext.getResourceAsStream(anyString())).thenReturn(null);
+        when(servletContext.getResourceAsStream("/css/custom.css")).thenReturn(new ByteArrayInputStream(css));
+        when(servletContext.getMimeType("/css/custom.css")).thenReturn("text/css");
+        when(request.getContextPath()).thenReturn("/banking");
+        when(request.getMethod()).thenReturn("GET");
+        when(response.getOutputStream()).thenReturn(outputStream);
+
+        filter = new StaticAssetFilter();
+        filter.init(filterConfig);
+    }
+
+    @Test
+    public void givenHashedPathWhenFilteringThenServeImmutableGzip() throws Exception {
+        String hashedPath = resolve("/css/custom.css");
+        when(request.getRequestURI()).thenReturn("/banking" + hashedPath);
+        when(request.getHeader("Accept-Encoding")).thenReturn("gzip, deflate");
+
+        filter.doFilter(request, response, filterChain);
+
+        assertNotEquals("/css/custom.css", hashedPath);
+        verify(response).setHeader("Cache-Control", "public, max-age=31536000, immutable");
+        verify(response).setHeader("Content-Encoding", "gzip");
+        verify(outputStream).write(any(byte[].class));
+        verify(filterChain, never()).doFilter(request, response);
+    }
+
+    @Test
+    public void givenMatchingEtagWhenFilteringThenNotModified() throws Exception {
+        String etag = "W/\"" + resolveHash("/css/custom.css") + "\"";
+        when(request.getRequestURI()).thenReturn("/banking/css/custom.css");
+        when(request.getHeader("If-None-Match")).thenReturn(etag);
+
+        filter.doFilter(request, response, filterChain);
+
+        verify(response).setHeader("Cache-Control", "no-cache");
+        verify(response).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        verify(outputStream, never()).write(any(byte[].class));
+    }
+
+    @Test
+    public void givenUnknownAssetWhenFilteringThenPassToDefaultServlet() throws Exception {
+        when(request.getRequestURI()).thenReturn("/banking/css/custom.css.map");
+
+        filter.doFilter(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+    }
+
+    @Test
+    public void givenZeroQualityWhenCheckingEncodingThenNotAccepted() {
+        assertTrue(StaticAssetFilter.isAccepted("br;q=0.5, gzip", "br"));
+        assertFalse(StaticAssetFilter.isAccepted("gzip;q=0", "gzip"));
+    }
+
+    private String resolve(String path) {
+        ArgumentCaptor<AssetManifest> captor = ArgumentCaptor.forClass(AssetManifest.class);
+        verify(servletContext).setAttribute(eq("assetManifest"), captor.capture());
+
+        return captor.getValue().resolve(path);
+    }
+
+    private String resolveHash(String path) {
+        String hashed = resolve(path);
+        return hashed.substring(path.lastIndexOf('.') + 1, hashed.lastIndexOf('.'));
+    }
+}
@@ -0,0 +1,30 @@
+package ua.training.controller.util.managers;
+
+import org.junit.Test;
+
+import java.util.Locale;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+
+import static org.junit.Assert.assertEquals;
+
+public class BundleManagerTest {
+    @Test
+    public void givenSupportedLocaleWhenGettingStringThenGetSameAsResourceBundle() {
+        Locale locale = Locale.forLanguageTag("uk-UA");
+
+        assertEquals(ResourceBundle.getBundle("content", locale).getString("content.navbar.home"),
+                BundleManager.getString(BundleManager.Bundle.CONTENT, locale, "content.navbar.home"));
+    }
+
+    @Test
+    public void givenUnsupportedLocaleWhenGettingStringThenGetDefaultLocaleString() {
+        assertEquals(BundleManager.getString(BundleManager.Bundle.PATTERNS, Locale.forLanguageTag("en-US"), "pattern.day"),
+                BundleManager.getString(BundleManager.Bundle.PATTERNS, Locale.FRANCE, "pattern.day"));
+    }
+
+    @Test(expected = MissingResourceException.class)
+    public void givenMissingKeyWhenGettingStringThenThrowException() {
+        BundleManager.getString(BundleManager.Bundle.FORMATS, Locale.ROOT, "content.tag.missing");
+    }
+}
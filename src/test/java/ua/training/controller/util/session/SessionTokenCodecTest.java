@@ -0,0 +1,50 @@
+package ua.training.controller.util.session;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SessionTokenCodecTest {
+    private SessionTokenCodec codec;
+
+    @Before
+    public void init() {
+        codec = new SessionTokenCodec("secret", 60);
+    }
+
+    @Test
+    public void givenClaimsWhenEncodeThenDecodeSameClaims() {
+        Map<String, String> claims = Map.of("sid", "s1", "id", "7", "login", "user.login", "role", "USER", "lang", "uk-UA");
+
+        assertEquals(claims, codec.decode(codec.encode(claims)).orElseThrow());
+    }
+
+    @Test
+    public void givenForgedTokenWhenDecodeThenReject() {
+        String token = codec.encode(Map.of("sid", "s1", "role", "USER"));
+        String forged = new SessionTokenCodec("other", 60).encode(Map.of("sid", "s1", "role", "ADMIN"));
+
+        assertFalse(codec.decode(forged).isPresent());
+        assertFalse(codec.decode(forged.substring(0, forged.indexOf('.')) + token.substring(token.indexOf('.'))).isPresent());
+    }
+
+    @Test
+    public void givenExpiredTokenWhenDecodeThenReject() {
+        String token = new SessionTokenCodec("secret", -1).encode(Map.of("sid", "s1", "role", "USER"));
+
+        assertFalse(codec.decode(token).isPresent());
+    }
+
+    @Test
+    public void givenTokenAfterHalfOfTimeToLiveWhenCheckRefreshThenItIsDue() {
+        String token = new SessionTokenCodec("secret", 20).encode(Map.of("sid", "s1", "role", "USER"));
+
+        assertTrue(codec.isRefreshDue(token));
+        assertFalse(codec.isRefreshDue(codec.encode(Map.of("sid", "s1", "role", "USER"))));
+    }
+}
@@ -0,0 +1,155 @@
+package ua.training.model.dao.jdbc;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import ua.training.model.dao.mapper.Mapper;
+import ua.training.model.dao.mapper.factory.MapperFactory;
+import ua.training.model.dto.InvoiceAcceptanceDto;
+import ua.training.model.entity.Account;
+import ua.training.model.entity.Currency;
+import ua.training.model.entity.DepositAccount;
+import ua.training.model.entity.Invoice;
+import ua.training.model.service.FixerExchangeService;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({FixerExchangeService.class, Account.class, DepositAccount.class})
+@PowerMockIgnore({"org.apache.logging.log4j.*", "javax.xml.parsers.*", "com.sun.org.apache.xerces.internal.jaxp.*"})
+public class JdbcInvoiceDaoTest {
+    @Mock
+    private FixerExchangeService exchangeService;
+
+    private Connection connection;
+    private PreparedStatement updateInvoiceStatement;
+    private PreparedStatement insertTransactionStatement;
+    private JdbcInvoiceDao invoiceDao;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void init() throws Exception {
+        when(exchangeService.exchangeRate(any(Currency.class), any(Currency.class))).thenReturn(BigDecimal.ONE);
+        PowerMockito.whenNew(FixerExchangeService.class).withNoArguments().thenReturn(exchangeService);
+
+        DataSource dataSource = Mockito.mock(DataSource.class);
+        QueriesManager queriesManager = Mockito.mock(QueriesManager.class);
+        MapperFactory mapperFactory = Mockito.mock(MapperFactory.class);
+        Mapper<Invoice> invoiceMapper = Mockito.mock(Mapper.class);
+        Mapper<Account> accountMapper = Mockito.mock(Mapper.class);
+        connection = Mockito.mock(Connection.class);
+        updateInvoiceStatement = Mockito.mock(PreparedStatement.class);
+        insertTransactionStatement = Mockito.mock(PreparedStatement.class);
+
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(queriesManager.getQuery(anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(mapperFactory.getInvoiceMapper()).thenReturn(invoiceMapper);
+        when(mapperFactory.getAccountMapper()).thenReturn(accountMapper);
+
+        PreparedStatement getInvoicesStatement = query(2);
+        PreparedStatement getAccountsStatement = query(2);
+        PreparedStatement updateBalanceStatement = Mockito.mock(PreparedStatement.class);
+
+        when(connection.prepareStatement("sql.invoices.get.by.ids.for.update")).thenReturn(getInvoicesStatement);
+        when(connection.prepareStatement("sql.accounts.get.by.ids.for.update")).thenReturn(getAccountsStatement);
+        when(connection.prepareStatement("sql.invoices.update.transaction")).thenReturn(updateInvoiceStatement);
+        when(connection.prepareStatement("sql.accounts.update.balance")).thenReturn(updateBalanceStatement);
+        when(connection.prepareStatement("sql.transactions.insert", Statement.RETURN_GENERATED_KEYS)).thenReturn(insertTransactionStatement);
+
+        when(invoiceMapper.map(any())).thenReturn(buildInvoice(11), buildInvoice(12));
+        when(accountMapper.map(any())).thenReturn(buildAccount(1, 10), buildAccount(2, 0));
+
+        ResultSet generatedKeys = Mockito.mock(ResultSet.class);
+        when(insertTransactionStatement.getGeneratedKeys()).thenReturn(generatedKeys);
+        when(generatedKeys.next()).thenReturn(true, true, false);
+        when(generatedKeys.getLong(1)).thenReturn(501L, 502L);
+
+        invoiceDao = new JdbcInvoiceDao(dataSource);
+        invoiceDao.setQueriesManager(queriesManager);
+        invoiceDao.setMapperFactory(mapperFactory);
+        invoiceDao.setReadDataSource(Mockito.mock(RoutingDataSource.class));
+    }
+
+    @Test
+    public void givenAcceptedInvoicesWhenWrittenThenGeneratedKeysAreMappedInOrder() throws Exception {
+        when(updateInvoiceStatement.executeBatch()).thenReturn(new int[]{1, 1});
+
+        InvoiceAcceptanceDto acceptance = invoiceDao.acceptInvoices(List.of(11L, 12L), List.of(1L), false);
+
+        assertEquals(2, acceptance.getAcceptedNumber());
+
+        InOrder inOrder = inOrder(updateInvoiceStatement);
+        inOrder.verify(updateInvoiceStatement).setLong(2, 501L);
+        inOrder.verify(updateInvoiceStatement).setLong(3, 11L);
+        inOrder.verify(updateInvoiceStatement).setLong(2, 502L);
+        inOrder.verify(updateInvoiceStatement).setLong(3, 12L);
+        verify(connection).commit();
+    }
+
+    @Test
+    public void givenInvoiceNotProcessingAnymoreWhenWrittenThenBatchRolledBack() throws Exception {
+        when(updateInvoiceStatement.executeBatch()).thenReturn(new int[]{1, 0});
+
+        try {
+            invoiceDao.acceptInvoices(List.of(11L, 12L), List.of(1L), false);
+        } catch (RuntimeException exception) {
+            verify(connection).rollback();
+            verify(connection, never()).commit();
+            return;
+        }
+        throw new AssertionError("Batch is committed");
+    }
+
+    private PreparedStatement query(int rows) throws Exception {
+        PreparedStatement statement = Mockito.mock(PreparedStatement.class);
+        ResultSet resultSet = Mockito.mock(ResultSet.class);
+        Boolean[] next = new Boolean[rows];
+        for (int i = 0; i < rows; i++) {
+            next[i] = i + 1 < rows;
+        }
+
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, next);
+        return statement;
+    }
+
+    private static Invoice buildInvoice(long id) {
+        return Invoice.getBuilder()
+                .setId(id)
+                .setRequester(2)
+                .setPayer(1)
+                .setAmount(BigDecimal.ONE)
+                .setCurrency(Currency.UAH)
+                .setStatus(Invoice.Status.PROCESSING)
+                .build();
+    }
+
+    private static Account buildAccount(long id, long balance) {
+        return DepositAccount.getBuilder()
+                .setId(id)
+                .setBalance(BigDecimal.valueOf(balance))
+                .setCurrency(Currency.UAH)
+                .setStatus(Account.Status.ACTIVE)
+                .setDepositRate(BigDecimal.valueOf(0.2))
+                .setUpdatePeriod(30)
+                .build();
+    }
+}
@@ -0,0 +1,96 @@
+package ua.training.model.dao.jdbc;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+import ua.training.model.dao.mapper.Mapper;
+import ua.training.model.dao.mapper.factory.MapperFactory;
+import ua.training.model.entity.Transaction;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class JdbcTransactionDaoTest {
+    private Connection connection;
+    private Statement snapshotStatement;
+    private ResultSet resultSet;
+    private Mapper<Transaction> transactionMapper;
+    private JdbcTransactionDao transactionDao;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void init() throws SQLException {
+        DataSource dataSource = Mockito.mock(DataSource.class);
+        RoutingDataSource readDataSource = Mockito.mock(RoutingDataSource.class);
+        QueriesManager queriesManager = Mockito.mock(QueriesManager.class);
+        MapperFactory mapperFactory = Mockito.mock(MapperFactory.class);
+        PreparedStatement statement = Mockito.mock(PreparedStatement.class);
+        resultSet = Mockito.mock(ResultSet.class);
+        transactionMapper = Mockito.mock(Mapper.class);
+        connection = Mockito.mock(Connection.class);
+        snapshotStatement = Mockito.mock(Statement.class);
+
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(readDataSource.getConnection()).thenReturn(connection);
+        when(queriesManager.getQuery(anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(mapperFactory.getTransactionMapper()).thenReturn(transactionMapper);
+        when(connection.createStatement()).thenReturn(snapshotStatement);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(connection.prepareStatement(anyString(), anyInt(), anyInt())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+
+        transactionDao = new JdbcTransactionDao(dataSource);
+        transactionDao.setQueriesManager(queriesManager);
+        transactionDao.setMapperFactory(mapperFactory);
+        transactionDao.setReadDataSource(readDataSource);
+        transactionDao.setExportDataSource(dataSource);
+    }
+
+    @Test
+    public void givenPageWhenGetThenItIsConsumedAfterSnapshotIsCommitted() throws SQLException {
+        when(resultSet.next()).thenReturn(true, false, true, false);
+        when(resultSet.getInt("transactions_number")).thenReturn(1);
+        when(transactionMapper.map(resultSet)).thenReturn(Transaction.getBuilder().build());
+
+        AtomicBoolean committed = new AtomicBoolean();
+        doAnswer(invocation -> {
+            committed.set(true);
+            return null;
+        }).when(connection).commit();
+
+        List<Boolean> consumed = new ArrayList<>();
+        int pagesNumber = transactionDao.getPage(7L, 10, 1, transaction -> consumed.add(committed.get()));
+
+        assertEquals(1, pagesNumber);
+        assertEquals(List.of(true), consumed);
+        verify(connection, never()).setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+        verify(snapshotStatement).execute("sql.transactions.snapshot");
+    }
+
+    @Test
+    public void givenPeriodWhenExportThenArchivesAndHotTableReadInOneSnapshot() throws SQLException {
+        transactionDao.getAccountTransactions(7L, LocalDateTime.now().minusDays(1), LocalDateTime.now(), transaction -> {});
+
+        InOrder inOrder = inOrder(connection, snapshotStatement);
+        inOrder.verify(connection).setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+        inOrder.verify(connection).setAutoCommit(false);
+        inOrder.verify(snapshotStatement).execute("sql.transactions.snapshot");
+        inOrder.verify(connection).prepareStatement("sql.transactions.archives.get");
+        inOrder.verify(connection).prepareStatement(eq("sql.transactions.get.by.account.period"), anyInt(), anyInt());
+        inOrder.verify(connection).commit();
+    }
+}
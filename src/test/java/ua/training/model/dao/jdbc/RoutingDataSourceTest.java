@@ -0,0 +1,88 @@
+package ua.training.model.dao.jdbc;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+public class RoutingDataSourceTest {
+    private Connection primaryConnection;
+    private Connection replicaConnection;
+    private ResultSet lagResult;
+    private RoutingDataSource routingDataSource;
+
+    @Before
+    public void init() throws SQLException {
+        DataSource primary = Mockito.mock(DataSource.class);
+        DataSource replica = Mockito.mock(DataSource.class);
+        primaryConnection = Mockito.mock(Connection.class);
+        replicaConnection = Mockito.mock(Connection.class);
+        PreparedStatement lagStatement = Mockito.mock(PreparedStatement.class);
+        lagResult = Mockito.mock(ResultSet.class);
+
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        when(replicaConnection.prepareStatement(anyString())).thenReturn(lagStatement);
+        when(lagStatement.executeQuery()).thenReturn(lagResult);
+        when(lagResult.next()).thenReturn(true);
+
+        routingDataSource = new RoutingDataSource();
+        routingDataSource.setPrimary(primary);
+        routingDataSource.setMaxLag(5);
+        routingDataSource.setProbeInterval(2);
+        routingDataSource.setLagQuery("show slave status");
+        routingDataSource.setLagColumn("Seconds_Behind_Master");
+        routingDataSource.addReplica("replica", replica);
+    }
+
+    @After
+    public void clear() {
+        RoutingDataSource.clearCurrentUser();
+    }
+
+    @Test
+    public void givenFreshReplicaWhenGetConnectionThenReplica() throws SQLException {
+        when(lagResult.getObject("Seconds_Behind_Master")).thenReturn(1L);
+        routingDataSource.probe();
+
+        assertSame(replicaConnection, routingDataSource.getConnection());
+    }
+
+    @Test
+    public void givenLaggingOrStoppedReplicaWhenGetConnectionThenPrimary() throws SQLException {
+        when(lagResult.getObject("Seconds_Behind_Master")).thenReturn(10L);
+        routingDataSource.probe();
+
+        assertSame(primaryConnection, routingDataSource.getConnection());
+
+        when(lagResult.getObject("Seconds_Behind_Master")).thenReturn(null);
+        routingDataSource.probe();
+
+        assertSame(primaryConnection, routingDataSource.getConnection());
+    }
+
+    @Test
+    public void givenUserWritesWhenGetConnectionThenPrimaryForThisUserOnly() throws SQLException {
+        when(lagResult.getObject("Seconds_Behind_Master")).thenReturn(0L);
+        routingDataSource.probe();
+
+        RoutingDataSource.setCurrentUser(1L);
+        routingDataSource.markWritten();
+
+        assertSame(primaryConnection, routingDataSource.getConnection());
+
+        RoutingDataSource.setCurrentUser(2L);
+
+        assertSame(replicaConnection, routingDataSource.getConnection());
+    }
+}
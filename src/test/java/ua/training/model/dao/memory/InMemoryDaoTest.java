@@ -0,0 +1,175 @@
+package ua.training.model.dao.memory;
+
+import org.junit.Before;
+import org.junit.Test;
+import ua.training.model.dto.ImportReportDto;
+import ua.training.model.dto.InvoiceDto;
+import ua.training.model.entity.Account;
+import ua.training.model.entity.Currency;
+import ua.training.model.entity.DepositAccount;
+import ua.training.model.entity.Invoice;
+import ua.training.model.entity.Permission;
+import ua.training.model.entity.Request;
+import ua.training.model.entity.Transaction;
+import ua.training.model.entity.User;
+import ua.training.model.exception.NonUniqueLoginException;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class InMemoryDaoTest {
+    private InMemoryAccountDao accountDao;
+    private InMemoryInvoiceDao invoiceDao;
+    private InMemoryUserDao userDao;
+    private InMemoryRequestDao requestDao;
+    private InMemoryTransactionDao transactionDao;
+
+    @Before
+    public void init() {
+        InMemoryStore store = new InMemoryStore();
+        accountDao = new InMemoryAccountDao(store);
+        invoiceDao = new InMemoryInvoiceDao(store);
+        userDao = new InMemoryUserDao(store);
+        requestDao = new InMemoryRequestDao(store);
+        transactionDao = new InMemoryTransactionDao(store);
+    }
+
+    @Test(expected = NonUniqueLoginException.class)
+    public void givenTakenLoginWhenInsertUserThenThrowException() {
+        userDao.insert(buildUser("login", "first@mail.com"));
+        userDao.insert(buildUser("login", "second@mail.com"));
+    }
+
+    @Test
+    public void givenOpenedAccountWhenAddAndRemoveHolderThenPermissionsChanged() {
+        long ownerId = userDao.insert(buildUser("owner", "owner@mail.com"));
+        long holderId = userDao.insert(buildUser("holder", "holder@mail.com"));
+        long accountId = accountDao.openAccount(ownerId, buildAccount());
+
+        userDao.addAccountHolder(holderId, accountId);
+
+        assertEquals(Permission.RESTRICTED, userDao.getPermissions(holderId, accountId));
+        assertEquals(2, accountDao.get(accountId).getHolders().size());
+
+        userDao.removeAccountHolder(holderId, accountId);
+
+        assertTrue(userDao.get(holderId).getAccounts().isEmpty());
+        assertEquals(List.of(accountId), userDao.get(ownerId).getAccounts());
+    }
+
+    @Test
+    public void givenRequestWhenCompleteOpeningRequestTwiceThenSecondFails() {
+        long userId = userDao.insert(buildUser("user", "user@mail.com"));
+        long requestId = requestDao.insert(Request.getBuilder()
+                .setRequesterId(userId)
+                .setType(Request.Type.CREATE_DEPOSIT_ACCOUNT)
+                .setCurrency(Currency.UAH)
+                .build());
+
+        accountDao.completeOpeningRequest(requestId, buildAccount());
+
+        assertTrue(requestDao.get(requestId).isConsidered());
+        try {
+            accountDao.completeOpeningRequest(requestId, buildAccount());
+        } catch (RuntimeException exception) {
+            assertEquals(1, accountDao.getUserAccounts(userId).size());
+            return;
+        }
+        throw new AssertionError("Request is completed twice");
+    }
+
+    @Test
+    public void givenInvoicesWhenGetPageAndDenyAndExpireThenOnlyProcessingAffected() {
+        long userId = userDao.insert(buildUser("user", "user@mail.com"));
+        long payerId = accountDao.openAccount(userId, buildAccount());
+        long requesterId = accountDao.openAccount(userId, buildAccount());
+
+        long first = invoiceDao.insert(buildInvoice(requesterId, payerId));
+        long second = invoiceDao.insert(buildInvoice(requesterId, payerId));
+        long third = invoiceDao.insert(buildInvoice(requesterId, payerId));
+
+        InvoiceDto page = invoiceDao.getInvoicesPage(userId, payerId, EnumSet.allOf(Invoice.Status.class),
+                Long.MAX_VALUE, Long.MAX_VALUE, 2).get();
+
+        assertEquals(2, page.getInvoicesAsPayer().size());
+        assertEquals(third, page.getInvoicesAsPayer().get(0).getId());
+        assertEquals(Long.valueOf(second), page.getPayerNext());
+        assertTrue(page.getInvoicesAsRequester().isEmpty());
+        assertNull(page.getRequesterNext());
+        assertFalse(invoiceDao.getInvoicesPage(userId + 1, payerId, EnumSet.allOf(Invoice.Status.class),
+                Long.MAX_VALUE, Long.MAX_VALUE, 2).isPresent());
+
+        invoiceDao.denyInvoice(second);
+
+        assertEquals(2, invoiceDao.expireInvoices(first, third, LocalDateTime.now().plusMinutes(1)));
+        assertEquals(second, invoiceDao.getMinInvoiceId());
+        assertEquals(Invoice.Status.DENIED, invoiceDao.get(second).getStatus());
+    }
+
+    @Test
+    public void givenImportedTransactionsWhenExportPeriodThenOnlyPeriodTransactionsInOrder() {
+        long userId = userDao.insert(buildUser("user", "user@mail.com"));
+        long accountId = accountDao.openAccount(userId, buildAccount());
+        Transaction transaction = Transaction.getBuilder()
+                .setReceiver(accountId)
+                .setType(Transaction.Type.EXTERNAL)
+                .setAmount(BigDecimal.TEN)
+                .setCurrency(Currency.UAH)
+                .build();
+
+        assertEquals(List.of(ImportReportDto.Outcome.APPLIED, ImportReportDto.Outcome.APPLIED, ImportReportDto.Outcome.DUPLICATE),
+                transactionDao.importTransactions(List.of("a", "b", "a"), List.of(transaction, transaction, transaction)));
+
+        List<Transaction> exported = new ArrayList<>();
+        transactionDao.getAccountTransactions(accountId, LocalDateTime.now().minusMinutes(1), LocalDateTime.now().plusMinutes(1), exported::add);
+
+        assertEquals(2, exported.size());
+        assertTrue(exported.get(0).getId() < exported.get(1).getId());
+        assertEquals(new BigDecimal(20), accountDao.get(accountId).getBalance());
+
+        exported.clear();
+        transactionDao.getAccountTransactions(accountId, LocalDateTime.now().minusDays(2), LocalDateTime.now().minusDays(1), exported::add);
+
+        assertTrue(exported.isEmpty());
+    }
+
+    private static User buildUser(String login, String email) {
+        return User.getBuilder()
+                .setLogin(login)
+                .setPasswordHash("hash")
+                .setEmail(email)
+                .setRole(User.Role.USER)
+                .setFirstName("First")
+                .setSecondName("Second")
+                .build();
+    }
+
+    private static Account buildAccount() {
+        return DepositAccount.getBuilder()
+                .setBalance(BigDecimal.ZERO)
+                .setCurrency(Currency.UAH)
+                .setStatus(Account.Status.ACTIVE)
+                .setDepositRate(BigDecimal.valueOf(0.2))
+                .setUpdatePeriod(30)
+                .build();
+    }
+
+    private static Invoice buildInvoice(long requesterId, long payerId) {
+        return Invoice.getBuilder()
+                .setRequester(requesterId)
+                .setPayer(payerId)
+                .setAmount(BigDecimal.TEN)
+                .setCurrency(Currency.UAH)
+                .setStatus(Invoice.Status.PROCESSING)
+                .setDescription("description")
+                .build();
+    }
+}
@@ -0,0 +1,236 @@
+package ua.training.model.dao.memory;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import ua.training.model.dto.InvoiceAcceptanceDto;
+import ua.training.model.entity.Account;
+import ua.training.model.entity.Currency;
+import ua.training.model.entity.DepositAccount;
+import ua.training.model.entity.Invoice;
+import ua.training.model.entity.Transaction;
+import ua.training.model.entity.User;
+import ua.training.model.service.FixerExchangeService;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({FixerExchangeService.class, Account.class, DepositAccount.class})
+@PowerMockIgnore({"org.apache.logging.log4j.*", "javax.xml.parsers.*", "com.sun.org.apache.xerces.internal.jaxp.*"})
+public class InMemoryInvoiceDaoTest {
+    @Mock
+    private FixerExchangeService exchangeService;
+
+    private InMemoryAccountDao accountDao;
+    private InMemoryInvoiceDao invoiceDao;
+    private InMemoryTransactionDao transactionDao;
+    private long userId;
+
+    @Before
+    public void init() throws Exception {
+        when(exchangeService.exchangeRate(any(Currency.class), any(Currency.class))).thenReturn(BigDecimal.ONE);
+        PowerMockito.whenNew(FixerExchangeService.class).withNoArguments().thenReturn(exchangeService);
+
+        InMemoryStore store = new InMemoryStore();
+        accountDao = new InMemoryAccountDao(store);
+        invoiceDao = new InMemoryInvoiceDao(store);
+        transactionDao = new InMemoryTransactionDao(store);
+        userId = new InMemoryUserDao(store).insert(User.getBuilder()
+                .setLogin("user")
+                .setPasswordHash("hash")
+                .setEmail("user@mail.com")
+                .setRole(User.Role.USER)
+                .setFirstName("First")
+                .setSecondName("Second")
+                .build());
+    }
+
+    @Test
+    public void givenInvoicesOfSeveralPayersWhenAcceptThenPaymentsAreNetted() {
+        long first = openAccount(10, Account.Status.ACTIVE);
+        long second = openAccount(0, Account.Status.ACTIVE);
+
+        long firstPays = invoiceDao.insert(buildInvoice(second, first, 10));
+        long secondPays = invoiceDao.insert(buildInvoice(first, second, 4));
+
+        InvoiceAcceptanceDto acceptance = invoiceDao.acceptInvoices(List.of(secondPays, firstPays), List.of(first, second), false);
+
+        assertEquals(Map.of(firstPays, InvoiceAcceptanceDto.Outcome.ACCEPTED, secondPays, InvoiceAcceptanceDto.Outcome.ACCEPTED),
+                acceptance.getOutcomes());
+        assertEquals(2, acceptance.getAcceptedNumber());
+        assertBalance(first, 4);
+        assertBalance(second, 6);
+    }
+
+    @Test
+    public void givenAcceptedInvoicesWhenGetTransactionsThenEveryInvoiceHasOwnTransaction() {
+        long payer = openAccount(10, Account.Status.ACTIVE);
+        long requester = openAccount(0, Account.Status.ACTIVE);
+
+        long first = invoiceDao.insert(buildInvoice(requester, payer, 3));
+        long second = invoiceDao.insert(buildInvoice(requester, payer, 5));
+
+        invoiceDao.acceptInvoices(List.of(first, second), List.of(payer), false);
+
+        Invoice firstInvoice = invoiceDao.get(first);
+        Invoice secondInvoice = invoiceDao.get(second);
+
+        assertEquals(Invoice.Status.ACCEPTED, firstInvoice.getStatus());
+        assertNotEquals(firstInvoice.getTransaction(), secondInvoice.getTransaction());
+        assertTransaction(firstInvoice);
+        assertTransaction(secondInvoice);
+    }
+
+    @Test
+    public void givenFailingInvoiceWhenAcceptThenItsBalancesRestoredAndOthersPaid() {
+        long payer = openAccount(10, Account.Status.ACTIVE);
+        long requester = openAccount(0, Account.Status.ACTIVE);
+        long closed = openAccount(0, Account.Status.CLOSED);
+
+        long paid = invoiceDao.insert(buildInvoice(requester, payer, 6));
+        long tooBig = invoiceDao.insert(buildInvoice(requester, payer, 6));
+        long toClosed = invoiceDao.insert(buildInvoice(closed, payer, 1));
+        long rest = invoiceDao.insert(buildInvoice(requester, payer, 4));
+
+        InvoiceAcceptanceDto acceptance = invoiceDao.acceptInvoices(List.of(paid, tooBig, toClosed, rest), List.of(payer), false);
+
+        assertEquals(InvoiceAcceptanceDto.Outcome.ACCEPTED, acceptance.getOutcome(paid));
+        assertEquals(InvoiceAcceptanceDto.Outcome.NOT_ENOUGH_MONEY, acceptance.getOutcome(tooBig));
+        assertEquals(InvoiceAcceptanceDto.Outcome.NON_ACTIVE_ACCOUNT, acceptance.getOutcome(toClosed));
+        assertEquals(InvoiceAcceptanceDto.Outcome.ACCEPTED, acceptance.getOutcome(rest));
+        assertBalance(payer, 0);
+        assertBalance(requester, 10);
+        assertBalance(closed, 0);
+        assertEquals(Invoice.Status.PROCESSING, invoiceDao.get(tooBig).getStatus());
+        assertEquals(Invoice.Status.PROCESSING, invoiceDao.get(toClosed).getStatus());
+    }
+
+    @Test
+    public void givenFailingInvoiceWhenAcceptAtomicPerPayerThenOnlyItsPayerRolledBack() {
+        long payer = openAccount(10, Account.Status.ACTIVE);
+        long otherPayer = openAccount(5, Account.Status.ACTIVE);
+        long requester = openAccount(0, Account.Status.ACTIVE);
+
+        long paid = invoiceDao.insert(buildInvoice(requester, payer, 6));
+        long tooBig = invoiceDao.insert(buildInvoice(requester, payer, 6));
+        long otherPaid = invoiceDao.insert(buildInvoice(requester, otherPayer, 5));
+
+        InvoiceAcceptanceDto acceptance = invoiceDao.acceptInvoices(List.of(paid, tooBig, otherPaid),
+                List.of(payer, otherPayer), true);
+
+        assertEquals(InvoiceAcceptanceDto.Outcome.PAYER_ROLLED_BACK, acceptance.getOutcome(paid));
+        assertEquals(InvoiceAcceptanceDto.Outcome.NOT_ENOUGH_MONEY, acceptance.getOutcome(tooBig));
+        assertEquals(InvoiceAcceptanceDto.Outcome.ACCEPTED, acceptance.getOutcome(otherPaid));
+        assertEquals(1, acceptance.getAcceptedNumber());
+        assertBalance(payer, 10);
+        assertBalance(otherPayer, 0);
+        assertBalance(requester, 5);
+        assertEquals(Invoice.Status.PROCESSING, invoiceDao.get(paid).getStatus());
+        assertEquals(0, transactionDao.getTransactionsNumber(payer));
+    }
+
+    @Test
+    public void givenNotPayableInvoicesWhenAcceptThenNothingIsPaid() {
+        long payer = openAccount(10, Account.Status.ACTIVE);
+        long foreignPayer = openAccount(10, Account.Status.ACTIVE);
+        long requester = openAccount(0, Account.Status.ACTIVE);
+
+        long denied = invoiceDao.insert(buildInvoice(requester, payer, 1));
+        long foreign = invoiceDao.insert(buildInvoice(requester, foreignPayer, 1));
+        long paid = invoiceDao.insert(buildInvoice(requester, payer, 1));
+        invoiceDao.denyInvoice(denied);
+
+        InvoiceAcceptanceDto acceptance = invoiceDao.acceptInvoices(List.of(denied, foreign, paid, paid, paid + 1),
+                List.of(payer), false);
+
+        assertEquals(InvoiceAcceptanceDto.Outcome.NOT_PROCESSING, acceptance.getOutcome(denied));
+        assertEquals(InvoiceAcceptanceDto.Outcome.NO_SUCH_INVOICE, acceptance.getOutcome(foreign));
+        assertEquals(InvoiceAcceptanceDto.Outcome.ACCEPTED, acceptance.getOutcome(paid));
+        assertEquals(InvoiceAcceptanceDto.Outcome.NO_SUCH_INVOICE, acceptance.getOutcome(paid + 1));
+        assertEquals(1, acceptance.getAcceptedNumber());
+        assertBalance(payer, 9);
+        assertBalance(foreignPayer, 10);
+        assertEquals(Invoice.Status.PROCESSING, invoiceDao.get(foreign).getStatus());
+    }
+
+    @Test
+    public void givenConcurrentBatchesWhenAcceptSameInvoiceThenItIsPaidOnce() throws Exception {
+        long payer = openAccount(100, Account.Status.ACTIVE);
+        long requester = openAccount(0, Account.Status.ACTIVE);
+
+        List<Long> invoiceIds = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            invoiceIds.add(invoiceDao.insert(buildInvoice(requester, payer, 1)));
+        }
+
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        List<Callable<InvoiceAcceptanceDto>> batches = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            batches.add(() -> invoiceDao.acceptInvoices(invoiceIds, List.of(payer), false));
+        }
+
+        long accepted = 0;
+        try {
+            for (Future<InvoiceAcceptanceDto> batch : executorService.invokeAll(batches)) {
+                accepted += batch.get().getAcceptedNumber();
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        assertEquals(20, accepted);
+        assertBalance(payer, 80);
+        assertBalance(requester, 20);
+        assertEquals(20, transactionDao.getTransactionsNumber(payer));
+    }
+
+    private long openAccount(long balance, Account.Status status) {
+        return accountDao.openAccount(userId, DepositAccount.getBuilder()
+                .setBalance(BigDecimal.valueOf(balance))
+                .setCurrency(Currency.UAH)
+                .setStatus(status)
+                .setDepositRate(BigDecimal.valueOf(0.2))
+                .setUpdatePeriod(30)
+                .build());
+    }
+
+    private void assertBalance(long accountId, long balance) {
+        assertEquals(0, BigDecimal.valueOf(balance).compareTo(accountDao.get(accountId).getBalance()));
+    }
+
+    private void assertTransaction(Invoice invoice) {
+        Transaction transaction = transactionDao.get(invoice.getTransaction());
+
+        assertEquals(invoice.getPayer(), transaction.getSender());
+        assertEquals(invoice.getRequester(), transaction.getReceiver());
+        assertEquals(0, invoice.getAmount().compareTo(transaction.getAmount()));
+    }
+
+    private static Invoice buildInvoice(long requesterId, long payerId, long amount) {
+        return Invoice.getBuilder()
+                .setRequester(requesterId)
+                .setPayer(payerId)
+                .setAmount(BigDecimal.valueOf(amount))
+                .setCurrency(Currency.UAH)
+                .setStatus(Invoice.Status.PROCESSING)
+                .setDescription("description")
+                .build();
+    }
+}
@@ -0,0 +1,104 @@
+package ua.training.model.service;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import ua.training.model.entity.Currency;
+import ua.training.model.service.util.CircuitBreaker;
+import ua.training.model.service.util.FixerUtil;
+import ua.training.model.service.util.RateHistory;
+import ua.training.model.service.util.RatesStore;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ListResourceBundle;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+public class FixerExchangeServiceTest {
+    private static final Map<Currency, BigDecimal> RATES = Map.of(
+            Currency.EUR, BigDecimal.ONE, Currency.USD, new BigDecimal("1.1"), Currency.UAH, new BigDecimal("30"));
+
+    private FixerUtil fixerUtil;
+    private RateHistory rateHistory;
+    private FixerExchangeService exchangeService;
+
+    @Before
+    public void init() {
+        fixerUtil = Mockito.mock(FixerUtil.class);
+        rateHistory = Mockito.mock(RateHistory.class);
+        RatesStore ratesStore = Mockito.mock(RatesStore.class);
+
+        when(ratesStore.load()).thenReturn(Optional.empty());
+        when(fixerUtil.getDefaultRates(Currency.EUR)).thenReturn(RATES);
+
+        exchangeService = new FixerExchangeService();
+        exchangeService.setFixerUtil(fixerUtil);
+        exchangeService.setRatesStore(ratesStore);
+        exchangeService.setRateHistory(rateHistory);
+        exchangeService.setBundle(new ListResourceBundle() {
+            @Override
+            protected Object[][] getContents() {
+                return new Object[][]{{"fixer.api.base", "EUR"}, {"fixer.api.valid", "3600"},
+                        {"fixer.refresh.cooldown", "60000"}};
+            }
+        });
+        exchangeService.init();
+    }
+
+    @Test
+    public void givenRequestRejectedWhenRefreshThenNextRefreshIsStarted() {
+        when(fixerUtil.requestRatesAsync())
+                .thenThrow(new RejectedExecutionException())
+                .thenReturn(CompletableFuture.completedFuture(RATES));
+
+        exchangeService.warmUp();
+        exchangeService.warmUp();
+
+        verify(fixerUtil, times(2)).requestRatesAsync();
+        verify(rateHistory).append(anyMap(), any(Instant.class));
+    }
+
+    @Test
+    public void givenRecordingFailsWhenRefreshThenRatesUpdatedAndNextRefreshIsStarted() {
+        when(fixerUtil.requestRatesAsync()).thenReturn(CompletableFuture.completedFuture(RATES));
+        doThrow(new IllegalStateException()).doNothing().when(rateHistory).append(anyMap(), any(Instant.class));
+
+        exchangeService.warmUp();
+        exchangeService.warmUp();
+
+        verify(fixerUtil, times(2)).requestRatesAsync();
+        assertEquals(new BigDecimal("30"), exchangeService.exchangeRate(Currency.EUR, Currency.UAH));
+    }
+
+    @Test
+    public void givenFailedRefreshWhenRatesStaleThenNextRefreshWaitsForCooldown() {
+        CompletableFuture<Map<Currency, BigDecimal>> rejected = new CompletableFuture<>();
+        rejected.completeExceptionally(new CircuitBreaker.OpenException("open"));
+        when(fixerUtil.isRatesNotValid(any(), anyLong())).thenReturn(true);
+        when(fixerUtil.requestRatesAsync()).thenReturn(rejected);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(new BigDecimal("30"), exchangeService.exchangeRate(Currency.EUR, Currency.UAH));
+        }
+
+        verify(fixerUtil).requestRatesAsync();
+    }
+
+    @Test
+    public void givenMomentBeforeHistoryWhenExchangeRateThenEmpty() {
+        Instant time = Instant.now();
+        when(rateHistory.exchangeRate(Currency.EUR, Currency.UAH, time)).thenReturn(Optional.empty());
+
+        assertFalse(exchangeService.exchangeRate(Currency.EUR, Currency.UAH, time).isPresent());
+    }
+}
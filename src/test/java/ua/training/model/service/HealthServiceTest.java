@@ -0,0 +1,126 @@
+package ua.training.model.service;
+
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import ua.training.model.dao.factory.InMemoryDaoFactory;
+import ua.training.model.exception.CancelingTaskException;
+import ua.training.model.service.util.CircuitBreaker;
+import ua.training.model.service.util.FixerUtil;
+import ua.training.model.service.util.JobStatistics;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+
+public class HealthServiceTest {
+    private DataSource dataSource;
+    private ScheduledThreadPoolExecutor executor;
+    private JobStatistics jobStatistics;
+    private WarmUpService warmUpService;
+    private FixerUtil fixerUtil;
+    private HealthService healthService;
+
+    @Before
+    public void init() {
+        dataSource = Mockito.mock(DataSource.class);
+        executor = new ScheduledThreadPoolExecutor(1);
+        jobStatistics = new JobStatistics();
+        warmUpService = Mockito.mock(WarmUpService.class);
+
+        FixerExchangeService exchangeService = Mockito.mock(FixerExchangeService.class);
+        fixerUtil = Mockito.mock(FixerUtil.class);
+        when(exchangeService.getLastUpdate()).thenReturn(LocalDateTime.now());
+        when(fixerUtil.getCircuitState()).thenReturn(CircuitBreaker.State.CLOSED);
+        when(warmUpService.isReady()).thenReturn(true);
+
+        healthService = new HealthService(dataSource, executor, 10);
+        healthService.setExchangeService(exchangeService);
+        healthService.setFixerUtil(fixerUtil);
+        healthService.setJobStatistics(jobStatistics);
+        healthService.setWarmUpService(warmUpService);
+    }
+
+    @After
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void givenReachableDatabaseWhenProbeThenReady() throws Exception {
+        Connection connection = Mockito.mock(Connection.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.isValid(Mockito.anyInt())).thenReturn(true);
+
+        executor.schedule(() -> {}, 1, TimeUnit.HOURS);
+        healthService.probe();
+
+        assertTrue(healthService.isReady());
+        assertEquals(1, healthService.getHealth().getSchedulerQueued());
+        assertEquals(0, healthService.getHealth().getSchedulerOverdue());
+    }
+
+    @Test
+    public void givenUnreachableDatabaseWhenProbeThenNotReady() throws Exception {
+        when(dataSource.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        healthService.probe();
+
+        assertFalse(healthService.isReady());
+        assertFalse(healthService.getHealth().isDatabaseUp());
+    }
+
+    @Test
+    public void givenExhaustedPoolWhenProbeThenDegradedWithoutWaiting() throws Exception {
+        BasicDataSource pool = Mockito.mock(BasicDataSource.class);
+        when(pool.getNumActive()).thenReturn(8);
+        when(pool.getMaxTotal()).thenReturn(8);
+
+        healthService = new HealthService(pool, executor, 10);
+        healthService.setExchangeService(Mockito.mock(FixerExchangeService.class));
+        healthService.setFixerUtil(fixerUtil);
+        healthService.setJobStatistics(jobStatistics);
+        healthService.setWarmUpService(warmUpService);
+
+        healthService.probe();
+
+        assertTrue(healthService.getHealth().isDatabaseUp());
+        assertTrue(healthService.getHealth().isDatabaseDegraded());
+        Mockito.verify(pool, Mockito.never()).getConnection();
+    }
+
+    @Test
+    public void givenInMemoryDaosWhenProbeThenReadyWithoutDatabase() throws Exception {
+        healthService.setDaoFactory(Mockito.mock(InMemoryDaoFactory.class));
+
+        healthService.probe();
+
+        assertTrue(healthService.isReady());
+        Mockito.verify(dataSource, Mockito.never()).getConnection();
+    }
+
+    @Test
+    public void givenFailedJobWhenProbeThenReportIt() throws Exception {
+        when(dataSource.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        try {
+            jobStatistics.record("depositUpdate", () -> {
+                throw new CancelingTaskException();
+            });
+        } catch (CancelingTaskException exception) {
+            healthService.probe();
+        }
+
+        assertTrue(healthService.getHealth().getJobs().get("depositUpdate").isFailed());
+    }
+}
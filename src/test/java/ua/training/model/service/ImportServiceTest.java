@@ -0,0 +1,108 @@
+package ua.training.model.service;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import ua.training.model.dao.TransactionDao;
+import ua.training.model.dao.factory.DaoFactory;
+import ua.training.model.dto.ImportReportDto;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ImportServiceTest {
+    private TransactionDao transactionDao;
+    private ImportService importService;
+
+    @Before
+    public void init() {
+        DaoFactory factory = Mockito.mock(DaoFactory.class);
+        transactionDao = Mockito.mock(TransactionDao.class);
+
+        when(factory.getTransactionDao()).thenReturn(transactionDao);
+        when(transactionDao.importTransactions(anyList(), anyList())).thenAnswer(invocation ->
+                new ArrayList<>(Collections.nCopies(invocation.<List<?>>getArgument(0).size(), ImportReportDto.Outcome.APPLIED)));
+
+        importService = new ImportService(factory, 2);
+    }
+
+    @Test
+    public void givenStatementWhenImportThenApplyByChunks() throws Exception {
+        String statement = "key,account,amount,currency\n"
+                + "a1,1,10.00,UAH\n"
+                + "a2,1,5.50,UAH\n"
+                + "a3,2,7,USD\n";
+
+        List<Long> progress = new ArrayList<>();
+        ImportReportDto report = importService.importReplenishments(new BufferedReader(new StringReader(statement)), progress::add);
+
+        verify(transactionDao, times(2)).importTransactions(anyList(), anyList());
+        assertEquals(3, report.getLinesNumber());
+        assertEquals(3, report.getAppliedNumber());
+        assertEquals(List.of(3L, 4L), progress);
+    }
+
+    @Test
+    public void givenRunningImportWhenGetProgressThenGetProcessedLines() throws Exception {
+        String statement = "a1,1,10.00,UAH\n"
+                + "a2,1,5.50,UAH\n"
+                + "a3,2,7,USD\n";
+
+        List<Long> progress = new ArrayList<>();
+        when(transactionDao.importTransactions(anyList(), anyList())).thenAnswer(invocation -> {
+            importService.getImportProgress(7L).ifPresent(progress::add);
+            return new ArrayList<>(Collections.nCopies(invocation.<List<?>>getArgument(0).size(), ImportReportDto.Outcome.APPLIED));
+        });
+
+        importService.importReplenishments(7L, new BufferedReader(new StringReader(statement)));
+
+        assertEquals(List.of(0L, 2L), progress);
+        assertFalse(importService.getImportProgress(7L).isPresent());
+    }
+
+    @Test
+    public void givenMalformedLinesWhenImportThenReportThem() throws Exception {
+        String statement = "a1,1,10.00,UAH\n"
+                + "a2,1,-5,UAH\n"
+                + "a3,x,7,USD\n"
+                + "a4,2,7,XYZ\n"
+                + "a5,2,7\n";
+
+        ImportReportDto report = importService.importReplenishments(new BufferedReader(new StringReader(statement)), lines -> {});
+
+        assertEquals(5, report.getLinesNumber());
+        assertEquals(1, report.getAppliedNumber());
+        assertEquals(4, report.getFailuresNumber());
+        assertEquals(List.of(2L, 3L, 4L, 5L), new ArrayList<>(report.getFailures().keySet()));
+    }
+
+    @Test
+    public void givenChunkFailsTwiceWhenImportThenItsLinesNotAppliedAndOthersImported() throws Exception {
+        when(transactionDao.importTransactions(anyList(), anyList()))
+                .thenThrow(new RuntimeException("Duplicate entry"))
+                .thenThrow(new RuntimeException("Duplicate entry"))
+                .thenReturn(new ArrayList<>(List.of(ImportReportDto.Outcome.APPLIED)));
+
+        String statement = "a1,1,10.00,UAH\n"
+                + "a2,1,5.50,UAH\n"
+                + "a3,2,7,USD\n";
+
+        ImportReportDto report = importService.importReplenishments(new BufferedReader(new StringReader(statement)), lines -> {});
+
+        verify(transactionDao, times(3)).importTransactions(anyList(), anyList());
+        assertEquals(3, report.getLinesNumber());
+        assertEquals(1, report.getAppliedNumber());
+        assertEquals(ImportReportDto.Outcome.NOT_APPLIED, report.getFailures().get(1L));
+        assertEquals(ImportReportDto.Outcome.NOT_APPLIED, report.getFailures().get(2L));
+    }
+}
@@ -0,0 +1,51 @@
+package ua.training.model.service;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class InMemorySessionRegistryTest {
+    private SessionRegistry sessionRegistry;
+
+    @Before
+    public void init() {
+        sessionRegistry = new InMemorySessionRegistry(60);
+    }
+
+    @Test
+    public void givenNewSessionWhenRegisterThenReplaceOldOne() {
+        sessionRegistry.register("user", "first");
+        sessionRegistry.register("user", "second");
+
+        assertFalse(sessionRegistry.isCurrent("user", "first"));
+        assertTrue(sessionRegistry.isCurrent("user", "second"));
+    }
+
+    @Test
+    public void givenReplacedSessionWhenCurrentOneDestroyedThenItStaysReplaced() {
+        sessionRegistry.register("user", "first");
+        sessionRegistry.register("user", "second");
+        sessionRegistry.revoke("user", "first");
+
+        assertTrue(sessionRegistry.isCurrent("user", "second"));
+
+        sessionRegistry.revoke("user", "second");
+
+        assertFalse(sessionRegistry.isCurrent("user", "first"));
+        assertFalse(sessionRegistry.isCurrent("user", "second"));
+    }
+
+    @Test
+    public void givenSignedOutSessionWhenRevokeThenItIsNotCurrent() {
+        sessionRegistry.register("user", "first");
+        sessionRegistry.revoke("user", "other");
+
+        assertTrue(sessionRegistry.isCurrent("user", "first"));
+
+        sessionRegistry.revoke("user", "first");
+
+        assertFalse(sessionRegistry.isCurrent("user", "first"));
+    }
+}
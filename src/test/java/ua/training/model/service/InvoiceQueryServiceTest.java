@@ -0,0 +1,56 @@
+package ua.training.model.service;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import ua.training.model.dao.InvoiceDao;
+import ua.training.model.dao.factory.DaoFactory;
+import ua.training.model.dto.InvoiceDto;
+import ua.training.model.entity.Invoice;
+
+import java.util.EnumSet;
+import java.util.Optional;
+
+import static org.junit.Assert.assertFalse;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class InvoiceQueryServiceTest {
+    private InvoiceDao invoiceDao;
+    private InvoiceQueryService invoiceQueryService;
+
+    @Before
+    public void init() {
+        DaoFactory factory = Mockito.mock(DaoFactory.class);
+        invoiceDao = Mockito.mock(InvoiceDao.class);
+
+        when(factory.getInvoiceDao()).thenReturn(invoiceDao);
+
+        invoiceQueryService = new InvoiceQueryService(factory, 20);
+    }
+
+    @Test
+    public void givenNoFiltersWhenGetInvoicesThenReadFirstPageOfAllStatuses() {
+        invoiceQueryService.getInvoices(1L, 2L, EnumSet.noneOf(Invoice.Status.class), null, null);
+
+        verify(invoiceDao).getInvoicesPage(1L, 2L, EnumSet.allOf(Invoice.Status.class), Long.MAX_VALUE, Long.MAX_VALUE, 20);
+    }
+
+    @Test
+    public void givenKeysWhenGetInvoicesThenReadPagesAfterKeys() {
+        when(invoiceDao.getInvoicesPage(1L, 2L, EnumSet.of(Invoice.Status.PROCESSING), 100L, Long.MAX_VALUE, 20))
+                .thenReturn(Optional.of(new InvoiceDto()));
+
+        invoiceQueryService.getInvoices(1L, 2L, EnumSet.of(Invoice.Status.PROCESSING), 100L, null);
+
+        verify(invoiceDao).getInvoicesPage(1L, 2L, EnumSet.of(Invoice.Status.PROCESSING), 100L, Long.MAX_VALUE, 20);
+    }
+
+    @Test
+    public void givenNotHolderWhenGetInvoicesThenEmpty() {
+        when(invoiceDao.getInvoicesPage(Mockito.anyLong(), Mockito.anyLong(), Mockito.anySet(), Mockito.anyLong(), Mockito.anyLong(), Mockito.anyInt()))
+                .thenReturn(Optional.empty());
+
+        assertFalse(invoiceQueryService.getInvoices(1L, 2L, EnumSet.noneOf(Invoice.Status.class), null, null).isPresent());
+    }
+}
@@ -0,0 +1,100 @@
+package ua.training.model.service;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import ua.training.model.dao.InvoiceDao;
+import ua.training.model.dao.TransactionDao;
+import ua.training.model.dao.factory.DaoFactory;
+import ua.training.model.service.util.JobStatistics;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Optional;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+public class ScheduledTaskServiceTest {
+    private InvoiceDao invoiceDao;
+    private TransactionDao transactionDao;
+    private ScheduledTaskService scheduledTaskService;
+
+    @Before
+    public void init() {
+        DaoFactory factory = Mockito.mock(DaoFactory.class);
+        ScheduledExecutorService executorService = Mockito.mock(ScheduledExecutorService.class);
+        invoiceDao = Mockito.mock(InvoiceDao.class);
+        transactionDao = Mockito.mock(TransactionDao.class);
+
+        when(factory.getInvoiceDao()).thenReturn(invoiceDao);
+        when(factory.getTransactionDao()).thenReturn(transactionDao);
+        when(executorService.schedule(any(Runnable.class), anyLong(), any(TimeUnit.class))).thenAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        });
+
+        scheduledTaskService = new ScheduledTaskService(executorService, factory);
+        scheduledTaskService.setJobStatistics(new JobStatistics());
+        scheduledTaskService.setExpiryDays(30);
+        scheduledTaskService.setSweepChunk(1000);
+        scheduledTaskService.setSweepPause(0);
+        scheduledTaskService.setArchiveHorizon(12);
+        scheduledTaskService.setArchiveChunk(1000);
+        scheduledTaskService.setArchivePause(0);
+    }
+
+    @Test
+    public void givenInvoicesWhenSweepThenExpireByChunks() {
+        when(invoiceDao.getMinInvoiceId()).thenReturn(1L);
+        when(invoiceDao.getMaxInvoiceId()).thenReturn(2500L);
+
+        scheduledTaskService.sweepInvoices();
+
+        verify(invoiceDao).expireInvoices(eq(1L), eq(1000L), any(LocalDateTime.class));
+        verify(invoiceDao).expireInvoices(eq(1001L), eq(2000L), any(LocalDateTime.class));
+        verify(invoiceDao).expireInvoices(eq(2001L), eq(2500L), any(LocalDateTime.class));
+        verifyNoMoreInteractions(ignoreStubs(invoiceDao));
+    }
+
+    @Test
+    public void givenFailedChunkWhenSweepThenStopAndAllowNextSweep() {
+        when(invoiceDao.getMinInvoiceId()).thenReturn(1L);
+        when(invoiceDao.getMaxInvoiceId()).thenReturn(2500L);
+        when(invoiceDao.expireInvoices(eq(1001L), anyLong(), any(LocalDateTime.class))).thenThrow(new RuntimeException());
+
+        scheduledTaskService.sweepInvoices();
+        scheduledTaskService.sweepInvoices();
+
+        verify(invoiceDao, times(2)).expireInvoices(eq(1L), eq(1000L), any(LocalDateTime.class));
+        verify(invoiceDao, never()).expireInvoices(eq(2001L), anyLong(), any(LocalDateTime.class));
+    }
+
+    @Test
+    public void givenOldTransactionsWhenArchiveThenMoveMonthsBeforeHorizon() {
+        YearMonth oldest = YearMonth.now().minusMonths(14);
+        when(transactionDao.getOldestTransactionTime()).thenReturn(Optional.of(oldest.atDay(10).atStartOfDay()));
+        when(transactionDao.archiveTransactions(oldest, 1000)).thenReturn(1000, 500, 0);
+        when(transactionDao.archiveTransactions(oldest.plusMonths(1), 1000)).thenReturn(0);
+
+        scheduledTaskService.archiveTransactions();
+
+        verify(transactionDao, times(3)).archiveTransactions(oldest, 1000);
+        verify(transactionDao).completeArchive(oldest);
+        verify(transactionDao).completeArchive(oldest.plusMonths(1));
+        verify(transactionDao, never()).archiveTransactions(eq(oldest.plusMonths(2)), anyInt());
+    }
+
+    @Test
+    public void givenRecentTransactionsWhenArchiveThenMoveNothing() {
+        when(transactionDao.getOldestTransactionTime()).thenReturn(Optional.of(LocalDateTime.now().minusMonths(3)));
+
+        scheduledTaskService.archiveTransactions();
+
+        verify(transactionDao, never()).archiveTransactions(any(YearMonth.class), anyInt());
+    }
+}
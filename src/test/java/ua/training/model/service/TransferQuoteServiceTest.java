@@ -0,0 +1,102 @@
+package ua.training.model.service;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import ua.training.model.dao.AccountDao;
+import ua.training.model.dao.factory.DaoFactory;
+import ua.training.model.dto.TransferQuoteDto;
+import ua.training.model.entity.Account;
+import ua.training.model.entity.CreditAccount;
+import ua.training.model.entity.Currency;
+import ua.training.model.entity.DepositAccount;
+
+import java.math.BigDecimal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TransferQuoteServiceTest {
+    private AccountDao accountDao;
+    private TransferQuoteService quoteService;
+
+    @Before
+    public void init() {
+        DaoFactory factory = Mockito.mock(DaoFactory.class);
+        accountDao = Mockito.mock(AccountDao.class);
+        CurrencyExchangeService exchangeService = Mockito.mock(CurrencyExchangeService.class);
+
+        when(factory.getAccountDao()).thenReturn(accountDao);
+        when(exchangeService.exchangeRate(Currency.USD, Currency.UAH)).thenReturn(new BigDecimal("27.5"));
+        when(exchangeService.exchangeRate(Currency.USD, Currency.USD)).thenReturn(BigDecimal.ONE);
+
+        when(accountDao.get(1L)).thenReturn(DepositAccount.getBuilder()
+                .setId(1L)
+                .setBalance(new BigDecimal("1000"))
+                .setCurrency(Currency.UAH)
+                .setStatus(Account.Status.ACTIVE)
+                .build());
+        when(accountDao.get(2L)).thenReturn(CreditAccount.getBuilder()
+                .setId(2L)
+                .setBalance(BigDecimal.ZERO)
+                .setCurrency(Currency.USD)
+                .setStatus(Account.Status.ACTIVE)
+                .setCreditLimit(new BigDecimal("100"))
+                .setCreditRate(new BigDecimal("0.1"))
+                .build());
+
+        quoteService = new TransferQuoteService(factory, 60_000);
+        quoteService.setExchangeService(exchangeService);
+    }
+
+    @Test
+    public void givenDepositSenderWhenQuoteTransferThenGetConvertedAmounts() {
+        TransferQuoteDto quote = quoteService.quoteTransfer(1L, 2L, new BigDecimal("10"), Currency.USD);
+
+        assertEquals(new BigDecimal("275.00"), quote.getWithdrawAmount());
+        assertEquals(new BigDecimal("0.00"), quote.getFee());
+        assertEquals(new BigDecimal("725.00"), quote.getResultingBalance());
+        assertEquals(new BigDecimal("10.00"), quote.getCreditedAmount());
+        assertTrue(quote.isAllowed());
+    }
+
+    @Test
+    public void givenDepositSenderWithoutMoneyWhenQuoteTransferThenNotAllowed() {
+        assertFalse(quoteService.quoteTransfer(1L, 2L, new BigDecimal("100"), Currency.USD).isAllowed());
+    }
+
+    @Test
+    public void givenCreditSenderWhenQuoteTransferThenGetFee() {
+        TransferQuoteDto quote = quoteService.quoteTransfer(2L, 1L, new BigDecimal("50"), Currency.USD);
+
+        assertEquals(new BigDecimal("5.00"), quote.getFee());
+        assertEquals(new BigDecimal("-55.00"), quote.getResultingBalance());
+        assertTrue(quote.isAllowed());
+    }
+
+    @Test
+    public void givenRepeatedQuotesWhenQuoteTransferThenLoadAccountsOnce() {
+        for (int i = 0; i < 10; i++) {
+            quoteService.quoteTransfer(1L, 2L, BigDecimal.ONE, Currency.USD);
+        }
+
+        verify(accountDao, times(1)).get(1L);
+        verify(accountDao, times(1)).get(2L);
+    }
+
+    @Test
+    public void givenCacheFullOfLiveAccountsWhenGetAccountThenItIsNotCached() {
+        for (long accountId = 1; accountId <= 10_001; accountId++) {
+            quoteService.getAccount(accountId);
+        }
+        quoteService.getAccount(10_001L);
+
+        assertEquals(10_000, quoteService.getCachedAccountsNumber());
+        verify(accountDao, times(2)).get(10_001L);
+        verify(accountDao, times(1)).get(1L);
+    }
+}
@@ -0,0 +1,104 @@
+package ua.training.model.service;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class WarmUpServiceTest {
+    private ScheduledExecutorService executorService;
+    private WarmUpService warmUpService;
+
+    @Before
+    public void init() {
+        executorService = Executors.newScheduledThreadPool(2);
+
+        warmUpService = new WarmUpService();
+        warmUpService.setExecutorService(executorService);
+        warmUpService.setRetryDelay(10);
+        warmUpService.setMaxRetryDelay(20);
+    }
+
+    @After
+    public void destroy() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void givenRunningTaskWhenCheckThenNotReady() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        warmUpService.setTasks(List.of(task("slow", latch::await)));
+
+        warmUpService.start();
+
+        assertFalse(warmUpService.isReady());
+
+        latch.countDown();
+        executorService.shutdown();
+        executorService.awaitTermination(1, TimeUnit.SECONDS);
+
+        assertTrue(warmUpService.isReady());
+    }
+
+    @Test
+    public void givenTaskFailingTwiceWhenStartThenRetriedUntilDone() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        warmUpService.setTasks(List.of(task("flaky", () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new IllegalStateException();
+            }
+        })));
+
+        warmUpService.start();
+
+        for (int i = 0; i < 100 && !warmUpService.isReady(); i++) {
+            Thread.sleep(10);
+        }
+
+        assertTrue(warmUpService.isReady());
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    public void givenFailedTaskWhenExecutorIsShutDownThenNotReady() throws Exception {
+        warmUpService.setTasks(List.of(task("fast", () -> {}), task("broken", () -> {
+            throw new IllegalStateException();
+        })));
+
+        warmUpService.start();
+        executorService.shutdown();
+        executorService.awaitTermination(1, TimeUnit.SECONDS);
+
+        assertFalse(warmUpService.isReady());
+        assertEquals(WarmUpService.State.DONE, warmUpService.getStates().get("fast"));
+        assertEquals(WarmUpService.State.FAILED, warmUpService.getStates().get("broken"));
+    }
+
+    private interface Body {
+        void run() throws Exception;
+    }
+
+    private static WarmUpTask task(String name, Body body) {
+        return new WarmUpTask() {
+            @Override
+            public String getWarmUpName() {
+                return name;
+            }
+
+            @Override
+            public void warmUp() throws Exception {
+                body.run();
+            }
+        };
+    }
+}
@@ -0,0 +1,67 @@
+package ua.training.model.service.util;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.time.Clock;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+
+public class CircuitBreakerTest {
+    private Clock clock;
+    private CircuitBreaker circuitBreaker;
+
+    @Before
+    public void init() {
+        clock = Mockito.mock(Clock.class);
+        when(clock.millis()).thenReturn(0L);
+
+        circuitBreaker = new CircuitBreaker(2, 1000, clock);
+    }
+
+    @Test
+    public void givenFailuresUnderThresholdWhenAllowRequestThenGetTrue() {
+        circuitBreaker.recordFailure();
+
+        assertTrue(circuitBreaker.allowRequest());
+    }
+
+    @Test
+    public void givenFailuresOverThresholdWhenAllowRequestThenGetFalse() {
+        circuitBreaker.recordFailure();
+        circuitBreaker.recordFailure();
+
+        when(clock.millis()).thenReturn(999L);
+
+        assertFalse(circuitBreaker.allowRequest());
+    }
+
+    @Test
+    public void givenOpenPeriodOverWhenAllowRequestThenAllowOnlyOneTrial() {
+        circuitBreaker.recordFailure();
+        circuitBreaker.recordFailure();
+
+        when(clock.millis()).thenReturn(1000L);
+
+        assertTrue(circuitBreaker.allowRequest());
+        assertFalse(circuitBreaker.allowRequest());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    public void givenFailedTrialWhenRecordFailureThenOpenAgain() {
+        circuitBreaker.recordFailure();
+        circuitBreaker.recordFailure();
+
+        when(clock.millis()).thenReturn(1000L);
+        circuitBreaker.allowRequest();
+        circuitBreaker.recordFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.allowRequest());
+    }
+}
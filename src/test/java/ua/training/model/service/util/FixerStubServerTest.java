@@ -0,0 +1,67 @@
+package ua.training.model.service.util;
+
+import com.google.gson.Gson;
+import org.apache.http.impl.client.HttpClients;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import ua.training.model.entity.Currency;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+public class FixerStubServerTest {
+    private final Map<Currency, BigDecimal> rates = Map.of(
+            Currency.EUR, BigDecimal.ONE,
+            Currency.USD, new BigDecimal("1.143844"),
+            Currency.UAH, new BigDecimal("31.330311"));
+
+    private FixerStubServer stubServer;
+    private FixerUtil fixerUtil;
+
+    @Before
+    public void init() throws Exception {
+        stubServer = new FixerStubServer(Currency.EUR, rates);
+        stubServer.start(0);
+
+        fixerUtil = new FixerUtil();
+        fixerUtil.setGson(new Gson());
+        fixerUtil.setHttpClient(HttpClients.createDefault());
+    }
+
+    @After
+    public void stop() {
+        stubServer.stop();
+    }
+
+    @Test
+    public void givenStubServerWhenMakeRequestThenGetProgrammedRates() throws Exception {
+        assertEquals(rates, fixerUtil.makeRequest(URI.create(stubServer.getEndPoint())));
+    }
+
+    @Test(expected = Exception.class)
+    public void givenErrorStatusFailureWhenMakeRequestThenThrowException() throws Exception {
+        stubServer.failNext(1, FixerStubServer.Failure.ERROR_STATUS);
+
+        fixerUtil.makeRequest(URI.create(stubServer.getEndPoint()));
+    }
+
+    @Test
+    public void givenUnsuccessfulResponsesWhenFailuresAreOverThenGetRates() throws Exception {
+        stubServer.failNext(2, FixerStubServer.Failure.UNSUCCESSFUL_RESPONSE);
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                fixerUtil.makeRequest(URI.create(stubServer.getEndPoint()));
+            } catch (Exception exception) {
+                // expected
+            }
+        }
+
+        assertEquals(rates, fixerUtil.makeRequest(URI.create(stubServer.getEndPoint())));
+        assertEquals(3, stubServer.getRequestsNumber());
+    }
+}
@@ -14,7 +14,7 @@ import java.time.LocalDateTime;
 import static org.mockito.Mockito.when;
 
 @RunWith(PowerMockRunner.class)
-@PrepareForTest(LocalDateTime.class)
+@PrepareForTest({LocalDateTime.class, FixerUtil.class})
 @PowerMockIgnore({"org.apache.logging.log4j.*", "javax.xml.parsers.*", "com.sun.org.apache.xerces.internal.jaxp.*"})
 public class FixerUtilTest {
     private LocalDateTime now;
@@ -0,0 +1,64 @@
+package ua.training.model.service.util;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import ua.training.model.entity.Currency;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class RateHistoryTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path path;
+    private RateHistory rateHistory;
+
+    private final Instant first = Instant.parse("2019-01-01T00:00:00Z");
+    private final Instant second = Instant.parse("2019-01-01T06:00:00Z");
+
+    @Before
+    public void init() {
+        path = folder.getRoot().toPath().resolve("history.seg");
+
+        rateHistory = new RateHistory();
+        rateHistory.open(path);
+        rateHistory.append(Map.of(Currency.EUR, BigDecimal.ONE, Currency.USD, new BigDecimal("1.10"), Currency.UAH, new BigDecimal("30")), first);
+        rateHistory.append(Map.of(Currency.EUR, BigDecimal.ONE, Currency.USD, new BigDecimal("1.20"), Currency.UAH, new BigDecimal("32")), second);
+    }
+
+    @Test
+    public void givenTimeBeforeHistoryWhenExchangeRateThenGetEmpty() {
+        assertFalse(rateHistory.exchangeRate(Currency.EUR, Currency.USD, first.minusSeconds(1)).isPresent());
+    }
+
+    @Test
+    public void givenTimeBetweenUpdatesWhenExchangeRateThenGetRateOfEarlierUpdate() {
+        assertEquals(0, new BigDecimal("1.10").compareTo(rateHistory.exchangeRate(Currency.EUR, Currency.USD, second.minusSeconds(1)).get()));
+        assertEquals(0, new BigDecimal("1.20").compareTo(rateHistory.exchangeRate(Currency.EUR, Currency.USD, second).get()));
+    }
+
+    @Test
+    public void givenCrossCurrenciesWhenExchangeRateThenGetRateThroughBase() {
+        assertEquals(0, new BigDecimal("0.0375").compareTo(rateHistory.exchangeRate(Currency.UAH, Currency.USD, second).get()));
+    }
+
+    @Test
+    public void givenSavedHistoryWhenOpenThenLoadAllUpdates() {
+        rateHistory.close();
+
+        RateHistory reopened = new RateHistory();
+        reopened.open(path);
+
+        assertEquals(2, reopened.size());
+        assertEquals(0, new BigDecimal("32").compareTo(reopened.exchangeRate(Currency.EUR, Currency.UAH, second).get()));
+        reopened.close();
+    }
+}
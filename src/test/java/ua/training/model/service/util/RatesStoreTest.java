@@ -0,0 +1,53 @@
+package ua.training.model.service.util;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import ua.training.model.entity.Currency;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RatesStoreTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private RatesStore ratesStore;
+
+    @Before
+    public void init() {
+        ratesStore = new RatesStore();
+        ratesStore.setPath(folder.getRoot().toPath().resolve("store").resolve("rates.bin"));
+    }
+
+    @Test
+    public void givenNoStoreWhenLoadThenGetEmpty() {
+        assertFalse(ratesStore.load().isPresent());
+    }
+
+    @Test
+    public void givenSavedRatesWhenLoadThenGetSameRates() throws Exception {
+        Map<Currency, BigDecimal> rates = Map.of(
+                Currency.EUR, BigDecimal.ONE,
+                Currency.USD, new BigDecimal("1.143844"),
+                Currency.UAH, new BigDecimal("31.330311"));
+        LocalDateTime time = LocalDateTime.parse("2019-01-01T13:30");
+
+        ratesStore.save(new RatesStore.Snapshot(rates, time));
+        ratesStore.save(new RatesStore.Snapshot(rates, time.plusHours(1)));
+
+        Optional<RatesStore.Snapshot> snapshot = ratesStore.load();
+
+        assertTrue(snapshot.isPresent());
+        assertEquals(rates, snapshot.get().getRates());
+        assertEquals(time.plusHours(1), snapshot.get().getTime());
+        assertEquals(1, folder.getRoot().toPath().resolve("store").toFile().list().length);
+    }
+}
@@ -0,0 +1,40 @@
+package ua.training.tag.util;
+
+import org.junit.Test;
+import ua.training.model.entity.Currency;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class FormatterRegistryTest {
+    @Test
+    public void givenSameKeyAndLocaleWhenGettingFormatterThenGetSameInstance() {
+        Locale locale = FormatterRegistry.getLocale("en-US");
+
+        assertSame(FormatterRegistry.getFormatter("pattern.time", locale), FormatterRegistry.getFormatter("pattern.time", locale));
+    }
+
+    @Test
+    public void givenUnsupportedLocaleWhenGettingFormatterThenGetDefaultLocaleOne() {
+        Locale locale = FormatterRegistry.getLocale("xx-YY");
+
+        assertEquals(Locale.forLanguageTag("en-US"), locale);
+        assertSame(FormatterRegistry.getFormatter("pattern.time", Locale.forLanguageTag("en-US")),
+                FormatterRegistry.getFormatter("pattern.time", Locale.forLanguageTag("de-DE")));
+    }
+
+    @Test
+    public void givenTemplateWhenApplyThenGetSameResultAsStringFormat() {
+        String format = "<p class=\"x\">%s %% %s</p>";
+
+        assertEquals(String.format(format, "a", 1), FormatterRegistry.Template.compile(format).apply("a", 1));
+    }
+
+    @Test
+    public void givenBalanceWhenFormatThenGetFlooredBalanceWithCurrencySign() {
+        assertEquals("10.25 $", FormatterRegistry.formatBalance(BigDecimal.valueOf(10.259), Currency.USD));
+    }
+}
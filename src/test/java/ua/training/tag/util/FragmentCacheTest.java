@@ -0,0 +1,50 @@
+package ua.training.tag.util;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class FragmentCacheTest {
+    @Before
+    public void init() {
+        FragmentCache.clear();
+    }
+
+    @Test
+    public void givenNewVersionWhenGetThenMissAndReplace() {
+        FragmentCache.put("rates-USD", "en-US|USER", "1", "<table>1</table>");
+
+        assertEquals("<table>1</table>", FragmentCache.get("rates-USD", "en-US|USER", "1"));
+        assertNull(FragmentCache.get("rates-USD", "en-US|USER", "2"));
+        assertNull(FragmentCache.get("rates-USD", "uk-UA|USER", "1"));
+
+        FragmentCache.put("rates-USD", "en-US|USER", "2", "<table>2</table>");
+        assertNull(FragmentCache.get("rates-USD", "en-US|USER", "1"));
+    }
+
+    @Test
+    public void givenFullCacheWhenPutNewKeysThenCacheIsBounded() {
+        for (int i = 0; i < 2_000; i++) {
+            FragmentCache.put("navbar", "lang-" + i + "|GUEST", "", "<nav></nav>");
+        }
+        FragmentCache.put("navbar", "lang-0|GUEST", "1", "<nav>1</nav>");
+
+        assertEquals(1_000, FragmentCache.getFragmentsNumber());
+        assertEquals("<nav>1</nav>", FragmentCache.get("navbar", "lang-0|GUEST", "1"));
+        assertNull(FragmentCache.get("navbar", "lang-1999|GUEST", ""));
+    }
+
+    @Test
+    public void givenReloadedBundlesWhenGetThenMiss() {
+        FragmentCache.put("navbar", "en-US|GUEST", "", "<nav></nav>");
+        long hits = FragmentCache.getStatistics().containsKey("navbar") ? FragmentCache.getStatistics().get("navbar").getHits() : 0;
+
+        assertEquals("<nav></nav>", FragmentCache.get("navbar", "en-US|GUEST", ""));
+        FragmentCache.clear();
+        assertNull(FragmentCache.get("navbar", "en-US|GUEST", ""));
+
+        assertEquals(hits + 1, FragmentCache.getStatistics().get("navbar").getHits());
+    }
+}